@@ -0,0 +1,91 @@
+package com.nachapa.api.audit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Custo da auditoria na thread do login (montar o evento + offer na fila) x gravar no segmento ali mesmo,
+// com msync por registro (o que um INSERT síncrono ou um log "durável" por evento custaria) ou por lote.
+// No mesmo pacote do AuditLog para usar AuditSegments direto.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class AuditLogBenchmark {
+
+    private static final UUID USER_ID = UUID.fromString("0b6f8f5e-3c1d-4a57-9a34-6f0d2b1c9e10");
+    private static final String EMAIL = "maria.silva@nachapa.com";
+    private static final int BATCH = 256;
+
+    private final ArrayBlockingQueue<AuditEntry> queue = new ArrayBlockingQueue<>(65_536);
+    private Path directory;
+    private AuditSegments segments;
+    private AuditEntry entry;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("203.0.113.7");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        directory = Files.createTempDirectory("audit-bench");
+        segments = new AuditSegments(directory, 64L << 20);
+        entry = AuditLog.capture(AuditEventType.LOGIN_SUCCEEDED, USER_ID, EMAIL);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        segments.close();
+        FileSystemUtils.deleteRecursively(directory);
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    // O que o login paga hoje (o poll só mantém a fila vazia; no serviço ele roda na thread do escritor)
+    @Benchmark
+    public AuditEntry captureAndEnqueue() {
+        queue.offer(AuditLog.capture(AuditEventType.LOGIN_SUCCEEDED, USER_ID, EMAIL));
+        return queue.poll();
+    }
+
+    // Trabalho do escritor por registro: hashes, cadeia e escrita no mapeamento, msync a cada lote
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long appendBatched() throws IOException {
+        long sequence = 0;
+        for (int i = 0; i < BATCH; i++) {
+            sequence = segments.append(entry);
+        }
+        segments.force();
+        return sequence;
+    }
+
+    // Gravação síncrona e durável por evento, na thread do login
+    @Benchmark
+    public long appendAndForceEach() throws IOException {
+        long sequence = segments.append(entry);
+        segments.force();
+        return sequence;
+    }
+}
@@ -0,0 +1,42 @@
+package com.nachapa.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nachapa.api.auth.User;
+import com.nachapa.api.config.jackson.JacksonConfig;
+import com.nachapa.api.tenant.Restaurant;
+import com.nachapa.api.util.JwtUtil;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Objetos compartilhados pelos benchmarks, montados como o Spring montaria em runtime.
+final class BenchmarkFixtures {
+
+    static final String SECRET = "0123456789ABCDEF0123456789ABCDEF";
+    static final String EMAIL = "maria@email.com";
+    static final UUID TENANT = Restaurant.DEFAULT_ID;
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtUtil jwtUtil() {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secret", SECRET);
+        ReflectionTestUtils.setField(util, "expirationTime", Duration.ofHours(10).toMillis());
+        util.init();
+        return util;
+    }
+
+    static User user() {
+        return new User("Maria Silva", EMAIL, "$2a$10$hash", "20716166003", "31998765432", LocalDate.of(1998, 10, 20));
+    }
+
+    // Mesma configuração do ObjectMapper auto-configurado pelo Spring Boot (JavaTimeModule, sem timestamps,
+    // Module beans da aplicação).
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().modulesToInstall(new JacksonConfig().blackbirdModule()).build();
+    }
+}
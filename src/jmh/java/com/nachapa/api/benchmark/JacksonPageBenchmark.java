@@ -0,0 +1,124 @@
+package com.nachapa.api.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.nachapa.api.auth.User;
+import com.nachapa.api.dto.user.UserRequestDto;
+import com.nachapa.api.dto.user.UserResponseDto;
+import com.nachapa.api.dto.user.UserResponseMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Custo por página de GET api/users (Page<UserResponseDto> escrito num OutputStream, como o conversor do MVC)
+// e leitura do cadastro: Jackson padrão com @JsonFormat (antes) x Blackbird + BrDate (configuração atual).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonPageBenchmark {
+
+    private static final String REQUEST_JSON = """
+            {
+              "nome": "Maria Silva",
+              "email": "maria@email.com",
+              "senha": "secret123",
+              "cpf": "20716166003",
+              "telefone": "31998765432",
+              "data-nascimento": "20/10/1998"
+            }
+            """;
+
+    @Param({"20", "1000"})
+    private int rows;
+
+    private PageImpl<UserResponseDto> page;
+    private ByteArrayOutputStream out;
+    private ObjectWriter defaultWriter;
+    private ObjectWriter tunedWriter;
+    private ObjectReader defaultReader;
+    private ObjectReader tunedReader;
+
+    // Devolve ao birthDate o (de)serializador padrão do JavaTimeModule guiado só pelo @JsonFormat
+    abstract static class DefaultDateMixin {
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd/MM/yyyy")
+        @JsonSerialize(using = JsonSerializer.None.class)
+        @JsonDeserialize(using = JsonDeserializer.None.class)
+        private LocalDate birthDate;
+    }
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        UserResponseMapper mapper = UserResponseMapper.today();
+        List<UserResponseDto> content = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            User user = BenchmarkFixtures.user();
+            user.setEmail("user" + i + "@nachapa.com");
+            user.setBirthDate(LocalDate.of(1950 + random.nextInt(55), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+            content.add(mapper.toResponse(user));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, rows), 10_000);
+        out = new ByteArrayOutputStream(rows * 256);
+
+        ObjectMapper defaultMapper = Jackson2ObjectMapperBuilder.json()
+                .mixIn(UserResponseDto.class, DefaultDateMixin.class)
+                .mixIn(UserRequestDto.class, DefaultDateMixin.class)
+                .build();
+        ObjectMapper tunedMapper = BenchmarkFixtures.objectMapper();
+        defaultWriter = defaultMapper.writer();
+        tunedWriter = tunedMapper.writer();
+        defaultReader = defaultMapper.readerFor(UserRequestDto.class);
+        tunedReader = tunedMapper.readerFor(UserRequestDto.class);
+    }
+
+    @Benchmark
+    public int serializePageDefault() throws Exception {
+        out.reset();
+        defaultWriter.writeValue(out, page);
+        return out.size();
+    }
+
+    @Benchmark
+    public int serializePageTuned() throws Exception {
+        out.reset();
+        tunedWriter.writeValue(out, page);
+        return out.size();
+    }
+
+    @Benchmark
+    public UserRequestDto deserializeRequestDefault() throws Exception {
+        return defaultReader.readValue(REQUEST_JSON);
+    }
+
+    @Benchmark
+    public UserRequestDto deserializeRequestTuned() throws Exception {
+        return tunedReader.readValue(REQUEST_JSON);
+    }
+}
@@ -0,0 +1,79 @@
+package com.nachapa.api.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compara o JSON gerado pelo JMH ({@code -rf json}) com o de um commit anterior.
+ * Termina com código 1 quando algum benchmark piora mais que o limite configurado,
+ * para que a regressão quebre o build antes do deploy.
+ */
+public final class JmhResultComparator {
+
+    private JmhResultComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        String current = System.getProperty("jmh.result", "target/jmh-result.json");
+        String baseline = System.getProperty("jmh.baseline", "");
+        double threshold = Double.parseDouble(System.getProperty("jmh.regression.threshold", "0.10"));
+
+        Map<String, Score> currentScores = read(new File(current));
+        if (baseline.isBlank()) {
+            currentScores.forEach((name, score) -> System.out.printf(Locale.ROOT, "%-90s %14.3f %s%n", name, score.value(), score.unit()));
+            return;
+        }
+
+        Map<String, Score> baselineScores = read(new File(baseline));
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : currentScores.entrySet()) {
+            Score before = baselineScores.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null) {
+                System.out.printf(Locale.ROOT, "%-90s %14.3f %s (novo)%n", entry.getKey(), after.value(), after.unit());
+                continue;
+            }
+            // Em modos de tempo menor é melhor; em throughput maior é melhor
+            double change = after.higherIsBetter()
+                    ? (before.value() - after.value()) / before.value()
+                    : (after.value() - before.value()) / before.value();
+            boolean regression = change > threshold;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf(Locale.ROOT, "%-90s %14.3f -> %14.3f %s %+7.1f%%%s%n", entry.getKey(), before.value(),
+                    after.value(), after.unit(), change * 100, regression ? "  REGRESSAO" : "");
+        }
+
+        if (regressions > 0) {
+            System.err.printf(Locale.ROOT, "%d benchmark(s) pioraram mais de %.0f%%%n", regressions, threshold * 100);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            Map<String, String> params = new TreeMap<>();
+            run.path("params").fields().forEachRemaining(p -> params.put(p.getKey(), p.getValue().asText()));
+            if (!params.isEmpty()) {
+                key.append(params);
+            }
+            JsonNode metric = run.path("primaryMetric");
+            scores.put(key.toString(), new Score(metric.path("score").asDouble(), metric.path("scoreUnit").asText(),
+                    "thrpt".equals(run.path("mode").asText())));
+        }
+        return scores;
+    }
+
+    private record Score(double value, String unit, boolean higherIsBetter) {
+    }
+}
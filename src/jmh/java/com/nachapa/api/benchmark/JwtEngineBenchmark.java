@@ -0,0 +1,89 @@
+package com.nachapa.api.benchmark;
+
+import com.nachapa.api.auth.RoleEnum;
+import com.nachapa.api.dto.jwt.JwtPayloadDto;
+import com.nachapa.api.util.JwtUtil;
+import com.nachapa.api.util.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Codec próprio do JwtUtil x caminho antigo com jjwt (mesma chave, mesmos claims)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtEngineBenchmark {
+
+    private static final long EXPIRATION = 3_600_000L;
+
+    private JwtUtil jwtUtil;
+    private JwtPayloadDto payload;
+    private String codecToken;
+
+    private SecretKey key;
+    private JwtParser parser;
+    private String jjwtToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = BenchmarkFixtures.jwtUtil();
+        payload = new JwtPayloadDto(BenchmarkFixtures.EMAIL, RoleEnum.USER, BenchmarkFixtures.TENANT);
+        codecToken = jwtUtil.generateToken(payload);
+
+        key = Keys.hmacShaKeyFor(BenchmarkFixtures.SECRET.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder().setSigningKey(key).setAllowedClockSkewSeconds(5).build();
+        jjwtToken = jjwtGenerate();
+    }
+
+    @Benchmark
+    public String codecGenerate() {
+        return jwtUtil.generateToken(payload);
+    }
+
+    @Benchmark
+    public VerifiedToken codecVerify() {
+        return jwtUtil.verify(codecToken);
+    }
+
+    @Benchmark
+    public String jjwtGenerate() {
+        Date now = new Date();
+        return Jwts.builder()
+                .setSubject(payload.getEmail())
+                .claim(JwtUtil.ROLE_CLAIM, payload.getRole())
+                .claim(JwtUtil.TENANT_CLAIM, payload.getTenantId().toString())
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + EXPIRATION))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public VerifiedToken jjwtVerify() {
+        Claims claims = parser.parseClaimsJws(jjwtToken).getBody();
+        return new VerifiedToken(claims.getId(), claims.getSubject(), claims.get(JwtUtil.ROLE_CLAIM, String.class),
+                UUID.fromString(claims.get(JwtUtil.TENANT_CLAIM, String.class)), claims.getIssuedAt().getTime(),
+                claims.getExpiration().getTime());
+    }
+}
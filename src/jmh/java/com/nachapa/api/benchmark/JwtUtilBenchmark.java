@@ -0,0 +1,55 @@
+package com.nachapa.api.benchmark;
+
+import com.nachapa.api.auth.RoleEnum;
+import com.nachapa.api.dto.jwt.JwtPayloadDto;
+import com.nachapa.api.util.JwtUtil;
+import com.nachapa.api.util.VerifiedToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private JwtPayloadDto payload;
+    private String token;
+    private String bearer;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = BenchmarkFixtures.jwtUtil();
+        payload = new JwtPayloadDto(BenchmarkFixtures.EMAIL, RoleEnum.USER, BenchmarkFixtures.TENANT);
+        token = jwtUtil.generateToken(payload);
+        bearer = "Bearer " + token;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(payload);
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return jwtUtil.verify(bearer);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtUtil.isTokenValid(jwtUtil.verify(token), BenchmarkFixtures.EMAIL);
+    }
+}
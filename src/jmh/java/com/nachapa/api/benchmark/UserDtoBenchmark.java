@@ -0,0 +1,68 @@
+package com.nachapa.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.nachapa.api.auth.User;
+import com.nachapa.api.dto.user.UserRequestDto;
+import com.nachapa.api.dto.user.UserResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Mapeamento entidade -> DTO e (de)serialização Jackson com o formato dd/MM/yyyy.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDtoBenchmark {
+
+    private static final String REQUEST_JSON = """
+            {
+              "nome": "Maria Silva",
+              "email": "maria@email.com",
+              "senha": "secret123",
+              "cpf": "20716166003",
+              "telefone": "31998765432",
+              "data-nascimento": "20/10/1998"
+            }
+            """;
+
+    private User user;
+    private UserResponseDto response;
+    private ObjectWriter responseWriter;
+    private ObjectReader requestReader;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkFixtures.user();
+        response = UserResponseDto.from(user);
+        responseWriter = BenchmarkFixtures.objectMapper().writerFor(UserResponseDto.class);
+        requestReader = BenchmarkFixtures.objectMapper().readerFor(UserRequestDto.class);
+    }
+
+    @Benchmark
+    public UserResponseDto responseFromEntity() {
+        return UserResponseDto.from(user);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws Exception {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public UserRequestDto deserializeRequest() throws Exception {
+        return requestReader.readValue(REQUEST_JSON);
+    }
+}
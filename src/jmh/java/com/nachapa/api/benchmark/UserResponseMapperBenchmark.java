@@ -0,0 +1,71 @@
+package com.nachapa.api.benchmark;
+
+import com.nachapa.api.auth.User;
+import com.nachapa.api.dto.user.UserResponseDto;
+import com.nachapa.api.dto.user.UserResponseMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Página inteira entidade -> DTO: cálculo antigo (now() + Period por linha) x UserResponseMapper.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserResponseMapperBenchmark {
+
+    @Param({"20", "1000"})
+    private int rows;
+
+    private List<User> page;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        page = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            User user = BenchmarkFixtures.user();
+            user.setBirthDate(LocalDate.of(1950 + random.nextInt(55), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+            page.add(user);
+        }
+    }
+
+    @Benchmark
+    public void perRowClockAndPeriod(Blackhole blackhole) {
+        for (User user : page) {
+            UserResponseDto dto = new UserResponseDto();
+            dto.setName(user.getName());
+            dto.setEmail(user.getEmail());
+            dto.setCellPhone(user.getCellPhone());
+            dto.setBirthDate(user.getBirthDate());
+            dto.setAge(Period.between(user.getBirthDate(), LocalDate.now()).getYears());
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    public void sharedMapper(Blackhole blackhole) {
+        UserResponseMapper mapper = UserResponseMapper.today();
+        for (User user : page) {
+            blackhole.consume(mapper.toResponse(user));
+        }
+    }
+}
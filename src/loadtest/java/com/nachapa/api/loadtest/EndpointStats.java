@@ -0,0 +1,67 @@
+package com.nachapa.api.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latências (microssegundos, HdrHistogram) e contadores de um endpoint.
+final class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final String label;
+    private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String label) {
+        this.label = label;
+    }
+
+    void record(long latencyNanos, boolean success) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    static String header() {
+        return String.format(Locale.ROOT, "%-42s %10s %8s %10s %9s %9s %9s %9s %9s",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+    }
+
+    String summary(double seconds) {
+        return String.format(Locale.ROOT, "%-42s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f",
+                label, latencies.getTotalCount(), errors.sum(), latencies.getTotalCount() / seconds,
+                millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(90)),
+                millis(latencies.getValueAtPercentile(99)), millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()));
+    }
+
+    // Exporta a distribuição completa no formato .hgrm (plotável no HdrHistogram plotter)
+    void writeDistribution(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            latencies.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    void add(EndpointStats other) {
+        latencies.add(other.latencies);
+        errors.add(other.errors.sum());
+    }
+
+    long count() {
+        return latencies.getTotalCount();
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
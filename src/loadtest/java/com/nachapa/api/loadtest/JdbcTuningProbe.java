@@ -0,0 +1,97 @@
+package com.nachapa.api.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.postgresql.ds.PGSimpleDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Isola o efeito das opções do pgjdbc usadas no profile prod, direto no JDBC (sem HTTP nem Hibernate):
+ * INSERT em lote com e sem reWriteBatchedInserts e SELECT por chave com e sem prepared statement no servidor.
+ */
+public final class JdbcTuningProbe {
+
+    private static final int ROWS = Integer.getInteger("jdbc.rows", 50_000);
+    private static final int BATCH_SIZE = 50;
+    private static final int LOOKUPS = Integer.getInteger("jdbc.lookups", 50_000);
+    private static final int ROUNDS = 3;
+
+    private JdbcTuningProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            PGSimpleDataSource dataSource = (PGSimpleDataSource) postgres.getPostgresDatabase();
+            try (Connection connection = dataSource.getConnection(); Statement ddl = connection.createStatement()) {
+                ddl.execute("CREATE TABLE probe (id uuid PRIMARY KEY, email varchar(255) UNIQUE, name varchar(255))");
+            }
+
+            System.out.printf(Locale.ROOT, "%-44s %10s %12s%n", "caso", "ms", "ops/s");
+            for (int round = 0; round < ROUNDS; round++) {
+                // Primeira rodada é aquecimento (JIT do driver e cache do Postgres)
+                boolean report = round > 0;
+                dataSource.setReWriteBatchedInserts(false);
+                print(report, "INSERT lote " + BATCH_SIZE + " (sem rewrite)", ROWS, insert(dataSource, round * 2));
+                dataSource.setReWriteBatchedInserts(true);
+                print(report, "INSERT lote " + BATCH_SIZE + " (reWriteBatchedInserts)", ROWS, insert(dataSource, round * 2 + 1));
+
+                dataSource.setPrepareThreshold(0);
+                print(report, "SELECT por e-mail (sem prepare no servidor)", LOOKUPS, lookup(dataSource, round * 2 + 1));
+                dataSource.setPrepareThreshold(3);
+                print(report, "SELECT por e-mail (prepareThreshold=3)", LOOKUPS, lookup(dataSource, round * 2 + 1));
+            }
+        }
+    }
+
+    private static long insert(PGSimpleDataSource dataSource, int generation) throws Exception {
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement("INSERT INTO probe (id, email, name) VALUES (?, ?, ?)")) {
+            connection.setAutoCommit(false);
+            for (int i = 0; i < ROWS; i++) {
+                insert.setObject(1, UUID.randomUUID());
+                insert.setString(2, email(generation, i));
+                insert.setString(3, "Usuário " + i);
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        return System.nanoTime() - start;
+    }
+
+    // Mesma conexão e mesmo PreparedStatement, como no cache de statements do Hibernate/Hikari
+    private static long lookup(PGSimpleDataSource dataSource, int generation) throws Exception {
+        SplittableRandom random = new SplittableRandom(42);
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement("SELECT id, name FROM probe WHERE email = ?")) {
+            for (int i = 0; i < LOOKUPS; i++) {
+                select.setString(1, email(generation, random.nextInt(ROWS)));
+                try (ResultSet rs = select.executeQuery()) {
+                    rs.next();
+                }
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static String email(int generation, int i) {
+        return "g" + generation + "-user" + i + "@probe.nachapa.com";
+    }
+
+    private static void print(boolean report, String label, int operations, long nanos) {
+        if (report) {
+            System.out.printf(Locale.ROOT, "%-44s %10d %12.0f%n", label, nanos / 1_000_000, operations / (nanos / 1e9));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.nachapa.api.loadtest;
+
+import com.nachapa.api.loadtest.UserSeeder.SeededUsers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Dispara o cenário com N workers em laço fechado; cada worker tem seu próprio gerador derivado da semente.
+final class LoadDriver {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int REGISTER_CPF_BASE = 800_000_000;
+    private static final int REGISTER_CPF_PER_WORKER = 1_000_000;
+
+    private final LoadTestConfig config;
+    private final URI baseUri;
+    private final SeededUsers users;
+    private final String authorization;
+    private final HttpClient client;
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+
+    LoadDriver(LoadTestConfig config, URI baseUri, SeededUsers users, String token) {
+        this.config = config;
+        this.baseUri = baseUri;
+        this.users = users;
+        this.authorization = "Bearer " + token;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats(operation.label()));
+        }
+    }
+
+    Map<Operation, EndpointStats> run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(config.concurrency());
+        for (int w = 0; w < config.concurrency(); w++) {
+            int worker = w;
+            workers.execute(() -> work(worker, measureFrom, end));
+        }
+        workers.shutdown();
+        workers.awaitTermination(config.warmup().plus(config.duration()).toSeconds() + 60, TimeUnit.SECONDS);
+
+        Map<Operation, EndpointStats> used = new EnumMap<>(Operation.class);
+        stats.forEach((operation, s) -> {
+            if (s.count() > 0) {
+                used.put(operation, s);
+            }
+        });
+        return used;
+    }
+
+    private void work(int worker, long measureFrom, long end) {
+        SplittableRandom random = new SplittableRandom(config.seed() * 31 + worker);
+        int registered = 0;
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            Operation operation = config.scenario().pick(random);
+            HttpRequest request = switch (operation) {
+                case REGISTER -> register(worker, registered++);
+                case LOGIN -> login(SeededUsers.email(random.nextInt(users.size())));
+                case LOGIN_UNKNOWN -> login("ghost" + random.nextInt(Integer.MAX_VALUE) + "@loadtest.nachapa.com");
+                case LIST -> list(random.nextInt(Math.max(1, Math.min(50, lastPage()))));
+                case LIST_DEEP -> list(Math.max(0, lastPage() - random.nextInt(10)));
+                case UPDATE -> update(random.nextInt(users.size()), random);
+            };
+            boolean success;
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                success = response.statusCode() < 400 || operation == Operation.LOGIN_UNKNOWN;
+            } catch (Exception e) {
+                success = false;
+            }
+            long latency = System.nanoTime() - now;
+            if (now >= measureFrom) {
+                stats.get(operation).record(latency, success);
+            }
+        }
+    }
+
+    private int lastPage() {
+        return (users.size() - 1) / PAGE_SIZE;
+    }
+
+    private HttpRequest register(int worker, int sequence) {
+        int cpfBase = REGISTER_CPF_BASE + worker * REGISTER_CPF_PER_WORKER + sequence;
+        return post("api/auth/register", """
+                {"nome":"Carga %d","email":"reg-%d-%d@loadtest.nachapa.com","senha":"%s","cpf":"%s","telefone":"31998765432","data-nascimento":"20/10/1990"}
+                """.formatted(sequence, worker, sequence, UserSeeder.PASSWORD, UserSeeder.validCpf(cpfBase)));
+    }
+
+    private HttpRequest login(String email) {
+        return post("api/auth/login", """
+                {"email":"%s","senha":"%s"}
+                """.formatted(email, UserSeeder.PASSWORD));
+    }
+
+    private HttpRequest list(int page) {
+        return HttpRequest.newBuilder(baseUri.resolve("api/users?page=" + page + "&size=" + PAGE_SIZE + "&sort=name,asc"))
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest update(int index, SplittableRandom random) {
+        String body = """
+                {"nome":"Atualizado %d","email":"%s","senha":"%s","cpf":"%s","telefone":"%s","data-nascimento":"15/03/1985"}
+                """.formatted(random.nextInt(1000), SeededUsers.email(index), UserSeeder.PASSWORD,
+                SeededUsers.cpf(index), SeededUsers.cellPhone(index));
+        return HttpRequest.newBuilder(baseUri.resolve("api/users/" + users.ids()[index]))
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.nachapa.api.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+// Parâmetros do teste de carga, lidos de -Dloadtest.* (ver profile "loadtest" no pom.xml).
+record LoadTestConfig(
+        Scenario scenario,
+        int users,
+        int concurrency,
+        Duration duration,
+        Duration warmup,
+        long seed,
+        String profiles,
+        Path output
+) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Scenario.valueOf(System.getProperty("loadtest.scenario", Scenario.MIXED.name())),
+                Integer.getInteger("loadtest.users", 10_000),
+                Integer.getInteger("loadtest.concurrency", 32),
+                Duration.ofSeconds(Long.getLong("loadtest.duration", 60L)),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup", 10L)),
+                Long.getLong("loadtest.seed", 42L),
+                System.getProperty("loadtest.profiles", ""),
+                Path.of(System.getProperty("loadtest.output", "target/loadtest"))
+        );
+    }
+}
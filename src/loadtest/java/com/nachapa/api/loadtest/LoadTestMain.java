@@ -0,0 +1,111 @@
+package com.nachapa.api.loadtest;
+
+import com.nachapa.api.NaChapaApiApplication;
+import com.nachapa.api.loadtest.UserSeeder.SeededUsers;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Teste de carga auto-contido: PostgreSQL embarcado (binário local, sem rede), aplicação na mesma JVM
+ * em porta aleatória, seed de usuários em lote e relatório de throughput/latência por endpoint.
+ */
+public final class LoadTestMain {
+
+    private static final String DB_USER = "postgres";
+    private static final String DB_NAME = "postgres";
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        System.out.printf("Cenário %s: %d usuários, concorrência %d, %ds (+%ds de aquecimento), semente %d%n",
+                config.scenario(), config.users(), config.concurrency(), config.duration().toSeconds(),
+                config.warmup().toSeconds(), config.seed());
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             ConfigurableApplicationContext app = startApplication(postgres, config)) {
+
+            long seedStart = System.nanoTime();
+            SeededUsers users = new UserSeeder(seedDataSource(postgres)).seed(config.users(), config.seed());
+            System.out.printf("Seed de %d usuários em %d ms%n", users.size(), (System.nanoTime() - seedStart) / 1_000_000);
+
+            URI baseUri = URI.create("http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort() + "/");
+            String token = login(baseUri, SeededUsers.email(0));
+
+            Map<Operation, EndpointStats> results = new LoadDriver(config, baseUri, users, token).run();
+            report(config, results);
+        }
+    }
+
+    static ConfigurableApplicationContext startApplication(EmbeddedPostgres postgres, LoadTestConfig config) {
+        // devtools reinicia o contexto em outra thread; aqui a aplicação precisa subir uma única vez
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(NaChapaApiApplication.class).run(applicationArgs(postgres, config.profiles(), 0));
+    }
+
+    // Passados como argumentos de linha de comando para terem precedência sobre o application.yml
+    static String[] applicationArgs(EmbeddedPostgres postgres, String profiles, int port) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", postgres.getJdbcUrl(DB_USER, DB_NAME));
+        properties.put("spring.datasource.username", DB_USER);
+        properties.put("spring.datasource.password", "");
+        properties.put("jwt.secret", "loadtest-secret-0123456789ABCDEF0123456789");
+        properties.put("server.port", port);
+        properties.put("logging.level.root", "WARN");
+        if (!profiles.isBlank()) {
+            properties.put("spring.profiles.active", profiles);
+        }
+        return properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+    }
+
+    static DataSource seedDataSource(EmbeddedPostgres postgres) {
+        PGSimpleDataSource dataSource = (PGSimpleDataSource) postgres.getPostgresDatabase();
+        dataSource.setReWriteBatchedInserts(true);
+        return dataSource;
+    }
+
+    static String login(URI baseUri, String email) throws Exception {
+        HttpResponse<String> response = HttpClient.newHttpClient().send(HttpRequest.newBuilder(baseUri.resolve("api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"" + email + "\",\"senha\":\"" + UserSeeder.PASSWORD + "\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login inicial falhou: " + response.statusCode() + " " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private static void report(LoadTestConfig config, Map<Operation, EndpointStats> results) throws Exception {
+        double seconds = config.duration().toMillis() / 1000.0;
+        EndpointStats total = new EndpointStats("TOTAL");
+        System.out.println();
+        System.out.println(EndpointStats.header());
+        for (Map.Entry<Operation, EndpointStats> entry : results.entrySet()) {
+            EndpointStats stats = entry.getValue();
+            System.out.println(stats.summary(seconds));
+            total.add(stats);
+            stats.writeDistribution(config.output().resolve(config.scenario() + "-" + entry.getKey() + ".hgrm"));
+        }
+        System.out.println(total.summary(seconds));
+        System.out.println("Distribuições em " + config.output().toAbsolutePath());
+    }
+}
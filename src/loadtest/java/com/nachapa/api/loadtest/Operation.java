@@ -0,0 +1,21 @@
+package com.nachapa.api.loadtest;
+
+// Operações disparadas contra a API; o rótulo identifica o endpoint no relatório.
+enum Operation {
+    REGISTER("POST api/auth/register"),
+    LOGIN("POST api/auth/login"),
+    LOGIN_UNKNOWN("POST api/auth/login (e-mail inexistente)"),
+    LIST("GET api/users"),
+    LIST_DEEP("GET api/users (página profunda)"),
+    UPDATE("PUT api/users/{id}");
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+}
@@ -0,0 +1,154 @@
+package com.nachapa.api.loadtest;
+
+import com.nachapa.api.NaChapaApiApplication;
+import com.nachapa.api.loadtest.UserSeeder.SeededUsers;
+import com.nachapa.api.tenant.Restaurant;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Pedidos/s em POST api/orders com uma transação por pedido (nachapa.orders.intake.mode=direct) e com group
+ * commit, cada modo com PostgreSQL embarcado e aplicação novos. Mesmos workers em laço fechado, mesmo cardápio
+ * e mesma semente; o que muda é quantos commits o banco faz por pedido.
+ */
+public final class OrderIntakeProbe {
+
+    private static final int MENU_ITEMS = 20;
+    private static final List<String> MODES = List.of("direct", "group-commit");
+
+    private OrderIntakeProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        System.out.printf("Pedidos: concorrência %d, %ds (+%ds de aquecimento), semente %d%n",
+                config.concurrency(), config.duration().toSeconds(), config.warmup().toSeconds(), config.seed());
+
+        Map<String, EndpointStats> results = new LinkedHashMap<>();
+        Map<String, Long> stored = new LinkedHashMap<>();
+        for (String mode : MODES) {
+            try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+                 ConfigurableApplicationContext app = startApplication(postgres, config, mode)) {
+
+                new UserSeeder(LoadTestMain.seedDataSource(postgres)).seed(Math.min(config.users(), 1_000), config.seed());
+                JdbcTemplate jdbc = new JdbcTemplate(LoadTestMain.seedDataSource(postgres));
+                List<UUID> menu = seedMenu(jdbc);
+
+                URI baseUri = URI.create("http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort() + "/");
+                String token = LoadTestMain.login(baseUri, SeededUsers.email(0));
+                EndpointStats stats = new EndpointStats("POST api/orders (" + mode + ")");
+                drive(config, baseUri, token, menu, stats);
+                results.put(mode, stats);
+                stored.put(mode, jdbc.queryForObject("SELECT count(*) FROM tb_order", Long.class));
+                stats.writeDistribution(config.output().resolve("orders-" + mode + ".hgrm"));
+            }
+        }
+
+        double seconds = config.duration().toMillis() / 1000.0;
+        System.out.println();
+        System.out.println(EndpointStats.header() + String.format(" %10s", "gravados"));
+        results.forEach((mode, stats) -> System.out.println(stats.summary(seconds) + String.format(" %10d", stored.get(mode))));
+        EndpointStats direct = results.get("direct");
+        EndpointStats grouped = results.get("group-commit");
+        if (direct.count() > 0) {
+            System.out.printf("%ngroup-commit / direct: %.1fx pedidos/s%n", (double) grouped.count() / direct.count());
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(EmbeddedPostgres postgres, LoadTestConfig config,
+                                                                   String mode) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        String[] args = Stream.concat(Arrays.stream(LoadTestMain.applicationArgs(postgres, config.profiles(), 0)),
+                Stream.of("--nachapa.orders.intake.mode=" + mode)).toArray(String[]::new);
+        return new SpringApplicationBuilder(NaChapaApiApplication.class).run(args);
+    }
+
+    // Uma categoria com MENU_ITEMS itens no restaurante padrão; a versão > 0 é o que o MenuCatalog lê
+    private static List<UUID> seedMenu(JdbcTemplate jdbc) {
+        UUID category = UUID.randomUUID();
+        jdbc.update("INSERT INTO tb_menu_category (id, tenant_id, name, position, active) VALUES (?, ?, 'Lanches', 0, true)",
+                category, Restaurant.DEFAULT_ID);
+        List<UUID> items = new ArrayList<>(MENU_ITEMS);
+        for (int i = 0; i < MENU_ITEMS; i++) {
+            UUID item = UUID.randomUUID();
+            jdbc.update("""
+                    INSERT INTO tb_menu_item (id, tenant_id, category_id, name, description, price, available, position)
+                    VALUES (?, ?, ?, ?, 'Pão, carne e queijo', ?, true, ?)
+                    """, item, Restaurant.DEFAULT_ID, category, "Lanche " + i, new BigDecimal("19.90").add(BigDecimal.valueOf(i)), i);
+            items.add(item);
+        }
+        jdbc.update("UPDATE tb_restaurant SET menu_version = menu_version + 1 WHERE id = ?", Restaurant.DEFAULT_ID);
+        return items;
+    }
+
+    private static void drive(LoadTestConfig config, URI baseUri, String token, List<UUID> menu, EndpointStats stats)
+            throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long measureFrom = System.nanoTime() + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(config.concurrency());
+        for (int w = 0; w < config.concurrency(); w++) {
+            SplittableRandom random = new SplittableRandom(config.seed() * 31 + w);
+            workers.execute(() -> {
+                long now;
+                while ((now = System.nanoTime()) < end) {
+                    HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("api/orders"))
+                            .header("Authorization", "Bearer " + token)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(orderBody(menu, random)))
+                            .build();
+                    boolean success;
+                    try {
+                        success = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 201;
+                    } catch (Exception e) {
+                        success = false;
+                    }
+                    if (now >= measureFrom) {
+                        stats.record(System.nanoTime() - now, success);
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(config.warmup().plus(config.duration()).toSeconds() + 60, TimeUnit.SECONDS);
+    }
+
+    // 1 a 3 itens do cardápio, quantidade 1 ou 2
+    private static String orderBody(List<UUID> menu, SplittableRandom random) {
+        int lines = 1 + random.nextInt(3);
+        StringBuilder body = new StringBuilder("{\"itens\":[");
+        for (int i = 0; i < lines; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"item-id\":\"").append(menu.get(random.nextInt(menu.size())))
+                    .append("\",\"quantidade\":").append(1 + random.nextInt(2)).append('}');
+        }
+        return body.append("]}").toString();
+    }
+}
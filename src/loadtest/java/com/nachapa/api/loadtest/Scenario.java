@@ -0,0 +1,38 @@
+package com.nachapa.api.loadtest;
+
+import java.util.SplittableRandom;
+
+// Misturas de operações. Os pesos são relativos; o sorteio usa a semente do teste, então a sequência é reproduzível.
+enum Scenario {
+    MIXED(new Operation[]{Operation.REGISTER, Operation.LOGIN, Operation.LIST, Operation.UPDATE},
+            new int[]{10, 40, 40, 10}),
+    LOGIN_STORM(new Operation[]{Operation.LOGIN, Operation.LOGIN_UNKNOWN},
+            new int[]{10, 90}),
+    DEEP_PAGINATION(new Operation[]{Operation.LIST_DEEP, Operation.LIST},
+            new int[]{90, 10}),
+    REGISTER_BURST(new Operation[]{Operation.REGISTER},
+            new int[]{100});
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    Scenario(Operation[] operations, int[] weights) {
+        this.operations = operations;
+        this.cumulativeWeights = new int[weights.length];
+        int total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    Operation pick(SplittableRandom random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+}
@@ -0,0 +1,204 @@
+package com.nachapa.api.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Mede o tempo de partida a frio: do início do processo java até o primeiro POST api/auth/login com 200.
+ * Usa o jar empacotado extraído (como no Dockerfile) e compara as variantes jvm, cds, aot e aot-cds;
+ * os arquivos CDS são gerados aqui mesmo com uma execução de treino.
+ */
+public final class StartupTimeProbe {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final long POLL_INTERVAL_MILLIS = 20;
+
+    private StartupTimeProbe() {
+    }
+
+    // Variante de partida: flags extras da JVM e se precisa do arquivo CDS/jar processado com AOT
+    private enum Variant {
+        JVM(false, false),
+        CDS(true, false),
+        AOT(false, true),
+        AOT_CDS(true, true);
+
+        private final boolean cds;
+        private final boolean aot;
+
+        Variant(boolean cds, boolean aot) {
+            this.cds = cds;
+            this.aot = aot;
+        }
+
+        String label() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        Path jar = Path.of(System.getProperty("startup.jar"));
+        int runs = Integer.getInteger("startup.runs", 5);
+        Path workDir = config.output().resolve("startup");
+        List<Variant> variants = variants(jar);
+        System.out.printf("Partida a frio de %s: variantes %s, %d execuções cada%n", jar.getFileName(), variants, runs);
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            // Uma subida na própria JVM cria o schema; depois basta um usuário para o login
+            try (ConfigurableApplicationContext ignored = LoadTestMain.startApplication(postgres, config)) {
+                new UserSeeder(LoadTestMain.seedDataSource(postgres)).seed(1, config.seed());
+            }
+
+            Path appJar = extract(jar, workDir.resolve("application"));
+            for (Variant variant : variants) {
+                if (variant.cds) {
+                    train(postgres, config, appJar, variant, workDir);
+                }
+            }
+
+            Map<Variant, List<Long>> results = new LinkedHashMap<>();
+            // Variantes intercaladas para que ruído da máquina afete todas igualmente
+            for (int run = 0; run < runs; run++) {
+                for (Variant variant : variants) {
+                    long millis = measure(postgres, config, appJar, variant, workDir.resolve(variant.label() + "-" + run + ".log"));
+                    results.computeIfAbsent(variant, v -> new ArrayList<>()).add(millis);
+                }
+            }
+            report(results);
+        }
+    }
+
+    private static List<Variant> variants(Path jar) throws IOException {
+        boolean aotProcessed;
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            aotProcessed = jarFile.stream().anyMatch(entry -> entry.getName().endsWith("__ApplicationContextInitializer.class"));
+        }
+        if (!aotProcessed) {
+            System.out.println("Jar sem processamento AOT (build sem -Paot): variantes aot ignoradas");
+        }
+        return Arrays.stream(Variant.values()).filter(variant -> aotProcessed || !variant.aot).toList();
+    }
+
+    private static Path extract(Path jar, Path destination) throws Exception {
+        if (Files.exists(destination)) {
+            try (Stream<Path> files = Files.walk(destination)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+        run(List.of(java(), "-Djarmode=tools", "-jar", jar.toString(), "extract", "--destination", destination.toString()),
+                destination.resolveSibling("extract.log"));
+        return destination.resolve(jar.getFileName());
+    }
+
+    // Execução de treino (mesmo classpath das medições): sobe até o refresh e grava o arquivo CDS dinâmico
+    private static void train(EmbeddedPostgres postgres, LoadTestConfig config, Path appJar, Variant variant, Path workDir) throws Exception {
+        List<String> command = command(postgres, config, appJar, variant, 0);
+        command.addAll(1, List.of("-XX:ArchiveClassesAtExit=" + archive(workDir, variant), "-Dspring.context.exit=onRefresh"));
+        run(command, workDir.resolve(variant.label() + "-training.log"));
+    }
+
+    private static long measure(EmbeddedPostgres postgres, LoadTestConfig config, Path appJar, Variant variant, Path log) throws Exception {
+        int port = freePort();
+        List<String> command = command(postgres, config, appJar, variant, port);
+        if (variant.cds) {
+            command.add(1, "-XX:SharedArchiveFile=" + archive(log.getParent(), variant));
+        }
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest login = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"" + UserSeeder.SeededUsers.email(0)
+                        + "\",\"senha\":\"" + UserSeeder.PASSWORD + "\"}"))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            long deadline = start + STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Aplicação (" + variant.label() + ") encerrou na partida, ver " + log);
+                }
+                try {
+                    if (client.send(login, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // porta ainda fechada
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+            throw new IllegalStateException("Sem login bem-sucedido em " + STARTUP_TIMEOUT + " (" + variant.label() + "), ver " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static List<String> command(EmbeddedPostgres postgres, LoadTestConfig config, Path appJar, Variant variant, int port) {
+        List<String> command = new ArrayList<>();
+        command.add(java());
+        if (variant.aot) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        command.add("-jar");
+        command.add(appJar.toString());
+        // O build AOT congela o profile usado no processamento (prod por padrão)
+        command.addAll(List.of(LoadTestMain.applicationArgs(postgres, config.profiles(), port)));
+        return command;
+    }
+
+    private static Path archive(Path workDir, Variant variant) {
+        return workDir.resolve(variant.label() + ".jsa").toAbsolutePath();
+    }
+
+    private static void run(List<String> command, Path log) throws Exception {
+        Files.createDirectories(log.getParent());
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Falhou (" + process.exitValue() + "): " + String.join(" ", command) + ", ver " + log);
+        }
+    }
+
+    private static String java() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void report(Map<Variant, List<Long>> results) {
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%-10s %10s %10s %10s%n", "variante", "min ms", "mediana ms", "max ms");
+        results.forEach((variant, millis) -> {
+            List<Long> sorted = millis.stream().sorted().toList();
+            System.out.printf(Locale.ROOT, "%-10s %10d %10d %10d%n", variant.label(),
+                    sorted.get(0), sorted.get(sorted.size() / 2), sorted.get(sorted.size() - 1));
+        });
+    }
+}
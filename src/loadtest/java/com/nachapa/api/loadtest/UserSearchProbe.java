@@ -0,0 +1,90 @@
+package com.nachapa.api.loadtest;
+
+import com.nachapa.api.loadtest.UserSeeder.SeededUsers;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Latência de GET api/users/search sobre loadtest.users usuários, com os índices do schema-postgresql.sql
+ * e depois sem eles (mesma consulta caindo em varredura sequencial).
+ */
+public final class UserSearchProbe {
+
+    private static final int REQUESTS = Integer.getInteger("search.requests", 200);
+    private static final int WARMUP_REQUESTS = 20;
+
+    private UserSearchProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             ConfigurableApplicationContext app = LoadTestMain.startApplication(postgres, config)) {
+
+            long seedStart = System.nanoTime();
+            SeededUsers users = new UserSeeder(LoadTestMain.seedDataSource(postgres)).seed(config.users(), config.seed());
+            System.out.printf("Seed de %d usuários em %d ms%n", users.size(), (System.nanoTime() - seedStart) / 1_000_000);
+
+            URI baseUri = URI.create("http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort() + "/");
+            String token = LoadTestMain.login(baseUri, SeededUsers.email(0));
+            int middle = users.size() / 2;
+            String cpf = SeededUsers.cpf(middle);
+
+            Map<String, String> queries = new LinkedHashMap<>();
+            queries.put("nome comum", "maria");
+            queries.put("trecho de sobrenome", "nascim");
+            queries.put("e-mail", "user" + middle + "@");
+            queries.put("CPF prefixo", cpf.substring(0, 7));
+            queries.put("CPF exato formatado", cpf.substring(0, 3) + "." + cpf.substring(3, 6) + "." + cpf.substring(6, 9) + "-" + cpf.substring(9));
+
+            HttpClient client = HttpClient.newHttpClient();
+            System.out.printf(Locale.ROOT, "%n%-10s %-22s %10s %10s %10s%n", "índices", "busca", "mediana ms", "p99 ms", "itens");
+            measure(client, baseUri, token, queries, "com");
+
+            JdbcTemplate jdbc = new JdbcTemplate(LoadTestMain.seedDataSource(postgres));
+            jdbc.execute("DROP INDEX idx_tb_user_tenant_name_trgm, idx_tb_user_tenant_email_trgm,"
+                    + " idx_tb_user_tenant_cpf_prefix, idx_tb_user_cpf_prefix");
+            jdbc.execute("ANALYZE tb_user");
+            measure(client, baseUri, token, queries, "sem");
+        }
+    }
+
+    private static void measure(HttpClient client, URI baseUri, String token, Map<String, String> queries, String label) throws Exception {
+        for (Map.Entry<String, String> query : queries.entrySet()) {
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("api/users/search?limit=20&q="
+                            + URLEncoder.encode(query.getValue(), StandardCharsets.UTF_8)))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+            long[] nanos = new long[REQUESTS];
+            String body = "";
+            for (int i = -WARMUP_REQUESTS; i < REQUESTS; i++) {
+                long start = System.nanoTime();
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException("Busca '" + query.getValue() + "' falhou: " + response.statusCode() + " " + response.body());
+                }
+                if (i >= 0) {
+                    nanos[i] = System.nanoTime() - start;
+                }
+                body = response.body();
+            }
+            Arrays.sort(nanos);
+            System.out.printf(Locale.ROOT, "%-10s %-22s %10.2f %10.2f %10d%n", label, query.getKey(),
+                    nanos[REQUESTS / 2] / 1e6, nanos[(int) (REQUESTS * 0.99)] / 1e6, body.split("\"id\"", -1).length - 1);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.nachapa.api.loadtest;
+
+import com.nachapa.api.tenant.Restaurant;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+// Popula tb_user com N usuários determinísticos (mesma semente => mesmos dados) via inserts em lote,
+// todos no restaurante padrão.
+final class UserSeeder {
+
+    static final String PASSWORD = "secret123";
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final int CPF_BASE = 100_000_000;
+    private static final String[] FIRST_NAMES = {"Ana", "Bruno", "Carla", "Diego", "Elaine", "Fabio", "Gabriela",
+            "Heitor", "Isabela", "Joao", "Karina", "Lucas", "Maria", "Nathan", "Olivia", "Pedro", "Rafaela", "Samuel"};
+    private static final String[] LAST_NAMES = {"Silva", "Souza", "Oliveira", "Santos", "Lima", "Pereira", "Costa",
+            "Rodrigues", "Almeida", "Nascimento", "Carvalho", "Gomes", "Ribeiro", "Martins"};
+
+    private static final String INSERT = """
+            INSERT INTO tb_user (id, tenant_id, role, created_at, updated_at, name, email, password, cpf, cell_phone,
+                                 birth_date, is_active)
+            VALUES (?, ?, 'USER', ?, ?, ?, ?, ?, ?, ?, ?, true)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    UserSeeder(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    SeededUsers seed(int users, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        // Um único hash BCrypt para todos: o custo do seed fica no banco, não no encoder
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        UUID[] ids = new UUID[users];
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < users; i++) {
+            ids[i] = new UUID(random.nextLong(), random.nextLong());
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            LocalDate birthDate = LocalDate.of(1950 + random.nextInt(55), 1 + random.nextInt(12), 1 + random.nextInt(28));
+            batch.add(new Object[]{ids[i], Restaurant.DEFAULT_ID, now, now, name, SeededUsers.email(i), passwordHash,
+                    SeededUsers.cpf(i), SeededUsers.cellPhone(i), Date.valueOf(birthDate)});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT, batch);
+        }
+        jdbcTemplate.execute("ANALYZE tb_user");
+        return new SeededUsers(ids);
+    }
+
+    // Gera um CPF válido (dígitos verificadores corretos) a partir de uma base de 9 dígitos
+    static String validCpf(int base) {
+        int[] digits = new int[11];
+        for (int i = 8; i >= 0; i--) {
+            digits[i] = base % 10;
+            base /= 10;
+        }
+        digits[9] = checkDigit(digits, 9);
+        digits[10] = checkDigit(digits, 10);
+        StringBuilder cpf = new StringBuilder(11);
+        for (int digit : digits) {
+            cpf.append(digit);
+        }
+        return cpf.toString();
+    }
+
+    private static int checkDigit(int[] digits, int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += digits[i] * (length + 1 - i);
+        }
+        int rest = (sum * 10) % 11;
+        return rest == 10 ? 0 : rest;
+    }
+
+    record SeededUsers(UUID[] ids) {
+
+        int size() {
+            return ids.length;
+        }
+
+        static String email(int index) {
+            return "user" + index + "@loadtest.nachapa.com";
+        }
+
+        static String cpf(int index) {
+            return validCpf(CPF_BASE + index);
+        }
+
+        static String cellPhone(int index) {
+            return String.format("319%08d", index % 100_000_000);
+        }
+    }
+}
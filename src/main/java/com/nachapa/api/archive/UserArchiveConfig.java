@@ -0,0 +1,9 @@
+package com.nachapa.api.archive;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(UserArchiveProperties.class)
+public class UserArchiveConfig {
+}
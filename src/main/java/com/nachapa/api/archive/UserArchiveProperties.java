@@ -0,0 +1,28 @@
+package com.nachapa.api.archive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "nachapa.archive")
+public class UserArchiveProperties {
+
+    private boolean enabled = true;
+
+    // Usuários inativos há mais tempo que isso saem de tb_user
+    private Duration retention = Duration.ofDays(365);
+
+    private Duration interval = Duration.ofHours(1);
+
+    // Usuários por transação: cada lote trava e apaga só essas linhas
+    private int chunkSize = 500;
+
+    private int maxChunksPerRun = 100;
+
+    // Espera entre lotes, para o job não disputar I/O e WAL com o tráfego
+    private Duration pause = Duration.ofMillis(200);
+}
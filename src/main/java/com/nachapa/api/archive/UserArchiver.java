@@ -0,0 +1,114 @@
+package com.nachapa.api.archive;
+
+import com.nachapa.api.repository.ArchivedUserRepository;
+import com.nachapa.api.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.nachapa.api.config.constants.MetricsConstants.ARCHIVE_RUN;
+import static com.nachapa.api.config.constants.MetricsConstants.ARCHIVE_USERS;
+
+/**
+ * Move para tb_user_archive os usuários inativos há mais tempo que a retenção, em lotes: cada lote trava as linhas
+ * ({@code FOR UPDATE SKIP LOCKED}), copia com um INSERT ... SELECT e apaga de tb_user na mesma transação. Entre
+ * lotes o job espera {@code pause}; um ciclo para no primeiro lote incompleto ou em {@code max-chunks-per-run}.
+ * Assim tb_user e seus índices ficam com os ativos e os inativos recentes.
+ */
+@Slf4j
+@Component
+public class UserArchiver {
+
+    private final UserRepository userRepository;
+    private final ArchivedUserRepository archivedUserRepository;
+    private final TransactionOperations transactionOperations;
+    private final UserArchiveProperties properties;
+    private final Clock clock;
+
+    private final Counter archived;
+    private final Timer run;
+
+    @Autowired
+    public UserArchiver(UserRepository userRepository, ArchivedUserRepository archivedUserRepository,
+                        TransactionOperations transactionOperations, UserArchiveProperties properties,
+                        MeterRegistry meterRegistry) {
+        this(userRepository, archivedUserRepository, transactionOperations, properties, meterRegistry,
+                Clock.systemDefaultZone());
+    }
+
+    UserArchiver(UserRepository userRepository, ArchivedUserRepository archivedUserRepository,
+                 TransactionOperations transactionOperations, UserArchiveProperties properties,
+                 MeterRegistry meterRegistry, Clock clock) {
+        this.userRepository = userRepository;
+        this.archivedUserRepository = archivedUserRepository;
+        this.transactionOperations = transactionOperations;
+        this.properties = properties;
+        this.clock = clock;
+        this.archived = meterRegistry.counter(ARCHIVE_USERS);
+        this.run = meterRegistry.timer(ARCHIVE_RUN);
+    }
+
+    @Scheduled(fixedDelayString = "${nachapa.archive.interval:1h}", initialDelayString = "${nachapa.archive.interval:1h}")
+    public void archive() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        run.record(this::archiveInactive);
+    }
+
+    private void archiveInactive() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime cutoff = now.minus(properties.getRetention());
+        int total = 0;
+        for (int i = 0; i < properties.getMaxChunksPerRun(); i++) {
+            int moved = archiveChunk(cutoff, now);
+            total += moved;
+            if (moved < properties.getChunkSize() || !pause()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Arquivamento: {} usuário(s) inativos desde antes de {} movidos para tb_user_archive", total, cutoff);
+        }
+    }
+
+    int archiveChunk(LocalDateTime cutoff, LocalDateTime now) {
+        Integer moved = transactionOperations.execute(status -> {
+            List<UUID> ids = userRepository.findArchivableIds(cutoff, Limit.of(properties.getChunkSize()));
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            archivedUserRepository.copyFromUsers(ids, now);
+            userRepository.deleteByIds(ids);
+            return ids.size();
+        });
+        int count = moved == null ? 0 : moved;
+        archived.increment(count);
+        return count;
+    }
+
+    // false quando a thread foi interrompida (desligamento): o ciclo para e o restante fica para o próximo
+    private boolean pause() {
+        if (properties.getPause().isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(properties.getPause().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.nachapa.api.audit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@EnableConfigurationProperties(AuditProperties.class)
+public class AuditConfig {
+
+    // enabled verificado em runtime (e não com @ConditionalOnProperty): no jar processado com AOT as condições ficam congeladas
+    @Bean(destroyMethod = "close")
+    public AuditLog auditLog(AuditProperties properties, MeterRegistry meterRegistry) throws IOException {
+        if (!properties.isEnabled()) {
+            return AuditLog.disabled();
+        }
+        AuditSegments segments = new AuditSegments(Path.of(properties.getDirectory()), properties.getSegmentSize().toBytes());
+        return new AuditLog(segments, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,7 @@
+package com.nachapa.api.audit;
+
+import java.util.UUID;
+
+// Evento ainda na fila, do jeito que saiu da thread da requisição (hashes e IP são resolvidos pelo escritor)
+record AuditEntry(AuditEventType type, long timestampMicros, UUID userId, String email, String actor, String address) {
+}
@@ -0,0 +1,28 @@
+package com.nachapa.api.audit;
+
+import lombok.Getter;
+
+// Código gravado no registro binário: nunca reutilizar nem renumerar
+@Getter
+public enum AuditEventType {
+    LOGIN_SUCCEEDED((byte) 1),
+    LOGIN_FAILED((byte) 2),
+    USER_REGISTERED((byte) 3),
+    USER_DEACTIVATED((byte) 4),
+    USER_RESTORED((byte) 5);
+
+    private final byte code;
+
+    AuditEventType(byte code) {
+        this.code = code;
+    }
+
+    static AuditEventType fromCode(byte code) {
+        for (AuditEventType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Tipo de evento de auditoria desconhecido: " + code);
+    }
+}
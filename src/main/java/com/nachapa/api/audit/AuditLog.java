@@ -0,0 +1,144 @@
+package com.nachapa.api.audit;
+
+import com.nachapa.api.util.BatchWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.nachapa.api.config.constants.MetricsConstants.AUDIT_DROPPED;
+import static com.nachapa.api.config.constants.MetricsConstants.AUDIT_FLUSH;
+import static com.nachapa.api.config.constants.MetricsConstants.AUDIT_QUEUE;
+import static com.nachapa.api.config.constants.MetricsConstants.TAG_REASON;
+
+/**
+ * Log de auditoria de segurança (logins, falhas de login, cadastros, inativações e restaurações). A thread da
+ * requisição só monta o evento e o coloca na fila do {@link BatchWriter}; a thread dele grava os registros em
+ * lote nos segmentos mapeados em memória ({@link AuditSegments}) e faz um msync por lote. Nada aqui toca o banco.
+ */
+@Slf4j
+public class AuditLog implements AutoCloseable {
+
+    private final AuditSegments segments;
+    private final boolean fsync;
+    private final BatchWriter<AuditEntry> writer;
+
+    private final Counter droppedWriteError;
+    private final Timer flush;
+
+    AuditLog(AuditSegments segments, AuditProperties properties, MeterRegistry meterRegistry) {
+        this.segments = segments;
+        this.fsync = properties.isFsync();
+        this.droppedWriteError = meterRegistry.counter(AUDIT_DROPPED, TAG_REASON, "write_error");
+        // Gravação + msync de cada lote
+        this.flush = Timer.builder(AUDIT_FLUSH).publishPercentileHistogram().register(meterRegistry);
+        // Sem espera por mais eventos: o lote é o que já estava na fila
+        this.writer = new BatchWriter<>("audit-writer", properties.getQueueCapacity(), properties.getBatchSize(),
+                Duration.ZERO, properties.getPollTimeout(),
+                meterRegistry.counter(AUDIT_DROPPED, TAG_REASON, "queue_full"), this::write);
+        Gauge.builder(AUDIT_QUEUE, writer, BatchWriter::size).register(meterRegistry);
+    }
+
+    private AuditLog() {
+        this.segments = null;
+        this.fsync = false;
+        this.writer = null;
+        this.droppedWriteError = null;
+        this.flush = null;
+    }
+
+    // nachapa.audit.enabled=false: os eventos são ignorados
+    static AuditLog disabled() {
+        return new AuditLog();
+    }
+
+    public void loginSucceeded(UUID userId, String email) {
+        record(AuditEventType.LOGIN_SUCCEEDED, userId, email);
+    }
+
+    // userId null quando o e-mail não existe
+    public void loginFailed(UUID userId, String email) {
+        record(AuditEventType.LOGIN_FAILED, userId, email);
+    }
+
+    public void userRegistered(UUID userId, String email) {
+        record(AuditEventType.USER_REGISTERED, userId, email);
+    }
+
+    public void userDeactivated(UUID userId, String email) {
+        record(AuditEventType.USER_DEACTIVATED, userId, email);
+    }
+
+    // Restauração de um usuário arquivado; o autor é o admin autenticado
+    public void userRestored(UUID userId, String email) {
+        record(AuditEventType.USER_RESTORED, userId, email);
+    }
+
+    void record(AuditEventType type, UUID userId, String email) {
+        if (writer == null) {
+            return;
+        }
+        writer.offer(capture(type, userId, email));
+    }
+
+    // Tudo o que roda na thread da requisição além do offer
+    static AuditEntry capture(AuditEventType type, UUID userId, String email) {
+        Instant now = Instant.now();
+        return new AuditEntry(type, now.getEpochSecond() * 1_000_000L + now.getNano() / 1000,
+                userId, email, currentActor(), currentAddress());
+    }
+
+    @Override
+    public void close() throws IOException, InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        writer.close();
+        segments.close();
+    }
+
+    private void write(List<AuditEntry> batch) {
+        long start = System.nanoTime();
+        int written = 0;
+        try {
+            for (AuditEntry entry : batch) {
+                segments.append(entry);
+                written++;
+            }
+            if (fsync) {
+                segments.force();
+            }
+        } catch (IOException | RuntimeException e) {
+            droppedWriteError.increment(batch.size() - written);
+            log.error("Falha ao gravar {} evento(s) de auditoria: {}", batch.size() - written, e.getMessage());
+        }
+        flush.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static String currentAddress() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servlet ? servlet.getRequest().getRemoteAddr() : null;
+    }
+}
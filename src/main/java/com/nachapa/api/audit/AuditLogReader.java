@@ -0,0 +1,156 @@
+package com.nachapa.api.audit;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static com.nachapa.api.audit.AuditRecord.HASH_LENGTH;
+import static com.nachapa.api.audit.AuditRecord.OFFSET_HASH;
+import static com.nachapa.api.audit.AuditRecord.OFFSET_SEQUENCE;
+import static com.nachapa.api.audit.AuditRecord.SIZE;
+
+/**
+ * Leitura dos segmentos de auditoria, sem Spring: usado pelo {@link AuditLogTool} e pelo escritor ao retomar.
+ * Lê só os slots preenchidos de cada segmento, em ordem de sequência.
+ */
+public final class AuditLogReader {
+
+    private static final String PREFIX = "audit-";
+    private static final String SUFFIX = ".seg";
+
+    /**
+     * Resultado da verificação: registros íntegros, hash do último deles e a primeira sequência que não confere
+     * ({@code -1} se a cadeia está íntegra).
+     */
+    public record Verification(long records, String lastHash, long brokenAt, String problem) {
+
+        public boolean intact() {
+            return brokenAt < 0;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RawVisitor {
+        // false interrompe a leitura
+        boolean visit(long sequence, byte[] record);
+    }
+
+    private AuditLogReader() {
+    }
+
+    static String segmentName(long firstSequence) {
+        return String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX);
+    }
+
+    static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    // Ordenados pela primeira sequência (o zero à esquerda no nome garante a ordem lexicográfica)
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    // Hash do último registro preenchido do segmento (zeros se vazio)
+    static byte[] lastHash(Path segment) throws IOException {
+        byte[][] last = {new byte[HASH_LENGTH]};
+        readSegment(segment, (sequence, record) -> {
+            last[0] = Arrays.copyOfRange(record, OFFSET_HASH, OFFSET_HASH + HASH_LENGTH);
+            return true;
+        });
+        return last[0];
+    }
+
+    /**
+     * Percorre os registros em ordem, entregando ao {@code visitor} os que passam no filtro; o visitor devolve
+     * false para parar.
+     */
+    public static void read(Path directory, Predicate<AuditRecord> filter, Predicate<AuditRecord> visitor) throws IOException {
+        for (Path segment : segments(directory)) {
+            boolean[] stop = {false};
+            readSegment(segment, (sequence, record) -> {
+                AuditRecord decoded = AuditRecord.decode(record);
+                if (filter.test(decoded) && !visitor.test(decoded)) {
+                    stop[0] = true;
+                }
+                return !stop[0];
+            });
+            if (stop[0]) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Confere sequência contínua a partir de 1 e a cadeia de hashes de todos os segmentos.
+     */
+    public static Verification verify(Path directory) throws IOException {
+        MessageDigest digest = AuditRecord.sha256();
+        byte[][] previous = {new byte[HASH_LENGTH]};
+        long[] expected = {1};
+        String[] problem = {null};
+        for (Path segment : segments(directory)) {
+            if (firstSequence(segment) != expected[0]) {
+                problem[0] = "segmento " + segment.getFileName() + " não começa na sequência " + expected[0];
+                break;
+            }
+            readSegment(segment, (sequence, record) -> {
+                if (sequence != expected[0]) {
+                    problem[0] = "sequência " + sequence + " fora de ordem";
+                    return false;
+                }
+                byte[] hash = AuditRecord.chain(digest, previous[0], record);
+                if (!Arrays.equals(hash, 0, HASH_LENGTH, record, OFFSET_HASH, OFFSET_HASH + HASH_LENGTH)) {
+                    problem[0] = "hash não confere";
+                    return false;
+                }
+                previous[0] = hash;
+                expected[0]++;
+                return true;
+            });
+            if (problem[0] != null) {
+                break;
+            }
+        }
+        return new Verification(expected[0] - 1, HexFormat.of().formatHex(previous[0]),
+                problem[0] == null ? -1 : expected[0], problem[0]);
+    }
+
+    private static void readSegment(Path segment, RawVisitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            int capacity = (int) (channel.size() / SIZE);
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, (long) capacity * SIZE);
+            for (int slot = 0; slot < capacity; slot++) {
+                long sequence = mapped.getLong(slot * SIZE + OFFSET_SEQUENCE);
+                if (sequence == 0) {
+                    return;
+                }
+                byte[] record = new byte[SIZE];
+                mapped.get(slot * SIZE, record);
+                if (!visitor.visit(sequence, record)) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.nachapa.api.audit;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Linha de comando para os segmentos de auditoria (não sobe o Spring). Na imagem Docker:
+ * <pre>
+ *   java -cp /app/application/app.jar com.nachapa.api.audit.AuditLogTool verify /var/nachapa/audit
+ *   java -cp /app/application/app.jar com.nachapa.api.audit.AuditLogTool dump /var/nachapa/audit \
+ *        --type LOGIN_FAILED --email maria@email.com --since 2026-01-01T00:00:00Z --limit 100
+ * </pre>
+ * Filtros do dump: --type, --user (UUID), --email, --actor, --address, --since/--until (ISO-8601, UTC), --limit.
+ * Saída separada por tabulação: sequência, instante, tipo, usuário, hash do e-mail, IP, hash do autor, hash.
+ */
+public final class AuditLogTool {
+
+    private AuditLogTool() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.exit(run(args, System.out));
+    }
+
+    static int run(String[] args, PrintStream out) throws IOException {
+        if (args.length < 2) {
+            out.println("uso: AuditLogTool verify|dump <diretório> [filtros]");
+            return 2;
+        }
+        Path directory = Path.of(args[1]);
+        return switch (args[0]) {
+            case "verify" -> verify(directory, out);
+            case "dump" -> dump(directory, Arrays.copyOfRange(args, 2, args.length), out);
+            default -> {
+                out.println("comando desconhecido: " + args[0]);
+                yield 2;
+            }
+        };
+    }
+
+    private static int verify(Path directory, PrintStream out) throws IOException {
+        AuditLogReader.Verification verification = AuditLogReader.verify(directory);
+        if (verification.intact()) {
+            out.printf("OK: %d registro(s), último hash %s%n", verification.records(), verification.lastHash());
+            return 0;
+        }
+        out.printf("FALHA na sequência %d: %s (%d registro(s) íntegros antes dela, último hash %s)%n",
+                verification.brokenAt(), verification.problem(), verification.records(), verification.lastHash());
+        return 1;
+    }
+
+    private static int dump(Path directory, String[] options, PrintStream out) throws IOException {
+        Predicate<AuditRecord> filter = record -> true;
+        long limit = Long.MAX_VALUE;
+        for (int i = 0; i + 1 < options.length; i += 2) {
+            String value = options[i + 1];
+            switch (options[i]) {
+                case "--type" -> {
+                    AuditEventType type = AuditEventType.valueOf(value);
+                    filter = filter.and(record -> record.type() == type);
+                }
+                case "--user" -> {
+                    UUID userId = UUID.fromString(value);
+                    filter = filter.and(record -> userId.equals(record.userId()));
+                }
+                case "--email" -> {
+                    String hash = AuditRecord.idHash(value);
+                    filter = filter.and(record -> hash.equals(record.emailHash()));
+                }
+                case "--actor" -> {
+                    String hash = AuditRecord.idHash(value);
+                    filter = filter.and(record -> hash.equals(record.actorHash()));
+                }
+                case "--address" -> filter = filter.and(record -> record.address() != null
+                        && value.equals(record.address().getHostAddress()));
+                case "--since" -> {
+                    Instant since = Instant.parse(value);
+                    filter = filter.and(record -> !record.timestamp().isBefore(since));
+                }
+                case "--until" -> {
+                    Instant until = Instant.parse(value);
+                    filter = filter.and(record -> record.timestamp().isBefore(until));
+                }
+                case "--limit" -> limit = Long.parseLong(value);
+                default -> {
+                    out.println("filtro desconhecido: " + options[i]);
+                    return 2;
+                }
+            }
+        }
+        long[] remaining = {limit};
+        AuditLogReader.read(directory, filter, record -> {
+            out.printf("%d\t%s\t%s\t%s\t%s\t%s\t%s\t%s%n", record.sequence(), record.timestamp(), record.type(),
+                    dash(record.userId()), dash(record.emailHash()),
+                    record.address() == null ? "-" : record.address().getHostAddress(),
+                    dash(record.actorHash()), record.hash());
+            return --remaining[0] > 0;
+        });
+        return 0;
+    }
+
+    private static String dash(Object value) {
+        return value == null ? "-" : value.toString();
+    }
+}
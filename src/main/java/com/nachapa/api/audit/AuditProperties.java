@@ -0,0 +1,34 @@
+package com.nachapa.api.audit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "nachapa.audit")
+public class AuditProperties {
+
+    private boolean enabled = true;
+
+    // Um diretório por instância (o arquivo .lock impede compartilhar)
+    private String directory = "nachapa-audit";
+
+    // Tamanho de cada segmento; ao encher, o escritor abre o próximo
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    // Eventos aguardando o escritor; com a fila cheia o evento é descartado (e contado), nunca bloqueia o login
+    private int queueCapacity = 65_536;
+
+    // Máximo de registros gravados entre dois msync
+    private int batchSize = 4_096;
+
+    // msync ao fim de cada lote; sem ele, os registros ficam no page cache até o kernel gravar
+    private boolean fsync = true;
+
+    // Espera máxima do escritor com a fila vazia (também o tempo para notar o desligamento)
+    private Duration pollTimeout = Duration.ofMillis(100);
+}
@@ -0,0 +1,174 @@
+package com.nachapa.api.audit;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Registro de auditoria já gravado. Layout fixo de {@value #SIZE} bytes (big-endian):
+ * <pre>
+ *   0  sequence         long   (começa em 1; 0 marca slot vazio)
+ *   8  timestampMicros  long   (epoch, UTC)
+ *  16  type             byte   ({@link AuditEventType#getCode()}) + 7 bytes reservados
+ *  24  userId           16     (UUID; zeros quando o usuário não existe)
+ *  40  emailHash        16     (SHA-256 do e-mail normalizado, truncado)
+ *  56  address          16     (IPv6; IPv4 mapeado em ::ffff:0:0/96; zeros sem requisição HTTP)
+ *  72  actorHash        16     (SHA-256 do usuário autenticado, truncado; zeros para anônimo)
+ *  88  reservado        8
+ *  96  hash             32     (SHA-256 do hash anterior + bytes 0..95)
+ * </pre>
+ * E-mails entram só como hash: dá para procurar por um e-mail conhecido sem o log guardar dado pessoal.
+ */
+public record AuditRecord(long sequence, Instant timestamp, AuditEventType type, UUID userId, String emailHash,
+                          InetAddress address, String actorHash, String hash) {
+
+    public static final int SIZE = 128;
+    public static final int HASH_LENGTH = 32;
+
+    static final int OFFSET_SEQUENCE = 0;
+    static final int OFFSET_TIMESTAMP = 8;
+    static final int OFFSET_TYPE = 16;
+    static final int OFFSET_USER = 24;
+    static final int OFFSET_EMAIL = 40;
+    static final int OFFSET_ADDRESS = 56;
+    static final int OFFSET_ACTOR = 72;
+    static final int OFFSET_HASH = 96;
+
+    private static final int ID_HASH_LENGTH = 16;
+    private static final HexFormat HEX = HexFormat.of();
+    private static final Pattern IPV4 = Pattern.compile("(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})");
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Hash truncado de um e-mail (ou nome do usuário autenticado), o mesmo gravado em emailHash/actorHash.
+     */
+    public static String idHash(String value) {
+        return value == null ? null : HEX.formatHex(idHash(sha256(), value));
+    }
+
+    static byte[] idHash(MessageDigest digest, String value) {
+        if (value == null) {
+            return new byte[ID_HASH_LENGTH];
+        }
+        digest.reset();
+        byte[] full = digest.digest(value.trim().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+        return Arrays.copyOf(full, ID_HASH_LENGTH);
+    }
+
+    static byte[] address(String address) {
+        byte[] out = new byte[16];
+        if (address == null) {
+            return out;
+        }
+        Matcher ipv4 = IPV4.matcher(address);
+        if (ipv4.matches()) {
+            out[10] = (byte) 0xff;
+            out[11] = (byte) 0xff;
+            for (int i = 0; i < 4; i++) {
+                int octet = Integer.parseInt(ipv4.group(i + 1));
+                if (octet > 255) {
+                    return new byte[16];
+                }
+                out[12 + i] = (byte) octet;
+            }
+            return out;
+        }
+        // Com ':' o getByName só interpreta o literal IPv6 (nunca consulta DNS na thread do escritor)
+        if (address.indexOf(':') >= 0) {
+            try {
+                byte[] raw = InetAddress.getByName(address).getAddress();
+                if (raw.length == 4) {
+                    // ::ffff:a.b.c.d volta como Inet4Address
+                    out[10] = (byte) 0xff;
+                    out[11] = (byte) 0xff;
+                }
+                System.arraycopy(raw, 0, out, 16 - raw.length, raw.length);
+            } catch (UnknownHostException e) {
+                // Endereço malformado fica zerado
+            }
+        }
+        return out;
+    }
+
+    // Preenche os bytes 0..95 do registro (o hash é calculado e escrito por quem encadeia)
+    static void encode(ByteBuffer out, long sequence, AuditEntry entry, MessageDigest digest) {
+        Arrays.fill(out.array(), (byte) 0);
+        out.putLong(OFFSET_SEQUENCE, sequence);
+        out.putLong(OFFSET_TIMESTAMP, entry.timestampMicros());
+        out.put(OFFSET_TYPE, entry.type().getCode());
+        if (entry.userId() != null) {
+            out.putLong(OFFSET_USER, entry.userId().getMostSignificantBits());
+            out.putLong(OFFSET_USER + 8, entry.userId().getLeastSignificantBits());
+        }
+        if (entry.email() != null) {
+            out.put(OFFSET_EMAIL, idHash(digest, entry.email()));
+        }
+        out.put(OFFSET_ADDRESS, address(entry.address()));
+        if (entry.actor() != null) {
+            out.put(OFFSET_ACTOR, idHash(digest, entry.actor()));
+        }
+    }
+
+    // SHA-256(hash anterior + bytes 0..95 do registro)
+    static byte[] chain(MessageDigest digest, byte[] previousHash, byte[] record) {
+        digest.reset();
+        digest.update(previousHash);
+        digest.update(record, 0, OFFSET_HASH);
+        return digest.digest();
+    }
+
+    static AuditRecord decode(byte[] record) {
+        ByteBuffer in = ByteBuffer.wrap(record);
+        long micros = in.getLong(OFFSET_TIMESTAMP);
+        long mostSignificant = in.getLong(OFFSET_USER);
+        long leastSignificant = in.getLong(OFFSET_USER + 8);
+        return new AuditRecord(
+                in.getLong(OFFSET_SEQUENCE),
+                Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1000),
+                AuditEventType.fromCode(in.get(OFFSET_TYPE)),
+                mostSignificant == 0 && leastSignificant == 0 ? null : new UUID(mostSignificant, leastSignificant),
+                hexOrNull(record, OFFSET_EMAIL, ID_HASH_LENGTH),
+                decodeAddress(record),
+                hexOrNull(record, OFFSET_ACTOR, ID_HASH_LENGTH),
+                HEX.formatHex(record, OFFSET_HASH, OFFSET_HASH + HASH_LENGTH)
+        );
+    }
+
+    private static String hexOrNull(byte[] record, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (record[i] != 0) {
+                return HEX.formatHex(record, offset, offset + length);
+            }
+        }
+        return null;
+    }
+
+    private static InetAddress decodeAddress(byte[] record) {
+        if (hexOrNull(record, OFFSET_ADDRESS, 16) == null) {
+            return null;
+        }
+        try {
+            // getByAddress devolve Inet4Address para IPv4 mapeado
+            return InetAddress.getByAddress(Arrays.copyOfRange(record, OFFSET_ADDRESS, OFFSET_ADDRESS + 16));
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.nachapa.api.audit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+import static com.nachapa.api.audit.AuditRecord.HASH_LENGTH;
+import static com.nachapa.api.audit.AuditRecord.OFFSET_HASH;
+import static com.nachapa.api.audit.AuditRecord.OFFSET_SEQUENCE;
+import static com.nachapa.api.audit.AuditRecord.SIZE;
+
+/**
+ * Escrita dos segmentos ({@code audit-<primeira sequência>.seg}), cada um mapeado em memória com tamanho fixo.
+ * Usado por uma única thread (o escritor do {@link AuditLog}); o {@code .lock} impede dois processos no mesmo
+ * diretório, o que quebraria a sequência e a cadeia de hashes.
+ */
+@Slf4j
+final class AuditSegments implements Closeable {
+
+    private static final int ZERO_CHUNK = 1 << 20;
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final MessageDigest digest = AuditRecord.sha256();
+    private final byte[] record = new byte[SIZE];
+    private final ByteBuffer recordBuffer = ByteBuffer.wrap(record);
+
+    private byte[] previousHash = new byte[HASH_LENGTH];
+    private long nextSequence = 1;
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private int capacity;
+    private int slot;
+
+    AuditSegments(Path directory, long segmentBytes) throws IOException {
+        this.directory = directory;
+        this.recordsPerSegment = (int) Math.max(1, Math.min(Integer.MAX_VALUE / SIZE, segmentBytes / SIZE));
+        Files.createDirectories(directory);
+        this.lockChannel = FileChannel.open(directory.resolve(".lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.lock = tryLock(lockChannel);
+        if (lock == null) {
+            lockChannel.close();
+            throw new IllegalStateException("Diretório de auditoria em uso por outro processo: " + directory);
+        }
+        resume();
+    }
+
+    // Na mesma JVM o tryLock lança exceção em vez de devolver null
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+    // Grava o registro no segmento atual (rotaciona se estiver cheio) e devolve a sequência atribuída
+    long append(AuditEntry entry) throws IOException {
+        if (slot == capacity) {
+            rotate();
+        }
+        long sequence = nextSequence;
+        AuditRecord.encode(recordBuffer, sequence, entry, digest);
+        byte[] hash = AuditRecord.chain(digest, previousHash, record);
+        System.arraycopy(hash, 0, record, OFFSET_HASH, HASH_LENGTH);
+        // A sequência vai por último: se o processo morrer no meio, o slot continua vazio para a leitura
+        int offset = slot * SIZE;
+        mapped.put(offset + Long.BYTES, record, Long.BYTES, SIZE - Long.BYTES);
+        mapped.putLong(offset + OFFSET_SEQUENCE, sequence);
+        previousHash = hash;
+        nextSequence++;
+        slot++;
+        return sequence;
+    }
+
+    // msync das páginas do segmento atual
+    void force() {
+        mapped.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (mapped != null) {
+                mapped.force();
+            }
+            if (channel != null) {
+                channel.close();
+            }
+        } finally {
+            lock.release();
+            lockChannel.close();
+        }
+    }
+
+    private void resume() throws IOException {
+        List<Path> segments = AuditLogReader.segments(directory);
+        if (segments.isEmpty()) {
+            open(nextSequence);
+            return;
+        }
+        Path last = segments.get(segments.size() - 1);
+        long first = AuditLogReader.firstSequence(last);
+        channel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        capacity = (int) (channel.size() / SIZE);
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * SIZE);
+        slot = filledSlots();
+        nextSequence = first + slot;
+        if (slot == 0) {
+            // Segmento criado na rotação mas ainda vazio (ou pela metade na pré-alocação): recria do zero
+            channel.close();
+            mapped = null;
+            Files.delete(last);
+            if (segments.size() > 1) {
+                previousHash = AuditLogReader.lastHash(segments.get(segments.size() - 2));
+            }
+            open(first);
+            return;
+        }
+        previousHash = hashAt(slot - 1);
+        dropTornTail(segments);
+        log.info("Auditoria retomada em {} (próxima sequência {})", last.getFileName(), nextSequence);
+    }
+
+    // Slots preenchidos são contíguos a partir do 0: busca binária pelo primeiro com sequência 0
+    private int filledSlots() {
+        int low = 0;
+        int high = capacity;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (mapped.getLong(middle * SIZE + OFFSET_SEQUENCE) != 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // Queda de energia pode deixar o último registro pela metade (a ordem das páginas não é garantida)
+    private void dropTornTail(List<Path> segments) throws IOException {
+        byte[] before;
+        if (slot > 1) {
+            before = hashAt(slot - 2);
+        } else if (segments.size() > 1) {
+            before = AuditLogReader.lastHash(segments.get(segments.size() - 2));
+        } else {
+            before = new byte[HASH_LENGTH];
+        }
+        mapped.get((slot - 1) * SIZE, record);
+        if (Arrays.equals(AuditRecord.chain(digest, before, record), previousHash)) {
+            return;
+        }
+        log.warn("Último registro de auditoria (sequência {}) incompleto; descartado", nextSequence - 1);
+        mapped.put((slot - 1) * SIZE, new byte[SIZE]);
+        mapped.force();
+        slot--;
+        nextSequence--;
+        previousHash = before;
+    }
+
+    private byte[] hashAt(int index) {
+        byte[] hash = new byte[HASH_LENGTH];
+        mapped.get(index * SIZE + OFFSET_HASH, hash);
+        return hash;
+    }
+
+    private void rotate() throws IOException {
+        mapped.force();
+        channel.close();
+        // Hash do fim de cada segmento no log da aplicação: âncora externa contra truncamento do diretório
+        log.info("Segmento de auditoria fechado na sequência {} (hash {})", nextSequence - 1,
+                HexFormat.of().formatHex(previousHash));
+        open(nextSequence);
+    }
+
+    private void open(long firstSequence) throws IOException {
+        Path path = directory.resolve(AuditLogReader.segmentName(firstSequence));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        capacity = recordsPerSegment;
+        long size = (long) capacity * SIZE;
+        // Preenche com zeros antes de mapear: em arquivo esparso, disco cheio viraria SIGBUS na escrita pelo mapeamento
+        ByteBuffer zeros = ByteBuffer.allocate(ZERO_CHUNK);
+        for (long position = 0; position < size; position += ZERO_CHUNK) {
+            zeros.clear().limit((int) Math.min(ZERO_CHUNK, size - position));
+            while (zeros.hasRemaining()) {
+                channel.write(zeros, position + zeros.position());
+            }
+        }
+        channel.force(true);
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        slot = 0;
+    }
+}
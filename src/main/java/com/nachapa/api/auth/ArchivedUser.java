@@ -0,0 +1,65 @@
+package com.nachapa.api.auth;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Usuário inativo movido de tb_user pelo UserArchiver (mesmo id e colunas); só volta por restauração do admin.
+// As linhas são copiadas por INSERT ... SELECT nativo, nunca por save.
+@Getter
+@NoArgsConstructor
+@Entity(name = "ArchivedUser")
+@Table(name = "tb_user_archive")
+public class ArchivedUser {
+
+    @Id
+    private UUID id;
+
+    // Restauração só pelo admin do mesmo restaurante
+    @TenantId
+    @Column(name = "tenant_id")
+    private UUID tenantId;
+
+    @Enumerated(EnumType.STRING)
+    private RoleEnum role;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Column(nullable = false)
+    private String password;
+
+    @Column(nullable = false)
+    private String cpf;
+
+    @Column(name = "cell_Phone")
+    private String cellPhone;
+
+    @Column(nullable = false, name = "birth_Date")
+    private LocalDate birthDate;
+
+    @Column(name = "deactivated_at")
+    private LocalDateTime deactivatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
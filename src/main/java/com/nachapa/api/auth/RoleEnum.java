@@ -3,5 +3,6 @@ package com.nachapa.api.auth;
 public enum RoleEnum {
     USER,
     ADMIN,
-    OPERATOR
+    OPERATOR,
+    COURIER
 }
\ No newline at end of file
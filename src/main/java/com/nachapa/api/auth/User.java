@@ -1,5 +1,6 @@
 package com.nachapa.api.auth;
 
+import com.nachapa.api.dto.user.UserView;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -19,6 +20,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.TenantId;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
@@ -31,13 +33,19 @@ import java.util.UUID;
 @NoArgsConstructor
 @Entity(name = "User")
 @Table(name = "tb_user")
-public class User {
+public class User implements UserView {
 
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    // Restaurante do usuário: o Hibernate filtra toda consulta JPQL pelo tenant da sessão (TenantContext).
+    // NOT NULL aplicado pelo schema-postgresql.sql depois de preencher as linhas antigas
+    @TenantId
+    @Column(name = "tenant_id")
+    private UUID tenantId;
+
     @Enumerated(EnumType.STRING)
     private RoleEnum role;
 
@@ -81,6 +89,10 @@ public class User {
     @Column(name = "is_Active", nullable = false)
     private boolean isActive;
 
+    // Início da retenção do UserArchiver; null enquanto ativo
+    @Column(name = "deactivated_at")
+    private LocalDateTime deactivatedAt;
+
 
     public User(String name, String email, String password, String cpf, String cellPhone, LocalDate birthDate) {
         this.role = RoleEnum.USER;
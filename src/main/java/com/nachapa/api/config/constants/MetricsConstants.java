@@ -0,0 +1,52 @@
+package com.nachapa.api.config.constants;
+
+public class MetricsConstants {
+
+    // Nomes das métricas expostas em /actuator/prometheus.
+    // Histogramas/SLOs são configurados por nome em management.metrics.distribution.* (application.yml).
+    public static final String AUTH_AUTHENTICATE = "nachapa.auth.authenticate";
+    public static final String AUTH_AUTHENTICATE_PHASE = "nachapa.auth.authenticate.phase";
+    public static final String JWT_VERIFY = "nachapa.jwt.verify";
+    public static final String USER_SERVICE = "nachapa.user.service";
+    public static final String API_ERRORS = "nachapa.api.errors";
+    public static final String DATASOURCE_REPLICAS_HEALTHY = "nachapa.datasource.replicas.healthy";
+    public static final String OUTBOX_DELIVERY_LAG = "nachapa.outbox.delivery.lag";
+    public static final String OUTBOX_PENDING_AGE = "nachapa.outbox.pending.age";
+    public static final String OUTBOX_DELIVERED = "nachapa.outbox.delivered";
+    public static final String OUTBOX_DELIVERY_FAILURES = "nachapa.outbox.delivery.failures";
+    public static final String OUTBOX_FAILED = "nachapa.outbox.failed";
+    public static final String AUDIT_QUEUE = "nachapa.audit.queue";
+    public static final String AUDIT_FLUSH = "nachapa.audit.flush";
+    public static final String AUDIT_DROPPED = "nachapa.audit.dropped";
+    public static final String IDEMPOTENCY_REPLAYED = "nachapa.idempotency.replayed";
+    public static final String ARCHIVE_USERS = "nachapa.archive.users";
+    public static final String ARCHIVE_RUN = "nachapa.archive.run";
+    public static final String MENU_SNAPSHOT_BUILD = "nachapa.menu.snapshot.build";
+    public static final String MENU_SNAPSHOTS = "nachapa.menu.snapshots";
+    public static final String ORDER_INTAKE_QUEUE = "nachapa.orders.intake.queue";
+    public static final String ORDER_INTAKE_BATCH = "nachapa.orders.intake.batch";
+    public static final String ORDER_INTAKE_COMMIT = "nachapa.orders.intake.commit";
+    public static final String ORDER_INTAKE_REJECTED = "nachapa.orders.intake.rejected";
+    public static final String ORDER_TRANSITIONS = "nachapa.orders.transitions";
+    public static final String ORDER_REPLAYED_EVENTS = "nachapa.orders.replayed.events";
+    public static final String KITCHEN_STREAMS = "nachapa.kitchen.streams";
+    public static final String KITCHEN_EVENTS = "nachapa.kitchen.events";
+    public static final String KITCHEN_DISCONNECTED = "nachapa.kitchen.disconnected";
+    public static final String DELIVERY_COURIERS_ONLINE = "nachapa.delivery.couriers.online";
+    public static final String DELIVERY_LOCATION_QUEUE = "nachapa.delivery.location.queue";
+    public static final String DELIVERY_LOCATION_BATCH = "nachapa.delivery.location.batch";
+    public static final String DELIVERY_LOCATION_DROPPED = "nachapa.delivery.location.dropped";
+
+    public static final String TAG_PHASE = "phase";
+    public static final String TAG_OPERATION = "operation";
+    public static final String TAG_CODE = "code";
+    public static final String TAG_STATUS = "status";
+    public static final String TAG_REASON = "reason";
+
+    public static final String PHASE_LOOKUP = "lookup";
+    public static final String PHASE_HASH = "hash";
+    public static final String PHASE_SIGN = "sign";
+
+    private MetricsConstants() {
+    }
+}
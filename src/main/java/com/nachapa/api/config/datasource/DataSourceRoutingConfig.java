@@ -0,0 +1,73 @@
+package com.nachapa.api.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.nachapa.api.config.constants.MetricsConstants.DATASOURCE_REPLICAS_HEALTHY;
+
+// Substitui o DataSource autoconfigurado: só o pool do primário, ou o roteamento para as réplicas com
+// nachapa.datasource.routing.enabled=true. Decidido em runtime (e não com @ConditionalOnProperty): no jar
+// processado com AOT as condições ficam congeladas
+@Configuration
+@EnableConfigurationProperties({DataSourceProperties.class, DataSourceRoutingProperties.class})
+public class DataSourceRoutingConfig {
+
+    // Primário com as mesmas propriedades do modo sem roteamento (spring.datasource.* e spring.datasource.hikari.*)
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaPool replicaPool(DataSourceRoutingProperties routing, DataSourceProperties properties, MeterRegistry meterRegistry) {
+        List<DataSource> replicas = new ArrayList<>();
+        if (!routing.isEnabled()) {
+            return new ReplicaPool(replicas, routing.getEjectionTime(), routing.getConnectionTimeout());
+        }
+        for (int i = 0; i < routing.getReplicas().size(); i++) {
+            DataSourceRoutingProperties.Replica replica = routing.getReplicas().get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername() != null ? replica.getUsername() : properties.getUsername());
+            dataSource.setPassword(replica.getPassword() != null ? replica.getPassword() : properties.getPassword());
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            dataSource.setConnectionTimeout(routing.getConnectionTimeout().toMillis());
+            // Não derruba a subida se a réplica estiver fora: ela só fica ejetada até responder
+            dataSource.setInitializationFailTimeout(-1);
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(dataSource);
+        }
+        ReplicaPool pool = new ReplicaPool(replicas, routing.getEjectionTime(), routing.getConnectionTimeout());
+        Gauge.builder(DATASOURCE_REPLICAS_HEALTHY, pool, ReplicaPool::healthy).register(meterRegistry);
+        return pool;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceRoutingProperties routing,
+                                 @Qualifier("primaryDataSource") DataSource primaryDataSource, ReplicaPool replicaPool) {
+        if (!routing.isEnabled()) {
+            return primaryDataSource;
+        }
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primaryDataSource, replicaPool));
+    }
+}
@@ -0,0 +1,40 @@
+package com.nachapa.api.config.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "nachapa.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    // Liga o roteamento leitura/escrita; desligado, a aplicação usa só spring.datasource.*
+    private boolean enabled;
+
+    // Tempo que uma réplica com falha de conexão fica fora do rodízio antes de ser tentada de novo
+    private Duration ejectionTime = Duration.ofSeconds(30);
+
+    // connectionTimeout do pool de cada réplica: réplica fora falha rápido (e é ejetada) em vez de segurar a
+    // leitura pelos 30s padrão do Hikari. Conexão entregue depois disso também ejeta a réplica
+    private Duration connectionTimeout = Duration.ofSeconds(1);
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+    }
+}
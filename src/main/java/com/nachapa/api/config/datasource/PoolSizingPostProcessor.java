@@ -0,0 +1,56 @@
+package com.nachapa.api.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dimensiona o pool do primário a partir dos núcleos do banco e da concorrência esperada:
+ * {@code min((núcleos * 2) + 1, concorrência esperada)}. Mais conexões que isso só enfileiram dentro do
+ * Postgres. Não mexe em pools com spring.datasource.hikari.maximum-pool-size explícito. Ligado por
+ * nachapa.datasource.pool.auto-size, lido aqui e não em @ConditionalOnProperty: no jar processado com AOT as
+ * condições ficam congeladas.
+ */
+@Slf4j
+@Component
+public class PoolSizingPostProcessor implements BeanPostProcessor {
+
+    private static final String AUTO_SIZE = "nachapa.datasource.pool.auto-size";
+    private static final String EXPLICIT_SIZE = "spring.datasource.hikari.maximum-pool-size";
+    private static final int MIN_POOL_SIZE = 2;
+
+    private final Environment environment;
+
+    public PoolSizingPostProcessor(Environment environment) {
+        this.environment = environment;
+    }
+
+    static int poolSize(int databaseCores, int expectedConcurrency) {
+        return Math.max(MIN_POOL_SIZE, Math.min(databaseCores * 2 + 1, expectedConcurrency));
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof HikariDataSource dataSource) || !environment.getProperty(AUTO_SIZE, Boolean.class, false)
+                || environment.containsProperty(EXPLICIT_SIZE)) {
+            return bean;
+        }
+        int cores = environment.getProperty("nachapa.datasource.pool.database-cores", Integer.class,
+                Runtime.getRuntime().availableProcessors());
+        // Sem valor explícito, o teto é o número de threads do Tomcat (cada requisição usa no máximo uma conexão)
+        int concurrency = environment.getProperty("nachapa.datasource.pool.expected-concurrency", Integer.class,
+                environment.getProperty("server.tomcat.threads.max", Integer.class, 200));
+        int size = poolSize(cores, concurrency);
+        // Sem roteamento o mesmo pool é registrado como primaryDataSource e dataSource: dimensiona uma vez só
+        if (dataSource.getMaximumPoolSize() == size && dataSource.getMinimumIdle() == size) {
+            return bean;
+        }
+        dataSource.setMaximumPoolSize(size);
+        dataSource.setMinimumIdle(size);
+        log.info("Pool {} dimensionado em {} conexões ({} núcleos no banco, concorrência esperada {})",
+                beanName, size, cores, concurrency);
+        return bean;
+    }
+}
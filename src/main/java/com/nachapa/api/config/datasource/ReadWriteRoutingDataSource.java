@@ -0,0 +1,43 @@
+package com.nachapa.api.config.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Transações {@code readOnly} vão para as réplicas; todo o resto (escritas, chamadas sem transação e
+ * leituras que precisam ver a própria escrita, como o login logo após o cadastro) vai para o primário.
+ * Assim, quem grava por um {@code TransactionOperations} padrão (não readOnly), como OrderWriter, OrderLifecycle
+ * e CourierLocationHistory, nunca cai numa réplica.
+ * Deve ficar atrás de um {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: o
+ * JpaTransactionManager pede a conexão antes de marcar a transação como somente leitura.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final ReplicaPool replicas;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaPool replicas) {
+        this.primary = primary;
+        this.replicas = replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Connection replica = replicas.connection();
+            if (replica != null) {
+                return replica;
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+}
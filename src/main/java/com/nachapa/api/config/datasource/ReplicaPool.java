@@ -0,0 +1,105 @@
+package com.nachapa.api.config.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Réplicas de leitura em rodízio (round-robin). Uma réplica que falha ao entregar conexão, ou que demora mais
+ * que {@code slowThreshold} para entregar, é ejetada por {@code ejectionTime} e volta a ser tentada depois
+ * disso; sem réplica disponível devolve {@code null} e o chamador usa o primário.
+ */
+@Slf4j
+public class ReplicaPool implements AutoCloseable {
+
+    private final List<Member> members;
+    private final long ejectionNanos;
+    private final long slowNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPool(List<DataSource> replicas, Duration ejectionTime, Duration slowThreshold) {
+        this(replicas, ejectionTime, slowThreshold, System::nanoTime);
+    }
+
+    ReplicaPool(List<DataSource> replicas, Duration ejectionTime, Duration slowThreshold, LongSupplier nanoClock) {
+        this.members = replicas.stream().map(Member::new).toList();
+        this.ejectionNanos = ejectionTime.toNanos();
+        this.slowNanos = slowThreshold.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public Connection connection() {
+        int size = members.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        long now = nanoClock.getAsLong();
+        for (int i = 0; i < size; i++) {
+            Member member = members.get((start + i) % size);
+            if (member.isEjectedAt(now)) {
+                continue;
+            }
+            try {
+                Connection connection = member.dataSource.getConnection();
+                long elapsed = nanoClock.getAsLong() - now;
+                if (elapsed > slowNanos) {
+                    // Esta leitura já pagou a espera; as próximas vão para outra réplica ou para o primário
+                    eject(member, (start + i) % size, now, "conexão entregue em " + elapsed / 1_000_000 + " ms");
+                } else {
+                    member.ejectedUntil.set(0L);
+                }
+                return connection;
+            } catch (SQLException e) {
+                eject(member, (start + i) % size, now, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private void eject(Member member, int index, long now, String reason) {
+        member.ejectedUntil.set(now + ejectionNanos);
+        log.warn("Réplica {} ejetada por {} ms: {}", index, ejectionNanos / 1_000_000, reason);
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    public int healthy() {
+        long now = nanoClock.getAsLong();
+        return (int) members.stream().filter(member -> !member.isEjectedAt(now)).count();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Member member : members) {
+            if (member.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class Member {
+
+        private final DataSource dataSource;
+        private final AtomicLong ejectedUntil = new AtomicLong();
+
+        private Member(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private boolean isEjectedAt(long now) {
+            long until = ejectedUntil.get();
+            return until != 0L && now - until < 0;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.nachapa.api.config.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Datas no formato brasileiro dd/MM/yyyy usado nos DTOs. O caminho rápido escreve/lê os 10 caracteres direto;
+ * qualquer coisa fora do formato canônico cai no {@link LocalDateDeserializer} com o mesmo padrão, mantendo
+ * as mesmas regras e erros ({@code InvalidFormatException}) do {@code @JsonFormat}.
+ */
+public final class BrDate {
+
+    public static final String PATTERN = "dd/MM/yyyy";
+    public static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(PATTERN);
+
+    private static final int LENGTH = PATTERN.length();
+
+    private BrDate() {
+    }
+
+    private static char[] chars(LocalDate date, char[] out) {
+        int day = date.getDayOfMonth();
+        int month = date.getMonthValue();
+        int year = date.getYear();
+        out[0] = (char) ('0' + day / 10);
+        out[1] = (char) ('0' + day % 10);
+        out[2] = '/';
+        out[3] = (char) ('0' + month / 10);
+        out[4] = (char) ('0' + month % 10);
+        out[5] = '/';
+        out[6] = (char) ('0' + year / 1000);
+        out[7] = (char) ('0' + year / 100 % 10);
+        out[8] = (char) ('0' + year / 10 % 10);
+        out[9] = (char) ('0' + year % 10);
+        return out;
+    }
+
+    // null quando o texto não é uma data canônica válida (o chamador decide o fallback)
+    static LocalDate parseCanonical(String text) {
+        if (text.length() != LENGTH || text.charAt(2) != '/' || text.charAt(5) != '/') {
+            return null;
+        }
+        int day = digits(text, 0, 2);
+        int month = digits(text, 3, 5);
+        int year = digits(text, 6, 10);
+        if (day < 1 || month < 1 || month > 12 || year < 1) {
+            return null;
+        }
+        // Dia inválido para o mês (ex.: 31/02) segue o resolver do DateTimeFormatter
+        if (day > 28 && day > LocalDate.of(year, month, 1).lengthOfMonth()) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    public static class Serializer extends StdScalarSerializer<LocalDate> {
+
+        public Serializer() {
+            super(LocalDate.class);
+        }
+
+        @Override
+        public void serialize(LocalDate value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            int year = value.getYear();
+            if (year < 1 || year > 9999) {
+                gen.writeString(FORMATTER.format(value));
+                return;
+            }
+            gen.writeString(chars(value, new char[LENGTH]), 0, LENGTH);
+        }
+    }
+
+    public static class Deserializer extends StdScalarDeserializer<LocalDate> {
+
+        private static final LocalDateDeserializer FALLBACK = new LocalDateDeserializer(FORMATTER);
+
+        public Deserializer() {
+            super(LocalDate.class);
+        }
+
+        @Override
+        public LocalDate deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.hasToken(JsonToken.VALUE_STRING)) {
+                LocalDate date = parseCanonical(parser.getText());
+                if (date != null) {
+                    return date;
+                }
+            }
+            return FALLBACK.deserialize(parser, context);
+        }
+    }
+}
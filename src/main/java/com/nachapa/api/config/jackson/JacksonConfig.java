@@ -0,0 +1,16 @@
+package com.nachapa.api.config.jackson;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // O Spring Boot registra todo bean Module no ObjectMapper auto-configurado (e no conversor do MVC).
+    // Blackbird troca a reflexão de getters/setters/construtores por lambdas geradas via LambdaMetafactory.
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
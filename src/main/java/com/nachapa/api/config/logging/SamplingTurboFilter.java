@@ -0,0 +1,80 @@
+package com.nachapa.api.config.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Amostragem por logger (e filhos), decidida antes de formatar a mensagem. Com {@code sampleEvery} mantém
+ * 1 a cada N eventos; com {@code maxPerSecond} limita a N eventos por segundo. Só atua até {@code maxLevel}
+ * (INFO por padrão): WARN e ERROR nunca são descartados. Configurado no logback-spring.xml.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private String loggerName;
+    private int maxPerSecond;
+    private int sampleEvery;
+    private Level maxLevel = Level.INFO;
+    private LongSupplier clock = System::currentTimeMillis;
+
+    private final AtomicLong window = new AtomicLong();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong seen = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format nulo = isXxxEnabled(); getEffectiveLevel() porque isEnabledFor() chamaria os turbo filters de novo
+        if (loggerName == null || format == null || level.toInt() > maxLevel.toInt()
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel()) || !logger.getName().startsWith(loggerName)) {
+            return FilterReply.NEUTRAL;
+        }
+        if (sampleEvery > 1 && seen.getAndIncrement() % sampleEvery != 0) {
+            dropped.incrementAndGet();
+            return FilterReply.DENY;
+        }
+        if (maxPerSecond > 0 && !withinRate()) {
+            dropped.incrementAndGet();
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    private boolean withinRate() {
+        long second = clock.getAsLong() / 1000;
+        long current = window.get();
+        if (current != second && window.compareAndSet(current, second)) {
+            accepted.set(0);
+        }
+        return accepted.incrementAndGet() <= maxPerSecond;
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public void setLoggerName(String loggerName) {
+        this.loggerName = loggerName;
+    }
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    public void setSampleEvery(int sampleEvery) {
+        this.sampleEvery = sampleEvery;
+    }
+
+    public void setMaxLevel(String maxLevel) {
+        this.maxLevel = Level.toLevel(maxLevel, Level.INFO);
+    }
+
+    void setClock(LongSupplier clock) {
+        this.clock = clock;
+    }
+}
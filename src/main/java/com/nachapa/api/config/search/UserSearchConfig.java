@@ -0,0 +1,9 @@
+package com.nachapa.api.config.search;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(UserSearchProperties.class)
+public class UserSearchConfig {
+}
@@ -0,0 +1,22 @@
+package com.nachapa.api.config.search;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "nachapa.user-search")
+public class UserSearchProperties {
+
+    // Consulta com pg_trgm (ranking por similaridade); desligado, usa LIKE portável (H2 nos testes)
+    private boolean trigram = true;
+
+    // Abaixo de 3 caracteres o índice de trigramas não tem o que filtrar e vira varredura do índice inteiro
+    private int minQueryLength = 3;
+
+    private int maxResults = 50;
+
+    // Teto de linhas candidatas ranqueadas por busca: termos muito comuns não ordenam milhões de linhas
+    private int candidateLimit = 500;
+}
@@ -0,0 +1,50 @@
+package com.nachapa.api.controller.admin;
+
+import com.nachapa.api.dto.user.UserResponseDto;
+import com.nachapa.api.service.UserArchiveService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@Slf4j
+@AllArgsConstructor
+@RestController
+@RequestMapping("api/admin/users")
+@Tag(name = "Admin", description = "Operações administrativas (exigem papel ADMIN)")
+@SecurityRequirement(name = "bearerAuth")
+public class UserArchiveController {
+
+    private final UserArchiveService userArchiveService;
+
+    @Operation(
+            summary = "Restaurar usuário arquivado (POST)",
+            description = "Move o usuário de volta do arquivo de inativos para a base principal, já ativo. "
+                    + "Falha se o e-mail ou o CPF tiverem sido cadastrados por outra conta depois do arquivamento."
+    )
+    @ApiResponse(responseCode = "200", description = "Usuário restaurado",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserResponseDto.class)))
+    @ApiResponse(responseCode = "400", description = "E-mail ou CPF já cadastrado", content = @Content)
+    @ApiResponse(responseCode = "403", description = "Sem papel ADMIN", content = @Content)
+    @ApiResponse(responseCode = "404", description = "Usuário arquivado não encontrado", content = @Content)
+    @PostMapping("/{id}/restore")
+    public ResponseEntity<UserResponseDto> restore(
+            @Parameter(description = "ID do usuário arquivado", required = true)
+            @PathVariable UUID id) {
+
+        log.debug("Restauração do usuário arquivado {} solicitada.", id);
+        return ResponseEntity.ok(userArchiveService.restore(id));
+    }
+}
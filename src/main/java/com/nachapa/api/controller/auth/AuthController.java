@@ -5,7 +5,10 @@ import com.nachapa.api.dto.login.LoginRequestDto;
 import com.nachapa.api.dto.user.UserRequestDto;
 import com.nachapa.api.service.AuthService;
 import com.nachapa.api.service.UserService;
+import com.nachapa.api.tenant.TenantContext;
+import com.nachapa.api.util.LogMask;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -18,9 +21,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.UUID;
+
 @Slf4j
 @AllArgsConstructor
 @RestController
@@ -38,6 +44,8 @@ public class AuthController {
     @ApiResponse(responseCode = "201", description = "Criado")
     @ApiResponse(responseCode = "400", description = "Requisição inválida",
             content = @Content(mediaType = "application/json"))
+    @ApiResponse(responseCode = "404", description = "Restaurante não encontrado ou inativo",
+            content = @Content(mediaType = "application/json"))
     @PostMapping("/register")
     public ResponseEntity<Void> createNewAccount(
             @Valid @RequestBody
@@ -61,10 +69,12 @@ public class AuthController {
                             )
                     )
             )
-            UserRequestDto userRequestDto
+            UserRequestDto userRequestDto,
+            @Parameter(description = "Restaurante do novo usuário (padrão quando ausente)")
+            @RequestHeader(value = TenantContext.RESTAURANT_HEADER, required = false) UUID restaurantId
     ) {
-        log.info("Tentativa de registro para o email: {}", userRequestDto.getEmail());
-        userService.registerUser(userRequestDto);
+        log.debug("Tentativa de registro para o email: {}", LogMask.email(userRequestDto.getEmail()));
+        userService.registerUser(userRequestDto, restaurantId);
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
@@ -106,7 +116,7 @@ public class AuthController {
             )
             LoginRequestDto loginRequest
     ) {
-        log.info("Tentativa de login para o email: {}", loginRequest.getEmail());
+        log.debug("Tentativa de login para o email: {}", LogMask.email(loginRequest.getEmail()));
         String token = authService.authenticate(loginRequest);
         return ResponseEntity.status(HttpStatus.OK).body(new JwtResponseDto(token));
     }
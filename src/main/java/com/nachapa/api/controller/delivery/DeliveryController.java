@@ -0,0 +1,86 @@
+package com.nachapa.api.controller.delivery;
+
+import com.nachapa.api.dto.delivery.LocationBatchRequestDto;
+import com.nachapa.api.dto.delivery.NearbyCourierDto;
+import com.nachapa.api.service.DeliveryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping("api/delivery")
+@Tag(name = "Delivery", description = "Posição dos entregadores")
+@SecurityRequirement(name = "bearerAuth")
+public class DeliveryController {
+
+    private final DeliveryService deliveryService;
+
+    @Operation(
+            summary = "Enviar posição do entregador (POST)",
+            description = "Só para COURIER. Uma posição por envio ou as acumuladas sem sinal (até 100). A posição "
+                    + "atual vale na hora; o histórico é gravado em lote logo depois."
+    )
+    @ApiResponse(responseCode = "202", description = "Posições recebidas", content = @Content)
+    @ApiResponse(responseCode = "403", description = "Perfil sem acesso", content = @Content)
+    @PostMapping("/locations")
+    public ResponseEntity<Void> recordLocations(
+            @Valid @RequestBody
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = LocationBatchRequestDto.class),
+                            examples = @ExampleObject(
+                                    name = "Exemplo de posição",
+                                    value = """
+                                            {
+                                              "posicoes": [
+                                                { "latitude": -23.5614, "longitude": -46.6559, "registrado-em": "2025-06-06T20:30:05Z" }
+                                              ]
+                                            }
+                                            """
+                            )
+                    )
+            )
+            LocationBatchRequestDto request,
+            @Parameter(hidden = true) Authentication authentication) {
+
+        deliveryService.recordLocations(request, authentication.getName());
+        return ResponseEntity.accepted().build();
+    }
+
+    @Operation(
+            summary = "Entregadores próximos do restaurante (GET)",
+            description = "Entregadores com posição recente dentro do raio, do mais próximo ao mais distante. "
+                    + "Respondido da memória, sem consulta ao histórico."
+    )
+    @ApiResponse(responseCode = "200", description = "Entregadores encontrados")
+    @ApiResponse(responseCode = "409", description = "Restaurante sem localização cadastrada", content = @Content)
+    @GetMapping("/couriers/nearby")
+    public ResponseEntity<List<NearbyCourierDto>> nearbyCouriers(
+            @Parameter(description = "Raio em metros (padrão 3000, máximo 10000)", example = "3000")
+            @RequestParam(required = false) Integer radius,
+            @Parameter(description = "Máximo de entregadores", example = "20")
+            @RequestParam(required = false) Integer limit) {
+
+        return ResponseEntity.ok(deliveryService.nearbyCouriers(radius, limit));
+    }
+}
@@ -0,0 +1,44 @@
+package com.nachapa.api.controller.kitchen;
+
+import com.nachapa.api.service.KitchenService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping("api/kitchen")
+@Tag(name = "Kitchen", description = "Telas da cozinha (ADMIN/OPERATOR)")
+@SecurityRequirement(name = "bearerAuth")
+public class KitchenController {
+
+    public static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final KitchenService kitchenService;
+
+    @Operation(
+            summary = "Stream de comandas de uma estação (GET, SSE)",
+            description = "Eventos \"ticket\" com os itens do pedido que a estação prepara. Ao reconectar, envie o "
+                    + "último id recebido em Last-Event-ID para retomar dali; \"reset\" indica que a tela deve "
+                    + "descartar o que mostra, porque os eventos seguintes são o buffer inteiro da estação."
+    )
+    @ApiResponse(responseCode = "200", description = "Stream aberto", content = @Content(mediaType = "text/event-stream"))
+    @ApiResponse(responseCode = "403", description = "Perfil sem acesso às telas da cozinha", content = @Content)
+    @GetMapping(path = "/stations/{station:[a-z0-9-]{1,30}}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable String station,
+                             @Parameter(description = "Id do último evento recebido")
+                             @RequestHeader(name = LAST_EVENT_ID, required = false) String lastEventId) {
+        return kitchenService.openStream(station, lastEventId);
+    }
+}
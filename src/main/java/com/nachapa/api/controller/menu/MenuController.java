@@ -0,0 +1,140 @@
+package com.nachapa.api.controller.menu;
+
+import com.nachapa.api.dto.menu.MenuCategoryRequestDto;
+import com.nachapa.api.dto.menu.MenuCategoryResponseDto;
+import com.nachapa.api.dto.menu.MenuItemAvailabilityDto;
+import com.nachapa.api.dto.menu.MenuItemRequestDto;
+import com.nachapa.api.dto.menu.MenuItemResponseDto;
+import com.nachapa.api.menu.MenuSnapshot;
+import com.nachapa.api.service.MenuService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.UUID;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping("api/menu")
+@Tag(name = "Menu", description = "Cardápio do restaurante (leitura para todos os autenticados; edição para ADMIN/OPERATOR)")
+@SecurityRequirement(name = "bearerAuth")
+public class MenuController {
+
+    private final MenuService menuService;
+
+    // Cliente pode guardar a resposta, mas revalida sempre (If-None-Match)
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    @Operation(
+            summary = "Cardápio (GET)",
+            description = "Categorias ativas com seus itens, preços e disponibilidade, do restaurante do token. "
+                    + "Suporta If-None-Match (304); o ETag muda a cada edição do cardápio."
+    )
+    @ApiResponse(responseCode = "200", description = "Cardápio retornado")
+    @ApiResponse(responseCode = "304", description = "Cardápio igual ao do ETag informado", content = @Content)
+    @GetMapping
+    public ResponseEntity<byte[]> menu(
+            @Parameter(hidden = true)
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+
+        // Bytes prontos do snapshot: nada de banco nem de serialização por requisição
+        MenuSnapshot menu = menuService.currentMenu();
+        if (webRequest.checkNotModified(menu.eTag())) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (menu.hasGzip() && acceptsGzip(acceptEncoding)) {
+            // Já comprimido no snapshot; com Content-Encoding presente o Tomcat não comprime de novo
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(menu.gzip());
+        }
+        return response.body(menu.json());
+    }
+
+    @Operation(summary = "Criar categoria (POST)")
+    @ApiResponse(responseCode = "201", description = "Categoria criada")
+    @ApiResponse(responseCode = "400", description = "Dados inválidos", content = @Content)
+    @PostMapping("/categories")
+    public ResponseEntity<MenuCategoryResponseDto> createCategory(@Valid @RequestBody MenuCategoryRequestDto request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(menuService.createCategory(request));
+    }
+
+    @Operation(summary = "Atualizar categoria (PUT)", description = "Categoria inativa sai do cardápio com os seus itens.")
+    @ApiResponse(responseCode = "200", description = "Categoria atualizada")
+    @ApiResponse(responseCode = "404", description = "Categoria não encontrada", content = @Content)
+    @PutMapping("/categories/{id}")
+    public ResponseEntity<MenuCategoryResponseDto> updateCategory(
+            @Parameter(description = "ID da categoria", required = true)
+            @PathVariable UUID id,
+            @Valid @RequestBody MenuCategoryRequestDto request) {
+        return ResponseEntity.ok(menuService.updateCategory(id, request));
+    }
+
+    @Operation(summary = "Criar item (POST)")
+    @ApiResponse(responseCode = "201", description = "Item criado")
+    @ApiResponse(responseCode = "400", description = "Dados inválidos", content = @Content)
+    @ApiResponse(responseCode = "404", description = "Categoria não encontrada", content = @Content)
+    @PostMapping("/items")
+    public ResponseEntity<MenuItemResponseDto> createItem(@Valid @RequestBody MenuItemRequestDto request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(menuService.createItem(request));
+    }
+
+    @Operation(summary = "Atualizar item (PUT)")
+    @ApiResponse(responseCode = "200", description = "Item atualizado")
+    @ApiResponse(responseCode = "404", description = "Item ou categoria não encontrados", content = @Content)
+    @PutMapping("/items/{id}")
+    public ResponseEntity<MenuItemResponseDto> updateItem(
+            @Parameter(description = "ID do item", required = true)
+            @PathVariable UUID id,
+            @Valid @RequestBody MenuItemRequestDto request) {
+        return ResponseEntity.ok(menuService.updateItem(id, request));
+    }
+
+    @Operation(summary = "Disponibilidade do item (PATCH)", description = "Marca o item como disponível ou esgotado.")
+    @ApiResponse(responseCode = "200", description = "Disponibilidade atualizada")
+    @ApiResponse(responseCode = "404", description = "Item não encontrado", content = @Content)
+    @PatchMapping("/items/{id}/availability")
+    public ResponseEntity<MenuItemResponseDto> setItemAvailability(
+            @Parameter(description = "ID do item", required = true)
+            @PathVariable UUID id,
+            @Valid @RequestBody MenuItemAvailabilityDto request) {
+        return ResponseEntity.ok(menuService.setItemAvailability(id, request.getAvailable()));
+    }
+
+    // "gzip" em Accept-Encoding, exceto com q=0
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
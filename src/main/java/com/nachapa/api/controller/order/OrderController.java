@@ -0,0 +1,138 @@
+package com.nachapa.api.controller.order;
+
+import com.nachapa.api.dto.order.OrderEventResponseDto;
+import com.nachapa.api.dto.order.OrderRequestDto;
+import com.nachapa.api.dto.order.OrderResponseDto;
+import com.nachapa.api.dto.order.OrderStatusResponseDto;
+import com.nachapa.api.dto.order.OrderTransitionRequestDto;
+import com.nachapa.api.order.OrderActor;
+import com.nachapa.api.service.OrderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping("api/orders")
+@Tag(name = "Orders", description = "Pedidos dos clientes")
+@SecurityRequirement(name = "bearerAuth")
+public class OrderController {
+
+    private final OrderService orderService;
+
+    @Operation(
+            summary = "Fazer pedido (POST)",
+            description = "Valida os itens contra o cardápio do restaurante do token e responde depois que o pedido "
+                    + "está gravado. Aceita Idempotency-Key para repetir com segurança em rede instável."
+    )
+    @ApiResponse(responseCode = "201", description = "Pedido registrado",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrderResponseDto.class)))
+    @ApiResponse(responseCode = "422", description = "Item indisponível ou fora do cardápio", content = @Content)
+    @ApiResponse(responseCode = "503", description = "Recebimento sobrecarregado; repita com a mesma Idempotency-Key",
+            content = @Content)
+    @PostMapping
+    public ResponseEntity<OrderResponseDto> placeOrder(
+            @Valid @RequestBody
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = OrderRequestDto.class),
+                            examples = @ExampleObject(
+                                    name = "Exemplo de pedido",
+                                    value = """
+                                            {
+                                              "itens": [
+                                                { "item-id": "3cc4a556-fc3b-4ae8-8f54-847803e96a1d", "quantidade": 2 }
+                                              ],
+                                              "observacao": "Sem cebola"
+                                            }
+                                            """
+                            )
+                    )
+            )
+            OrderRequestDto request,
+            @Parameter(hidden = true) Authentication authentication) {
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(orderService.placeOrder(request, authentication.getName()));
+    }
+
+    @Operation(
+            summary = "Status do pedido (GET)",
+            description = "Status atual e versão. O cliente só consulta os próprios pedidos."
+    )
+    @ApiResponse(responseCode = "200", description = "Status encontrado",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrderStatusResponseDto.class)))
+    @ApiResponse(responseCode = "404", description = "Pedido não encontrado", content = @Content)
+    @GetMapping("/{id}/status")
+    public ResponseEntity<OrderStatusResponseDto> status(@PathVariable UUID id,
+                                                         @Parameter(hidden = true) Authentication authentication) {
+        return ResponseEntity.ok(orderService.status(id, OrderActor.from(authentication)));
+    }
+
+    @Operation(
+            summary = "Histórico de status do pedido (GET)",
+            description = "Todas as mudanças de status, da mais antiga para a mais recente."
+    )
+    @ApiResponse(responseCode = "200", description = "Histórico do pedido")
+    @ApiResponse(responseCode = "404", description = "Pedido não encontrado", content = @Content)
+    @GetMapping("/{id}/events")
+    public ResponseEntity<List<OrderEventResponseDto>> history(@PathVariable UUID id,
+                                                               @Parameter(hidden = true) Authentication authentication) {
+        return ResponseEntity.ok(orderService.history(id, OrderActor.from(authentication)));
+    }
+
+    @Operation(
+            summary = "Mudar status do pedido (PATCH)",
+            description = "OPERATOR/ADMIN avançam o pedido (ACCEPTED, PREPARING, READY, OUT_FOR_DELIVERY, DELIVERED) "
+                    + "ou cancelam; o cliente só cancela o próprio pedido antes de ser aceito. Com \"versao\", só "
+                    + "aplica se o pedido ainda estiver nela."
+    )
+    @ApiResponse(responseCode = "200", description = "Status alterado",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrderStatusResponseDto.class)))
+    @ApiResponse(responseCode = "403", description = "Mudança não permitida para o perfil", content = @Content)
+    @ApiResponse(responseCode = "409", description = "Transição inválida a partir do status atual, ou versão desatualizada",
+            content = @Content)
+    @PatchMapping("/{id}/status")
+    public ResponseEntity<OrderStatusResponseDto> changeStatus(
+            @PathVariable UUID id,
+            @Valid @RequestBody
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = OrderTransitionRequestDto.class),
+                            examples = @ExampleObject(
+                                    name = "Aceitar pedido",
+                                    value = """
+                                            { "status": "ACCEPTED", "versao": 1 }
+                                            """
+                            )
+                    )
+            )
+            OrderTransitionRequestDto request,
+            @Parameter(hidden = true) Authentication authentication) {
+
+        return ResponseEntity.ok(orderService.changeStatus(id, request, OrderActor.from(authentication)));
+    }
+}
@@ -2,6 +2,7 @@ package com.nachapa.api.controller.user;
 
 import com.nachapa.api.dto.user.UserRequestDto;
 import com.nachapa.api.dto.user.UserResponseDto;
+import com.nachapa.api.dto.user.UserSearchResponseDto;
 import com.nachapa.api.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,6 +16,7 @@ import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -26,19 +28,24 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.List;
 import java.util.UUID;
 
 @Slf4j
 @AllArgsConstructor
 @RestController
 @RequestMapping("api/users")
-@Tag(name = "Users", description = "Operações de usuários (CRUD, listagem paginada)")
+@Tag(name = "Users", description = "Operações de usuários (CRUD, listagem paginada, busca)")
 @SecurityRequirement(name = "bearerAuth")
 public class UserController {
 
     private final UserService userService;
 
+    // Cliente pode guardar a resposta, mas revalida sempre (If-None-Match); sem isso o no-store do Spring Security vale
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     @Operation(
             summary = "Inativar usuário (DELETE)",
             description = "Inativa (soft delete) o usuário pelo ID. Retorna 204 em caso de sucesso."
@@ -50,7 +57,7 @@ public class UserController {
             @Parameter(description = "ID do usuário", required = true)
             @PathVariable UUID id) {
 
-        log.info("Tentativa de inativar usuario com id {} no sistema.", id);
+        log.debug("Tentativa de inativar usuario com id {} no sistema.", id);
         userService.deactivateUserById(id);
         return ResponseEntity.noContent().build();
     }
@@ -95,11 +102,13 @@ public class UserController {
 
     @Operation(
             summary = "Listar usuários (GET paginado)",
-            description = "Retorna usuários com paginação e ordenação. Parâmetros: page, size, sort (ex.: name,asc)."
+            description = "Retorna usuários ativos com paginação e ordenação. Parâmetros: page, size, sort (ex.: name,asc). "
+                    + "Suporta If-None-Match: retorna 304 se a página não mudou."
     )
     @ApiResponse(responseCode = "200", description = "Página retornada com sucesso",
             content = @Content(mediaType = "application/json",
                     schema = @Schema(implementation = Page.class)))
+    @ApiResponse(responseCode = "304", description = "Página igual à do ETag informado", content = @Content)
     @GetMapping
     public ResponseEntity<Page<UserResponseDto>> listUsers(
             @Parameter(description = "Número da página (0-based)", example = "0")
@@ -109,9 +118,51 @@ public class UserController {
             @Parameter(description = "Ordenação no formato 'campo,direção' (ex.: name,asc)", example = "name,asc")
             @RequestParam(defaultValue = "name,asc") String sort,
             @Parameter(hidden = true)
-            @RequestHeader(name = "Authorization", required = true) String token) {
+            @RequestHeader(name = "Authorization", required = true) String token,
+            WebRequest webRequest) {
 
+        // Valida o ETag com uma consulta enxuta; se bater, 304 sem carregar nem serializar a página
+        if (webRequest.checkNotModified(userService.listUsersETag(page, size, sort))) {
+            return null;
+        }
         Page<UserResponseDto> users = userService.listUsers(page, size, sort);
-        return ResponseEntity.ok(users);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(users);
+    }
+
+    @Operation(
+            summary = "Buscar usuário (GET)",
+            description = "Retorna o cadastro do usuário ativo pelo ID. Suporta If-None-Match (304)."
+    )
+    @ApiResponse(responseCode = "200", description = "Usuário encontrado",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserResponseDto.class)))
+    @ApiResponse(responseCode = "304", description = "Cadastro igual ao do ETag informado", content = @Content)
+    @ApiResponse(responseCode = "404", description = "Usuário não encontrado", content = @Content)
+    @GetMapping("/{id}")
+    public ResponseEntity<UserResponseDto> findById(
+            @Parameter(description = "ID do usuário", required = true)
+            @PathVariable UUID id,
+            WebRequest webRequest) {
+
+        if (webRequest.checkNotModified(userService.userETag(id))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(userService.findById(id));
+    }
+
+    @Operation(
+            summary = "Buscar usuários por termo (GET)",
+            description = "Busca usuários ativos por parte do nome, do e-mail ou pelo CPF (completo ou prefixo, com ou sem "
+                    + "pontuação). Resultados ranqueados e limitados; o termo precisa de ao menos 3 caracteres."
+    )
+    @ApiResponse(responseCode = "200", description = "Resultados da busca (lista possivelmente vazia)")
+    @ApiResponse(responseCode = "400", description = "Termo de busca muito curto", content = @Content)
+    @GetMapping("/search")
+    public ResponseEntity<List<UserSearchResponseDto>> searchUsers(
+            @Parameter(description = "Termo de busca (nome, e-mail ou CPF)", required = true, example = "maria")
+            @RequestParam("q") String query,
+            @Parameter(description = "Máximo de resultados (limitado pela configuração do servidor)", example = "20")
+            @RequestParam(defaultValue = "20") int limit) {
+
+        return ResponseEntity.ok(userService.searchUsers(query, limit));
     }
-}
\ No newline at end of file
+}
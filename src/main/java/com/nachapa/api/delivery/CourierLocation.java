@@ -0,0 +1,50 @@
+package com.nachapa.api.delivery;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.TenantId;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Histórico de posições dos entregadores, só de inserção e gravado em lote pelo CourierLocationHistory (JDBC);
+// a posição atual de cada entregador fica em memória no CourierTracker
+@Setter
+@Getter
+@NoArgsConstructor
+@Entity(name = "CourierLocation")
+@Table(name = "tb_courier_location")
+public class CourierLocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @TenantId
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    // E-mail do entregador (subject do token)
+    @Column(nullable = false)
+    private String courier;
+
+    @Column(nullable = false)
+    private double latitude;
+
+    @Column(nullable = false)
+    private double longitude;
+
+    // Horário do GPS no aparelho; received_at é o do servidor e é por ele que a limpeza e a sincronização leem
+    @Column(name = "recorded_at", nullable = false)
+    private Instant recordedAt;
+
+    @Column(name = "received_at", nullable = false)
+    private Instant receivedAt;
+}
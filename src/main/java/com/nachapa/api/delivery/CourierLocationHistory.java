@@ -0,0 +1,132 @@
+package com.nachapa.api.delivery;
+
+import com.nachapa.api.util.BatchWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.nachapa.api.config.constants.MetricsConstants.DELIVERY_LOCATION_BATCH;
+import static com.nachapa.api.config.constants.MetricsConstants.DELIVERY_LOCATION_DROPPED;
+import static com.nachapa.api.config.constants.MetricsConstants.DELIVERY_LOCATION_QUEUE;
+import static com.nachapa.api.config.constants.MetricsConstants.TAG_REASON;
+
+/**
+ * Histórico de posições em tb_courier_location. A requisição só coloca as posições na fila do
+ * {@link BatchWriter}, que junta até {@code batch-size} posições ou {@code flush-interval} depois da primeira;
+ * cada lote vira um executeBatch numa transação. Posição é telemetria: com a fila cheia ou o banco fora, o lote é
+ * descartado e contado em vez de segurar o app do entregador.
+ * <p>
+ * A posição atual fica no {@link CourierTracker} de cada instância; {@link #sync()} lê o que as outras gravaram
+ * nos últimos segundos, para a busca de entregadores próximos enxergar todos, qualquer que seja a instância que
+ * recebeu o ping.
+ */
+@Slf4j
+public class CourierLocationHistory implements AutoCloseable {
+
+    static final String INSERT_LOCATION = """
+            INSERT INTO tb_courier_location (tenant_id, courier, latitude, longitude, recorded_at, received_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    static final String SELECT_RECEIVED_AFTER = """
+            SELECT tenant_id, courier, latitude, longitude, recorded_at
+            FROM tb_courier_location
+            WHERE received_at > ?
+            """;
+
+    static final String DELETE_RECEIVED_BEFORE = "DELETE FROM tb_courier_location WHERE received_at < ?";
+
+    // Folga da sincronização para diferença de relógio entre instâncias
+    private static final Duration SYNC_MARGIN = Duration.ofSeconds(2);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final CourierTracker tracker;
+    private final Clock clock;
+    private final Duration syncWindow;
+    private final Duration retention;
+    private final BatchWriter<CourierPing> batchWriter;
+
+    private final DistributionSummary batches;
+    private final Counter droppedWriteError;
+
+    public CourierLocationHistory(JdbcTemplate jdbcTemplate, TransactionOperations transactionOperations,
+                                  CourierTracker tracker, DeliveryProperties properties, MeterRegistry meterRegistry,
+                                  Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.tracker = tracker;
+        this.clock = clock;
+        // Uma linha aparece no banco até flush-interval depois do received_at; a janela cobre isso e o intervalo
+        this.syncWindow = properties.getSyncInterval().plus(properties.getFlushInterval()).plus(SYNC_MARGIN);
+        this.retention = properties.getHistoryRetention();
+        this.batches = DistributionSummary.builder(DELIVERY_LOCATION_BATCH).register(meterRegistry);
+        this.droppedWriteError = meterRegistry.counter(DELIVERY_LOCATION_DROPPED, TAG_REASON, "write_error");
+        this.batchWriter = new BatchWriter<>("courier-location-writer", properties.getQueueCapacity(),
+                properties.getBatchSize(), properties.getFlushInterval(), Duration.ofMillis(100),
+                meterRegistry.counter(DELIVERY_LOCATION_DROPPED, TAG_REASON, "queue_full"), this::write);
+        Gauge.builder(DELIVERY_LOCATION_QUEUE, batchWriter, BatchWriter::size).register(meterRegistry);
+    }
+
+    public void record(List<CourierPing> pings) {
+        batchWriter.offerAll(pings);
+    }
+
+    @Scheduled(fixedDelayString = "${nachapa.delivery.sync-interval:2s}")
+    public void sync() {
+        Timestamp since = Timestamp.from(clock.instant().minus(syncWindow));
+        int[] applied = new int[1];
+        jdbcTemplate.query(SELECT_RECEIVED_AFTER, rs -> {
+            // As próprias posições voltam aqui também e não mudam nada: só uma mais nova que a atual entra
+            if (tracker.update(rs.getObject("tenant_id", UUID.class), rs.getString("courier"),
+                    rs.getDouble("latitude"), rs.getDouble("longitude"), rs.getTimestamp("recorded_at").toInstant())) {
+                applied[0]++;
+            }
+        }, since);
+        if (applied[0] > 0) {
+            log.debug("{} posição(ões) de outras instâncias aplicadas", applied[0]);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${nachapa.delivery.cleanup-interval:1h}")
+    public void cleanup() {
+        int deleted = jdbcTemplate.update(DELETE_RECEIVED_BEFORE, Timestamp.from(clock.instant().minus(retention)));
+        if (deleted > 0) {
+            log.debug("Histórico de posições: {} linha(s) removidas", deleted);
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        batchWriter.close();
+    }
+
+    private void write(List<CourierPing> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (CourierPing ping : batch) {
+            rows.add(new Object[]{ping.tenantId(), ping.courier(), ping.latitude(), ping.longitude(),
+                    Timestamp.from(ping.recordedAt()), Timestamp.from(ping.receivedAt())});
+        }
+        try {
+            transactionOperations.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_LOCATION, rows));
+            batches.record(batch.size());
+        } catch (RuntimeException e) {
+            // A posição atual continua em memória, só o histórico perde o lote
+            droppedWriteError.increment(batch.size());
+            log.error("Falha ao gravar {} posição(ões) de entregadores: {}", batch.size(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.nachapa.api.delivery;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Uma posição enviada pelo app do entregador, já com o restaurante do token e o horário de chegada
+public record CourierPing(UUID tenantId, String courier, double latitude, double longitude, Instant recordedAt,
+                          Instant receivedAt) {
+}
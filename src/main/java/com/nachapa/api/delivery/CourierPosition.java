@@ -0,0 +1,9 @@
+package com.nachapa.api.delivery;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Posição mais recente de um entregador; cell é o geohash em que ele está indexado no CourierTracker
+public record CourierPosition(UUID tenantId, String courier, double latitude, double longitude, String cell,
+                              Instant recordedAt) {
+}
@@ -0,0 +1,139 @@
+package com.nachapa.api.delivery;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.nachapa.api.config.constants.MetricsConstants.DELIVERY_COURIERS_ONLINE;
+
+/**
+ * Posição atual de cada entregador, em memória: o ping não espera o banco e a busca de entregadores próximos não
+ * consulta o banco. Além do mapa por entregador há um índice por célula de geohash (por restaurante): a busca
+ * por raio visita só as células que cobrem o círculo e confere a distância de quem está nelas.
+ * <p>
+ * A ordem entre posições é o horário do GPS: um lote atrasado (aparelho que ficou sem sinal) não volta o
+ * entregador para trás. Quem passa de {@code position-max-age} sem posição nova some da busca e do mapa.
+ */
+public class CourierTracker {
+
+    private final int precision;
+    private final long maxAgeMillis;
+    private final Clock clock;
+
+    private final ConcurrentMap<CourierKey, CourierPosition> positions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<CellKey, Set<String>> cells = new ConcurrentHashMap<>();
+
+    public CourierTracker(DeliveryProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.precision = properties.getGeohashPrecision();
+        this.maxAgeMillis = properties.getPositionMaxAge().toMillis();
+        this.clock = clock;
+        Gauge.builder(DELIVERY_COURIERS_ONLINE, positions, Map::size).register(meterRegistry);
+    }
+
+    // true se a posição passou a ser a atual do entregador
+    public boolean update(UUID tenantId, String courier, double latitude, double longitude, Instant recordedAt) {
+        if (isStale(recordedAt, clock.millis())) {
+            return false;
+        }
+        String cell = Geohash.encode(latitude, longitude, precision);
+        boolean[] updated = new boolean[1];
+        // O compute serializa as posições do mesmo entregador: a troca de célula no índice acompanha a do mapa
+        positions.compute(new CourierKey(tenantId, courier), (key, current) -> {
+            if (current != null && !recordedAt.isAfter(current.recordedAt())) {
+                return current;
+            }
+            if (current == null || !current.cell().equals(cell)) {
+                if (current != null) {
+                    unindex(current);
+                }
+                // add dentro do compute: o unindex de outro entregador não descarta a célula no meio da inclusão
+                cells.compute(new CellKey(tenantId, cell), (k, couriers) -> {
+                    Set<String> value = couriers != null ? couriers : ConcurrentHashMap.newKeySet();
+                    value.add(courier);
+                    return value;
+                });
+            }
+            updated[0] = true;
+            return new CourierPosition(tenantId, courier, latitude, longitude, cell, recordedAt);
+        });
+        return updated[0];
+    }
+
+    // Até limit entregadores do restaurante a no máximo radiusMeters do ponto, do mais próximo ao mais distante
+    public List<NearbyCourier> nearby(UUID tenantId, double latitude, double longitude, double radiusMeters, int limit) {
+        long now = clock.millis();
+        List<NearbyCourier> found = new ArrayList<>();
+        for (String cell : Geohash.cover(latitude, longitude, radiusMeters, precision)) {
+            Set<String> couriers = cells.get(new CellKey(tenantId, cell));
+            if (couriers == null) {
+                continue;
+            }
+            for (String courier : couriers) {
+                CourierPosition position = positions.get(new CourierKey(tenantId, courier));
+                // Entregador que acabou de mudar de célula é contado só pela célula atual
+                if (position == null || !position.cell().equals(cell) || isStale(position.recordedAt(), now)) {
+                    continue;
+                }
+                double distance = Geohash.distance(latitude, longitude, position.latitude(), position.longitude());
+                if (distance <= radiusMeters) {
+                    found.add(new NearbyCourier(position, distance));
+                }
+            }
+        }
+        found.sort(Comparator.comparingDouble(NearbyCourier::distanceMeters));
+        return found.size() > limit ? List.copyOf(found.subList(0, limit)) : found;
+    }
+
+    public CourierPosition current(UUID tenantId, String courier) {
+        return positions.get(new CourierKey(tenantId, courier));
+    }
+
+    @Scheduled(fixedDelayString = "${nachapa.delivery.position-max-age:2m}")
+    public void evictStale() {
+        long now = clock.millis();
+        for (CourierKey key : positions.keySet()) {
+            positions.computeIfPresent(key, (k, position) -> {
+                if (!isStale(position.recordedAt(), now)) {
+                    return position;
+                }
+                unindex(position);
+                return null;
+            });
+        }
+    }
+
+    public int online() {
+        return positions.size();
+    }
+
+    private boolean isStale(Instant recordedAt, long nowMillis) {
+        return nowMillis - recordedAt.toEpochMilli() > maxAgeMillis;
+    }
+
+    private void unindex(CourierPosition position) {
+        cells.computeIfPresent(new CellKey(position.tenantId(), position.cell()), (key, couriers) -> {
+            couriers.remove(position.courier());
+            return couriers.isEmpty() ? null : couriers;
+        });
+    }
+
+    public record NearbyCourier(CourierPosition position, double distanceMeters) {
+    }
+
+    private record CourierKey(UUID tenantId, String courier) {
+    }
+
+    private record CellKey(UUID tenantId, String cell) {
+    }
+}
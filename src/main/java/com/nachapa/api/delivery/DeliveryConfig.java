@@ -0,0 +1,35 @@
+package com.nachapa.api.delivery;
+
+import com.nachapa.api.repository.RestaurantRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(DeliveryProperties.class)
+public class DeliveryConfig {
+
+    @Bean
+    public CourierTracker courierTracker(DeliveryProperties properties, MeterRegistry meterRegistry) {
+        return new CourierTracker(properties, meterRegistry, Clock.systemUTC());
+    }
+
+    @Bean
+    public RestaurantLocations restaurantLocations(RestaurantRepository restaurantRepository) {
+        return new RestaurantLocations(restaurantRepository);
+    }
+
+    @Bean(destroyMethod = "close")
+    public CourierLocationHistory courierLocationHistory(JdbcTemplate jdbcTemplate,
+                                                         TransactionOperations transactionOperations,
+                                                         CourierTracker courierTracker, DeliveryProperties properties,
+                                                         MeterRegistry meterRegistry) {
+        return new CourierLocationHistory(jdbcTemplate, transactionOperations, courierTracker, properties,
+                meterRegistry, Clock.systemUTC());
+    }
+}
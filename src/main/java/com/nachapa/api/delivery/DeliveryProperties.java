@@ -0,0 +1,43 @@
+package com.nachapa.api.delivery;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "nachapa.delivery")
+public class DeliveryProperties {
+
+    // Tamanho da célula do índice em memória: 6 caracteres ≈ 1,2 km x 0,6 km
+    private int geohashPrecision = 6;
+
+    // Entregador sem posição nova por esse tempo sai do mapa (app fechado, sem sinal)
+    private Duration positionMaxAge = Duration.ofMinutes(2);
+
+    // Raio padrão e máximo da busca de entregadores próximos, em metros
+    private int defaultRadius = 3_000;
+    private int maxRadius = 10_000;
+
+    // Entregadores devolvidos por busca, do mais próximo ao mais distante
+    private int maxResults = 20;
+
+    // Posições esperando gravação no histórico; com a fila cheia as mais novas são descartadas (a posição atual
+    // em memória continua sendo atualizada)
+    private int queueCapacity = 50_000;
+
+    // Máximo de posições por transação e quanto o escritor espera para completar o lote depois da primeira
+    private int batchSize = 500;
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    // Leitura das posições gravadas pelas outras instâncias, para a busca enxergar todos os entregadores
+    private Duration syncInterval = Duration.ofSeconds(2);
+
+    // Releitura das coordenadas dos restaurantes em memória; mudam raramente (cadastro do restaurante)
+    private Duration restaurantSyncInterval = Duration.ofMinutes(1);
+
+    private Duration historyRetention = Duration.ofDays(30);
+    private Duration cleanupInterval = Duration.ofHours(1);
+}
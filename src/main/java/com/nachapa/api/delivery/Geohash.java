@@ -0,0 +1,94 @@
+package com.nachapa.api.delivery;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Geohash (base32) para o índice de entregadores: pontos próximos caem na mesma célula ou em células vizinhas,
+ * e a busca por raio só olha as células que cobrem o retângulo em volta do círculo.
+ */
+public final class Geohash {
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+    private static final double EARTH_RADIUS_METERS = 6_371_000;
+    private static final double METERS_PER_DEGREE = Math.PI * EARTH_RADIUS_METERS / 180;
+
+    private Geohash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        char[] hash = new char[precision];
+        boolean evenBit = true;
+        for (int i = 0; i < precision; i++) {
+            int index = 0;
+            for (int bit = 0; bit < 5; bit++) {
+                // Bits alternados: longitude nos pares, latitude nos ímpares
+                if (evenBit) {
+                    double middle = (minLon + maxLon) / 2;
+                    if (longitude >= middle) {
+                        index = index * 2 + 1;
+                        minLon = middle;
+                    } else {
+                        index = index * 2;
+                        maxLon = middle;
+                    }
+                } else {
+                    double middle = (minLat + maxLat) / 2;
+                    if (latitude >= middle) {
+                        index = index * 2 + 1;
+                        minLat = middle;
+                    } else {
+                        index = index * 2;
+                        maxLat = middle;
+                    }
+                }
+                evenBit = !evenBit;
+            }
+            hash[i] = BASE32[index];
+        }
+        return new String(hash);
+    }
+
+    /**
+     * Células que cobrem o retângulo em volta do círculo de {@code radiusMeters}. Amostra o retângulo em passos
+     * do tamanho da célula, então toda célula que encosta nele aparece. Não atravessa o antimeridiano.
+     */
+    public static Set<String> cover(double latitude, double longitude, double radiusMeters, int precision) {
+        double latDelta = radiusMeters / METERS_PER_DEGREE;
+        double lonDelta = radiusMeters / (METERS_PER_DEGREE * Math.max(Math.cos(Math.toRadians(latitude)), 0.01));
+        double minLat = Math.max(-90, latitude - latDelta);
+        double maxLat = Math.min(90, latitude + latDelta);
+        double minLon = Math.max(-180, longitude - lonDelta);
+        double maxLon = Math.min(180, longitude + lonDelta);
+
+        int lonBits = (5 * precision + 1) / 2;
+        int latBits = 5 * precision / 2;
+        double cellHeight = 180 / Math.pow(2, latBits);
+        double cellWidth = 360 / Math.pow(2, lonBits);
+
+        Set<String> cells = new LinkedHashSet<>();
+        for (double lat = minLat; ; lat += cellHeight) {
+            double sampleLat = Math.min(lat, maxLat);
+            for (double lon = minLon; ; lon += cellWidth) {
+                cells.add(encode(sampleLat, Math.min(lon, maxLon), precision));
+                if (lon >= maxLon) {
+                    break;
+                }
+            }
+            if (lat >= maxLat) {
+                break;
+            }
+        }
+        return cells;
+    }
+
+    // Distância em metros sobre a esfera (haversine)
+    public static double distance(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
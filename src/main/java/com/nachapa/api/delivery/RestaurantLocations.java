@@ -0,0 +1,60 @@
+package com.nachapa.api.delivery;
+
+import com.nachapa.api.exceptions.RestaurantNotFoundException;
+import com.nachapa.api.repository.RestaurantLocation;
+import com.nachapa.api.repository.RestaurantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Coordenadas dos restaurantes em memória, para a busca de entregadores próximos não consultar o banco, assim
+ * como o {@link CourierTracker}. A primeira busca de cada restaurante carrega a localização; depois disso uma
+ * consulta periódica ({@link #sync}) traz as alterações de todos os restaurantes carregados de uma vez, com
+ * atraso de até {@code nachapa.delivery.restaurant-sync-interval}. Restaurante desativado sai do mapa.
+ */
+@Slf4j
+public class RestaurantLocations {
+
+    private final RestaurantRepository restaurantRepository;
+
+    // Uma entrada por restaurante que já buscou entregadores nesta instância
+    private final ConcurrentMap<UUID, RestaurantLocation> locations = new ConcurrentHashMap<>();
+
+    public RestaurantLocations(RestaurantRepository restaurantRepository) {
+        this.restaurantRepository = restaurantRepository;
+    }
+
+    public RestaurantLocation get(UUID restaurantId) {
+        RestaurantLocation location = locations.get(restaurantId);
+        if (location != null) {
+            return location;
+        }
+        return locations.computeIfAbsent(restaurantId, id -> restaurantRepository.findLocation(id)
+                .orElseThrow(RestaurantNotFoundException::new));
+    }
+
+    @Scheduled(fixedDelayString = "${nachapa.delivery.restaurant-sync-interval:1m}",
+            initialDelayString = "${nachapa.delivery.restaurant-sync-interval:1m}")
+    public void sync() {
+        if (locations.isEmpty()) {
+            return;
+        }
+        try {
+            Set<UUID> missing = new HashSet<>(locations.keySet());
+            for (RestaurantLocation location : restaurantRepository.findLocations(missing)) {
+                locations.put(location.getId(), location);
+                missing.remove(location.getId());
+            }
+            missing.forEach(locations::remove);
+        } catch (RuntimeException e) {
+            // As coordenadas anteriores continuam servindo; a próxima verificação tenta de novo
+            log.error("Falha ao atualizar a localização dos restaurantes: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.nachapa.api.dto.delivery;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Setter
+@Getter
+public class LocationBatchRequestDto {
+
+    // Uma posição por ping, ou as acumuladas enquanto o aparelho ficou sem sinal
+    @NotEmpty(message = "Envie ao menos uma posição.")
+    @Size(max = 100, message = "No máximo 100 posições por envio.")
+    @JsonProperty("posicoes")
+    private List<@Valid LocationPingDto> positions;
+}
@@ -0,0 +1,31 @@
+package com.nachapa.api.dto.delivery;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Setter
+@Getter
+public class LocationPingDto {
+
+    @NotNull(message = "A latitude é obrigatória.")
+    @DecimalMin(value = "-90.0", message = "Latitude inválida.")
+    @DecimalMax(value = "90.0", message = "Latitude inválida.")
+    @JsonProperty("latitude")
+    private Double latitude;
+
+    @NotNull(message = "A longitude é obrigatória.")
+    @DecimalMin(value = "-180.0", message = "Longitude inválida.")
+    @DecimalMax(value = "180.0", message = "Longitude inválida.")
+    @JsonProperty("longitude")
+    private Double longitude;
+
+    // Horário do GPS no aparelho (ISO-8601 com fuso); ausente ou no futuro vale o horário de chegada
+    @JsonProperty("registrado-em")
+    private Instant recordedAt;
+}
@@ -0,0 +1,38 @@
+package com.nachapa.api.dto.delivery;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.nachapa.api.delivery.CourierTracker;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Setter
+@Getter
+public class NearbyCourierDto {
+
+    @JsonProperty("entregador")
+    private String courier;
+
+    @JsonProperty("latitude")
+    private double latitude;
+
+    @JsonProperty("longitude")
+    private double longitude;
+
+    @JsonProperty("distancia-metros")
+    private long distanceMeters;
+
+    @JsonProperty("atualizado-em")
+    private Instant updatedAt;
+
+    public static NearbyCourierDto from(CourierTracker.NearbyCourier nearby) {
+        NearbyCourierDto dto = new NearbyCourierDto();
+        dto.setCourier(nearby.position().courier());
+        dto.setLatitude(nearby.position().latitude());
+        dto.setLongitude(nearby.position().longitude());
+        dto.setDistanceMeters(Math.round(nearby.distanceMeters()));
+        dto.setUpdatedAt(nearby.position().recordedAt());
+        return dto;
+    }
+}
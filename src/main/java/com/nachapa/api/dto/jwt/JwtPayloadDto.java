@@ -4,9 +4,13 @@ import com.nachapa.api.auth.RoleEnum;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.util.UUID;
+
 @Getter
 @AllArgsConstructor
 public class JwtPayloadDto {
     private String email;
     private RoleEnum role;
+    // Restaurante do usuário (claim tid)
+    private UUID tenantId;
 }
\ No newline at end of file
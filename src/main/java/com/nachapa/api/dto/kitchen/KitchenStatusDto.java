@@ -0,0 +1,32 @@
+package com.nachapa.api.dto.kitchen;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.nachapa.api.order.OrderStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+// Mudança de status de um pedido (eventos "status" e "cancelled" do stream da cozinha), só para as estações
+// que receberam a comanda
+@Setter
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class KitchenStatusDto {
+
+    @JsonProperty("pedido-id")
+    private UUID orderId;
+
+    @JsonProperty("estacao")
+    private String station;
+
+    @JsonProperty("status")
+    private OrderStatus status;
+
+    @JsonProperty("versao")
+    private int version;
+
+    @JsonProperty("motivo")
+    private String reason;
+}
@@ -0,0 +1,44 @@
+package com.nachapa.api.dto.kitchen;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Comanda de uma estação (evento "ticket" do stream da cozinha): só os itens que a estação prepara
+@Setter
+@Getter
+public class KitchenTicketDto {
+
+    @JsonProperty("pedido-id")
+    private UUID orderId;
+
+    @JsonProperty("numero")
+    private Integer number;
+
+    @JsonProperty("estacao")
+    private String station;
+
+    @JsonProperty("observacao")
+    private String note;
+
+    @JsonProperty("criado-em")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("itens")
+    private List<Line> items;
+
+    @Setter
+    @Getter
+    public static class Line {
+
+        @JsonProperty("nome")
+        private String name;
+
+        @JsonProperty("quantidade")
+        private int quantity;
+    }
+}
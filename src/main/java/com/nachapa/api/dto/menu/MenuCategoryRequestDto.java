@@ -0,0 +1,31 @@
+package com.nachapa.api.dto.menu;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class MenuCategoryRequestDto {
+
+    @NotBlank(message = "O nome da categoria é obrigatório.")
+    @Size(max = 60, message = "O nome da categoria deve ter no máximo 60 caracteres.")
+    @JsonProperty("nome")
+    private String name;
+
+    @PositiveOrZero(message = "A posição não pode ser negativa.")
+    @JsonProperty("posicao")
+    private int position;
+
+    @JsonProperty("ativa")
+    private boolean active = true;
+
+    // Ausente: cozinha na criação, mantém a atual na edição
+    @Pattern(regexp = "^[a-z0-9-]{1,30}$", message = "A estação deve ter até 30 letras minúsculas, números ou hífens.")
+    @JsonProperty("estacao")
+    private String station;
+}
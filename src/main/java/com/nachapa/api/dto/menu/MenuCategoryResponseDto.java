@@ -0,0 +1,38 @@
+package com.nachapa.api.dto.menu;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.nachapa.api.menu.MenuCategory;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Setter
+@Getter
+public class MenuCategoryResponseDto {
+
+    @JsonProperty("id")
+    private UUID id;
+
+    @JsonProperty("nome")
+    private String name;
+
+    @JsonProperty("posicao")
+    private int position;
+
+    @JsonProperty("ativa")
+    private boolean active;
+
+    @JsonProperty("estacao")
+    private String station;
+
+    public static MenuCategoryResponseDto from(MenuCategory category) {
+        MenuCategoryResponseDto dto = new MenuCategoryResponseDto();
+        dto.setId(category.getId());
+        dto.setName(category.getName());
+        dto.setPosition(category.getPosition());
+        dto.setActive(category.isActive());
+        dto.setStation(category.getStation());
+        return dto;
+    }
+}
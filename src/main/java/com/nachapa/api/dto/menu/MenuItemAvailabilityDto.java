@@ -0,0 +1,15 @@
+package com.nachapa.api.dto.menu;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class MenuItemAvailabilityDto {
+
+    @NotNull(message = "A disponibilidade é obrigatória.")
+    @JsonProperty("disponivel")
+    private Boolean available;
+}
@@ -0,0 +1,45 @@
+package com.nachapa.api.dto.menu;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Setter
+@Getter
+public class MenuItemRequestDto {
+
+    @NotNull(message = "A categoria é obrigatória.")
+    @JsonProperty("categoria-id")
+    private UUID categoryId;
+
+    @NotBlank(message = "O nome do item é obrigatório.")
+    @Size(max = 80, message = "O nome do item deve ter no máximo 80 caracteres.")
+    @JsonProperty("nome")
+    private String name;
+
+    @Size(max = 500, message = "A descrição deve ter no máximo 500 caracteres.")
+    @JsonProperty("descricao")
+    private String description;
+
+    @NotNull(message = "O preço é obrigatório.")
+    @DecimalMin(value = "0.01", message = "O preço deve ser maior que zero.")
+    @Digits(integer = 8, fraction = 2, message = "O preço deve ter no máximo 2 casas decimais.")
+    @JsonProperty("preco")
+    private BigDecimal price;
+
+    @JsonProperty("disponivel")
+    private boolean available = true;
+
+    @PositiveOrZero(message = "A posição não pode ser negativa.")
+    @JsonProperty("posicao")
+    private int position;
+}
@@ -0,0 +1,47 @@
+package com.nachapa.api.dto.menu;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.nachapa.api.menu.MenuItem;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Setter
+@Getter
+public class MenuItemResponseDto {
+
+    @JsonProperty("id")
+    private UUID id;
+
+    @JsonProperty("categoria-id")
+    private UUID categoryId;
+
+    @JsonProperty("nome")
+    private String name;
+
+    @JsonProperty("descricao")
+    private String description;
+
+    @JsonProperty("preco")
+    private BigDecimal price;
+
+    @JsonProperty("disponivel")
+    private boolean available;
+
+    @JsonProperty("posicao")
+    private int position;
+
+    public static MenuItemResponseDto from(MenuItem item) {
+        MenuItemResponseDto dto = new MenuItemResponseDto();
+        dto.setId(item.getId());
+        dto.setCategoryId(item.getCategoryId());
+        dto.setName(item.getName());
+        dto.setDescription(item.getDescription());
+        dto.setPrice(item.getPrice());
+        dto.setAvailable(item.isAvailable());
+        dto.setPosition(item.getPosition());
+        return dto;
+    }
+}
@@ -0,0 +1,37 @@
+package com.nachapa.api.dto.menu;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+// Cardápio publicado (GET api/menu). Serializado uma vez por versão no MenuSnapshot, não a cada requisição
+@Setter
+@Getter
+public class MenuResponseDto {
+
+    @JsonProperty("restaurante")
+    private UUID restaurantId;
+
+    @JsonProperty("versao")
+    private long version;
+
+    @JsonProperty("categorias")
+    private List<Category> categories;
+
+    @Setter
+    @Getter
+    public static class Category {
+
+        @JsonProperty("id")
+        private UUID id;
+
+        @JsonProperty("nome")
+        private String name;
+
+        @JsonProperty("itens")
+        private List<MenuItemResponseDto> items;
+    }
+}
@@ -0,0 +1,47 @@
+package com.nachapa.api.dto.order;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.nachapa.api.auth.RoleEnum;
+import com.nachapa.api.order.OrderEvent;
+import com.nachapa.api.order.OrderStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Setter
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderEventResponseDto {
+
+    @JsonProperty("versao")
+    private int version;
+
+    @JsonProperty("status")
+    private OrderStatus status;
+
+    // Só para a equipe do restaurante; o cliente vê apenas o perfil de quem mudou o status
+    @JsonProperty("autor")
+    private String actor;
+
+    @JsonProperty("perfil")
+    private RoleEnum actorRole;
+
+    @JsonProperty("motivo")
+    private String reason;
+
+    @JsonProperty("em")
+    private LocalDateTime occurredAt;
+
+    public static OrderEventResponseDto from(OrderEvent event, boolean includeActor) {
+        OrderEventResponseDto dto = new OrderEventResponseDto();
+        dto.setVersion(event.getVersion());
+        dto.setStatus(event.getStatus());
+        dto.setActor(includeActor ? event.getActor() : null);
+        dto.setActorRole(event.getActorRole());
+        dto.setReason(event.getReason());
+        dto.setOccurredAt(event.getOccurredAt());
+        return dto;
+    }
+}
@@ -0,0 +1,42 @@
+package com.nachapa.api.dto.order;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Setter
+@Getter
+public class OrderRequestDto {
+
+    @NotEmpty(message = "O pedido precisa de ao menos um item.")
+    @Size(max = 50, message = "O pedido pode ter no máximo 50 itens.")
+    @JsonProperty("itens")
+    private List<@Valid Line> items;
+
+    @Size(max = 200, message = "A observação deve ter no máximo 200 caracteres.")
+    @JsonProperty("observacao")
+    private String note;
+
+    @Setter
+    @Getter
+    public static class Line {
+
+        @NotNull(message = "O item é obrigatório.")
+        @JsonProperty("item-id")
+        private UUID itemId;
+
+        @Min(value = 1, message = "A quantidade mínima é 1.")
+        @Max(value = 99, message = "A quantidade máxima é 99.")
+        @JsonProperty("quantidade")
+        private int quantity = 1;
+    }
+}
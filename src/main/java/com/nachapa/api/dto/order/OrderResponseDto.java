@@ -0,0 +1,75 @@
+package com.nachapa.api.dto.order;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.nachapa.api.order.Order;
+import com.nachapa.api.order.OrderItem;
+import com.nachapa.api.order.OrderStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Setter
+@Getter
+public class OrderResponseDto {
+
+    @JsonProperty("id")
+    private UUID id;
+
+    @JsonProperty("numero")
+    private Integer number;
+
+    @JsonProperty("status")
+    private OrderStatus status;
+
+    @JsonProperty("total")
+    private BigDecimal total;
+
+    @JsonProperty("observacao")
+    private String note;
+
+    @JsonProperty("criado-em")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("itens")
+    private List<Line> items;
+
+    @Setter
+    @Getter
+    public static class Line {
+
+        @JsonProperty("item-id")
+        private UUID itemId;
+
+        @JsonProperty("nome")
+        private String name;
+
+        @JsonProperty("preco-unitario")
+        private BigDecimal unitPrice;
+
+        @JsonProperty("quantidade")
+        private int quantity;
+    }
+
+    public static OrderResponseDto from(Order order, List<OrderItem> items) {
+        OrderResponseDto dto = new OrderResponseDto();
+        dto.setId(order.getId());
+        dto.setNumber(order.getNumber());
+        dto.setStatus(order.getStatus());
+        dto.setTotal(order.getTotal());
+        dto.setNote(order.getNote());
+        dto.setCreatedAt(order.getCreatedAt());
+        dto.setItems(items.stream().map(item -> {
+            Line line = new Line();
+            line.setItemId(item.getMenuItemId());
+            line.setName(item.getName());
+            line.setUnitPrice(item.getUnitPrice());
+            line.setQuantity(item.getQuantity());
+            return line;
+        }).toList());
+        return dto;
+    }
+}
@@ -0,0 +1,31 @@
+package com.nachapa.api.dto.order;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.nachapa.api.order.OrderState;
+import com.nachapa.api.order.OrderStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Setter
+@Getter
+public class OrderStatusResponseDto {
+
+    @JsonProperty("id")
+    private UUID id;
+
+    @JsonProperty("status")
+    private OrderStatus status;
+
+    @JsonProperty("versao")
+    private int version;
+
+    public static OrderStatusResponseDto from(OrderState state) {
+        OrderStatusResponseDto dto = new OrderStatusResponseDto();
+        dto.setId(state.orderId());
+        dto.setStatus(state.status());
+        dto.setVersion(state.version());
+        return dto;
+    }
+}
@@ -0,0 +1,25 @@
+package com.nachapa.api.dto.order;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.nachapa.api.order.OrderStatus;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class OrderTransitionRequestDto {
+
+    @NotNull(message = "O novo status é obrigatório.")
+    @JsonProperty("status")
+    private OrderStatus status;
+
+    // Versão que a tela mostrava; se o pedido mudou desde então, responde 409 em vez de aplicar
+    @JsonProperty("versao")
+    private Integer version;
+
+    @Size(max = 200, message = "O motivo deve ter no máximo 200 caracteres.")
+    @JsonProperty("motivo")
+    private String reason;
+}
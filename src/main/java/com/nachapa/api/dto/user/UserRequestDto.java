@@ -2,6 +2,9 @@ package com.nachapa.api.dto.user;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.nachapa.api.config.jackson.BrDate;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -41,8 +44,10 @@ public class UserRequestDto {
 
     @NotNull(message = "A data de nascimento é obrigatória.")
     @Past(message = "A data de nascimento deve estar no passado.")
-    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd/MM/yyyy")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = BrDate.PATTERN)
     // Define o formato aceito para entrada/saída JSON
+    @JsonSerialize(using = BrDate.Serializer.class)
+    @JsonDeserialize(using = BrDate.Deserializer.class)
     @JsonProperty("data-nascimento")
     private LocalDate birthDate;
 }
\ No newline at end of file
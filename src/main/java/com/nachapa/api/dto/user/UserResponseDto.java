@@ -2,12 +2,14 @@ package com.nachapa.api.dto.user;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.nachapa.api.auth.User;
+import com.nachapa.api.config.jackson.BrDate;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.time.LocalDate;
-import java.time.Period;
 
 @Setter
 @Getter
@@ -25,24 +27,16 @@ public class UserResponseDto {
     @JsonProperty("telefone")
     private String cellPhone;
 
-    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd/MM/yyyy")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = BrDate.PATTERN)
+    @JsonSerialize(using = BrDate.Serializer.class)
+    @JsonDeserialize(using = BrDate.Deserializer.class)
     @JsonProperty("data-nascimento")
     private LocalDate birthDate;
 
     private int age;
 
+    // Para várias linhas, use um único UserResponseMapper (uma data de referência por requisição)
     public static UserResponseDto from(User user) {
-        UserResponseDto dto = new UserResponseDto();
-        dto.setName(user.getName());
-        dto.setEmail(user.getEmail());
-        dto.setCellPhone(user.getCellPhone());
-        dto.setBirthDate(user.getBirthDate());
-        dto.setAge(calculateAge(user.getBirthDate()));
-
-        return dto;
+        return UserResponseMapper.today().toResponse(user);
     }
-
-    private static int calculateAge(LocalDate birthDate) {
-        return Period.between(birthDate, LocalDate.now()).getYears();
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,58 @@
+package com.nachapa.api.dto.user;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.function.Function;
+
+/**
+ * Converte {@link UserView} em {@link UserResponseDto} com uma única data de referência por requisição:
+ * a idade sai de aritmética inteira (sem {@code LocalDate.now()} nem {@code Period} por linha).
+ * Imutável e sem estado mutável, pode ser reaproveitado em listagens, streaming e respostas de update.
+ */
+public final class UserResponseMapper implements Function<UserView, UserResponseDto> {
+
+    private final int referenceYear;
+    private final int referenceMonthDay;
+
+    private UserResponseMapper(LocalDate referenceDate) {
+        this.referenceYear = referenceDate.getYear();
+        this.referenceMonthDay = monthDay(referenceDate);
+    }
+
+    public static UserResponseMapper at(LocalDate referenceDate) {
+        return new UserResponseMapper(referenceDate);
+    }
+
+    public static UserResponseMapper today() {
+        return at(LocalDate.now());
+    }
+
+    public static UserResponseMapper today(Clock clock) {
+        return at(LocalDate.now(clock));
+    }
+
+    @Override
+    public UserResponseDto apply(UserView user) {
+        return toResponse(user);
+    }
+
+    public UserResponseDto toResponse(UserView user) {
+        UserResponseDto dto = new UserResponseDto();
+        dto.setName(user.getName());
+        dto.setEmail(user.getEmail());
+        dto.setCellPhone(user.getCellPhone());
+        dto.setBirthDate(user.getBirthDate());
+        dto.setAge(age(user.getBirthDate()));
+        return dto;
+    }
+
+    // Mesmo resultado de Period.between(birthDate, referência).getYears(), inclusive para 29/02
+    public int age(LocalDate birthDate) {
+        int years = referenceYear - birthDate.getYear();
+        return referenceMonthDay < monthDay(birthDate) ? years - 1 : years;
+    }
+
+    private static int monthDay(LocalDate date) {
+        return date.getMonthValue() * 100 + date.getDayOfMonth();
+    }
+}
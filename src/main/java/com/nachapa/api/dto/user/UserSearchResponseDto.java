@@ -0,0 +1,30 @@
+package com.nachapa.api.dto.user;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.nachapa.api.repository.UserSearchResult;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Setter
+@Getter
+public class UserSearchResponseDto {
+
+    @JsonProperty("id")
+    private UUID id;
+
+    @JsonProperty("nome")
+    private String name;
+
+    @JsonProperty("email")
+    private String email;
+
+    public static UserSearchResponseDto from(UserSearchResult result) {
+        UserSearchResponseDto dto = new UserSearchResponseDto();
+        dto.setId(result.getId());
+        dto.setName(result.getName());
+        dto.setEmail(result.getEmail());
+        return dto;
+    }
+}
@@ -0,0 +1,15 @@
+package com.nachapa.api.dto.user;
+
+import java.time.LocalDate;
+
+// Campos que alimentam UserResponseDto. Implementado pela entidade User e por projeções/linhas de streaming.
+public interface UserView {
+
+    String getName();
+
+    String getEmail();
+
+    String getCellPhone();
+
+    LocalDate getBirthDate();
+}
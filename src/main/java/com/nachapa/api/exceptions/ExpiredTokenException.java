@@ -0,0 +1,6 @@
+package com.nachapa.api.exceptions;
+
+public class ExpiredTokenException extends InvalidTokenException {
+    public ExpiredTokenException() {
+    }
+}
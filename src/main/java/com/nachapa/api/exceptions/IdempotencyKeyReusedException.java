@@ -0,0 +1,6 @@
+package com.nachapa.api.exceptions;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException() {
+    }
+}
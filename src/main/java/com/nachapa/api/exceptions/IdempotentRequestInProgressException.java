@@ -0,0 +1,6 @@
+package com.nachapa.api.exceptions;
+
+public class IdempotentRequestInProgressException extends RuntimeException {
+    public IdempotentRequestInProgressException() {
+    }
+}
@@ -0,0 +1,6 @@
+package com.nachapa.api.exceptions;
+
+public class MenuCategoryNotFoundException extends RuntimeException {
+    public MenuCategoryNotFoundException() {
+    }
+}
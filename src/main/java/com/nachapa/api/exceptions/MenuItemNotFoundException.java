@@ -0,0 +1,6 @@
+package com.nachapa.api.exceptions;
+
+public class MenuItemNotFoundException extends RuntimeException {
+    public MenuItemNotFoundException() {
+    }
+}
@@ -2,6 +2,8 @@ package com.nachapa.api.exceptions;
 
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import com.nachapa.api.exceptions.constants.ErrorConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -11,24 +13,54 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import java.io.IOException;
 import java.util.Map;
 
+import static com.nachapa.api.config.constants.MetricsConstants.API_ERRORS;
+import static com.nachapa.api.config.constants.MetricsConstants.TAG_CODE;
+import static com.nachapa.api.config.constants.MetricsConstants.TAG_STATUS;
+
+import static com.nachapa.api.exceptions.constants.ErrorConstants.ARCHIVED_USER_NOT_FOUND_CODE;
 import static com.nachapa.api.exceptions.constants.ErrorConstants.CPF_ALREADY_REGISTERED_CODE;
 import static com.nachapa.api.exceptions.constants.ErrorConstants.CPF_CANNOT_BE_CHANGED_CODE;
 import static com.nachapa.api.exceptions.constants.ErrorConstants.EMAIL_ALREADY_REGISTERED_CODE;
 import static com.nachapa.api.exceptions.constants.ErrorConstants.ERROR_DEACTIVATE_USER_CODE;
 import static com.nachapa.api.exceptions.constants.ErrorConstants.ERROR_VALUE_NOT_VALID_CODE;
 import static com.nachapa.api.exceptions.constants.ErrorConstants.ERROR_VALUE_NOT_VALID_DESERIALIZE_CODE;
+import static com.nachapa.api.exceptions.constants.ErrorConstants.IDEMPOTENCY_KEY_REUSED_CODE;
+import static com.nachapa.api.exceptions.constants.ErrorConstants.IDEMPOTENT_REQUEST_IN_PROGRESS_CODE;
 import static com.nachapa.api.exceptions.constants.ErrorConstants.INVALID_CREDENTIALS_CODE;
 import static com.nachapa.api.exceptions.constants.ErrorConstants.INVALID_DESERIALIZATION_SNIPPET;
+import static com.nachapa.api.exceptions.constants.ErrorConstants.INVALID_IDEMPOTENCY_KEY_CODE;
+import static com.nachapa.api.exceptions.constants.ErrorConstants.INVALID_ORDER_TRANSITION_CODE;
+import static com.nachapa.api.exceptions.constants.ErrorConstants.INVALID_SEARCH_QUERY_CODE;
 import static com.nachapa.api.exceptions.constants.ErrorConstants.JWT_KEY_MISSING_CODE;
+import static com.nachapa.api.exceptions.constants.ErrorConstants.MENU_CATEGORY_NOT_FOUND_CODE;
+import static com.nachapa.api.exceptions.constants.ErrorConstants.MENU_ITEM_NOT_FOUND_CODE;
+import static com.nachapa.api.exceptions.constants.ErrorConstants.MENU_ITEM_UNAVAILABLE_CODE;
+import static com.nachapa.api.exceptions.constants.ErrorConstants.ORDER_INTAKE_UNAVAILABLE_CODE;
+import static com.nachapa.api.exceptions.constants.ErrorConstants.ORDER_NOT_FOUND_CODE;
+import static com.nachapa.api.exceptions.constants.ErrorConstants.ORDER_TRANSITION_NOT_ALLOWED_CODE;
+import static com.nachapa.api.exceptions.constants.ErrorConstants.ORDER_VERSION_CONFLICT_CODE;
+import static com.nachapa.api.exceptions.constants.ErrorConstants.RESTAURANT_LOCATION_NOT_SET_CODE;
+import static com.nachapa.api.exceptions.constants.ErrorConstants.RESTAURANT_NOT_FOUND_CODE;
 import static com.nachapa.api.exceptions.constants.ErrorConstants.USER_NOT_FOUND_CODE;
 
 
 @ControllerAdvice
+@AllArgsConstructor
 public class RestExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
     private ResponseEntity<RestErrorMessage> buildErrorResponse(String errorCode, HttpStatus status) {
         Map.Entry<String, String> errorEntry = ErrorConstants.getError(errorCode);
-        return ResponseEntity.status(status).body(new RestErrorMessage(errorEntry.getKey(), errorEntry.getValue()));
+        return buildErrorResponse(new RestErrorMessage(errorEntry.getKey(), errorEntry.getValue()), status);
+    }
+
+    // Toda resposta de erro passa por aqui para ser contabilizada por código em nachapa.api.errors
+    private ResponseEntity<RestErrorMessage> buildErrorResponse(RestErrorMessage body, HttpStatus status) {
+        meterRegistry.counter(API_ERRORS,
+                TAG_CODE, String.valueOf(body.getCode()),
+                TAG_STATUS, String.valueOf(status.value())).increment();
+        return ResponseEntity.status(status).body(body);
     }
 
     @ExceptionHandler(EmailAlreadyRegisteredException.class)
@@ -48,7 +80,7 @@ public class RestExceptionHandler {
             threatResponse.setCode(ERROR_VALUE_NOT_VALID_CODE);
             threatResponse.setMessage(error.getDefaultMessage());
         });
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(threatResponse);
+        return buildErrorResponse(threatResponse, HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(InvalidFormatException.class)
@@ -62,7 +94,7 @@ public class RestExceptionHandler {
     @ExceptionHandler(IOException.class)
     public ResponseEntity<RestErrorMessage> ioExceptionHandler(IOException ex) {
         RestErrorMessage threatResponse = new RestErrorMessage("erro", ex.getLocalizedMessage());
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(threatResponse);
+        return buildErrorResponse(threatResponse, HttpStatus.BAD_REQUEST);
     }
 
 
@@ -92,4 +124,80 @@ public class RestExceptionHandler {
         return buildErrorResponse(CPF_CANNOT_BE_CHANGED_CODE, HttpStatus.NOT_FOUND);
     }
 
-}
\ No newline at end of file
+    @ExceptionHandler(InvalidSearchQueryException.class)
+    private ResponseEntity<RestErrorMessage> invalidSearchQueryExceptionHandler(InvalidSearchQueryException e) {
+        return buildErrorResponse(INVALID_SEARCH_QUERY_CODE, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    private ResponseEntity<RestErrorMessage> invalidIdempotencyKeyExceptionHandler(InvalidIdempotencyKeyException e) {
+        return buildErrorResponse(INVALID_IDEMPOTENCY_KEY_CODE, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    private ResponseEntity<RestErrorMessage> idempotencyKeyReusedExceptionHandler(IdempotencyKeyReusedException e) {
+        return buildErrorResponse(IDEMPOTENCY_KEY_REUSED_CODE, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @ExceptionHandler(IdempotentRequestInProgressException.class)
+    private ResponseEntity<RestErrorMessage> idempotentRequestInProgressExceptionHandler(IdempotentRequestInProgressException e) {
+        return buildErrorResponse(IDEMPOTENT_REQUEST_IN_PROGRESS_CODE, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(ArchivedUserNotFoundException.class)
+    private ResponseEntity<RestErrorMessage> archivedUserNotFoundExceptionHandler(ArchivedUserNotFoundException e) {
+        return buildErrorResponse(ARCHIVED_USER_NOT_FOUND_CODE, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(RestaurantNotFoundException.class)
+    private ResponseEntity<RestErrorMessage> restaurantNotFoundExceptionHandler(RestaurantNotFoundException e) {
+        return buildErrorResponse(RESTAURANT_NOT_FOUND_CODE, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(RestaurantLocationNotSetException.class)
+    private ResponseEntity<RestErrorMessage> restaurantLocationNotSetExceptionHandler(RestaurantLocationNotSetException e) {
+        return buildErrorResponse(RESTAURANT_LOCATION_NOT_SET_CODE, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(MenuCategoryNotFoundException.class)
+    private ResponseEntity<RestErrorMessage> menuCategoryNotFoundExceptionHandler(MenuCategoryNotFoundException e) {
+        return buildErrorResponse(MENU_CATEGORY_NOT_FOUND_CODE, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(MenuItemNotFoundException.class)
+    private ResponseEntity<RestErrorMessage> menuItemNotFoundExceptionHandler(MenuItemNotFoundException e) {
+        return buildErrorResponse(MENU_ITEM_NOT_FOUND_CODE, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(MenuItemUnavailableException.class)
+    private ResponseEntity<RestErrorMessage> menuItemUnavailableExceptionHandler(MenuItemUnavailableException e) {
+        return buildErrorResponse(MENU_ITEM_UNAVAILABLE_CODE, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    // 5xx: o IdempotencyFilter não guarda a resposta, então o app pode repetir com a mesma Idempotency-Key
+    @ExceptionHandler(OrderIntakeUnavailableException.class)
+    private ResponseEntity<RestErrorMessage> orderIntakeUnavailableExceptionHandler(OrderIntakeUnavailableException e) {
+        return buildErrorResponse(ORDER_INTAKE_UNAVAILABLE_CODE, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(OrderNotFoundException.class)
+    private ResponseEntity<RestErrorMessage> orderNotFoundExceptionHandler(OrderNotFoundException e) {
+        return buildErrorResponse(ORDER_NOT_FOUND_CODE, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(OrderTransitionNotAllowedException.class)
+    private ResponseEntity<RestErrorMessage> orderTransitionNotAllowedExceptionHandler(OrderTransitionNotAllowedException e) {
+        return buildErrorResponse(ORDER_TRANSITION_NOT_ALLOWED_CODE, HttpStatus.FORBIDDEN);
+    }
+
+    @ExceptionHandler(InvalidOrderTransitionException.class)
+    private ResponseEntity<RestErrorMessage> invalidOrderTransitionExceptionHandler(InvalidOrderTransitionException e) {
+        return buildErrorResponse(INVALID_ORDER_TRANSITION_CODE, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(OrderVersionConflictException.class)
+    private ResponseEntity<RestErrorMessage> orderVersionConflictExceptionHandler(OrderVersionConflictException e) {
+        return buildErrorResponse(ORDER_VERSION_CONFLICT_CODE, HttpStatus.CONFLICT);
+    }
+
+}
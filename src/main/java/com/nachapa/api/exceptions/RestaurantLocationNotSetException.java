@@ -0,0 +1,6 @@
+package com.nachapa.api.exceptions;
+
+public class RestaurantLocationNotSetException extends RuntimeException {
+    public RestaurantLocationNotSetException() {
+    }
+}
@@ -17,6 +17,18 @@ public class ErrorConstants {
     public static final String ERROR_VALUE_NOT_VALID_DESERIALIZE_CODE = "0101";
     public static final String ERROR_VALUE_NOT_VALID_DESERIALIZE_MESSAGE = "Erro de Deserializacao";
 
+    public static final String INVALID_SEARCH_QUERY_CODE = "0102";
+    public static final String INVALID_SEARCH_QUERY_MESSAGE = "Termo de busca muito curto";
+
+    public static final String INVALID_IDEMPOTENCY_KEY_CODE = "0103";
+    public static final String INVALID_IDEMPOTENCY_KEY_MESSAGE = "Idempotency-Key vazia ou longa demais";
+
+    public static final String IDEMPOTENCY_KEY_REUSED_CODE = "0104";
+    public static final String IDEMPOTENCY_KEY_REUSED_MESSAGE = "Idempotency-Key já usada com outra requisição";
+
+    public static final String IDEMPOTENT_REQUEST_IN_PROGRESS_CODE = "0105";
+    public static final String IDEMPOTENT_REQUEST_IN_PROGRESS_MESSAGE = "Requisição com esta Idempotency-Key ainda em processamento";
+
     public static final String INVALID_CREDENTIALS_CODE = "4001";
     public static final String INVALID_CREDENTIALS_MESSAGE = "Credenciais inválidas";
 
@@ -38,6 +50,39 @@ public class ErrorConstants {
     public static final String CPF_CANNOT_BE_CHANGED_CODE = "5005";
     public static final String CPF_CANNOT_BE_CHANGED_CODE_MESSAGE = "CPF não pode ser alterado.";
 
+    public static final String ARCHIVED_USER_NOT_FOUND_CODE = "5006";
+    public static final String ARCHIVED_USER_NOT_FOUND_MESSAGE = "Usuário arquivado não encontrado";
+
+    public static final String RESTAURANT_NOT_FOUND_CODE = "5007";
+    public static final String RESTAURANT_NOT_FOUND_MESSAGE = "Restaurante não encontrado ou inativo";
+
+    public static final String RESTAURANT_LOCATION_NOT_SET_CODE = "5008";
+    public static final String RESTAURANT_LOCATION_NOT_SET_MESSAGE = "Restaurante sem localização cadastrada";
+
+    public static final String MENU_CATEGORY_NOT_FOUND_CODE = "6001";
+    public static final String MENU_CATEGORY_NOT_FOUND_MESSAGE = "Categoria do cardápio não encontrada";
+
+    public static final String MENU_ITEM_NOT_FOUND_CODE = "6002";
+    public static final String MENU_ITEM_NOT_FOUND_MESSAGE = "Item do cardápio não encontrado";
+
+    public static final String MENU_ITEM_UNAVAILABLE_CODE = "7001";
+    public static final String MENU_ITEM_UNAVAILABLE_MESSAGE = "Item indisponível ou fora do cardápio";
+
+    public static final String ORDER_INTAKE_UNAVAILABLE_CODE = "7002";
+    public static final String ORDER_INTAKE_UNAVAILABLE_MESSAGE = "Não foi possível registrar o pedido agora, tente novamente";
+
+    public static final String ORDER_NOT_FOUND_CODE = "7003";
+    public static final String ORDER_NOT_FOUND_MESSAGE = "Pedido não encontrado";
+
+    public static final String ORDER_TRANSITION_NOT_ALLOWED_CODE = "7004";
+    public static final String ORDER_TRANSITION_NOT_ALLOWED_MESSAGE = "Mudança de status não permitida para o seu perfil";
+
+    public static final String INVALID_ORDER_TRANSITION_CODE = "7005";
+    public static final String INVALID_ORDER_TRANSITION_MESSAGE = "O pedido não pode ir para esse status a partir do atual";
+
+    public static final String ORDER_VERSION_CONFLICT_CODE = "7006";
+    public static final String ORDER_VERSION_CONFLICT_MESSAGE = "O pedido foi alterado por outra pessoa; recarregue e tente de novo";
+
 
     public static final String ERROR_LOG_ENTITY_CHANGES_CODE = "10001";
     public static final String ERROR_LOG_ENTITY_CHANGES_MESSAGE = "Erro ao registrar mudanças";
@@ -53,8 +98,23 @@ public class ErrorConstants {
                 new AbstractMap.SimpleEntry<>(JWT_KEY_MISSING_CODE, JWT_KEY_MISSING_MESSAGE),
                 new AbstractMap.SimpleEntry<>(ERROR_DEACTIVATE_USER_CODE, ERROR_DEACTIVATE_USER_MESSAGE),
                 new AbstractMap.SimpleEntry<>(ERROR_VALUE_NOT_VALID_DESERIALIZE_CODE, ERROR_VALUE_NOT_VALID_DESERIALIZE_MESSAGE),
+                new AbstractMap.SimpleEntry<>(INVALID_SEARCH_QUERY_CODE, INVALID_SEARCH_QUERY_MESSAGE),
+                new AbstractMap.SimpleEntry<>(INVALID_IDEMPOTENCY_KEY_CODE, INVALID_IDEMPOTENCY_KEY_MESSAGE),
+                new AbstractMap.SimpleEntry<>(IDEMPOTENCY_KEY_REUSED_CODE, IDEMPOTENCY_KEY_REUSED_MESSAGE),
+                new AbstractMap.SimpleEntry<>(IDEMPOTENT_REQUEST_IN_PROGRESS_CODE, IDEMPOTENT_REQUEST_IN_PROGRESS_MESSAGE),
                 new AbstractMap.SimpleEntry<>(CPF_ALREADY_REGISTERED_CODE, CPF_ALREADY_REGISTERED_MESSAGE),
                 new AbstractMap.SimpleEntry<>(CPF_CANNOT_BE_CHANGED_CODE, CPF_CANNOT_BE_CHANGED_CODE_MESSAGE),
+                new AbstractMap.SimpleEntry<>(ARCHIVED_USER_NOT_FOUND_CODE, ARCHIVED_USER_NOT_FOUND_MESSAGE),
+                new AbstractMap.SimpleEntry<>(RESTAURANT_NOT_FOUND_CODE, RESTAURANT_NOT_FOUND_MESSAGE),
+                new AbstractMap.SimpleEntry<>(RESTAURANT_LOCATION_NOT_SET_CODE, RESTAURANT_LOCATION_NOT_SET_MESSAGE),
+                new AbstractMap.SimpleEntry<>(MENU_CATEGORY_NOT_FOUND_CODE, MENU_CATEGORY_NOT_FOUND_MESSAGE),
+                new AbstractMap.SimpleEntry<>(MENU_ITEM_NOT_FOUND_CODE, MENU_ITEM_NOT_FOUND_MESSAGE),
+                new AbstractMap.SimpleEntry<>(MENU_ITEM_UNAVAILABLE_CODE, MENU_ITEM_UNAVAILABLE_MESSAGE),
+                new AbstractMap.SimpleEntry<>(ORDER_INTAKE_UNAVAILABLE_CODE, ORDER_INTAKE_UNAVAILABLE_MESSAGE),
+                new AbstractMap.SimpleEntry<>(ORDER_NOT_FOUND_CODE, ORDER_NOT_FOUND_MESSAGE),
+                new AbstractMap.SimpleEntry<>(ORDER_TRANSITION_NOT_ALLOWED_CODE, ORDER_TRANSITION_NOT_ALLOWED_MESSAGE),
+                new AbstractMap.SimpleEntry<>(INVALID_ORDER_TRANSITION_CODE, INVALID_ORDER_TRANSITION_MESSAGE),
+                new AbstractMap.SimpleEntry<>(ORDER_VERSION_CONFLICT_CODE, ORDER_VERSION_CONFLICT_MESSAGE),
                 new AbstractMap.SimpleEntry<>(ERROR_LOG_ENTITY_CHANGES_CODE, ERROR_LOG_ENTITY_CHANGES_MESSAGE)
 
         );
@@ -0,0 +1,276 @@
+package com.nachapa.api.filter;
+
+import com.nachapa.api.exceptions.IdempotencyKeyReusedException;
+import com.nachapa.api.exceptions.IdempotentRequestInProgressException;
+import com.nachapa.api.exceptions.InvalidIdempotencyKeyException;
+import com.nachapa.api.idempotency.IdempotencyProperties;
+import com.nachapa.api.idempotency.IdempotencyStore;
+import com.nachapa.api.idempotency.StoredResponse;
+import com.nachapa.api.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static com.nachapa.api.config.constants.MetricsConstants.IDEMPOTENCY_REPLAYED;
+
+/**
+ * Cabeçalho {@code Idempotency-Key} nos POST/PATCH: a primeira requisição com a chave reserva a chave no
+ * {@link IdempotencyStore} e tem a resposta guardada; repetições com o mesmo corpo recebem a mesma resposta sem
+ * executar o handler (no cadastro: sem as consultas de duplicidade e sem o BCrypt). Mesma chave com outro corpo
+ * responde 422; repetição enquanto a original ainda roda, 409. Respostas 5xx não são guardadas.
+ * A reserva dura só {@code in-progress-ttl} (a instância pode morrer no meio da requisição); a resposta guardada,
+ * {@code ttl}.
+ * A chave vale por restaurante, usuário autenticado (anônimo tem escopo próprio), método e caminho.
+ */
+@Slf4j
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    private static final String ANONYMOUS_SCOPE = "-";
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final Clock clock;
+    private final Counter replayed;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Autowired
+    public IdempotencyFilter(IdempotencyStore store, IdempotencyProperties properties,
+                             @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+                             MeterRegistry meterRegistry) {
+        this(store, properties, exceptionResolver, meterRegistry, Clock.systemUTC());
+    }
+
+    IdempotencyFilter(IdempotencyStore store, IdempotencyProperties properties, HandlerExceptionResolver exceptionResolver,
+                      MeterRegistry meterRegistry, Clock clock) {
+        this.store = store;
+        this.properties = properties;
+        this.exceptionResolver = exceptionResolver;
+        this.clock = clock;
+        this.replayed = meterRegistry.counter(IDEMPOTENCY_REPLAYED);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled() || request.getHeader(IDEMPOTENCY_KEY) == null
+                || !properties.getMethods().contains(request.getMethod())) {
+            return true;
+        }
+        String path = path(request);
+        return properties.getExcludedPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > properties.getMaxKeyLength()) {
+            exceptionResolver.resolveException(request, response, null, new InvalidIdempotencyKeyException());
+            return;
+        }
+
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        String key = sha256(tenant(), scope(), request.getMethod(), path(request), idempotencyKey);
+        String fingerprint = fingerprint(request, body);
+        Instant now = clock.instant();
+
+        IdempotencyStore.Entry existing = store.claim(key, fingerprint, now, now.plus(properties.getInProgressTtl()));
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                exceptionResolver.resolveException(request, response, null, new IdempotencyKeyReusedException());
+            } else if (existing.response() == null) {
+                exceptionResolver.resolveException(request, response, null, new IdempotentRequestInProgressException());
+            } else {
+                replay(existing.response(), response);
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(new CachedBodyRequest(request, body), cachingResponse);
+        } catch (IOException | ServletException | RuntimeException e) {
+            store.release(key);
+            throw e;
+        }
+        store(key, cachingResponse);
+        cachingResponse.copyBodyToResponse();
+    }
+
+    private void store(String key, ContentCachingResponseWrapper response) {
+        int status = response.getStatus();
+        byte[] content = response.getContentAsByteArray();
+        try {
+            if (status >= 500 || content.length > properties.getMaxResponseSize().toBytes()) {
+                store.release(key);
+                return;
+            }
+            StoredResponse stored = new StoredResponse(status, response.getContentType(),
+                    response.getHeader(HttpHeaders.LOCATION), content);
+            store.complete(key, stored, clock.instant().plus(properties.getTtl()));
+        } catch (RuntimeException e) {
+            // O handler já executou: o cliente recebe a resposta mesmo sem ela ficar guardada
+            log.warn("Falha ao guardar a resposta idempotente (status {}): {}", status, e.getMessage());
+        }
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        replayed.increment();
+        response.setStatus(stored.status());
+        response.setHeader(IDEMPOTENT_REPLAYED, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static String scope() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return ANONYMOUS_SCOPE;
+        }
+        return authentication.getName();
+    }
+
+    private static String tenant() {
+        UUID tenantId = TenantContext.current();
+        return tenantId == null ? ANONYMOUS_SCOPE : tenantId.toString();
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        MessageDigest digest = sha256();
+        update(digest, request.getMethod());
+        update(digest, path(request));
+        update(digest, request.getQueryString());
+        update(digest, request.getContentType());
+        digest.update(body);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String sha256(String... parts) {
+        MessageDigest digest = sha256();
+        for (String part : parts) {
+            update(digest, part);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // Cada parte termina com um separador, para "ab"+"c" não colidir com "a"+"bc"
+    private static void update(MessageDigest digest, String part) {
+        if (part != null) {
+            digest.update(part.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // O corpo já foi lido para a impressão digital; o handler lê a cópia
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
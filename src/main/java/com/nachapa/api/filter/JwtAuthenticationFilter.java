@@ -1,7 +1,11 @@
 package com.nachapa.api.filter;
 
+import com.nachapa.api.exceptions.ExpiredTokenException;
+import com.nachapa.api.exceptions.InvalidTokenException;
+import com.nachapa.api.jfr.TokenVerificationEvent;
+import com.nachapa.api.tenant.TenantContext;
 import com.nachapa.api.util.JwtUtil;
-import io.jsonwebtoken.Claims;
+import com.nachapa.api.util.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,6 +21,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.UUID;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -30,6 +35,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     public static final Integer BEARER_PREFIX_LENGTH = 7;
     public static final String ROLE = "role";
     public static final String ROLE_PREFIX = "ROLE_";
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".VERIFIED_TOKEN";
+
+    // Token verificado por este filtro na requisição atual (evita um segundo parse em controllers/serviços)
+    public static VerifiedToken verifiedToken(HttpServletRequest request) {
+        return (VerifiedToken) request.getAttribute(VERIFIED_TOKEN_ATTRIBUTE);
+    }
 
 
     @Override
@@ -38,16 +49,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         // Extrai o cabeçalho Authorization
         String authHeader = request.getHeader(AUTHORIZATION);
+        UUID tenantId = null;
 
         // Valida o formato do cabeçalho (deve começar com "Bearer ")
         if (authHeader != null && authHeader.startsWith(BEARER + WHITE_SPACE)) {
             String token = authHeader.substring(BEARER_PREFIX_LENGTH); // Remove "Bearer " do início
-            Claims claims = jwtUtil.extractClaims(token); // Extrai as claims do token
+            VerifiedToken verifiedToken;
+            TokenVerificationEvent event = new TokenVerificationEvent();
+            event.begin();
+            try {
+                verifiedToken = jwtUtil.verify(token); // Único parse/verificação do token na requisição
+                event.finish(TokenVerificationEvent.VALID);
+            } catch (InvalidTokenException e) {
+                event.finish(e instanceof ExpiredTokenException
+                        ? TokenVerificationEvent.EXPIRED
+                        : TokenVerificationEvent.INVALID);
+                // Token inválido/expirado: segue sem autenticação e o Spring Security responde 401/403
+                chain.doFilter(request, response);
+                return;
+            }
+            // Token sem restaurante (emitido antes do tid) ou de outro restaurante que o do cabeçalho não autentica
+            if (!tenantMatches(verifiedToken, request)) {
+                chain.doFilter(request, response);
+                return;
+            }
+            request.setAttribute(VERIFIED_TOKEN_ATTRIBUTE, verifiedToken);
 
             // Configura o contexto de segurança se o token for válido
-            if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                String email = claims.getSubject(); // Extrai o e-mail do token
-                String role = claims.get(ROLE, String.class); // Extrai o papel do token
+            if (verifiedToken != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                String email = verifiedToken.subject(); // Extrai o e-mail do token
+                String role = verifiedToken.role(); // Extrai o papel do token
 
                 if (role != null && !role.isEmpty()) { // Verifica se o papel é válido
                     // Cria os detalhes do usuário
@@ -63,11 +94,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                     // Configura o contexto de segurança
                     SecurityContextHolder.getContext().setAuthentication(authentication);
+                    tenantId = verifiedToken.tenantId();
                 }
 
             }
         }
-        // Continua a execução da cadeia de filtros
-        chain.doFilter(request, response);
+        if (tenantId == null) {
+            // Continua a execução da cadeia de filtros
+            chain.doFilter(request, response);
+            return;
+        }
+        // Repositórios da requisição filtram pelo restaurante do token (ver TenantIdentifierResolver)
+        TenantContext.set(tenantId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private static boolean tenantMatches(VerifiedToken verifiedToken, HttpServletRequest request) {
+        if (verifiedToken.tenantId() == null) {
+            return false;
+        }
+        String restaurantHeader = request.getHeader(TenantContext.RESTAURANT_HEADER);
+        return restaurantHeader == null || verifiedToken.tenantId().toString().equalsIgnoreCase(restaurantHeader.strip());
     }
 }
\ No newline at end of file
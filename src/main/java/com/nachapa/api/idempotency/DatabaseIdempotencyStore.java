@@ -0,0 +1,61 @@
+package com.nachapa.api.idempotency;
+
+import com.nachapa.api.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.time.Instant;
+
+/**
+ * Store em tb_idempotency_key, compartilhado entre instâncias. A reserva é um
+ * {@code INSERT ... ON CONFLICT DO NOTHING} (depois de apagar a linha da mesma chave, se já expirou: resposta
+ * vencida ou reserva de uma requisição que morreu no meio).
+ */
+@Slf4j
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotencyRecordRepository repository;
+    private final TransactionOperations transactionOperations;
+    private final Clock clock;
+
+    public DatabaseIdempotencyStore(IdempotencyRecordRepository repository, TransactionOperations transactionOperations,
+                                    Clock clock) {
+        this.repository = repository;
+        this.transactionOperations = transactionOperations;
+        this.clock = clock;
+    }
+
+    @Override
+    public Entry claim(String key, String fingerprint, Instant now, Instant expiresAt) {
+        return transactionOperations.execute(status -> {
+            repository.deleteIfExpired(key, now);
+            if (repository.insertIfAbsent(key, fingerprint, now, expiresAt) == 1) {
+                return null;
+            }
+            // Apagada entre o INSERT e a leitura (liberada pela requisição original): trata como em andamento
+            return repository.findById(key)
+                    .map(IdempotencyRecord::toEntry)
+                    .orElseGet(() -> new Entry(fingerprint, null));
+        });
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response, Instant expiresAt) {
+        repository.complete(key, response.status(), response.contentType(), response.location(), response.body(), expiresAt);
+    }
+
+    @Override
+    public void release(String key) {
+        repository.deleteById(key);
+    }
+
+    @Scheduled(fixedDelayString = "${nachapa.idempotency.cleanup-interval:15m}")
+    public void purgeExpired() {
+        int deleted = repository.deleteExpired(clock.instant());
+        if (deleted > 0) {
+            log.debug("Idempotência: {} chave(s) expiradas removidas", deleted);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.nachapa.api.idempotency;
+
+import com.nachapa.api.repository.IdempotencyRecordRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    // Escolhido em runtime (e não com @ConditionalOnProperty): no jar processado com AOT as condições ficam congeladas
+    @Bean
+    public IdempotencyStore idempotencyStore(IdempotencyProperties properties, IdempotencyRecordRepository repository,
+                                             TransactionOperations transactionOperations) {
+        return switch (properties.getStore()) {
+            case "jdbc" -> new DatabaseIdempotencyStore(repository, transactionOperations, Clock.systemUTC());
+            case "memory" -> new InMemoryIdempotencyStore(tenantId -> properties.getMemoryTenantQuotas()
+                    .getOrDefault(tenantId, properties.getMemoryMaxEntries()));
+            default -> throw new IllegalStateException("nachapa.idempotency.store desconhecido: " + properties.getStore());
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.nachapa.api.idempotency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "nachapa.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    // jdbc (tb_idempotency_key, compartilhado entre instâncias) ou memory (LRU local)
+    private String store = "jdbc";
+
+    // Por quanto tempo uma chave concluída devolve a mesma resposta
+    private Duration ttl = Duration.ofHours(24);
+
+    // Validade da reserva enquanto a requisição original roda: se a instância morrer antes de concluir, a
+    // repetição volta a executar depois disso em vez de receber 409 até o ttl
+    private Duration inProgressTtl = Duration.ofMinutes(1);
+
+    private Duration cleanupInterval = Duration.ofMinutes(15);
+
+    // Métodos em que o cabeçalho Idempotency-Key é respeitado
+    private List<String> methods = new ArrayList<>(List.of("POST", "PATCH"));
+
+    // Caminhos ignorados mesmo com o cabeçalho (ex.: login, para não guardar tokens)
+    private List<String> excludedPaths = new ArrayList<>(List.of("/api/auth/login"));
+
+    private int maxKeyLength = 255;
+
+    // Respostas maiores não são guardadas (a chave é liberada e a repetição executa de novo)
+    private DataSize maxResponseSize = DataSize.ofKilobytes(64);
+
+    // Store memory: chaves por restaurante (cota padrão), com exceções por tenant em memory-tenant-quotas
+    private int memoryMaxEntries = 10_000;
+
+    private Map<UUID, Integer> memoryTenantQuotas = new HashMap<>();
+}
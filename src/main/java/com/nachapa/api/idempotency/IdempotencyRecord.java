@@ -0,0 +1,52 @@
+package com.nachapa.api.idempotency;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+// Linha do store jdbc; responseStatus null enquanto a requisição original está em andamento
+@Setter
+@Getter
+@NoArgsConstructor
+@Entity(name = "IdempotencyRecord")
+@Table(name = "tb_idempotency_key")
+public class IdempotencyRecord {
+
+    // SHA-256 (hex) do escopo + método + caminho + Idempotency-Key: nem a chave nem o e-mail do usuário ficam no banco
+    @Id
+    @Column(name = "key_hash", length = 64)
+    private String keyHash;
+
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Column(name = "content_type", length = 200)
+    private String contentType;
+
+    @Column(length = 2048)
+    private String location;
+
+    @Column(name = "response_body", length = 65536)
+    private byte[] responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    IdempotencyStore.Entry toEntry() {
+        StoredResponse response = responseStatus == null ? null
+                : new StoredResponse(responseStatus, contentType, location, responseBody == null ? new byte[0] : responseBody);
+        return new IdempotencyStore.Entry(fingerprint, response);
+    }
+}
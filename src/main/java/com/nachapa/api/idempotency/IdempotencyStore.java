@@ -0,0 +1,27 @@
+package com.nachapa.api.idempotency;
+
+import java.time.Instant;
+
+/**
+ * Guarda, por chave (hash do escopo + Idempotency-Key), a impressão digital da requisição e a resposta.
+ * A chave é reservada antes do handler rodar; só uma requisição por chave executa.
+ */
+public interface IdempotencyStore {
+
+    // response null: a requisição original ainda está em andamento
+    record Entry(String fingerprint, StoredResponse response) {
+    }
+
+    /**
+     * Reserva a chave para esta requisição até {@code expiresAt} (curto: só enquanto ela roda). Devolve null quando
+     * a reserva foi feita, inclusive tomando uma reserva vencida de uma requisição que nunca concluiu; caso
+     * contrário, o registro existente (não expirado).
+     */
+    Entry claim(String key, String fingerprint, Instant now, Instant expiresAt);
+
+    // Guarda a resposta e estende a validade da chave até expiresAt (o ttl)
+    void complete(String key, StoredResponse response, Instant expiresAt);
+
+    // Libera a reserva (erro 5xx ou exceção): a próxima tentativa executa de novo
+    void release(String key);
+}
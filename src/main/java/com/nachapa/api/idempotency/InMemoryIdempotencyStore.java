@@ -0,0 +1,57 @@
+package com.nachapa.api.idempotency;
+
+import com.nachapa.api.tenant.TenantScopedCache;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.ToIntFunction;
+
+/**
+ * Store em memória, LRU por restaurante ({@link TenantScopedCache}): cada tenant guarda até a sua cota de
+ * chaves. Serve para uma instância só: com várias réplicas atrás do balanceador, a repetição pode cair em
+ * outra instância, e aí vale o store jdbc.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private record Slot(String fingerprint, StoredResponse response, Instant expiresAt) {
+    }
+
+    private final TenantScopedCache<String, Slot> slots;
+
+    public InMemoryIdempotencyStore(int maxEntries) {
+        this(tenantId -> maxEntries);
+    }
+
+    public InMemoryIdempotencyStore(ToIntFunction<UUID> quotas) {
+        this.slots = new TenantScopedCache<>(quotas);
+    }
+
+    @Override
+    public Entry claim(String key, String fingerprint, Instant now, Instant expiresAt) {
+        return slots.withPartition(partition -> {
+            Slot existing = partition.get(key);
+            if (existing != null && existing.expiresAt().isAfter(now)) {
+                return new Entry(existing.fingerprint(), existing.response());
+            }
+            partition.put(key, new Slot(fingerprint, null, expiresAt));
+            return null;
+        });
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response, Instant expiresAt) {
+        slots.withPartition(partition -> {
+            Slot claimed = partition.get(key);
+            if (claimed != null) {
+                partition.put(key, new Slot(claimed.fingerprint(), response, expiresAt));
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void release(String key) {
+        slots.withPartition(partition -> partition.remove(key));
+    }
+
+}
@@ -0,0 +1,5 @@
+package com.nachapa.api.idempotency;
+
+// Resposta guardada para repetir a mesma chave: status, cabeçalhos que importam ao cliente e corpo
+public record StoredResponse(int status, String contentType, String location, byte[] body) {
+}
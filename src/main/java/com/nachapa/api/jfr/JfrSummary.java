@@ -0,0 +1,133 @@
+package com.nachapa.api.jfr;
+
+import jdk.jfr.EventType;
+import jdk.jfr.Timespan;
+import jdk.jfr.ValueDescriptor;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Resume os eventos da aplicação (nachapa.*) de um arquivo .jfr em tabelas de latência por fase (não sobe o Spring):
+ * <pre>
+ *   java -cp /app/application/app.jar com.nachapa.api.jfr.JfrSummary /tmp/nachapa.jfr
+ * </pre>
+ * Um bloco por tipo de evento e valor dos campos de texto (resultado do login, operação do serviço...), com
+ * contagem, p50, p90, p99 e máximo em milissegundos da duração total e de cada fase. Fases com 0 (não alcançadas
+ * naquela execução) ficam fora da contagem da fase.
+ */
+public final class JfrSummary {
+
+    static final String EVENT_PREFIX = "nachapa.";
+    static final String TOTAL = "total";
+
+    private JfrSummary() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.exit(run(args, System.out));
+    }
+
+    static int run(String[] args, PrintStream out) throws IOException {
+        if (args.length != 1) {
+            out.println("uso: JfrSummary <arquivo.jfr>");
+            return 2;
+        }
+        // tipo -> grupo -> fase -> durações (ns)
+        Map<String, Map<String, Map<String, LongList>>> samples = new TreeMap<>();
+        try (RecordingFile recording = new RecordingFile(Path.of(args[0]))) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                EventType type = event.getEventType();
+                if (!type.getName().startsWith(EVENT_PREFIX)) {
+                    continue;
+                }
+                Map<String, LongList> phases = samples
+                        .computeIfAbsent(type.getName(), name -> new TreeMap<>())
+                        .computeIfAbsent(group(event), group -> new LinkedHashMap<>());
+                phases.computeIfAbsent(TOTAL, phase -> new LongList()).add(event.getDuration().toNanos());
+                for (ValueDescriptor field : type.getFields()) {
+                    // "duration" é o campo padrão do JFR, já contado como total
+                    if (Timespan.class.getName().equals(field.getContentType()) && !"duration".equals(field.getName())) {
+                        long value = event.getLong(field.getName());
+                        LongList values = phases.computeIfAbsent(field.getName(), phase -> new LongList());
+                        if (value > 0) {
+                            values.add(value);
+                        }
+                    }
+                }
+            }
+        }
+        if (samples.isEmpty()) {
+            out.println("nenhum evento " + EVENT_PREFIX + "* na gravação (ela usou src/main/jfr/nachapa.jfc?)");
+            return 1;
+        }
+        samples.forEach((type, groups) -> groups.forEach((group, phases) -> print(out, type, group, phases)));
+        return 0;
+    }
+
+    // Campos de texto do evento (fora os padrões do JFR, como a thread) identificam o grupo
+    private static String group(RecordedEvent event) {
+        List<String> parts = new ArrayList<>();
+        for (ValueDescriptor field : event.getEventType().getFields()) {
+            if (String.class.getName().equals(field.getTypeName())) {
+                parts.add(field.getName() + "=" + event.getString(field.getName()));
+            }
+        }
+        return String.join(" ", parts);
+    }
+
+    private static void print(PrintStream out, String type, String group, Map<String, LongList> phases) {
+        out.printf("%s %s%n", type, group);
+        out.printf("  %-10s %8s %10s %10s %10s %10s%n", "fase", "n", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        phases.forEach((phase, values) -> {
+            long[] sorted = values.sorted();
+            if (sorted.length == 0) {
+                return;
+            }
+            out.printf("  %-10s %8d %10.3f %10.3f %10.3f %10.3f%n", phase, sorted.length,
+                    millis(percentile(sorted, 50)), millis(percentile(sorted, 90)),
+                    millis(percentile(sorted, 99)), millis(sorted[sorted.length - 1]));
+        });
+        out.println();
+    }
+
+    // Nearest-rank: o menor valor com pelo menos p% das amostras até ele
+    static long percentile(long[] sorted, int p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    // Gravações longas têm milhões de verificações de token: long[] em vez de List<Long>
+    private static final class LongList {
+
+        private long[] values = new long[64];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.nachapa.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import lombok.Setter;
+
+/**
+ * Um login ({@code AuthServiceImpl.authenticate}) com a duração de cada fase. Desligado por padrão: só aparece em
+ * gravações com as configurações de {@code src/main/jfr/nachapa.jfc}.
+ */
+@Name("nachapa.Login")
+@Label("Login")
+@Category({"Na Chapa", "Auth"})
+@Description("Autenticação por e-mail e senha, com as fases de busca, hash e assinatura do token")
+@Enabled(false)
+@StackTrace(false)
+@Setter
+public class LoginEvent extends Event {
+
+    public static final String SUCCESS = "success";
+    public static final String UNKNOWN_EMAIL = "unknown_email";
+    public static final String BAD_PASSWORD = "bad_password";
+
+    @Label("Outcome")
+    private String outcome;
+
+    @Label("Lookup")
+    @Timespan
+    private long lookup;
+
+    @Label("Hash")
+    @Timespan
+    private long hash;
+
+    @Label("Sign")
+    @Timespan
+    private long sign;
+
+    // Sem gravação interessada, end/shouldCommit são praticamente de graça e o evento não é gravado
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
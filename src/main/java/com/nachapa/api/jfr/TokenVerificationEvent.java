@@ -0,0 +1,37 @@
+package com.nachapa.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Parse e verificação do token no {@code JwtAuthenticationFilter}; a duração do evento é a do parse.
+ * Desligado por padrão, como os demais eventos da aplicação.
+ */
+@Name("nachapa.TokenVerification")
+@Label("Token Verification")
+@Category({"Na Chapa", "Auth"})
+@Description("Parse e verificação de assinatura/expiração do JWT de uma requisição")
+@Enabled(false)
+@StackTrace(false)
+public class TokenVerificationEvent extends Event {
+
+    public static final String VALID = "valid";
+    public static final String INVALID = "invalid";
+    public static final String EXPIRED = "expired";
+
+    @Label("Outcome")
+    private String outcome;
+
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
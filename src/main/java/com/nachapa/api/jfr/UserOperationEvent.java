@@ -0,0 +1,83 @@
+package com.nachapa.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Uma operação do {@code UserServiceImpl}. As fases (consultas, BCrypt, gravação) são marcadas na ordem em que
+ * acontecem; cada uma mede o tempo desde a marca anterior e fica 0 quando a operação não passa por ela.
+ * Usado em try-with-resources: o evento é encerrado e gravado no close, inclusive quando a operação lança exceção.
+ * Com o evento desligado nenhuma marca lê o relógio.
+ */
+@Name("nachapa.UserOperation")
+@Label("User Operation")
+@Category({"Na Chapa", "Users"})
+@Description("Operação do serviço de usuários, com as fases de consulta, hash e gravação")
+@Enabled(false)
+@StackTrace(false)
+public class UserOperationEvent extends Event implements AutoCloseable {
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Lookup")
+    @Timespan
+    private long lookup;
+
+    @Label("Hash")
+    @Timespan
+    private long hash;
+
+    @Label("Persist")
+    @Timespan
+    private long persist;
+
+    // Campos transient não vão para a gravação
+    private transient long mark;
+
+    public static UserOperationEvent start(String operation) {
+        UserOperationEvent event = new UserOperationEvent();
+        event.operation = operation;
+        event.begin();
+        if (event.isEnabled()) {
+            event.mark = System.nanoTime();
+        }
+        return event;
+    }
+
+    public void lookupDone() {
+        lookup = lap();
+    }
+
+    public void hashDone() {
+        hash = lap();
+    }
+
+    public void persistDone() {
+        persist = lap();
+    }
+
+    private long lap() {
+        if (!isEnabled()) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long elapsed = now - mark;
+        mark = now;
+        return elapsed;
+    }
+
+    @Override
+    public void close() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
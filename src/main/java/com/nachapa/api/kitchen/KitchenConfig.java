@@ -0,0 +1,29 @@
+package com.nachapa.api.kitchen;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+@EnableConfigurationProperties(KitchenProperties.class)
+public class KitchenConfig {
+
+    @Bean
+    public KitchenHub kitchenHub(KitchenProperties properties, MeterRegistry meterRegistry) {
+        AtomicInteger threads = new AtomicInteger();
+        // ThreadPoolExecutor explícito: o KitchenHub aumenta o pool enquanto houver escrita travada
+        ThreadPoolExecutor dispatcher = new ThreadPoolExecutor(properties.getDispatchThreads(),
+                properties.getDispatchThreads(), 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), task -> {
+            Thread thread = new Thread(task, "kitchen-sse-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new KitchenHub(properties, meterRegistry, dispatcher);
+    }
+}
@@ -0,0 +1,5 @@
+package com.nachapa.api.kitchen;
+
+// Evento de uma estação. data é o JSON já serializado: uma serialização por evento, não por tela
+public record KitchenEvent(long sequence, String type, String data) {
+}
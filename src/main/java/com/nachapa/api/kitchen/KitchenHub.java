@@ -0,0 +1,360 @@
+package com.nachapa.api.kitchen;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.nachapa.api.config.constants.MetricsConstants.KITCHEN_DISCONNECTED;
+import static com.nachapa.api.config.constants.MetricsConstants.KITCHEN_EVENTS;
+import static com.nachapa.api.config.constants.MetricsConstants.KITCHEN_STREAMS;
+import static com.nachapa.api.config.constants.MetricsConstants.TAG_REASON;
+
+/**
+ * Distribui os eventos da cozinha para as telas conectadas por SSE, por restaurante e estação. Cada estação
+ * guarda os últimos {@code ring-size} eventos num buffer circular: a tela que reconecta com
+ * {@code Last-Event-ID} retoma dali sem consultar o banco, e uma tela nova recebe o que ainda está no buffer.
+ * Não há fila por tela: cada conexão só guarda até onde já recebeu, e a escrita roda num pool pequeno
+ * ({@code dispatch-threads}); conexões ociosas não ocupam thread. A tela que fica mais atrás que o buffer é
+ * desconectada (consumidor lento) em vez de acumular eventos na memória.
+ * <p>
+ * A escrita no servlet é bloqueante: uma tela conectada mas sem consumir (Wi-Fi ruim, janela TCP cheia) prende
+ * a thread dentro do {@code send} até o socket desistir. A escrita que passa de {@code send-timeout} desliga a
+ * tela e o pool ganha uma thread substituta enquanto ela não volta, para as outras estações não pararem.
+ * <p>
+ * O buffer é desta instância: os ids de evento levam a época da instância e da estação, e um id de outra
+ * instância (ou de antes de um reinício) não é retomado; a tela recebe {@code reset} e o buffer inteiro.
+ */
+@Slf4j
+public class KitchenHub implements AutoCloseable {
+
+    public static final String RESET = "reset";
+
+    private static final int IDLE = 0;
+    private static final int SENDING = 1;
+    private static final int STALLED = 2;
+
+    private final int ringSize;
+    private final long stationIdleNanos;
+    private final long sendTimeoutNanos;
+    private final ExecutorService dispatcher;
+    // Prefixo dos ids de evento: instância + geração da estação (uma estação liberada e recriada recomeça a
+    // sequência, e ids da anterior não podem ser retomados nela)
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicInteger generations = new AtomicInteger();
+
+    private final ConcurrentMap<StationKey, Station> stations = new ConcurrentHashMap<>();
+    private final AtomicInteger streams = new AtomicInteger();
+    private final Counter published;
+    private final Counter slowConsumers;
+    private final Counter stalledSends;
+
+    public KitchenHub(KitchenProperties properties, MeterRegistry meterRegistry, ExecutorService dispatcher) {
+        this.ringSize = properties.getRingSize();
+        this.stationIdleNanos = properties.getStationIdleTimeout().toNanos();
+        this.sendTimeoutNanos = properties.getSendTimeout().toNanos();
+        this.dispatcher = dispatcher;
+        this.published = meterRegistry.counter(KITCHEN_EVENTS);
+        this.slowConsumers = meterRegistry.counter(KITCHEN_DISCONNECTED, TAG_REASON, "slow_consumer");
+        this.stalledSends = meterRegistry.counter(KITCHEN_DISCONNECTED, TAG_REASON, "send_timeout");
+        Gauge.builder(KITCHEN_STREAMS, streams, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public void publish(UUID restaurantId, String station, String type, String data) {
+        // Dentro do compute: a limpeza de estações ociosas não remove a estação entre a busca e o append
+        Station target = stations.compute(new StationKey(restaurantId, station), (key, current) -> {
+            Station value = current != null ? current : newStation();
+            value.append(type, data);
+            return value;
+        });
+        published.increment();
+        for (Subscriber subscriber : target.subscribers) {
+            signal(subscriber);
+        }
+    }
+
+    /**
+     * Liga a conexão à estação. Sem {@code lastEventId} a tela recebe o buffer inteiro; com um id deste
+     * buffer, só o que veio depois dele; com id desconhecido ou já descartado, {@code reset} e o buffer inteiro.
+     */
+    public void subscribe(UUID restaurantId, String station, String lastEventId, SseEmitter emitter) {
+        Subscriber[] created = new Subscriber[1];
+        stations.compute(new StationKey(restaurantId, station), (key, current) -> {
+            Station value = current != null ? current : newStation();
+            created[0] = new Subscriber(value, emitter, lastEventId);
+            value.subscribers.add(created[0]);
+            return value;
+        });
+        Subscriber subscriber = created[0];
+        streams.incrementAndGet();
+        emitter.onCompletion(() -> remove(subscriber));
+        // max-connection-age: encerra como fim normal do stream (sem AsyncRequestTimeoutException) e a tela reconecta
+        emitter.onTimeout(() -> {
+            remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(e -> remove(subscriber));
+        signal(subscriber);
+    }
+
+    @Scheduled(fixedDelayString = "${nachapa.kitchen.heartbeat-interval:15s}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        for (StationKey key : stations.keySet()) {
+            stations.computeIfPresent(key, (k, station) ->
+                    station.subscribers.isEmpty() && now - station.lastActivity() > stationIdleNanos ? null : station);
+        }
+        for (Station station : stations.values()) {
+            for (Subscriber subscriber : station.subscribers) {
+                subscriber.heartbeatDue = true;
+                signal(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Desliga as telas com escrita em andamento há mais de {@code send-timeout}. O {@code complete} do emitter
+     * espera a mesma trava do {@code send} travado, então fica para quando a escrita voltar (ver {@link #send}).
+     */
+    @Scheduled(fixedDelayString = "${nachapa.kitchen.send-timeout:5s}")
+    public void expireStalledSends() {
+        long now = System.nanoTime();
+        for (Station station : stations.values()) {
+            for (Subscriber subscriber : station.subscribers) {
+                if (subscriber.sendState.get() == SENDING && now - subscriber.sendStarted > sendTimeoutNanos
+                        && subscriber.sendState.compareAndSet(SENDING, STALLED)) {
+                    stalledSends.increment();
+                    log.debug("Tela da cozinha desconectada: escrita parada há mais de {} ms",
+                            TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+                    remove(subscriber);
+                    resizeDispatcher(1);
+                }
+            }
+        }
+    }
+
+    public int streams() {
+        return streams.get();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        for (Station station : stations.values()) {
+            for (Subscriber subscriber : station.subscribers) {
+                subscriber.emitter.complete();
+            }
+        }
+        dispatcher.shutdown();
+        dispatcher.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private Station newStation() {
+        return new Station(epoch + "." + generations.incrementAndGet(), ringSize);
+    }
+
+    private void signal(Subscriber subscriber) {
+        // Uma escrita por conexão por vez; eventos que chegam durante a escrita saem na mesma rodada
+        if (!subscriber.closed && subscriber.scheduled.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.reset) {
+                send(subscriber, SseEmitter.event().name(RESET).data(""));
+                subscriber.reset = false;
+            }
+            boolean sent = false;
+            while (!subscriber.closed) {
+                List<KitchenEvent> events = subscriber.station.since(subscriber.cursor);
+                if (events == null) {
+                    // Ficou mais atrás que o buffer: a tela reconecta e recomeça pelo reset
+                    slowConsumers.increment();
+                    log.debug("Tela da cozinha desconectada por atraso (cursor {})", subscriber.cursor);
+                    remove(subscriber);
+                    subscriber.emitter.complete();
+                    return;
+                }
+                if (events.isEmpty()) {
+                    break;
+                }
+                for (KitchenEvent event : events) {
+                    send(subscriber, SseEmitter.event()
+                            .id(subscriber.station.epoch + "-" + event.sequence())
+                            .name(event.type())
+                            .data(event.data()));
+                    subscriber.cursor = event.sequence() + 1;
+                }
+                sent = true;
+            }
+            if (subscriber.heartbeatDue) {
+                subscriber.heartbeatDue = false;
+                if (!sent) {
+                    send(subscriber, SseEmitter.event().comment(""));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Conexão fechada pela tela (ou já encerrada): o container avisa o emitter, aqui só sai da estação
+            remove(subscriber);
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        // Evento publicado entre a última leitura e a liberação do scheduled
+        if (subscriber.cursor < subscriber.station.next() || subscriber.heartbeatDue) {
+            signal(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        subscriber.sendStarted = System.nanoTime();
+        subscriber.sendState.set(SENDING);
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            if (!subscriber.sendState.compareAndSet(SENDING, IDLE)) {
+                // expireStalledSends já tirou a tela: o pool volta ao tamanho normal e a conexão é encerrada.
+                // O próximo send cai no IllegalStateException do emitter encerrado e o drain para
+                subscriber.sendState.set(IDLE);
+                resizeDispatcher(-1);
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    // Pool fixo: cada escrita travada ganha uma thread a mais, devolvida quando a escrita voltar
+    private void resizeDispatcher(int delta) {
+        if (!(dispatcher instanceof ThreadPoolExecutor pool)) {
+            return;
+        }
+        synchronized (pool) {
+            // O núcleo nunca pode passar do máximo: cresce pelo máximo e encolhe pelo núcleo
+            if (delta > 0) {
+                pool.setMaximumPoolSize(pool.getMaximumPoolSize() + delta);
+                pool.setCorePoolSize(pool.getCorePoolSize() + delta);
+            } else {
+                pool.setCorePoolSize(pool.getCorePoolSize() + delta);
+                pool.setMaximumPoolSize(pool.getMaximumPoolSize() + delta);
+            }
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        if (subscriber.station.subscribers.remove(subscriber)) {
+            streams.decrementAndGet();
+        }
+    }
+
+    private record StationKey(UUID restaurantId, String station) {
+    }
+
+    private static final class Station {
+
+        private final String epoch;
+        private final KitchenEvent[] ring;
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private long next = 1;
+        private long lastActivity = System.nanoTime();
+
+        private Station(String epoch, int size) {
+            this.epoch = epoch;
+            this.ring = new KitchenEvent[size];
+        }
+
+        private synchronized void append(String type, String data) {
+            ring[(int) (next % ring.length)] = new KitchenEvent(next, type, data);
+            next++;
+            lastActivity = System.nanoTime();
+        }
+
+        private synchronized long next() {
+            return next;
+        }
+
+        private synchronized long oldest() {
+            return Math.max(1, next - ring.length);
+        }
+
+        private synchronized long lastActivity() {
+            return lastActivity;
+        }
+
+        // Eventos a partir de cursor; null se alguns já saíram do buffer
+        private synchronized List<KitchenEvent> since(long cursor) {
+            if (cursor < oldest()) {
+                return null;
+            }
+            List<KitchenEvent> events = new ArrayList<>((int) (next - cursor));
+            for (long sequence = cursor; sequence < next; sequence++) {
+                events.add(ring[(int) (sequence % ring.length)]);
+            }
+            return events;
+        }
+    }
+
+    private final class Subscriber {
+
+        private final Station station;
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // IDLE, SENDING ou STALLED: a troca para STALLED (expireStalledSends) e a volta para IDLE (send)
+        // disputam o mesmo CAS, e só um dos lados mexe no tamanho do pool
+        private final AtomicInteger sendState = new AtomicInteger(IDLE);
+        private volatile long sendStarted;
+        // Próxima sequência a enviar; só o drain (um por vez) altera
+        private volatile long cursor;
+        private volatile boolean reset;
+        private volatile boolean heartbeatDue;
+        private volatile boolean closed;
+
+        private Subscriber(Station station, SseEmitter emitter, String lastEventId) {
+            this.station = station;
+            this.emitter = emitter;
+            long resumeFrom = resumePoint(lastEventId);
+            synchronized (station) {
+                long oldest = station.oldest();
+                if (lastEventId == null) {
+                    cursor = oldest;
+                } else if (resumeFrom >= oldest && resumeFrom <= station.next()) {
+                    cursor = resumeFrom;
+                } else {
+                    cursor = oldest;
+                    reset = true;
+                }
+            }
+        }
+
+        // Sequência seguinte ao Last-Event-ID, ou -1 se o id não é desta estação
+        private long resumePoint(String lastEventId) {
+            if (lastEventId == null) {
+                return -1;
+            }
+            int separator = lastEventId.lastIndexOf('-');
+            if (separator < 0 || !lastEventId.substring(0, separator).equals(station.epoch)) {
+                return -1;
+            }
+            try {
+                return Long.parseLong(lastEventId.substring(separator + 1)) + 1;
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.nachapa.api.kitchen;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "nachapa.kitchen")
+public class KitchenProperties {
+
+    // Eventos guardados por estação. Uma tela que reconecta retoma daqui; a que ficar mais atrás que isso é
+    // desconectada (consumidor lento) e recomeça com reset
+    private int ringSize = 100;
+
+    // Comentário enviado às conexões sem eventos: mantém proxies abertos e descobre telas que sumiram
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    // A conexão é encerrada depois disso e a tela reconecta com Last-Event-ID: redistribui as telas entre as
+    // instâncias e revalida o token, que só é verificado na abertura do stream
+    private Duration maxConnectionAge = Duration.ofMinutes(30);
+
+    // Threads que escrevem nas conexões; telas ociosas não ocupam nenhuma
+    private int dispatchThreads = 2;
+
+    // Escrita numa tela parada há mais que isso desconecta a tela; a thread presa no send é substituída
+    private Duration sendTimeout = Duration.ofSeconds(5);
+
+    // Estação sem telas e sem eventos por esse tempo libera o buffer
+    private Duration stationIdleTimeout = Duration.ofHours(2);
+}
@@ -0,0 +1,175 @@
+package com.nachapa.api.menu;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nachapa.api.dto.menu.MenuItemResponseDto;
+import com.nachapa.api.dto.menu.MenuResponseDto;
+import com.nachapa.api.exceptions.RestaurantNotFoundException;
+import com.nachapa.api.repository.MenuCategoryRepository;
+import com.nachapa.api.repository.MenuItemRepository;
+import com.nachapa.api.repository.RestaurantMenuVersion;
+import com.nachapa.api.repository.RestaurantRepository;
+import com.nachapa.api.util.ETags;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.GZIPOutputStream;
+
+import static com.nachapa.api.config.constants.MetricsConstants.MENU_SNAPSHOTS;
+import static com.nachapa.api.config.constants.MetricsConstants.MENU_SNAPSHOT_BUILD;
+
+/**
+ * Snapshots dos cardápios em memória, um por restaurante. Com o snapshot carregado, a leitura é um get no
+ * ConcurrentHashMap: sem banco, sem serialização e sem trava. Uma edição não altera o snapshot: depois do commit
+ * ({@link #refresh}) um novo é montado e substitui o anterior se a versão for maior. Edições feitas em outra
+ * instância chegam pela verificação periódica de versões ({@link #sync}), com atraso de até
+ * {@code nachapa.menu.refresh-interval}.
+ */
+@Slf4j
+@Component
+public class MenuCatalog {
+
+    private final RestaurantRepository restaurantRepository;
+    private final MenuCategoryRepository categoryRepository;
+    private final MenuItemRepository itemRepository;
+    // Transação de escrita (e não readOnly): com réplicas, a leitura logo depois de uma edição vai ao primário
+    private final TransactionOperations transactionOperations;
+    private final ObjectMapper objectMapper;
+    private final MenuProperties properties;
+    private final Timer build;
+
+    // Um cardápio por restaurante que já foi lido nesta instância (poucos KB cada)
+    private final ConcurrentMap<UUID, MenuSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    public MenuCatalog(RestaurantRepository restaurantRepository, MenuCategoryRepository categoryRepository,
+                       MenuItemRepository itemRepository, TransactionOperations transactionOperations,
+                       ObjectMapper objectMapper, MenuProperties properties, MeterRegistry meterRegistry) {
+        this.restaurantRepository = restaurantRepository;
+        this.categoryRepository = categoryRepository;
+        this.itemRepository = itemRepository;
+        this.transactionOperations = transactionOperations;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.build = Timer.builder(MENU_SNAPSHOT_BUILD).register(meterRegistry);
+        Gauge.builder(MENU_SNAPSHOTS, snapshots, Map::size).register(meterRegistry);
+    }
+
+    public MenuSnapshot get(UUID restaurantId) {
+        MenuSnapshot snapshot = snapshots.get(restaurantId);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        // Primeira leitura: as requisições simultâneas do mesmo restaurante esperam uma única montagem
+        return snapshots.computeIfAbsent(restaurantId, this::load);
+    }
+
+    // Chamado depois do commit de uma edição; restaurante ainda não carregado fica para a primeira leitura
+    public void refresh(UUID restaurantId) {
+        if (snapshots.containsKey(restaurantId)) {
+            install(load(restaurantId));
+        }
+    }
+
+    // Uma consulta só (id + versão dos restaurantes em memória); remonta apenas os que ficaram para trás
+    @Scheduled(fixedDelayString = "${nachapa.menu.refresh-interval:2s}",
+            initialDelayString = "${nachapa.menu.refresh-interval:2s}")
+    public void sync() {
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        for (RestaurantMenuVersion version : restaurantRepository.findMenuVersions(snapshots.keySet())) {
+            MenuSnapshot current = snapshots.get(version.getId());
+            if (current != null && version.getMenuVersion() > current.version()) {
+                try {
+                    install(load(version.getId()));
+                } catch (RuntimeException e) {
+                    // O snapshot anterior continua servindo; a próxima verificação tenta de novo
+                    log.error("Falha ao atualizar o cardápio do restaurante {}: {}", version.getId(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Fica o de maior versão: uma montagem lenta não sobrescreve outra mais nova que terminou antes
+    private void install(MenuSnapshot fresh) {
+        snapshots.merge(fresh.restaurantId(), fresh,
+                (current, candidate) -> candidate.version() > current.version() ? candidate : current);
+    }
+
+    private MenuSnapshot load(UUID restaurantId) {
+        return build.record(() -> transactionOperations.execute(status -> {
+            // Versão antes das linhas: o snapshot nunca tem dados mais velhos que a versão que declara
+            long version = restaurantRepository.findMenuVersion(restaurantId)
+                    .orElseThrow(RestaurantNotFoundException::new);
+            List<MenuCategory> categories = categoryRepository.findActiveByTenant(restaurantId);
+            List<MenuItem> items = itemRepository.findAllByTenant(restaurantId);
+            return snapshot(restaurantId, version, categories, items);
+        }));
+    }
+
+    private MenuSnapshot snapshot(UUID restaurantId, long version, List<MenuCategory> categories, List<MenuItem> items) {
+        Map<UUID, MenuResponseDto.Category> byId = new LinkedHashMap<>();
+        Map<UUID, String> stations = new HashMap<>();
+        for (MenuCategory category : categories) {
+            stations.put(category.getId(), category.getStation());
+            MenuResponseDto.Category view = new MenuResponseDto.Category();
+            view.setId(category.getId());
+            view.setName(category.getName());
+            view.setItems(new ArrayList<>());
+            byId.put(category.getId(), view);
+        }
+        Map<UUID, MenuSnapshot.Item> index = new LinkedHashMap<>();
+        for (MenuItem item : items) {
+            MenuResponseDto.Category category = byId.get(item.getCategoryId());
+            if (category == null) {
+                continue;
+            }
+            category.getItems().add(MenuItemResponseDto.from(item));
+            index.put(item.getId(), new MenuSnapshot.Item(item.getId(), item.getCategoryId(),
+                    stations.get(item.getCategoryId()), item.getName(), item.getPrice(), item.isAvailable()));
+        }
+        MenuResponseDto menu = new MenuResponseDto();
+        menu.setRestaurantId(restaurantId);
+        menu.setVersion(version);
+        menu.setCategories(List.copyOf(byId.values()));
+
+        byte[] json = serialize(menu);
+        byte[] gzip = json.length >= properties.getGzipMinSize().toBytes() ? gzip(json) : null;
+        String eTag = ETags.builder().add(restaurantId).add(version).weak();
+        return new MenuSnapshot(restaurantId, version, eTag, json, gzip, Map.copyOf(index));
+    }
+
+    private byte[] serialize(MenuResponseDto menu) {
+        try {
+            return objectMapper.writeValueAsBytes(menu);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o cardápio", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,49 @@
+package com.nachapa.api.menu;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
+
+import java.util.UUID;
+
+// Categoria do cardápio (ex.: Lanches, Bebidas); categorias inativas saem do cardápio publicado
+@Setter
+@Getter
+@NoArgsConstructor
+@Entity(name = "MenuCategory")
+@Table(name = "tb_menu_category")
+public class MenuCategory {
+
+    public static final String DEFAULT_STATION = "cozinha";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @TenantId
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    @Column(nullable = false, length = 60)
+    private String name;
+
+    // Ordem de exibição no cardápio
+    @Column(nullable = false)
+    private int position;
+
+    @Column(nullable = false)
+    private boolean active;
+
+    // Estação da cozinha que prepara os itens da categoria (ex.: chapa, bebidas); cada uma tem a sua tela
+    @ColumnDefault("'" + DEFAULT_STATION + "'")
+    @Column(nullable = false, length = 30)
+    private String station = DEFAULT_STATION;
+}
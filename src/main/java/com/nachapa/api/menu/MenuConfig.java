@@ -0,0 +1,9 @@
+package com.nachapa.api.menu;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(MenuProperties.class)
+public class MenuConfig {
+}
@@ -0,0 +1,51 @@
+package com.nachapa.api.menu;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.TenantId;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Item do cardápio. A categoria fica só como id: o cardápio é montado de uma vez (MenuCatalog), sem navegar relações
+@Setter
+@Getter
+@NoArgsConstructor
+@Entity(name = "MenuItem")
+@Table(name = "tb_menu_item")
+public class MenuItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @TenantId
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    @Column(name = "category_id", nullable = false)
+    private UUID categoryId;
+
+    @Column(nullable = false, length = 80)
+    private String name;
+
+    @Column(length = 500)
+    private String description;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+
+    // Indisponível (acabou o ingrediente, fora de horário) continua no cardápio, marcado
+    @Column(nullable = false)
+    private boolean available;
+
+    @Column(nullable = false)
+    private int position;
+}
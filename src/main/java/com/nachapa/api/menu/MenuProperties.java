@@ -0,0 +1,21 @@
+package com.nachapa.api.menu;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "nachapa.menu")
+public class MenuProperties {
+
+    // De quanto em quanto tempo os snapshots em memória conferem a versão no banco (edições feitas em outra
+    // instância). É o atraso máximo para uma instância enxergar a edição de outra
+    private Duration refreshInterval = Duration.ofSeconds(2);
+
+    // Abaixo disso o cardápio vai sem gzip (mesmo limite do server.compression)
+    private DataSize gzipMinSize = DataSize.ofKilobytes(1);
+}
@@ -0,0 +1,28 @@
+package com.nachapa.api.menu;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Cardápio de um restaurante numa versão, pronto para servir: JSON já serializado (e comprimido, quando vale a
+ * pena), ETag derivado da versão e os itens indexados por id para validar pedidos. Imutável depois de criado:
+ * é compartilhado entre as threads das requisições sem trava, e uma edição cria outro snapshot em vez de alterar
+ * este. Os arrays não são copiados na leitura; quem recebe não pode alterá-los.
+ */
+public record MenuSnapshot(UUID restaurantId, long version, String eTag, byte[] json, byte[] gzip,
+                           Map<UUID, Item> items) {
+
+    // Só o que o pedido precisa do item; itens de categorias inativas não entram. station vem da categoria
+    public record Item(UUID id, UUID categoryId, String station, String name, BigDecimal price, boolean available) {
+    }
+
+    public Item item(UUID id) {
+        return items.get(id);
+    }
+
+    // gzip null: cardápio pequeno demais para compensar
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+}
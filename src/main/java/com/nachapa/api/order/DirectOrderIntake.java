@@ -0,0 +1,30 @@
+package com.nachapa.api.order;
+
+import com.nachapa.api.exceptions.OrderIntakeUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.TransactionException;
+
+import java.util.List;
+
+// Uma transação por pedido, na thread da requisição (nachapa.orders.intake.mode=direct). Referência para
+// comparação com o group commit e opção para volumes baixos
+@Slf4j
+public class DirectOrderIntake implements OrderIntake {
+
+    private final OrderWriter writer;
+
+    public DirectOrderIntake(OrderWriter writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void place(PlacedOrder order) {
+        try {
+            writer.write(List.of(order));
+        } catch (DataAccessException | TransactionException e) {
+            log.error("Falha ao gravar o pedido {}: {}", order.order().getId(), e.getMessage());
+            throw new OrderIntakeUnavailableException();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.nachapa.api.order;
+
+import com.nachapa.api.exceptions.OrderIntakeUnavailableException;
+import com.nachapa.api.util.BatchWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.nachapa.api.config.constants.MetricsConstants.ORDER_INTAKE_QUEUE;
+import static com.nachapa.api.config.constants.MetricsConstants.ORDER_INTAKE_REJECTED;
+import static com.nachapa.api.config.constants.MetricsConstants.TAG_REASON;
+
+/**
+ * Group commit dos pedidos. A thread da requisição coloca o pedido na fila do {@link BatchWriter} e espera; a
+ * thread dele junta o que chegou (até {@code batch-size} pedidos ou {@code max-wait} depois do primeiro) e o
+ * lote é gravado numa transação só ({@link OrderWriter}). Cada requisição é liberada quando o commit do seu lote
+ * termina: no pico, um commit (e um flush do WAL) atende centenas de pedidos em vez de um.
+ */
+@Slf4j
+public class GroupCommitOrderIntake implements OrderIntake, AutoCloseable {
+
+    private final OrderWriter writer;
+    private final long timeoutNanos;
+    private final BatchWriter<PendingOrder> batchWriter;
+
+    private final Counter rejectedTimeout;
+
+    public GroupCommitOrderIntake(OrderWriter writer, OrderIntakeProperties properties, MeterRegistry meterRegistry) {
+        this.writer = writer;
+        this.timeoutNanos = properties.getTimeout().toNanos();
+        this.rejectedTimeout = meterRegistry.counter(ORDER_INTAKE_REJECTED, TAG_REASON, "timeout");
+        this.batchWriter = new BatchWriter<>("order-writer", properties.getQueueCapacity(), properties.getBatchSize(),
+                properties.getMaxWait(), Duration.ofMillis(100),
+                meterRegistry.counter(ORDER_INTAKE_REJECTED, TAG_REASON, "queue_full"), this::write);
+        Gauge.builder(ORDER_INTAKE_QUEUE, batchWriter, BatchWriter::size).register(meterRegistry);
+    }
+
+    @Override
+    public void place(PlacedOrder order) {
+        PendingOrder pending = new PendingOrder(order);
+        if (!batchWriter.offer(pending)) {
+            // Fila cheia: o banco não está dando conta; melhor um 503 rápido que empilhar requisições
+            throw new OrderIntakeUnavailableException();
+        }
+        await(pending);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        batchWriter.close();
+    }
+
+    private void await(PendingOrder pending) {
+        try {
+            pending.durable.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            return;
+        } catch (TimeoutException e) {
+            if (pending.abandon()) {
+                // Ainda não tinha entrado num lote e agora não entra mais: a resposta 503 é verdadeira
+                rejectedTimeout.increment();
+                throw new OrderIntakeUnavailableException();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (pending.abandon()) {
+                throw new OrderIntakeUnavailableException();
+            }
+        } catch (ExecutionException e) {
+            throw new OrderIntakeUnavailableException();
+        }
+        // O lote com o pedido já está gravando: o resultado dele decide a resposta
+        try {
+            pending.durable.join();
+        } catch (RuntimeException e) {
+            throw new OrderIntakeUnavailableException();
+        }
+    }
+
+    private void write(List<PendingOrder> batch) {
+        try {
+            writeClaimed(batch);
+        } catch (RuntimeException e) {
+            // Falha fora do OrderWriter: quem está esperando recebe o erro em vez de ficar preso no join
+            batch.forEach(pending -> pending.durable.completeExceptionally(e));
+            throw e;
+        }
+    }
+
+    private void writeClaimed(List<PendingOrder> batch) {
+        // Requisições que desistiram por tempo ficam de fora; as demais não podem mais desistir
+        batch.removeIf(pending -> !pending.claim());
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            writer.write(batch.stream().map(pending -> pending.order).toList());
+            batch.forEach(pending -> pending.durable.complete(null));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), e);
+                return;
+            }
+            // Um pedido problemático não derruba o lote: regrava um a um para isolar a falha
+            log.warn("Lote de {} pedidos falhou ({}); gravando individualmente", batch.size(), e.getMessage());
+            for (PendingOrder pending : batch) {
+                try {
+                    writer.write(List.of(pending.order));
+                    pending.durable.complete(null);
+                } catch (RuntimeException single) {
+                    fail(pending, single);
+                }
+            }
+        }
+    }
+
+    private static void fail(PendingOrder pending, RuntimeException e) {
+        log.error("Falha ao gravar o pedido {}: {}", pending.order.order().getId(), e.getMessage());
+        pending.durable.completeExceptionally(e);
+    }
+
+    private static final class PendingOrder {
+
+        private final PlacedOrder order;
+        private final CompletableFuture<Void> durable = new CompletableFuture<>();
+        // Quem marcar primeiro decide: o escritor (vai gravar) ou a requisição (desistiu por tempo)
+        private final AtomicBoolean decided = new AtomicBoolean();
+
+        private PendingOrder(PlacedOrder order) {
+            this.order = order;
+        }
+
+        private boolean claim() {
+            return decided.compareAndSet(false, true);
+        }
+
+        private boolean abandon() {
+            return decided.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.nachapa.api.order;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Pedido. Gravado em lote por JDBC (OrderWriter), por isso id e createdAt vêm da aplicação e não do Hibernate
+@Setter
+@Getter
+@NoArgsConstructor
+@Entity(name = "Order")
+@Table(name = "tb_order")
+public class Order {
+
+    @Id
+    private UUID id;
+
+    @TenantId
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    // E-mail do token (subject): o pedido não precisa ler tb_user
+    @Column(name = "customer_email", nullable = false)
+    private String customerEmail;
+
+    // Número curto da comanda (OrderNumberAllocator): sequencial por restaurante e dia de operação, com buracos
+    @Column(name = "order_number")
+    private Integer number;
+
+    @Column(name = "business_date")
+    private LocalDate businessDate;
+
+    // Snapshot do ciclo de vida: status na versão statusVersion do tb_order_event (ver OrderLifecycle)
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+
+    @ColumnDefault("1")
+    @Column(name = "status_version", nullable = false)
+    private int statusVersion = 1;
+
+    // Soma dos itens com os preços do cardápio no momento do pedido
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal total;
+
+    @Column(length = 200)
+    private String note;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
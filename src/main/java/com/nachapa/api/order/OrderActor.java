@@ -0,0 +1,25 @@
+package com.nachapa.api.order;
+
+import com.nachapa.api.auth.RoleEnum;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import static com.nachapa.api.filter.JwtAuthenticationFilter.ROLE_PREFIX;
+
+// Quem pede a transição ou a leitura: e-mail (subject do token) e perfil
+public record OrderActor(String email, RoleEnum role) {
+
+    public static OrderActor from(Authentication authentication) {
+        RoleEnum role = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith(ROLE_PREFIX))
+                .map(authority -> RoleEnum.valueOf(authority.substring(ROLE_PREFIX.length())))
+                .findFirst()
+                .orElse(RoleEnum.USER);
+        return new OrderActor(authentication.getName(), role);
+    }
+
+    public boolean isStaff() {
+        return role == RoleEnum.ADMIN || role == RoleEnum.OPERATOR;
+    }
+}
@@ -0,0 +1,49 @@
+package com.nachapa.api.order;
+
+import com.nachapa.api.repository.OrderEventRepository;
+import com.nachapa.api.repository.OrderNumberBlockRepository;
+import com.nachapa.api.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties({OrderIntakeProperties.class, OrderNumberProperties.class, OrderLifecycleProperties.class})
+public class OrderConfig {
+
+    @Bean
+    public OrderWriter orderWriter(JdbcTemplate jdbcTemplate, TransactionOperations transactionOperations,
+                                   MeterRegistry meterRegistry) {
+        return new OrderWriter(jdbcTemplate, transactionOperations, meterRegistry);
+    }
+
+    // Escolhido em runtime (e não com @ConditionalOnProperty): no jar processado com AOT as condições ficam congeladas
+    @Bean
+    public OrderIntake orderIntake(OrderWriter orderWriter, OrderIntakeProperties properties, MeterRegistry meterRegistry) {
+        return switch (properties.getMode()) {
+            case "group-commit" -> new GroupCommitOrderIntake(orderWriter, properties, meterRegistry);
+            case "direct" -> new DirectOrderIntake(orderWriter);
+            default -> throw new IllegalStateException("nachapa.orders.intake.mode desconhecido: " + properties.getMode());
+        };
+    }
+
+    @Bean
+    public OrderNumberAllocator orderNumberAllocator(OrderNumberBlockRepository repository,
+                                                     OrderNumberProperties properties) {
+        return new OrderNumberAllocator(repository, properties, Clock.system(properties.getZone()));
+    }
+
+    @Bean
+    public OrderLifecycle orderLifecycle(OrderRepository orderRepository, OrderEventRepository eventRepository,
+                                         JdbcTemplate jdbcTemplate, TransactionOperations transactionOperations,
+                                         OrderLifecycleProperties properties, OrderNumberProperties numberProperties,
+                                         MeterRegistry meterRegistry) {
+        return new OrderLifecycle(orderRepository, eventRepository, jdbcTemplate, transactionOperations, properties,
+                meterRegistry, Clock.system(numberProperties.getZone()));
+    }
+}
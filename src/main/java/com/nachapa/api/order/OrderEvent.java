@@ -0,0 +1,72 @@
+package com.nachapa.api.order;
+
+import com.nachapa.api.auth.RoleEnum;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.TenantId;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Transição de status do pedido, só de inserção (ver OrderLifecycle). A chave (pedido, versão) é o controle de
+// concorrência: duas transições a partir da mesma versão disputam a mesma linha e só uma entra
+@Setter
+@Getter
+@NoArgsConstructor
+@Entity(name = "OrderEvent")
+@Table(name = "tb_order_event")
+@IdClass(OrderEvent.Key.class)
+public class OrderEvent {
+
+    @Id
+    @Column(name = "order_id")
+    private UUID orderId;
+
+    @Id
+    private int version;
+
+    @TenantId
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+
+    // E-mail de quem fez a transição (o cliente, no PLACED)
+    @Column(nullable = false)
+    private String actor;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "actor_role", nullable = false, length = 20)
+    private RoleEnum actorRole;
+
+    @Column(length = 200)
+    private String reason;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        private UUID orderId;
+
+        private int version;
+    }
+}
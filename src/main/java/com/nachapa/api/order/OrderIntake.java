@@ -0,0 +1,11 @@
+package com.nachapa.api.order;
+
+/**
+ * Entrada dos pedidos no banco. {@link #place} só retorna depois do commit que contém o pedido; se não der para
+ * gravar (fila cheia, banco fora, tempo esgotado antes de o pedido entrar num lote) lança
+ * {@link com.nachapa.api.exceptions.OrderIntakeUnavailableException} e o pedido não foi gravado.
+ */
+public interface OrderIntake {
+
+    void place(PlacedOrder order);
+}
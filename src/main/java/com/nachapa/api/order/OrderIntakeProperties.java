@@ -0,0 +1,29 @@
+package com.nachapa.api.order;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "nachapa.orders.intake")
+public class OrderIntakeProperties {
+
+    // group-commit (fila + lotes) ou direct (uma transação por pedido na thread da requisição)
+    private String mode = "group-commit";
+
+    // Pedidos esperando gravação; com a fila cheia o pedido recebe 503
+    private int queueCapacity = 10_000;
+
+    // Máximo de pedidos por transação
+    private int batchSize = 200;
+
+    // Quanto o escritor espera por mais pedidos depois do primeiro do lote (latência extra no vale; 0 = só o
+    // que já está na fila)
+    private Duration maxWait = Duration.ofMillis(2);
+
+    // Espera máxima da requisição até o pedido entrar num lote
+    private Duration timeout = Duration.ofSeconds(5);
+}
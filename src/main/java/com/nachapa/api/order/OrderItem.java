@@ -0,0 +1,44 @@
+package com.nachapa.api.order;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.TenantId;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Linha do pedido com nome e preço copiados do cardápio: editar o cardápio depois não altera pedidos feitos
+@Setter
+@Getter
+@NoArgsConstructor
+@Entity(name = "OrderItem")
+@Table(name = "tb_order_item")
+public class OrderItem {
+
+    @Id
+    private UUID id;
+
+    @TenantId
+    @Column(name = "tenant_id", nullable = false)
+    private UUID tenantId;
+
+    @Column(name = "order_id", nullable = false)
+    private UUID orderId;
+
+    @Column(name = "menu_item_id", nullable = false)
+    private UUID menuItemId;
+
+    @Column(nullable = false, length = 80)
+    private String name;
+
+    @Column(name = "unit_price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal unitPrice;
+
+    @Column(nullable = false)
+    private int quantity;
+}
@@ -0,0 +1,187 @@
+package com.nachapa.api.order;
+
+import com.nachapa.api.auth.RoleEnum;
+import com.nachapa.api.exceptions.InvalidOrderTransitionException;
+import com.nachapa.api.exceptions.OrderNotFoundException;
+import com.nachapa.api.exceptions.OrderTransitionNotAllowedException;
+import com.nachapa.api.exceptions.OrderVersionConflictException;
+import com.nachapa.api.repository.OrderEventRepository;
+import com.nachapa.api.repository.OrderRepository;
+import com.nachapa.api.tenant.TenantScopedCache;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.nachapa.api.config.constants.MetricsConstants.ORDER_REPLAYED_EVENTS;
+import static com.nachapa.api.config.constants.MetricsConstants.ORDER_TRANSITIONS;
+import static com.nachapa.api.config.constants.MetricsConstants.TAG_STATUS;
+
+/**
+ * Máquina de estados do pedido com histórico só de inserção. Cada transição é uma linha nova em
+ * tb_order_event com a versão seguinte; a chave (pedido, versão) faz o controle otimista: quem parte de uma
+ * versão velha perde no INSERT. O status em tb_order é o snapshot, regravado a cada {@code snapshot-interval}
+ * transições e no estado final, então montar o status do banco é ler o snapshot e aplicar os poucos eventos
+ * seguintes. Pedidos abertos ficam num cache por restaurante ({@link TenantScopedCache}); leitura e transição
+ * sobre eles não tocam o histórico.
+ * <p>
+ * Regras por perfil: OPERATOR e ADMIN avançam o pedido no fluxo e cancelam em qualquer estado aberto; o cliente
+ * (USER) só cancela o próprio pedido, e só antes de o restaurante aceitar.
+ */
+@Slf4j
+public class OrderLifecycle {
+
+    static final String INSERT_EVENT = """
+            INSERT INTO tb_order_event (order_id, version, tenant_id, status, actor, actor_role, reason, occurred_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    // Snapshot nunca volta: duas transições concorrentes não regravam uma versão mais antiga por cima da nova
+    static final String UPDATE_SNAPSHOT = """
+            UPDATE tb_order SET status = ?, status_version = ?
+            WHERE id = ? AND status_version < ?
+            """;
+
+    private final OrderRepository orderRepository;
+    private final OrderEventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final int snapshotInterval;
+    private final long hotOrderMaxAgeNanos;
+    private final TenantScopedCache<UUID, OrderState> hotOrders;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary replayed;
+    private final Clock clock;
+
+    // clock na zona do restaurante (nachapa.orders.numbers.zone), a mesma do created_at do pedido
+    public OrderLifecycle(OrderRepository orderRepository, OrderEventRepository eventRepository,
+                          JdbcTemplate jdbcTemplate, TransactionOperations transactionOperations,
+                          OrderLifecycleProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.orderRepository = orderRepository;
+        this.eventRepository = eventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.snapshotInterval = properties.getSnapshotInterval();
+        this.hotOrderMaxAgeNanos = properties.getHotOrderMaxAge().toNanos();
+        this.hotOrders = new TenantScopedCache<>(tenantId -> properties.getHotOrdersPerRestaurant());
+        this.meterRegistry = meterRegistry;
+        // Eventos aplicados sobre o snapshot a cada leitura fora do cache
+        this.replayed = DistributionSummary.builder(ORDER_REPLAYED_EVENTS).register(meterRegistry);
+        this.clock = clock;
+    }
+
+    // Pedido recém-gravado (versão 1) já entra no cache
+    public void placed(Order order) {
+        OrderState state = new OrderState(order.getId(), order.getTenantId(), order.getCustomerEmail(),
+                order.getStatus(), order.getStatusVersion(), System.nanoTime());
+        hotOrders.withPartition(partition -> partition.put(order.getId(), state));
+    }
+
+    public OrderState current(UUID orderId, UUID tenantId) {
+        OrderState cached = hotOrders.withPartition(partition -> partition.get(orderId));
+        if (cached != null && cached.tenantId().equals(tenantId)
+                && System.nanoTime() - cached.loadedAt() < hotOrderMaxAgeNanos) {
+            return cached;
+        }
+        return load(orderId, tenantId);
+    }
+
+    public List<OrderEvent> history(UUID orderId, UUID tenantId) {
+        List<OrderEvent> events = eventRepository.findAllByOrderIdAndTenantIdOrderByVersion(orderId, tenantId);
+        if (events.isEmpty()) {
+            throw new OrderNotFoundException();
+        }
+        return events;
+    }
+
+    /**
+     * Leva o pedido a {@code target}. Com {@code expectedVersion}, só aplica se o pedido ainda estiver nela
+     * (o cliente viu o estado antes de decidir); sem ela, uma disputa perdida por cache velho é refeita uma vez
+     * sobre o estado do banco, com as regras avaliadas de novo.
+     */
+    public OrderState transition(UUID orderId, UUID tenantId, OrderStatus target, OrderActor actor,
+                                 Integer expectedVersion, String reason) {
+        OrderState state = current(orderId, tenantId);
+        if (expectedVersion != null && expectedVersion != state.version()) {
+            // O cache pode estar atrás do cliente: confirma no banco antes de recusar
+            state = load(orderId, tenantId);
+            if (expectedVersion != state.version()) {
+                throw new OrderVersionConflictException();
+            }
+        }
+        for (int attempt = 0; ; attempt++) {
+            if (!permitted(actor, state, target)) {
+                throw new OrderTransitionNotAllowedException();
+            }
+            if (!state.status().canMoveTo(target)) {
+                throw new InvalidOrderTransitionException();
+            }
+            OrderState next = state.next(target);
+            try {
+                append(next, actor, reason);
+            } catch (DuplicateKeyException e) {
+                // Outra requisição ou instância gravou essa versão antes
+                hotOrders.withPartition(partition -> partition.remove(orderId));
+                if (expectedVersion != null || attempt > 0) {
+                    throw new OrderVersionConflictException();
+                }
+                state = load(orderId, tenantId);
+                continue;
+            }
+            meterRegistry.counter(ORDER_TRANSITIONS, TAG_STATUS, target.name()).increment();
+            hotOrders.withPartition(partition -> next.status().isTerminal()
+                    ? partition.remove(orderId)
+                    : partition.put(orderId, next));
+            log.debug("Pedido {} passou para {} (versão {}) por {}", orderId, target, next.version(), actor.role());
+            return next;
+        }
+    }
+
+    static boolean permitted(OrderActor actor, OrderState state, OrderStatus target) {
+        if (actor.isStaff()) {
+            return true;
+        }
+        return actor.role() == RoleEnum.USER
+                && target == OrderStatus.CANCELLED
+                && state.status() == OrderStatus.PLACED
+                && actor.email().equalsIgnoreCase(state.customerEmail());
+    }
+
+    private void append(OrderState next, OrderActor actor, String reason) {
+        boolean snapshot = next.version() % snapshotInterval == 0 || next.status().isTerminal();
+        transactionOperations.executeWithoutResult(status -> {
+            jdbcTemplate.update(INSERT_EVENT, next.orderId(), next.version(), next.tenantId(), next.status().name(),
+                    actor.email(), actor.role().name(), reason, Timestamp.valueOf(LocalDateTime.now(clock)));
+            if (snapshot) {
+                jdbcTemplate.update(UPDATE_SNAPSHOT, next.status().name(), next.version(), next.orderId(),
+                        next.version());
+            }
+        });
+    }
+
+    private OrderState load(UUID orderId, UUID tenantId) {
+        Order order = orderRepository.findByIdAndTenantId(orderId, tenantId).orElseThrow(OrderNotFoundException::new);
+        OrderStatus status = order.getStatus();
+        int version = order.getStatusVersion();
+        // Eventos depois do snapshot lido; se o snapshot for regravado no meio, a consulta ainda parte da versão antiga
+        List<OrderEvent> events = eventRepository.findAfter(orderId, tenantId, version);
+        for (OrderEvent event : events) {
+            status = event.getStatus();
+            version = event.getVersion();
+        }
+        replayed.record(events.size());
+        OrderState state = new OrderState(orderId, tenantId, order.getCustomerEmail(), status, version, System.nanoTime());
+        hotOrders.withPartition(partition -> state.status().isTerminal()
+                ? partition.remove(orderId)
+                : partition.put(orderId, state));
+        return state;
+    }
+}
@@ -0,0 +1,24 @@
+package com.nachapa.api.order;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "nachapa.orders.lifecycle")
+public class OrderLifecycleProperties {
+
+    // tb_order.status é regravado a cada snapshot-interval transições (e sempre no estado final); a leitura
+    // fora do cache aplica no máximo snapshot-interval - 1 eventos sobre ele
+    private int snapshotInterval = 3;
+
+    // Pedidos abertos em memória por restaurante (LRU)
+    private int hotOrdersPerRestaurant = 1000;
+
+    // Idade máxima do status em cache para leitura: com várias instâncias, transições feitas em outra só
+    // aparecem aqui depois disso. A transição não depende disso (a chave do evento barra versão velha)
+    private Duration hotOrderMaxAge = Duration.ofSeconds(5);
+}
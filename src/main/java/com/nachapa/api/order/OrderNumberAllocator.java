@@ -0,0 +1,91 @@
+package com.nachapa.api.order;
+
+import com.nachapa.api.repository.OrderNumberBlockRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Números de pedido curtos e sequenciais por restaurante e dia de operação (hi-lo). Cada instância reserva um
+ * bloco de {@code block-size} números com um único comando no banco ({@link OrderNumberBlockRepository#reserve})
+ * e entrega os números do bloco com um contador atômico, sem coordenação por pedido. Consequências aceitas:
+ * com várias instâncias os números se intercalam fora da ordem de chegada, e números de um bloco não usado
+ * (reinício, queda, virada do dia) ficam sem pedido.
+ */
+@Slf4j
+public class OrderNumberAllocator {
+
+    private final OrderNumberBlockRepository repository;
+    private final int blockSize;
+    private final LocalTime dayStartsAt;
+    private final Clock clock;
+
+    private final ConcurrentMap<UUID, Sequence> sequences = new ConcurrentHashMap<>();
+
+    // clock já na zona do restaurante (nachapa.orders.numbers.zone)
+    public OrderNumberAllocator(OrderNumberBlockRepository repository, OrderNumberProperties properties, Clock clock) {
+        this.repository = repository;
+        this.blockSize = properties.getBlockSize();
+        this.dayStartsAt = properties.getDayStartsAt();
+        this.clock = clock;
+    }
+
+    public Ticket next(UUID restaurantId) {
+        // Uma leitura do relógio: o horário do pedido e o dia de operação nunca discordam
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDate businessDate = businessDate(now);
+        Sequence sequence = sequences.computeIfAbsent(restaurantId, id -> new Sequence());
+        while (true) {
+            Block block = sequence.block;
+            if (block != null && block.businessDate.equals(businessDate)) {
+                long number = block.next.getAndIncrement();
+                if (number <= block.last) {
+                    return new Ticket(businessDate, (int) number, now);
+                }
+            }
+            // Bloco esgotado ou de outro dia: uma thread reserva o próximo, as outras esperam por ele
+            synchronized (sequence) {
+                if (sequence.block == block) {
+                    long last = repository.reserve(restaurantId, businessDate, blockSize);
+                    sequence.block = new Block(businessDate, last - blockSize + 1, last);
+                    log.debug("Números {}..{} reservados para o restaurante {} em {}",
+                            last - blockSize + 1, last, restaurantId, businessDate);
+                }
+            }
+        }
+    }
+
+    // Antes de day-starts-at ainda conta como o dia anterior
+    private LocalDate businessDate(LocalDateTime now) {
+        return now.minusSeconds(dayStartsAt.toSecondOfDay()).toLocalDate();
+    }
+
+    // issuedAt na zona do restaurante, a mesma do businessDate: é o created_at do pedido
+    public record Ticket(LocalDate businessDate, int number, LocalDateTime issuedAt) {
+    }
+
+    private static final class Sequence {
+
+        private volatile Block block;
+    }
+
+    private static final class Block {
+
+        private final LocalDate businessDate;
+        private final AtomicLong next;
+        private final long last;
+
+        private Block(LocalDate businessDate, long first, long last) {
+            this.businessDate = businessDate;
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.nachapa.api.order;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Último número de pedido já reservado por restaurante e dia de operação (ver OrderNumberAllocator).
+// Um dia novo começa numa linha nova, então a numeração volta a 1 sem job de reset
+@Setter
+@Getter
+@NoArgsConstructor
+@Entity(name = "OrderNumberBlock")
+@Table(name = "tb_order_number_block")
+@IdClass(OrderNumberBlock.Key.class)
+public class OrderNumberBlock {
+
+    @Id
+    @Column(name = "tenant_id")
+    private UUID tenantId;
+
+    @Id
+    @Column(name = "business_date")
+    private LocalDate businessDate;
+
+    @Column(name = "last_number", nullable = false)
+    private long lastNumber;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        private UUID tenantId;
+
+        private LocalDate businessDate;
+    }
+}
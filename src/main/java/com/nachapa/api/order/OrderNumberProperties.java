@@ -0,0 +1,23 @@
+package com.nachapa.api.order;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "nachapa.orders.numbers")
+public class OrderNumberProperties {
+
+    // Números reservados por ida ao banco, por restaurante e instância. É também o maior buraco possível na
+    // numeração quando uma instância reinicia
+    private int blockSize = 50;
+
+    private ZoneId zone = ZoneId.of("America/Sao_Paulo");
+
+    // Virada do dia de operação: pedidos da madrugada de sexta continuam na numeração de sexta
+    private LocalTime dayStartsAt = LocalTime.of(4, 0);
+}
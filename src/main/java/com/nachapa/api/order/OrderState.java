@@ -0,0 +1,13 @@
+package com.nachapa.api.order;
+
+import java.util.UUID;
+
+// Status atual do pedido (snapshot + eventos seguintes) e o que as regras de transição precisam. loadedAt em
+// System.nanoTime, para a idade no cache de pedidos abertos
+public record OrderState(UUID orderId, UUID tenantId, String customerEmail, OrderStatus status, int version,
+                         long loadedAt) {
+
+    OrderState next(OrderStatus status) {
+        return new OrderState(orderId, tenantId, customerEmail, status, version + 1, System.nanoTime());
+    }
+}
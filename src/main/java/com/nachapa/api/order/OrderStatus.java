@@ -0,0 +1,23 @@
+package com.nachapa.api.order;
+
+// Ciclo de vida do pedido, na ordem do fluxo normal; CANCELLED sai de qualquer estado não terminal
+public enum OrderStatus {
+    PLACED,
+    ACCEPTED,
+    PREPARING,
+    READY,
+    OUT_FOR_DELIVERY,
+    DELIVERED,
+    CANCELLED;
+
+    public boolean isTerminal() {
+        return this == DELIVERED || this == CANCELLED;
+    }
+
+    public boolean canMoveTo(OrderStatus next) {
+        if (isTerminal()) {
+            return false;
+        }
+        return next == CANCELLED || next.ordinal() == ordinal() + 1;
+    }
+}
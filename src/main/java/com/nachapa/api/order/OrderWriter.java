@@ -0,0 +1,80 @@
+package com.nachapa.api.order;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.nachapa.api.config.constants.MetricsConstants.ORDER_INTAKE_BATCH;
+import static com.nachapa.api.config.constants.MetricsConstants.ORDER_INTAKE_COMMIT;
+
+/**
+ * Grava pedidos com JDBC em lote: uma transação, um executeBatch para os pedidos, um para os itens e um para o
+ * evento PLACED de cada pedido (com reWriteBatchedInserts no profile prod cada um vira um único INSERT
+ * multi-valores). Sem Hibernate aqui: com id atribuído pela aplicação, o save faria um SELECT por pedido antes
+ * do INSERT.
+ */
+public class OrderWriter {
+
+    static final String INSERT_ORDER = """
+            INSERT INTO tb_order (id, tenant_id, order_number, business_date, customer_email, status, status_version,
+                                  total, note, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    // Primeiro evento do ciclo de vida (versão 1), no mesmo lote do pedido
+    static final String INSERT_PLACED_EVENT = """
+            INSERT INTO tb_order_event (order_id, version, tenant_id, status, actor, actor_role, occurred_at)
+            VALUES (?, 1, ?, ?, ?, 'USER', ?)
+            """;
+
+    static final String INSERT_ITEM = """
+            INSERT INTO tb_order_item (id, tenant_id, order_id, menu_item_id, name, unit_price, quantity)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final Timer commit;
+    private final DistributionSummary batchSize;
+
+    public OrderWriter(JdbcTemplate jdbcTemplate, TransactionOperations transactionOperations,
+                       MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.commit = Timer.builder(ORDER_INTAKE_COMMIT).publishPercentileHistogram().register(meterRegistry);
+        this.batchSize = DistributionSummary.builder(ORDER_INTAKE_BATCH).register(meterRegistry);
+    }
+
+    // Tudo ou nada: quando retorna, todos os pedidos da lista estão confirmados no banco
+    public void write(List<PlacedOrder> orders) {
+        List<Object[]> orderRows = new ArrayList<>(orders.size());
+        List<Object[]> eventRows = new ArrayList<>(orders.size());
+        List<Object[]> itemRows = new ArrayList<>(orders.size() * 2);
+        for (PlacedOrder placed : orders) {
+            Order order = placed.order();
+            orderRows.add(new Object[]{order.getId(), order.getTenantId(), order.getNumber(),
+                    order.getBusinessDate() != null ? Date.valueOf(order.getBusinessDate()) : null, order.getCustomerEmail(),
+                    order.getStatus().name(), order.getStatusVersion(), order.getTotal(), order.getNote(),
+                    Timestamp.valueOf(order.getCreatedAt())});
+            eventRows.add(new Object[]{order.getId(), order.getTenantId(), order.getStatus().name(),
+                    order.getCustomerEmail(), Timestamp.valueOf(order.getCreatedAt())});
+            for (OrderItem item : placed.items()) {
+                itemRows.add(new Object[]{item.getId(), item.getTenantId(), item.getOrderId(), item.getMenuItemId(),
+                        item.getName(), item.getUnitPrice(), item.getQuantity()});
+            }
+        }
+        commit.record(() -> transactionOperations.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_ORDER, orderRows);
+            jdbcTemplate.batchUpdate(INSERT_ITEM, itemRows);
+            jdbcTemplate.batchUpdate(INSERT_PLACED_EVENT, eventRows);
+        }));
+        batchSize.record(orders.size());
+    }
+}
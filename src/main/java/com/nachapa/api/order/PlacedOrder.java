@@ -0,0 +1,7 @@
+package com.nachapa.api.order;
+
+import java.util.List;
+
+// Pedido validado contra o cardápio, pronto para gravar
+public record PlacedOrder(Order order, List<OrderItem> items) {
+}
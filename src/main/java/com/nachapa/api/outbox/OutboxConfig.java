@@ -0,0 +1,27 @@
+package com.nachapa.api.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    // Escolhido em runtime (e não com @ConditionalOnProperty): no jar processado com AOT as condições ficam congeladas
+    @Bean
+    public OutboxSink outboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        OutboxProperties.Sink sink = properties.getSink();
+        return switch (sink.getType()) {
+            case "file" -> new FileOutboxSink(Path.of(sink.getFile()), objectMapper, sink.isFsync());
+            case "http" -> new HttpOutboxSink(URI.create(sink.getUrl()), sink.getTimeout(), objectMapper);
+            default -> throw new IllegalStateException("nachapa.outbox.sink.type desconhecido: " + sink.getType());
+        };
+    }
+}
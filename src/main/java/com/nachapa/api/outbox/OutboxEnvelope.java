@@ -0,0 +1,15 @@
+package com.nachapa.api.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Formato entregue aos consumidores (uma linha no arquivo, um item do array no HTTP)
+public record OutboxEnvelope(UUID id, OutboxEventType type, UUID aggregateId, Instant occurredAt,
+                             @JsonRawValue String payload) {
+
+    public static OutboxEnvelope of(OutboxEvent event) {
+        return new OutboxEnvelope(event.getId(), event.getType(), event.getAggregateId(), event.getCreatedAt(), event.getPayload());
+    }
+}
@@ -0,0 +1,67 @@
+package com.nachapa.api.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Evento gravado na mesma transação da mudança no usuário e entregue depois pelo OutboxRelay
+@Setter
+@Getter
+@NoArgsConstructor
+@Entity(name = "OutboxEvent")
+@Table(name = "tb_outbox_event")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 40)
+    private OutboxEventType type;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    // JSON já serializado: o relay repassa como está, sem desserializar
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "published_at")
+    private Instant publishedAt;
+
+    // Linhas de antes da coluna recebem PENDING; as já entregues continuam distinguidas por published_at
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'PENDING'")
+    @Column(nullable = false, length = 20)
+    private OutboxEventStatus status = OutboxEventStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // Antes disso o relay não pega o evento: espera entre tentativas ou o lote em entrega por outra instância
+    @Column(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+
+    public OutboxEvent(OutboxEventType type, UUID aggregateId, String payload, Instant createdAt) {
+        this.type = type;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+}
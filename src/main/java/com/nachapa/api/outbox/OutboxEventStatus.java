@@ -0,0 +1,9 @@
+package com.nachapa.api.outbox;
+
+public enum OutboxEventStatus {
+    PENDING,
+    PUBLISHED,
+    // Esgotou nachapa.outbox.relay.max-attempts: fica parado para análise e não segura os eventos seguintes.
+    // Para reenviar: UPDATE tb_outbox_event SET status = 'PENDING', attempts = 0, next_attempt_at = NULL WHERE ...
+    FAILED
+}
@@ -0,0 +1,8 @@
+package com.nachapa.api.outbox;
+
+public enum OutboxEventType {
+    USER_REGISTERED,
+    USER_UPDATED,
+    USER_DEACTIVATED,
+    USER_RESTORED
+}
@@ -0,0 +1,64 @@
+package com.nachapa.api.outbox;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "nachapa.outbox")
+public class OutboxProperties {
+
+    private Relay relay = new Relay();
+
+    private Sink sink = new Sink();
+
+    @Getter
+    @Setter
+    public static class Relay {
+
+        // Desligado, os eventos continuam sendo gravados mas ninguém os entrega (ex.: instâncias só de leitura)
+        private boolean enabled = true;
+
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        private int batchSize = 100;
+
+        // Lotes por ciclo enquanto houver fila cheia; limita o tempo que um ciclo segura a thread do scheduler
+        private int maxBatchesPerRun = 10;
+
+        // Tempo que um lote fica reservado para esta instância enquanto é entregue (acima do timeout do destino)
+        private Duration lease = Duration.ofMinutes(2);
+
+        // Tentativas por evento antes de ficar FAILED; com o backoff abaixo, cerca de 2h de destino fora
+        private int maxAttempts = 20;
+
+        // Espera antes da n-ésima nova tentativa: initial-backoff * 2^(n-1), no máximo max-backoff
+        private Duration initialBackoff = Duration.ofSeconds(1);
+
+        private Duration maxBackoff = Duration.ofMinutes(10);
+
+        // Eventos publicados há mais tempo que isso são apagados
+        private Duration retention = Duration.ofDays(7);
+
+        private Duration cleanupInterval = Duration.ofHours(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Sink {
+
+        // file ou http
+        private String type = "file";
+
+        private String file = "nachapa-outbox.jsonl";
+
+        private boolean fsync = true;
+
+        private String url;
+
+        private Duration timeout = Duration.ofSeconds(5);
+    }
+}
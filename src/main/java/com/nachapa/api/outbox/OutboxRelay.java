@@ -0,0 +1,174 @@
+package com.nachapa.api.outbox;
+
+import com.nachapa.api.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.nachapa.api.config.constants.MetricsConstants.OUTBOX_DELIVERED;
+import static com.nachapa.api.config.constants.MetricsConstants.OUTBOX_DELIVERY_FAILURES;
+import static com.nachapa.api.config.constants.MetricsConstants.OUTBOX_DELIVERY_LAG;
+import static com.nachapa.api.config.constants.MetricsConstants.OUTBOX_FAILED;
+import static com.nachapa.api.config.constants.MetricsConstants.OUTBOX_PENDING_AGE;
+
+/**
+ * Lê o outbox em lotes ({@code FOR UPDATE SKIP LOCKED}) e entrega ao {@link OutboxSink}. O lote é reservado
+ * ({@code next_attempt_at}) numa transação curta e entregue fora dela, sem segurar conexão nem travas durante a
+ * chamada ao destino. Lote recusado é reenviado um a um: só o evento recusado conta tentativa e espera o backoff
+ * exponencial; depois de {@code max-attempts} fica {@link OutboxEventStatus#FAILED}. A ordem de criação vale
+ * enquanto o destino aceita; um evento em espera não segura os seguintes.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository repository;
+    private final OutboxSink sink;
+    private final TransactionOperations transactionOperations;
+    private final OutboxProperties.Relay properties;
+    private final Clock clock;
+
+    private final Timer deliveryLag;
+    private final Counter delivered;
+    private final Counter failures;
+    private final Counter failed;
+    private final AtomicLong pendingAgeMillis = new AtomicLong();
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository repository, OutboxSink sink, TransactionOperations transactionOperations,
+                       OutboxProperties properties, MeterRegistry meterRegistry) {
+        this(repository, sink, transactionOperations, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    OutboxRelay(OutboxEventRepository repository, OutboxSink sink, TransactionOperations transactionOperations,
+                OutboxProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.repository = repository;
+        this.sink = sink;
+        this.transactionOperations = transactionOperations;
+        this.properties = properties.getRelay();
+        this.clock = clock;
+        // Da gravação do evento até a entrega confirmada pelo destino
+        this.deliveryLag = Timer.builder(OUTBOX_DELIVERY_LAG).publishPercentileHistogram().register(meterRegistry);
+        this.delivered = meterRegistry.counter(OUTBOX_DELIVERED);
+        this.failures = meterRegistry.counter(OUTBOX_DELIVERY_FAILURES);
+        this.failed = meterRegistry.counter(OUTBOX_FAILED);
+        // Idade do evento pendente mais antigo: cresce sem parar se o destino estiver fora
+        Gauge.builder(OUTBOX_PENDING_AGE, pendingAgeMillis, age -> age.get() / 1000.0)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${nachapa.outbox.relay.poll-interval:1s}")
+    public void relay() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (int i = 0; i < properties.getMaxBatchesPerRun(); i++) {
+            if (relayBatch() < properties.getBatchSize()) {
+                break;
+            }
+        }
+        Instant oldest = repository.findOldestPendingCreatedAt();
+        pendingAgeMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, clock.instant()).toMillis()));
+    }
+
+    @Scheduled(fixedDelayString = "${nachapa.outbox.relay.cleanup-interval:1h}")
+    public void cleanup() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        int deleted = repository.deletePublishedBefore(clock.instant().minus(properties.getRetention()));
+        if (deleted > 0) {
+            log.debug("Outbox: {} evento(s) publicados removidos", deleted);
+        }
+    }
+
+    // Eventos entregues no lote; -1 quando algum evento foi recusado (interrompe o ciclo)
+    int relayBatch() {
+        Instant now = clock.instant();
+        List<OutboxEvent> batch = transactionOperations.execute(status -> {
+            List<OutboxEvent> claimed = repository.claimPending(properties.getBatchSize(), now);
+            if (!claimed.isEmpty()) {
+                repository.lease(ids(claimed), now.plus(properties.getLease()));
+            }
+            return claimed;
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            sink.deliver(batch);
+            published(batch);
+            return batch.size();
+        } catch (IOException | RuntimeException e) {
+            failures.increment();
+            if (batch.size() == 1) {
+                rejected(batch.get(0), e);
+                return -1;
+            }
+            log.debug("Lote de {} evento(s) do outbox recusado, reenviando um a um: {}", batch.size(), e.getMessage());
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            try {
+                sink.deliver(List.of(event));
+            } catch (IOException | RuntimeException e) {
+                failures.increment();
+                rejected(event, e);
+                if (i + 1 < batch.size()) {
+                    repository.release(ids(batch.subList(i + 1, batch.size())));
+                }
+                return -1;
+            }
+            published(List.of(event));
+        }
+        return batch.size();
+    }
+
+    private void published(List<OutboxEvent> events) {
+        Instant now = clock.instant();
+        repository.markPublished(ids(events), now);
+        for (OutboxEvent event : events) {
+            deliveryLag.record(Duration.between(event.getCreatedAt(), now));
+        }
+        delivered.increment(events.size());
+    }
+
+    private void rejected(OutboxEvent event, Exception e) {
+        int attempts = event.getAttempts() + 1;
+        if (attempts >= properties.getMaxAttempts()) {
+            repository.markFailed(event.getId());
+            failed.increment();
+            log.error("Evento {} do outbox ({}) recusado {} vez(es), marcado FAILED: {}",
+                    event.getId(), event.getType(), attempts, e.getMessage());
+            return;
+        }
+        Duration backoff = backoff(attempts);
+        repository.scheduleRetry(event.getId(), clock.instant().plus(backoff));
+        log.warn("Falha ao entregar o evento {} do outbox (tentativa {}), nova tentativa em {}: {}",
+                event.getId(), attempts, backoff, e.getMessage());
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+    }
+
+    private static List<UUID> ids(List<OutboxEvent> events) {
+        return events.stream().map(OutboxEvent::getId).toList();
+    }
+}
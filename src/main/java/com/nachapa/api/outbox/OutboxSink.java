@@ -0,0 +1,13 @@
+package com.nachapa.api.outbox;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destino dos eventos do outbox. Recebe o lote na ordem de criação; só retornar sem exceção marca o lote como
+ * publicado, então a entrega é pelo menos uma vez (consumidores deduplicam pelo id do evento).
+ */
+public interface OutboxSink {
+
+    void deliver(List<OutboxEvent> events) throws IOException;
+}
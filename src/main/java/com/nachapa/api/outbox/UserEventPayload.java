@@ -0,0 +1,24 @@
+package com.nachapa.api.outbox;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.nachapa.api.auth.User;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Estado do usuário após a mudança, com os mesmos nomes de campo da API (data em ISO-8601 para os consumidores)
+public record UserEventPayload(
+        @JsonProperty("id") UUID id,
+        @JsonProperty("restaurante") UUID restaurantId,
+        @JsonProperty("nome") String name,
+        @JsonProperty("email") String email,
+        @JsonProperty("telefone") String cellPhone,
+        @JsonProperty("data-nascimento") LocalDate birthDate,
+        @JsonProperty("ativo") boolean active
+) {
+
+    public static UserEventPayload from(User user) {
+        return new UserEventPayload(user.getId(), user.getTenantId(), user.getName(), user.getEmail(),
+                user.getCellPhone(), user.getBirthDate(), user.isActive());
+    }
+}
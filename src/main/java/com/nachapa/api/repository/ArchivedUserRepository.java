@@ -0,0 +1,42 @@
+package com.nachapa.api.repository;
+
+import com.nachapa.api.auth.ArchivedUser;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ArchivedUserRepository extends JpaRepository<ArchivedUser, UUID> {
+
+    // Cópia no banco, sem carregar as entidades: o lote inteiro num só INSERT ... SELECT
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO tb_user_archive (id, tenant_id, role, created_at, updated_at, name, email, password, cpf,
+                                         cell_phone, birth_date, deactivated_at, archived_at)
+            SELECT id, tenant_id, role, created_at, updated_at, name, email, password, cpf, cell_phone, birth_date,
+                   deactivated_at, :archivedAt
+            FROM tb_user
+            WHERE id IN :ids
+            """, nativeQuery = true)
+    int copyFromUsers(@Param("ids") Collection<UUID> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    // Trava a linha: duas restaurações simultâneas do mesmo usuário não tentam inserir duas vezes em tb_user
+    @Transactional
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM ArchivedUser a WHERE a.id = :id")
+    Optional<ArchivedUser> findForRestore(@Param("id") UUID id);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM ArchivedUser a WHERE a.id = :id")
+    int deleteArchived(@Param("id") UUID id);
+}
@@ -0,0 +1,8 @@
+package com.nachapa.api.repository;
+
+import com.nachapa.api.delivery.CourierLocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+// Gravação e leitura recente ficam com o CourierLocationHistory (JDBC); aqui só o acesso por entidade
+public interface CourierLocationRepository extends JpaRepository<CourierLocation, Long> {
+}
@@ -0,0 +1,45 @@
+package com.nachapa.api.repository;
+
+import com.nachapa.api.idempotency.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Reserva atômica: com duas requisições simultâneas na mesma chave só uma insere (a outra espera o commit e recebe 0)
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO tb_idempotency_key (key_hash, fingerprint, created_at, expires_at)
+            VALUES (:key, :fingerprint, :now, :expiresAt)
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("key") String key, @Param("fingerprint") String fingerprint,
+                       @Param("now") Instant now, @Param("expiresAt") Instant expiresAt);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.keyHash = :key AND r.expiresAt <= :now")
+    int deleteIfExpired(@Param("key") String key, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE IdempotencyRecord r
+            SET r.responseStatus = :status, r.contentType = :contentType, r.location = :location,
+                r.responseBody = :body, r.expiresAt = :expiresAt
+            WHERE r.keyHash = :key
+            """)
+    int complete(@Param("key") String key, @Param("status") int status, @Param("contentType") String contentType,
+                 @Param("location") String location, @Param("body") byte[] body, @Param("expiresAt") Instant expiresAt);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
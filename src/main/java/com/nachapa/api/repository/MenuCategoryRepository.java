@@ -0,0 +1,21 @@
+package com.nachapa.api.repository;
+
+import com.nachapa.api.menu.MenuCategory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface MenuCategoryRepository extends JpaRepository<MenuCategory, UUID> {
+
+    // Tenant explícito: o MenuCatalog também monta cardápios fora de requisição (sessão raiz, sem filtro)
+    @Query("SELECT c FROM MenuCategory c WHERE c.tenantId = :tenantId AND c.active = true ORDER BY c.position, c.name")
+    List<MenuCategory> findActiveByTenant(@Param("tenantId") UUID tenantId);
+
+    Optional<MenuCategory> findByIdAndTenantId(UUID id, UUID tenantId);
+
+    boolean existsByIdAndTenantId(UUID id, UUID tenantId);
+}
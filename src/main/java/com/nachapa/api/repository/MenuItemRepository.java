@@ -0,0 +1,18 @@
+package com.nachapa.api.repository;
+
+import com.nachapa.api.menu.MenuItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface MenuItemRepository extends JpaRepository<MenuItem, UUID> {
+
+    @Query("SELECT i FROM MenuItem i WHERE i.tenantId = :tenantId ORDER BY i.position, i.name")
+    List<MenuItem> findAllByTenant(@Param("tenantId") UUID tenantId);
+
+    Optional<MenuItem> findByIdAndTenantId(UUID id, UUID tenantId);
+}
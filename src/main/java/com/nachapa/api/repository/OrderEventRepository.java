@@ -0,0 +1,24 @@
+package com.nachapa.api.repository;
+
+import com.nachapa.api.order.OrderEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+// Só leitura: os eventos são inseridos por JDBC (OrderWriter e OrderLifecycle), nunca alterados
+public interface OrderEventRepository extends JpaRepository<OrderEvent, OrderEvent.Key> {
+
+    // Eventos depois do snapshot gravado em tb_order
+    @Query("""
+            SELECT e FROM OrderEvent e
+            WHERE e.orderId = :orderId AND e.tenantId = :tenantId AND e.version > :version
+            ORDER BY e.version
+            """)
+    List<OrderEvent> findAfter(@Param("orderId") UUID orderId, @Param("tenantId") UUID tenantId,
+                               @Param("version") int version);
+
+    List<OrderEvent> findAllByOrderIdAndTenantIdOrderByVersion(UUID orderId, UUID tenantId);
+}
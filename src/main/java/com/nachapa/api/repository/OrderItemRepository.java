@@ -0,0 +1,12 @@
+package com.nachapa.api.repository;
+
+import com.nachapa.api.order.OrderItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface OrderItemRepository extends JpaRepository<OrderItem, UUID> {
+
+    List<OrderItem> findAllByOrderId(UUID orderId);
+}
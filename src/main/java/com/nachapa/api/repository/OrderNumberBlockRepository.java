@@ -0,0 +1,27 @@
+package com.nachapa.api.repository;
+
+import com.nachapa.api.order.OrderNumberBlock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface OrderNumberBlockRepository extends JpaRepository<OrderNumberBlock, OrderNumberBlock.Key> {
+
+    // Reserva size números num único comando e devolve o último deles; o bloco é (retorno - size, retorno].
+    // Cria a linha do dia na primeira reserva. Transação própria e de escrita: o commit é imediato e vai ao
+    // primário. Só PostgreSQL (o H2 não tem ON CONFLICT DO UPDATE ... RETURNING)
+    @Transactional
+    @Query(value = """
+            INSERT INTO tb_order_number_block (tenant_id, business_date, last_number)
+            VALUES (:tenantId, :businessDate, :size)
+            ON CONFLICT (tenant_id, business_date)
+            DO UPDATE SET last_number = tb_order_number_block.last_number + EXCLUDED.last_number
+            RETURNING last_number
+            """, nativeQuery = true)
+    long reserve(@Param("tenantId") UUID tenantId, @Param("businessDate") LocalDate businessDate,
+                 @Param("size") int size);
+}
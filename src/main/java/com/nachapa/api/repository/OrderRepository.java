@@ -0,0 +1,13 @@
+package com.nachapa.api.repository;
+
+import com.nachapa.api.order.Order;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+// Só leitura: a gravação dos pedidos é feita em lote pelo OrderWriter
+public interface OrderRepository extends JpaRepository<Order, UUID> {
+
+    Optional<Order> findByIdAndTenantId(UUID id, UUID tenantId);
+}
@@ -0,0 +1,75 @@
+package com.nachapa.api.repository;
+
+import com.nachapa.api.outbox.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    // Trava o lote até o fim da transação do relay; outras instâncias pulam as linhas travadas e pegam as seguintes.
+    // published_at IS NULL cobre as linhas de antes da coluna status (todas ficaram PENDING)
+    @Transactional
+    @Query(value = """
+            SELECT * FROM tb_outbox_event
+            WHERE status = 'PENDING' AND published_at IS NULL
+              AND (next_attempt_at IS NULL OR next_attempt_at <= :now)
+            ORDER BY created_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> claimPending(@Param("limit") int limit, @Param("now") Instant now);
+
+    // Reserva o lote até "until": a entrega acontece fora da transação, sem segurar conexão nem travas
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.nextAttemptAt = :until WHERE e.id IN :ids")
+    int lease(@Param("ids") Collection<UUID> ids, @Param("until") Instant until);
+
+    // Devolve à fila sem contar tentativa (eventos do lote que nem chegaram a ser enviados)
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.nextAttemptAt = null WHERE e.id IN :ids")
+    int release(@Param("ids") Collection<UUID> ids);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE OutboxEvent e SET e.publishedAt = :publishedAt, e.nextAttemptAt = null,
+                e.status = com.nachapa.api.outbox.OutboxEventStatus.PUBLISHED
+            WHERE e.id IN :ids
+            """)
+    int markPublished(@Param("ids") Collection<UUID> ids, @Param("publishedAt") Instant publishedAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt WHERE e.id = :id")
+    int scheduleRetry(@Param("id") UUID id, @Param("nextAttemptAt") Instant nextAttemptAt);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.nextAttemptAt = null,
+                e.status = com.nachapa.api.outbox.OutboxEventStatus.FAILED
+            WHERE e.id = :id
+            """)
+    int markFailed(@Param("id") UUID id);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") Instant before);
+
+    @Query("""
+            SELECT min(e.createdAt) FROM OutboxEvent e
+            WHERE e.status = com.nachapa.api.outbox.OutboxEventStatus.PENDING AND e.publishedAt IS NULL
+            """)
+    Instant findOldestPendingCreatedAt();
+}
@@ -0,0 +1,13 @@
+package com.nachapa.api.repository;
+
+import java.util.UUID;
+
+// Coordenadas do restaurante; nulas enquanto não cadastradas
+public interface RestaurantLocation {
+
+    UUID getId();
+
+    Double getLatitude();
+
+    Double getLongitude();
+}
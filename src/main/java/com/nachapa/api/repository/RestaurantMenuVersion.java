@@ -0,0 +1,11 @@
+package com.nachapa.api.repository;
+
+import java.util.UUID;
+
+// Versão do cardápio por restaurante, para o MenuCatalog saber quais snapshots estão velhos
+public interface RestaurantMenuVersion {
+
+    UUID getId();
+
+    long getMenuVersion();
+}
@@ -0,0 +1,35 @@
+package com.nachapa.api.repository;
+
+import com.nachapa.api.tenant.Restaurant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RestaurantRepository extends JpaRepository<Restaurant, UUID> {
+
+    boolean existsByIdAndActiveTrue(UUID id);
+
+    @Query("SELECT r.menuVersion FROM Restaurant r WHERE r.id = :id")
+    Optional<Long> findMenuVersion(@Param("id") UUID id);
+
+    @Query("SELECT r.id AS id, r.latitude AS latitude, r.longitude AS longitude FROM Restaurant r WHERE r.id = :id AND r.active = true")
+    Optional<RestaurantLocation> findLocation(@Param("id") UUID id);
+
+    @Query("SELECT r.id AS id, r.latitude AS latitude, r.longitude AS longitude FROM Restaurant r WHERE r.id IN :ids AND r.active = true")
+    List<RestaurantLocation> findLocations(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT r.id AS id, r.menuVersion AS menuVersion FROM Restaurant r WHERE r.id IN :ids")
+    List<RestaurantMenuVersion> findMenuVersions(@Param("ids") Collection<UUID> ids);
+
+    // Na mesma transação da edição: trava a linha do restaurante, então edições concorrentes do cardápio
+    // se enfileiram e cada commit corresponde a exatamente uma versão
+    @Modifying
+    @Query("UPDATE Restaurant r SET r.menuVersion = r.menuVersion + 1 WHERE r.id = :id")
+    int bumpMenuVersion(@Param("id") UUID id);
+}
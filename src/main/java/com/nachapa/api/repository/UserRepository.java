@@ -1,18 +1,119 @@
 package com.nachapa.api.repository;
 
 import com.nachapa.api.auth.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
 
+    // Login logo após o cadastro e as checagens de duplicidade (findByEmail/findByCpf, exists*) precisam ler o
+    // primário. Métodos declarados aqui não têm transação própria (o readOnly do Spring Data vale só para os
+    // herdados, como findById): chamados fora de transação ou numa de escrita, o ReadWriteRoutingDataSource já os
+    // manda ao primário. Não chame de dentro de @Transactional(readOnly = true): um @Transactional aqui só se
+    // juntaria à transação readOnly e leria a réplica do mesmo jeito
     Optional<User> findByEmail(String email);
 
     Optional<User> findByCpf(String cpf);
 
     Optional<User> findByIdAndIsActiveTrue(UUID id);
 
-    boolean existsByEmailAndIdNot(String email, UUID userId);
+    // E-mail e CPF são únicos entre todos os restaurantes (o login é só por e-mail): estas checagens são SQL
+    // nativo, que fica fora do filtro de tenant do Hibernate
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM tb_user WHERE email = :email AND id <> :userId)", nativeQuery = true)
+    boolean existsByEmailAndIdNot(@Param("email") String email, @Param("userId") UUID userId);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM tb_user WHERE email = :email)", nativeQuery = true)
+    boolean existsEmailInAnyTenant(@Param("email") String email);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM tb_user WHERE cpf = :cpf)", nativeQuery = true)
+    boolean existsCpfInAnyTenant(@Param("cpf") String cpf);
+
+    // Listagem padrão só sobre os ativos do restaurante (índice parcial idx_tb_user_tenant_active_name, ver
+    // schema-postgresql.sql)
+    Page<User> findAllByIsActiveTrue(Pageable pageable);
+
+    // Mesma página/ordenação da listagem, mas só id/updatedAt (validação de ETag)
+    Page<UserVersion> findAllVersionsByIsActiveTrue(Pageable pageable);
+
+    Optional<UserVersion> findVersionByIdAndIsActiveTrue(UUID id);
+
+    // Busca por nome/e-mail (índices GIN pg_trgm em lower(...)) e CPF exato ou prefixo (btree text_pattern_ops),
+    // todos começando por tenant_id, ver schema-postgresql.sql. O LIMIT interno corta os candidatos antes do
+    // ranking por similaridade. Nativa: o restaurante vai explícito (o filtro do Hibernate não alcança SQL nativo).
+    @Query(value = """
+            SELECT c.id AS id, c.name AS name, c.email AS email
+            FROM (
+                SELECT u.id, u.name, u.email,
+                       CASE WHEN u.cpf = :cpf THEN 3 WHEN u.cpf LIKE :cpfPrefix THEN 2 ELSE 0 END
+                           + greatest(word_similarity(:term, lower(u.name)), word_similarity(:term, lower(u.email))) AS rank
+                FROM tb_user u
+                WHERE u.tenant_id = :tenantId
+                  AND u.is_active
+                  AND (lower(u.name) LIKE :pattern OR lower(u.email) LIKE :pattern OR u.cpf LIKE :cpfPrefix)
+                LIMIT :candidates
+            ) c
+            ORDER BY c.rank DESC, c.name
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<UserSearchResult> searchByTrigram(@Param("tenantId") UUID tenantId, @Param("term") String term,
+                                           @Param("pattern") String pattern, @Param("cpf") String cpf,
+                                           @Param("cpfPrefix") String cpfPrefix, @Param("candidates") int candidates,
+                                           @Param("limit") int limit);
+
+    // Mesma busca sem pg_trgm (H2 nos testes): ranking só por CPF exato/prefixo e depois nome
+    @Query("""
+            SELECT u.id AS id, u.name AS name, u.email AS email
+            FROM User u
+            WHERE u.isActive = true
+              AND (lower(u.name) LIKE :pattern ESCAPE '\\' OR lower(u.email) LIKE :pattern ESCAPE '\\'
+                   OR u.cpf LIKE :cpfPrefix ESCAPE '\\')
+            ORDER BY CASE WHEN u.cpf = :cpf THEN 0 WHEN u.cpf LIKE :cpfPrefix ESCAPE '\\' THEN 1 ELSE 2 END, u.name
+            """)
+    List<UserSearchResult> searchByLike(@Param("pattern") String pattern, @Param("cpf") String cpf,
+                                        @Param("cpfPrefix") String cpfPrefix, Limit limit);
+
+    // Inativos há mais tempo que a retenção, mais antigos primeiro (índice parcial idx_tb_user_inactive_since).
+    // FOR UPDATE SKIP LOCKED (timeout -2): duas instâncias rodando o UserArchiver pegam lotes diferentes.
+    @Transactional
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT u.id FROM User u
+            WHERE u.isActive = false AND u.deactivatedAt < :cutoff
+            ORDER BY u.deactivatedAt
+            """)
+    List<UUID> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    // Volta o usuário arquivado para tb_user, ativo, com o mesmo id (a linha do arquivo é apagada em seguida)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+            INSERT INTO tb_user (id, tenant_id, role, created_at, updated_at, name, email, password, cpf, cell_phone,
+                                 birth_date, is_active, deactivated_at)
+            SELECT id, tenant_id, role, created_at, :now, name, email, password, cpf, cell_phone, birth_date, TRUE, NULL
+            FROM tb_user_archive
+            WHERE id = :id
+            """, nativeQuery = true)
+    int copyFromArchive(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM User u WHERE u.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<UUID> ids);
 }
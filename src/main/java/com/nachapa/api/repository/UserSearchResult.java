@@ -0,0 +1,13 @@
+package com.nachapa.api.repository;
+
+import java.util.UUID;
+
+// Projeção da busca de usuários: só as colunas exibidas no resultado
+public interface UserSearchResult {
+
+    UUID getId();
+
+    String getName();
+
+    String getEmail();
+}
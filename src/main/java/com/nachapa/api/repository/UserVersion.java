@@ -0,0 +1,12 @@
+package com.nachapa.api.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Projeção só com o necessário para calcular ETags (sem carregar a linha inteira)
+public interface UserVersion {
+
+    UUID getId();
+
+    LocalDateTime getUpdatedAt();
+}
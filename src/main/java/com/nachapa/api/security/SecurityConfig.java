@@ -1,6 +1,8 @@
 package com.nachapa.api.security;
 
+import com.nachapa.api.auth.RoleEnum;
 import com.nachapa.api.filter.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -20,13 +22,33 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     public static final String URI_AUTH = "api/auth/**";
+    public static final String URI_ACTUATOR_HEALTH = "/actuator/health/**";
+    public static final String URI_ACTUATOR_PROMETHEUS = "/actuator/prometheus";
+    public static final String URI_ADMIN = "/api/admin/**";
+    public static final String URI_MENU = "/api/menu/**";
+    public static final String URI_ORDERS = "/api/orders/**";
+    public static final String URI_KITCHEN = "/api/kitchen/**";
+    public static final String URI_DELIVERY_LOCATIONS = "/api/delivery/locations";
+    public static final String URI_DELIVERY = "/api/delivery/**";
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthenticationFilter jwtAuthenticationFilter) throws Exception {
         http.csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(authorize -> authorize
+                        // Continuação assíncrona (stream SSE da cozinha) de uma requisição já autorizada na abertura
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.POST, URI_AUTH).permitAll()
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui.html", "/swagger-ui/**").permitAll() // Deixei Liberado para simplificar a avaliação e análise da documentação
+                        .requestMatchers(HttpMethod.GET, URI_ACTUATOR_HEALTH, URI_ACTUATOR_PROMETHEUS).permitAll() // Scrape do Prometheus e probes (restrinja via MANAGEMENT_SERVER_PORT em produção)
+                        .requestMatchers(URI_ADMIN).hasRole(RoleEnum.ADMIN.name())
+                        .requestMatchers(HttpMethod.GET, URI_MENU).authenticated() // Cardápio: leitura para qualquer usuário do restaurante
+                        .requestMatchers(URI_MENU).hasAnyRole(RoleEnum.ADMIN.name(), RoleEnum.OPERATOR.name())
+                        .requestMatchers(HttpMethod.POST, URI_ORDERS).hasRole(RoleEnum.USER.name()) // Pedido é feito pelo cliente
+                        // Status e histórico: regras por perfil no OrderLifecycle
+                        .requestMatchers(URI_ORDERS).hasAnyRole(RoleEnum.USER.name(), RoleEnum.OPERATOR.name(), RoleEnum.ADMIN.name())
+                        .requestMatchers(URI_KITCHEN).hasAnyRole(RoleEnum.ADMIN.name(), RoleEnum.OPERATOR.name())
+                        .requestMatchers(HttpMethod.POST, URI_DELIVERY_LOCATIONS).hasRole(RoleEnum.COURIER.name()) // Só o app do entregador envia posição
+                        .requestMatchers(URI_DELIVERY).hasAnyRole(RoleEnum.ADMIN.name(), RoleEnum.OPERATOR.name())
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
@@ -0,0 +1,15 @@
+package com.nachapa.api.service;
+
+import com.nachapa.api.dto.delivery.LocationBatchRequestDto;
+import com.nachapa.api.dto.delivery.NearbyCourierDto;
+
+import java.util.List;
+
+public interface DeliveryService {
+
+    // Atualiza a posição atual do entregador e enfileira as posições para o histórico; não espera o banco
+    void recordLocations(LocationBatchRequestDto request, String courier);
+
+    // Entregadores do restaurante da requisição em volta dele; radius e limit nulos usam os padrões
+    List<NearbyCourierDto> nearbyCouriers(Integer radius, Integer limit);
+}
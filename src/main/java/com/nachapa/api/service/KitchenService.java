@@ -0,0 +1,21 @@
+package com.nachapa.api.service;
+
+import com.nachapa.api.menu.MenuSnapshot;
+import com.nachapa.api.order.OrderItem;
+import com.nachapa.api.order.OrderState;
+import com.nachapa.api.order.PlacedOrder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+public interface KitchenService {
+
+    // Stream SSE de uma estação do restaurante da requisição; lastEventId do cabeçalho Last-Event-ID (ou null)
+    SseEmitter openStream(String station, String lastEventId);
+
+    // Uma comanda por estação envolvida no pedido já gravado
+    void orderPlaced(PlacedOrder placed, MenuSnapshot menu);
+
+    // Status novo (ou cancelamento, com o motivo) para as mesmas estações que receberam a comanda do pedido
+    void statusChanged(OrderState state, List<OrderItem> items, MenuSnapshot menu, String reason);
+}
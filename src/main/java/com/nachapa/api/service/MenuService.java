@@ -0,0 +1,25 @@
+package com.nachapa.api.service;
+
+import com.nachapa.api.dto.menu.MenuCategoryRequestDto;
+import com.nachapa.api.dto.menu.MenuCategoryResponseDto;
+import com.nachapa.api.dto.menu.MenuItemRequestDto;
+import com.nachapa.api.dto.menu.MenuItemResponseDto;
+import com.nachapa.api.menu.MenuSnapshot;
+
+import java.util.UUID;
+
+public interface MenuService {
+
+    // Cardápio do restaurante da requisição (TenantContext)
+    MenuSnapshot currentMenu();
+
+    MenuCategoryResponseDto createCategory(MenuCategoryRequestDto request);
+
+    MenuCategoryResponseDto updateCategory(UUID id, MenuCategoryRequestDto request);
+
+    MenuItemResponseDto createItem(MenuItemRequestDto request);
+
+    MenuItemResponseDto updateItem(UUID id, MenuItemRequestDto request);
+
+    MenuItemResponseDto setItemAvailability(UUID id, boolean available);
+}
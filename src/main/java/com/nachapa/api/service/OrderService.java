@@ -0,0 +1,24 @@
+package com.nachapa.api.service;
+
+import com.nachapa.api.dto.order.OrderEventResponseDto;
+import com.nachapa.api.dto.order.OrderRequestDto;
+import com.nachapa.api.dto.order.OrderResponseDto;
+import com.nachapa.api.dto.order.OrderStatusResponseDto;
+import com.nachapa.api.dto.order.OrderTransitionRequestDto;
+import com.nachapa.api.order.OrderActor;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface OrderService {
+
+    // Pedido do cliente autenticado no restaurante da requisição; retorna depois de gravado
+    OrderResponseDto placeOrder(OrderRequestDto request, String customerEmail);
+
+    // Cliente só enxerga os próprios pedidos; a equipe, todos do restaurante
+    OrderStatusResponseDto status(UUID orderId, OrderActor actor);
+
+    List<OrderEventResponseDto> history(UUID orderId, OrderActor actor);
+
+    OrderStatusResponseDto changeStatus(UUID orderId, OrderTransitionRequestDto request, OrderActor actor);
+}
@@ -0,0 +1,8 @@
+package com.nachapa.api.service;
+
+import com.nachapa.api.auth.User;
+import com.nachapa.api.outbox.OutboxEventType;
+
+public interface OutboxService {
+    void append(OutboxEventType type, User user);
+}
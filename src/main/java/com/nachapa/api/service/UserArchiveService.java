@@ -0,0 +1,9 @@
+package com.nachapa.api.service;
+
+import com.nachapa.api.dto.user.UserResponseDto;
+
+import java.util.UUID;
+
+public interface UserArchiveService {
+    UserResponseDto restore(UUID id);
+}
@@ -2,16 +2,27 @@ package com.nachapa.api.service;
 
 import com.nachapa.api.dto.user.UserRequestDto;
 import com.nachapa.api.dto.user.UserResponseDto;
+import com.nachapa.api.dto.user.UserSearchResponseDto;
 import org.springframework.data.domain.Page;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface UserService {
-    void registerUser(UserRequestDto userRequestDto);
+    // restaurantId null: restaurante padrão
+    void registerUser(UserRequestDto userRequestDto, UUID restaurantId);
 
     void deactivateUserById(UUID id);
 
     UserResponseDto update(UUID userId, UserRequestDto userRequestDto);
 
     Page<UserResponseDto> listUsers(int page, int size, String sort);
+
+    String listUsersETag(int page, int size, String sort);
+
+    UserResponseDto findById(UUID id);
+
+    String userETag(UUID id);
+
+    List<UserSearchResponseDto> searchUsers(String query, int limit);
 }
\ No newline at end of file
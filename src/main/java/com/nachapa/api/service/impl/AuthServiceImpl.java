@@ -1,17 +1,30 @@
 package com.nachapa.api.service.impl;
 
+import com.nachapa.api.audit.AuditLog;
 import com.nachapa.api.auth.User;
 import com.nachapa.api.dto.jwt.JwtPayloadDto;
 import com.nachapa.api.dto.login.LoginRequestDto;
 import com.nachapa.api.exceptions.InvalidCredentialsException;
+import com.nachapa.api.jfr.LoginEvent;
 import com.nachapa.api.repository.UserRepository;
 import com.nachapa.api.service.AuthService;
 import com.nachapa.api.util.JwtUtil;
+import com.nachapa.api.util.LogMask;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import static com.nachapa.api.config.constants.MetricsConstants.AUTH_AUTHENTICATE;
+import static com.nachapa.api.config.constants.MetricsConstants.AUTH_AUTHENTICATE_PHASE;
+import static com.nachapa.api.config.constants.MetricsConstants.PHASE_HASH;
+import static com.nachapa.api.config.constants.MetricsConstants.PHASE_LOOKUP;
+import static com.nachapa.api.config.constants.MetricsConstants.PHASE_SIGN;
+import static com.nachapa.api.config.constants.MetricsConstants.TAG_PHASE;
+
 @Slf4j
 @Service
 @AllArgsConstructor
@@ -23,32 +36,60 @@ public class AuthServiceImpl implements AuthService {
 
     private final PasswordEncoder passwordEncoder;
 
+    private final MeterRegistry meterRegistry;
+
+    private final AuditLog auditLog;
+
+    @Timed(AUTH_AUTHENTICATE)
     @Override
     public String authenticate(LoginRequestDto loginRequest) {
-        log.info("Iniciando autenticação para o e-mail: {}", loginRequest.getEmail());
+        log.debug("Iniciando autenticação para o e-mail: {}", LogMask.email(loginRequest.getEmail()));
+        // Mesmas fases dos timers, também no JFR (evento desligado fora das gravações com nachapa.jfc)
+        LoginEvent event = new LoginEvent();
+        event.begin();
         // Verifica se o usuário existe
+        Timer.Sample lookup = Timer.start(meterRegistry);
         User user = userRepository.findByEmail(loginRequest.getEmail())
                 .orElseThrow(() -> {
-                    log.warn("Usuário não encontrado para o e-mail: {}", loginRequest.getEmail());
+                    event.setLookup(stopPhase(lookup, PHASE_LOOKUP));
+                    event.finish(LoginEvent.UNKNOWN_EMAIL);
+                    log.warn("Usuário não encontrado para o e-mail: {}", LogMask.email(loginRequest.getEmail()));
+                    auditLog.loginFailed(null, loginRequest.getEmail());
                     return new InvalidCredentialsException();
                 });
-        log.info("Usuário encontrado no banco de dados: {}", user.getEmail());
+        event.setLookup(stopPhase(lookup, PHASE_LOOKUP));
+        log.debug("Usuário encontrado no banco de dados: {}", LogMask.email(user.getEmail()));
 
         // Verifica a senha
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
-            log.error("Senha inválida para o e-mail: {}", loginRequest.getEmail());
+        Timer.Sample hash = Timer.start(meterRegistry);
+        boolean passwordMatches = passwordEncoder.matches(loginRequest.getPassword(), user.getPassword());
+        event.setHash(stopPhase(hash, PHASE_HASH));
+        if (!passwordMatches) {
+            event.finish(LoginEvent.BAD_PASSWORD);
+            log.error("Senha inválida para o e-mail: {}", LogMask.email(loginRequest.getEmail()));
+            auditLog.loginFailed(user.getId(), loginRequest.getEmail());
             throw new InvalidCredentialsException();
         }
-        log.info("Senha validada com sucesso para o e-mail: {}", loginRequest.getEmail());
+        log.debug("Senha validada com sucesso para o e-mail: {}", LogMask.email(loginRequest.getEmail()));
 
-        // Gera o token JWT incluindo o papel do usuário
+        // Gera o token JWT incluindo o papel e o restaurante do usuário
         JwtPayloadDto jwtPayloadDto = new JwtPayloadDto(
                 user.getEmail(),
-                user.getRole()
+                user.getRole(),
+                user.getTenantId()
         );
+        Timer.Sample sign = Timer.start(meterRegistry);
         String token = jwtUtil.generateToken(jwtPayloadDto);
-        log.info("Token JWT gerado com sucesso para o e-mail: {}", loginRequest.getEmail());
+        event.setSign(stopPhase(sign, PHASE_SIGN));
+        event.finish(LoginEvent.SUCCESS);
+        auditLog.loginSucceeded(user.getId(), user.getEmail());
+        log.info("Token JWT gerado com sucesso para o e-mail: {}", LogMask.email(loginRequest.getEmail()));
 
         return token;
     }
+
+    // Devolve a duração em nanossegundos
+    private long stopPhase(Timer.Sample sample, String phase) {
+        return sample.stop(meterRegistry.timer(AUTH_AUTHENTICATE_PHASE, TAG_PHASE, phase));
+    }
 }
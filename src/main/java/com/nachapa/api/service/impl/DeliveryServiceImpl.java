@@ -0,0 +1,67 @@
+package com.nachapa.api.service.impl;
+
+import com.nachapa.api.delivery.CourierLocationHistory;
+import com.nachapa.api.delivery.CourierPing;
+import com.nachapa.api.delivery.CourierTracker;
+import com.nachapa.api.delivery.DeliveryProperties;
+import com.nachapa.api.delivery.RestaurantLocations;
+import com.nachapa.api.dto.delivery.LocationBatchRequestDto;
+import com.nachapa.api.dto.delivery.LocationPingDto;
+import com.nachapa.api.dto.delivery.NearbyCourierDto;
+import com.nachapa.api.exceptions.RestaurantLocationNotSetException;
+import com.nachapa.api.repository.RestaurantLocation;
+import com.nachapa.api.service.DeliveryService;
+import com.nachapa.api.tenant.TenantContext;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@AllArgsConstructor
+@Service
+public class DeliveryServiceImpl implements DeliveryService {
+
+    private final CourierTracker courierTracker;
+
+    private final CourierLocationHistory locationHistory;
+
+    private final RestaurantLocations restaurantLocations;
+
+    private final DeliveryProperties properties;
+
+    @Override
+    public void recordLocations(LocationBatchRequestDto request, String courier) {
+        UUID restaurantId = TenantContext.require();
+        Instant receivedAt = Instant.now();
+        List<CourierPing> pings = new ArrayList<>(request.getPositions().size());
+        for (LocationPingDto position : request.getPositions()) {
+            // Relógio do aparelho adiantado não pode deixar uma posição "do futuro" travar as seguintes
+            Instant recordedAt = position.getRecordedAt() == null || position.getRecordedAt().isAfter(receivedAt)
+                    ? receivedAt
+                    : position.getRecordedAt();
+            CourierPing ping = new CourierPing(restaurantId, courier, position.getLatitude(), position.getLongitude(),
+                    recordedAt, receivedAt);
+            courierTracker.update(restaurantId, courier, ping.latitude(), ping.longitude(), recordedAt);
+            pings.add(ping);
+        }
+        locationHistory.record(pings);
+    }
+
+    @Override
+    public List<NearbyCourierDto> nearbyCouriers(Integer radius, Integer limit) {
+        UUID restaurantId = TenantContext.require();
+        RestaurantLocation location = restaurantLocations.get(restaurantId);
+        if (location.getLatitude() == null || location.getLongitude() == null) {
+            throw new RestaurantLocationNotSetException();
+        }
+        int radiusMeters = radius == null ? properties.getDefaultRadius() : Math.max(1, Math.min(radius, properties.getMaxRadius()));
+        int maxResults = limit == null ? properties.getMaxResults() : Math.max(1, Math.min(limit, properties.getMaxResults()));
+        return courierTracker.nearby(restaurantId, location.getLatitude(), location.getLongitude(), radiusMeters, maxResults)
+                .stream()
+                .map(NearbyCourierDto::from)
+                .toList();
+    }
+}
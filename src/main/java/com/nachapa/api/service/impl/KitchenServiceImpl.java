@@ -0,0 +1,109 @@
+package com.nachapa.api.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nachapa.api.dto.kitchen.KitchenStatusDto;
+import com.nachapa.api.dto.kitchen.KitchenTicketDto;
+import com.nachapa.api.kitchen.KitchenHub;
+import com.nachapa.api.kitchen.KitchenProperties;
+import com.nachapa.api.menu.MenuCategory;
+import com.nachapa.api.menu.MenuSnapshot;
+import com.nachapa.api.order.Order;
+import com.nachapa.api.order.OrderItem;
+import com.nachapa.api.order.OrderState;
+import com.nachapa.api.order.OrderStatus;
+import com.nachapa.api.order.PlacedOrder;
+import com.nachapa.api.service.KitchenService;
+import com.nachapa.api.tenant.TenantContext;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Slf4j
+@AllArgsConstructor
+@Service
+public class KitchenServiceImpl implements KitchenService {
+
+    public static final String TICKET = "ticket";
+    public static final String STATUS = "status";
+    public static final String CANCELLED = "cancelled";
+
+    private final KitchenHub kitchenHub;
+
+    private final KitchenProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public SseEmitter openStream(String station, String lastEventId) {
+        UUID restaurantId = TenantContext.require();
+        SseEmitter emitter = new SseEmitter(properties.getMaxConnectionAge().toMillis());
+        kitchenHub.subscribe(restaurantId, station, lastEventId, emitter);
+        log.debug("Tela da estação {} conectada no restaurante {}", station, restaurantId);
+        return emitter;
+    }
+
+    @Override
+    public void orderPlaced(PlacedOrder placed, MenuSnapshot menu) {
+        Order order = placed.order();
+        for (Map.Entry<String, List<OrderItem>> entry : byStation(placed.items(), menu).entrySet()) {
+            List<KitchenTicketDto.Line> lines = new ArrayList<>(entry.getValue().size());
+            for (OrderItem item : entry.getValue()) {
+                KitchenTicketDto.Line line = new KitchenTicketDto.Line();
+                line.setName(item.getName());
+                line.setQuantity(item.getQuantity());
+                lines.add(line);
+            }
+            KitchenTicketDto ticket = new KitchenTicketDto();
+            ticket.setOrderId(order.getId());
+            ticket.setNumber(order.getNumber());
+            ticket.setStation(entry.getKey());
+            ticket.setNote(order.getNote());
+            ticket.setCreatedAt(order.getCreatedAt());
+            ticket.setItems(lines);
+            kitchenHub.publish(order.getTenantId(), entry.getKey(), TICKET, serialize(ticket));
+        }
+    }
+
+    @Override
+    public void statusChanged(OrderState state, List<OrderItem> items, MenuSnapshot menu, String reason) {
+        boolean cancelled = state.status() == OrderStatus.CANCELLED;
+        for (String station : byStation(items, menu).keySet()) {
+            KitchenStatusDto event = new KitchenStatusDto();
+            event.setOrderId(state.orderId());
+            event.setStation(station);
+            event.setStatus(state.status());
+            event.setVersion(state.version());
+            event.setReason(cancelled ? reason : null);
+            kitchenHub.publish(state.tenantId(), station, cancelled ? CANCELLED : STATUS, serialize(event));
+        }
+    }
+
+    // Estação de cada item pelo cardápio; item que saiu do cardápio vai para a estação padrão
+    private static Map<String, List<OrderItem>> byStation(List<OrderItem> items, MenuSnapshot menu) {
+        Map<String, List<OrderItem>> byStation = new LinkedHashMap<>();
+        for (OrderItem item : items) {
+            MenuSnapshot.Item menuItem = menu.item(item.getMenuItemId());
+            String station = menuItem != null && menuItem.station() != null
+                    ? menuItem.station()
+                    : MenuCategory.DEFAULT_STATION;
+            byStation.computeIfAbsent(station, key -> new ArrayList<>()).add(item);
+        }
+        return byStation;
+    }
+
+    private String serialize(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o evento da cozinha", e);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.nachapa.api.service.impl;
+
+import com.nachapa.api.dto.menu.MenuCategoryRequestDto;
+import com.nachapa.api.dto.menu.MenuCategoryResponseDto;
+import com.nachapa.api.dto.menu.MenuItemRequestDto;
+import com.nachapa.api.dto.menu.MenuItemResponseDto;
+import com.nachapa.api.exceptions.MenuCategoryNotFoundException;
+import com.nachapa.api.exceptions.MenuItemNotFoundException;
+import com.nachapa.api.menu.MenuCatalog;
+import com.nachapa.api.menu.MenuCategory;
+import com.nachapa.api.menu.MenuItem;
+import com.nachapa.api.menu.MenuSnapshot;
+import com.nachapa.api.repository.MenuCategoryRepository;
+import com.nachapa.api.repository.MenuItemRepository;
+import com.nachapa.api.repository.RestaurantRepository;
+import com.nachapa.api.service.MenuService;
+import com.nachapa.api.tenant.TenantContext;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+@Slf4j
+@AllArgsConstructor
+@Service
+public class MenuServiceImpl implements MenuService {
+
+    private final MenuCatalog menuCatalog;
+
+    private final MenuCategoryRepository categoryRepository;
+
+    private final MenuItemRepository itemRepository;
+
+    private final RestaurantRepository restaurantRepository;
+
+    private final TransactionOperations transactionOperations;
+
+    @Override
+    public MenuSnapshot currentMenu() {
+        return menuCatalog.get(TenantContext.require());
+    }
+
+    @Override
+    public MenuCategoryResponseDto createCategory(MenuCategoryRequestDto request) {
+        UUID restaurantId = TenantContext.require();
+        MenuCategory saved = edit(restaurantId, () -> {
+            MenuCategory category = new MenuCategory();
+            category.setTenantId(restaurantId);
+            apply(category, request);
+            return categoryRepository.save(category);
+        });
+        log.info("Categoria {} criada no cardápio do restaurante {}", saved.getId(), restaurantId);
+        return MenuCategoryResponseDto.from(saved);
+    }
+
+    @Override
+    public MenuCategoryResponseDto updateCategory(UUID id, MenuCategoryRequestDto request) {
+        UUID restaurantId = TenantContext.require();
+        MenuCategory saved = edit(restaurantId, () -> {
+            MenuCategory category = categoryRepository.findByIdAndTenantId(id, restaurantId)
+                    .orElseThrow(MenuCategoryNotFoundException::new);
+            apply(category, request);
+            return category;
+        });
+        return MenuCategoryResponseDto.from(saved);
+    }
+
+    @Override
+    public MenuItemResponseDto createItem(MenuItemRequestDto request) {
+        UUID restaurantId = TenantContext.require();
+        MenuItem saved = edit(restaurantId, () -> {
+            requireCategory(request.getCategoryId(), restaurantId);
+            MenuItem item = new MenuItem();
+            item.setTenantId(restaurantId);
+            apply(item, request);
+            return itemRepository.save(item);
+        });
+        log.info("Item {} criado no cardápio do restaurante {}", saved.getId(), restaurantId);
+        return MenuItemResponseDto.from(saved);
+    }
+
+    @Override
+    public MenuItemResponseDto updateItem(UUID id, MenuItemRequestDto request) {
+        UUID restaurantId = TenantContext.require();
+        MenuItem saved = edit(restaurantId, () -> {
+            MenuItem item = itemRepository.findByIdAndTenantId(id, restaurantId)
+                    .orElseThrow(MenuItemNotFoundException::new);
+            requireCategory(request.getCategoryId(), restaurantId);
+            apply(item, request);
+            return item;
+        });
+        return MenuItemResponseDto.from(saved);
+    }
+
+    @Override
+    public MenuItemResponseDto setItemAvailability(UUID id, boolean available) {
+        UUID restaurantId = TenantContext.require();
+        MenuItem saved = edit(restaurantId, () -> {
+            MenuItem item = itemRepository.findByIdAndTenantId(id, restaurantId)
+                    .orElseThrow(MenuItemNotFoundException::new);
+            item.setAvailable(available);
+            return item;
+        });
+        log.debug("Item {} do restaurante {} agora {}", id, restaurantId, available ? "disponível" : "indisponível");
+        return MenuItemResponseDto.from(saved);
+    }
+
+    // Toda edição incrementa a versão do cardápio na mesma transação (o UPDATE vem primeiro e trava a linha do
+    // restaurante, então edições concorrentes se enfileiram); depois do commit o snapshot local é remontado
+    private <T> T edit(UUID restaurantId, Supplier<T> change) {
+        T result = transactionOperations.execute(status -> {
+            restaurantRepository.bumpMenuVersion(restaurantId);
+            return change.get();
+        });
+        menuCatalog.refresh(restaurantId);
+        return result;
+    }
+
+    private void requireCategory(UUID categoryId, UUID restaurantId) {
+        if (!categoryRepository.existsByIdAndTenantId(categoryId, restaurantId)) {
+            throw new MenuCategoryNotFoundException();
+        }
+    }
+
+    private static void apply(MenuCategory category, MenuCategoryRequestDto request) {
+        category.setName(request.getName().trim());
+        category.setPosition(request.getPosition());
+        category.setActive(request.isActive());
+        if (request.getStation() != null) {
+            category.setStation(request.getStation());
+        }
+    }
+
+    private static void apply(MenuItem item, MenuItemRequestDto request) {
+        item.setCategoryId(request.getCategoryId());
+        item.setName(request.getName().trim());
+        item.setDescription(request.getDescription());
+        item.setPrice(request.getPrice());
+        item.setAvailable(request.isAvailable());
+        item.setPosition(request.getPosition());
+    }
+}
@@ -0,0 +1,144 @@
+package com.nachapa.api.service.impl;
+
+import com.nachapa.api.dto.order.OrderEventResponseDto;
+import com.nachapa.api.dto.order.OrderRequestDto;
+import com.nachapa.api.dto.order.OrderResponseDto;
+import com.nachapa.api.dto.order.OrderStatusResponseDto;
+import com.nachapa.api.dto.order.OrderTransitionRequestDto;
+import com.nachapa.api.exceptions.MenuItemUnavailableException;
+import com.nachapa.api.exceptions.OrderNotFoundException;
+import com.nachapa.api.menu.MenuCatalog;
+import com.nachapa.api.menu.MenuSnapshot;
+import com.nachapa.api.order.Order;
+import com.nachapa.api.order.OrderActor;
+import com.nachapa.api.order.OrderIntake;
+import com.nachapa.api.order.OrderItem;
+import com.nachapa.api.order.OrderLifecycle;
+import com.nachapa.api.order.OrderNumberAllocator;
+import com.nachapa.api.order.OrderState;
+import com.nachapa.api.order.OrderStatus;
+import com.nachapa.api.order.PlacedOrder;
+import com.nachapa.api.repository.OrderItemRepository;
+import com.nachapa.api.service.KitchenService;
+import com.nachapa.api.service.OrderService;
+import com.nachapa.api.tenant.TenantContext;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@AllArgsConstructor
+@Service
+public class OrderServiceImpl implements OrderService {
+
+    private final MenuCatalog menuCatalog;
+
+    private final OrderIntake orderIntake;
+
+    private final OrderNumberAllocator orderNumberAllocator;
+
+    private final KitchenService kitchenService;
+
+    private final OrderLifecycle orderLifecycle;
+
+    private final OrderItemRepository orderItemRepository;
+
+    @Override
+    public OrderResponseDto placeOrder(OrderRequestDto request, String customerEmail) {
+        UUID restaurantId = TenantContext.require();
+        // Validação e preços pelo snapshot do cardápio em memória: até a gravação, nenhum acesso ao banco
+        MenuSnapshot menu = menuCatalog.get(restaurantId);
+
+        Order order = new Order();
+        order.setId(UUID.randomUUID());
+        order.setTenantId(restaurantId);
+        order.setCustomerEmail(customerEmail);
+        order.setStatus(OrderStatus.PLACED);
+        order.setNote(request.getNote());
+
+        List<OrderItem> items = new ArrayList<>(request.getItems().size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderRequestDto.Line line : request.getItems()) {
+            MenuSnapshot.Item menuItem = menu.item(line.getItemId());
+            if (menuItem == null || !menuItem.available()) {
+                log.debug("Pedido com item indisponível ou fora do cardápio: {}", line.getItemId());
+                throw new MenuItemUnavailableException();
+            }
+            OrderItem item = new OrderItem();
+            item.setId(UUID.randomUUID());
+            item.setTenantId(restaurantId);
+            item.setOrderId(order.getId());
+            item.setMenuItemId(menuItem.id());
+            item.setName(menuItem.name());
+            item.setUnitPrice(menuItem.price());
+            item.setQuantity(line.getQuantity());
+            items.add(item);
+            total = total.add(menuItem.price().multiply(BigDecimal.valueOf(line.getQuantity())));
+        }
+        order.setTotal(total);
+
+        // Só depois da validação, para pedido recusado não gastar número
+        OrderNumberAllocator.Ticket ticket = orderNumberAllocator.next(restaurantId);
+        order.setNumber(ticket.number());
+        order.setBusinessDate(ticket.businessDate());
+        order.setCreatedAt(ticket.issuedAt());
+
+        PlacedOrder placed = new PlacedOrder(order, items);
+        orderIntake.place(placed);
+        orderLifecycle.placed(order);
+        // Pedido já gravado: a falha ao avisar a cozinha não desfaz o pedido do cliente
+        try {
+            kitchenService.orderPlaced(placed, menu);
+        } catch (RuntimeException e) {
+            log.error("Falha ao enviar o pedido {} para as telas da cozinha: {}", order.getId(), e.getMessage());
+        }
+        log.debug("Pedido {} (nº {}) registrado no restaurante {}", order.getId(), order.getNumber(), restaurantId);
+        return OrderResponseDto.from(order, items);
+    }
+
+    @Override
+    public OrderStatusResponseDto status(UUID orderId, OrderActor actor) {
+        return OrderStatusResponseDto.from(visibleState(orderId, actor));
+    }
+
+    @Override
+    public List<OrderEventResponseDto> history(UUID orderId, OrderActor actor) {
+        OrderState state = visibleState(orderId, actor);
+        return orderLifecycle.history(orderId, state.tenantId()).stream()
+                .map(event -> OrderEventResponseDto.from(event, actor.isStaff()))
+                .toList();
+    }
+
+    @Override
+    public OrderStatusResponseDto changeStatus(UUID orderId, OrderTransitionRequestDto request, OrderActor actor) {
+        UUID restaurantId = TenantContext.require();
+        if (!actor.isStaff()) {
+            // Pedido de outro cliente responde como inexistente, igual à leitura
+            visibleState(orderId, actor);
+        }
+        OrderState state = orderLifecycle.transition(orderId, restaurantId, request.getStatus(), actor,
+                request.getVersion(), request.getReason());
+        log.info("Pedido {} passou para {} no restaurante {}", orderId, state.status(), restaurantId);
+        // Transição já gravada: como na criação, a falha ao avisar a cozinha não a desfaz
+        try {
+            kitchenService.statusChanged(state, orderItemRepository.findAllByOrderId(orderId),
+                    menuCatalog.get(restaurantId), request.getReason());
+        } catch (RuntimeException e) {
+            log.error("Falha ao enviar o status do pedido {} para as telas da cozinha: {}", orderId, e.getMessage());
+        }
+        return OrderStatusResponseDto.from(state);
+    }
+
+    private OrderState visibleState(UUID orderId, OrderActor actor) {
+        OrderState state = orderLifecycle.current(orderId, TenantContext.require());
+        if (!actor.isStaff() && !actor.email().equalsIgnoreCase(state.customerEmail())) {
+            throw new OrderNotFoundException();
+        }
+        return state;
+    }
+}
@@ -0,0 +1,38 @@
+package com.nachapa.api.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nachapa.api.auth.User;
+import com.nachapa.api.outbox.OutboxEvent;
+import com.nachapa.api.outbox.OutboxEventType;
+import com.nachapa.api.outbox.UserEventPayload;
+import com.nachapa.api.repository.OutboxEventRepository;
+import com.nachapa.api.service.OutboxService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@AllArgsConstructor
+@Service
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final ObjectMapper objectMapper;
+
+    // MANDATORY: o evento só existe se a mudança no usuário for confirmada na mesma transação
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void append(OutboxEventType type, User user) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(UserEventPayload.from(user));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar evento " + type, e);
+        }
+        outboxEventRepository.save(new OutboxEvent(type, user.getId(), payload, Instant.now()));
+    }
+}
@@ -0,0 +1,72 @@
+package com.nachapa.api.service.impl;
+
+import com.nachapa.api.audit.AuditLog;
+import com.nachapa.api.auth.ArchivedUser;
+import com.nachapa.api.auth.User;
+import com.nachapa.api.dto.user.UserResponseDto;
+import com.nachapa.api.dto.user.UserResponseMapper;
+import com.nachapa.api.exceptions.ArchivedUserNotFoundException;
+import com.nachapa.api.exceptions.CpfAlreadyRegisteredException;
+import com.nachapa.api.exceptions.EmailAlreadyRegisteredException;
+import com.nachapa.api.outbox.OutboxEventType;
+import com.nachapa.api.repository.ArchivedUserRepository;
+import com.nachapa.api.repository.UserRepository;
+import com.nachapa.api.service.OutboxService;
+import com.nachapa.api.service.UserArchiveService;
+import com.nachapa.api.util.LogMask;
+import io.micrometer.core.annotation.Timed;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static com.nachapa.api.config.constants.MetricsConstants.TAG_OPERATION;
+import static com.nachapa.api.config.constants.MetricsConstants.USER_SERVICE;
+
+@Slf4j
+@AllArgsConstructor
+@Service
+public class UserArchiveServiceImpl implements UserArchiveService {
+
+    private final UserRepository userRepository;
+
+    private final ArchivedUserRepository archivedUserRepository;
+
+    private final OutboxService outboxService;
+
+    private final TransactionOperations transactionOperations;
+
+    private final AuditLog auditLog;
+
+    @Timed(value = USER_SERVICE, extraTags = {TAG_OPERATION, "restore"})
+    @Override
+    public UserResponseDto restore(UUID id) {
+        log.debug("Restaurando usuário arquivado {}", id);
+        User user = transactionOperations.execute(status -> {
+            ArchivedUser archived = archivedUserRepository.findForRestore(id)
+                    .orElseThrow(ArchivedUserNotFoundException::new);
+
+            // Depois do arquivamento o e-mail e o CPF ficam livres para novos cadastros, em qualquer restaurante
+            if (userRepository.existsEmailInAnyTenant(archived.getEmail())) {
+                log.warn("Restauração de {} com e-mail já cadastrado: {}", id, LogMask.email(archived.getEmail()));
+                throw new EmailAlreadyRegisteredException();
+            }
+            if (userRepository.existsCpfInAnyTenant(archived.getCpf())) {
+                log.warn("Restauração de {} com CPF já cadastrado: {}", id, LogMask.cpf(archived.getCpf()));
+                throw new CpfAlreadyRegisteredException();
+            }
+
+            userRepository.copyFromArchive(id, LocalDateTime.now());
+            archivedUserRepository.deleteArchived(id);
+            User restored = userRepository.findById(id).orElseThrow(ArchivedUserNotFoundException::new);
+            outboxService.append(OutboxEventType.USER_RESTORED, restored);
+            return restored;
+        });
+        auditLog.userRestored(id, user.getEmail());
+        log.info("Usuário {} restaurado do arquivo.", id);
+        return UserResponseMapper.today().toResponse(user);
+    }
+}
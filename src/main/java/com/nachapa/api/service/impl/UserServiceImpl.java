@@ -1,17 +1,36 @@
 package com.nachapa.api.service.impl;
 
+import com.nachapa.api.audit.AuditLog;
 import com.nachapa.api.auth.User;
+import com.nachapa.api.config.search.UserSearchProperties;
 import com.nachapa.api.dto.user.UserRequestDto;
 import com.nachapa.api.dto.user.UserResponseDto;
+import com.nachapa.api.dto.user.UserResponseMapper;
+import com.nachapa.api.dto.user.UserSearchResponseDto;
 import com.nachapa.api.exceptions.CpfAlreadyRegisteredException;
 import com.nachapa.api.exceptions.CpfCannotBeChangedException;
 import com.nachapa.api.exceptions.EmailAlreadyRegisteredException;
 import com.nachapa.api.exceptions.ErrorDeactivateUserException;
+import com.nachapa.api.exceptions.InvalidSearchQueryException;
+import com.nachapa.api.exceptions.RestaurantNotFoundException;
 import com.nachapa.api.exceptions.UserNotFoundException;
+import com.nachapa.api.jfr.UserOperationEvent;
+import com.nachapa.api.outbox.OutboxEventType;
+import com.nachapa.api.repository.RestaurantRepository;
 import com.nachapa.api.repository.UserRepository;
+import com.nachapa.api.repository.UserSearchResult;
+import com.nachapa.api.repository.UserVersion;
+import com.nachapa.api.service.OutboxService;
 import com.nachapa.api.service.UserService;
+import com.nachapa.api.tenant.Restaurant;
+import com.nachapa.api.tenant.TenantContext;
+import com.nachapa.api.tenant.TenantTransactions;
+import com.nachapa.api.util.ETags;
+import com.nachapa.api.util.LogMask;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -19,9 +38,18 @@ import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.regex.Pattern;
+
+import static com.nachapa.api.config.constants.MetricsConstants.TAG_OPERATION;
+import static com.nachapa.api.config.constants.MetricsConstants.USER_SERVICE;
 
 @Slf4j
 @AllArgsConstructor
@@ -30,98 +58,232 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
 
+    private final RestaurantRepository restaurantRepository;
+
     private final PasswordEncoder passwordEncoder;
 
+    private final UserSearchProperties searchProperties;
+
+    private final OutboxService outboxService;
+
+    // Transações curtas em volta das escritas (fora delas fica o BCrypt, que não precisa de conexão)
+    private final TransactionOperations transactionOperations;
+
+    private final AuditLog auditLog;
 
+    // Cadastro com token de outro restaurante: grava fora da sessão da requisição
+    private final TenantTransactions tenantTransactions;
+
+    // CPF digitado com ou sem pontuação (ex.: 123.456.789-01 ou só o começo)
+    private static final Pattern CPF_INPUT = Pattern.compile("[.\\-]*[0-9][0-9.\\-]*");
+
+
+    @Timed(value = USER_SERVICE, extraTags = {TAG_OPERATION, "register"})
     @Override
-    public void registerUser(UserRequestDto userRequestDTO) {
-        log.info("Iniciando o registro do usuário com e-mail: {}", userRequestDTO.getEmail());
+    public void registerUser(UserRequestDto userRequestDTO, UUID restaurantId) {
+        try (UserOperationEvent event = UserOperationEvent.start("register")) {
+            log.debug("Iniciando o registro do usuário com e-mail: {}", LogMask.email(userRequestDTO.getEmail()));
 
-        // Verifica se o e-mail já está cadastrado
-        if (userRepository.findByEmail(userRequestDTO.getEmail()).isPresent()) {
-            log.warn("Tentativa de registro com e-mail já cadastrado: {}", userRequestDTO.getEmail());
-            throw new EmailAlreadyRegisteredException();
-        }
+            UUID tenantId = restaurantId != null ? restaurantId : Restaurant.DEFAULT_ID;
+            if (!restaurantRepository.existsByIdAndActiveTrue(tenantId)) {
+                log.warn("Cadastro para restaurante inexistente ou inativo: {}", tenantId);
+                throw new RestaurantNotFoundException();
+            }
 
-        // Verifica se o CPF já está cadastrado
-        if (userRepository.findByCpf(userRequestDTO.getCpf()).isPresent()) {
-            log.warn("Tentativa de registro com CPF já cadastrado: {}", userRequestDTO.getCpf());
-            throw new CpfAlreadyRegisteredException();
-        }
+            // E-mail e CPF são únicos entre todos os restaurantes: SQL nativo, fora do filtro do tenant do token
+            if (userRepository.existsEmailInAnyTenant(userRequestDTO.getEmail())) {
+                log.warn("Tentativa de registro com e-mail já cadastrado: {}", LogMask.email(userRequestDTO.getEmail()));
+                throw new EmailAlreadyRegisteredException();
+            }
 
-        User user = new User(
-                userRequestDTO.getName(),
-                userRequestDTO.getEmail(),
-                passwordEncoder.encode(userRequestDTO.getPassword()), // Criptografa a senha
-                userRequestDTO.getCpf(),
-                userRequestDTO.getCellPhone(),
-                userRequestDTO.getBirthDate()
-        );
-
-        userRepository.save(user);
-        log.info("Usuário com e-mail {} registrado com sucesso!", user.getEmail());
+            if (userRepository.existsCpfInAnyTenant(userRequestDTO.getCpf())) {
+                log.warn("Tentativa de registro com CPF já cadastrado: {}", LogMask.cpf(userRequestDTO.getCpf()));
+                throw new CpfAlreadyRegisteredException();
+            }
+            event.lookupDone();
+
+            User user = new User(
+                    userRequestDTO.getName(),
+                    userRequestDTO.getEmail(),
+                    passwordEncoder.encode(userRequestDTO.getPassword()), // Criptografa a senha
+                    userRequestDTO.getCpf(),
+                    userRequestDTO.getCellPhone(),
+                    userRequestDTO.getBirthDate()
+            );
+            user.setTenantId(tenantId);
+            event.hashDone();
+
+            // Usuário e evento USER_REGISTERED gravados juntos (outbox), numa sessão do restaurante do cadastro
+            tenantTransactions.executeWithoutResult(tenantId, status -> {
+                User saved = userRepository.save(user);
+                outboxService.append(OutboxEventType.USER_REGISTERED, saved);
+            });
+            event.persistDone();
+            auditLog.userRegistered(user.getId(), user.getEmail());
+            log.info("Usuário com e-mail {} registrado com sucesso!", LogMask.email(user.getEmail()));
+        }
     }
 
+    @Timed(value = USER_SERVICE, extraTags = {TAG_OPERATION, "deactivate"})
     @Override
     public void deactivateUserById(UUID id) {
-        log.info("Iniciando a inativar usuário com ID {} no sistema.", id);
+        try (UserOperationEvent event = UserOperationEvent.start("deactivate")) {
+            log.debug("Iniciando a inativar usuário com ID {} no sistema.", id);
 
-        User user = userRepository.findByIdAndIsActiveTrue(id).orElseThrow(() -> {
-            log.warn("Tentativa de inativar usuário com ID {} que não existe.", id);
-            return new UserNotFoundException();
-        });
+            User user = userRepository.findByIdAndIsActiveTrue(id).orElseThrow(() -> {
+                log.warn("Tentativa de inativar usuário com ID {} que não existe.", id);
+                return new UserNotFoundException();
+            });
+            event.lookupDone();
 
-        try {
-            user.setActive(false);
-            log.info("Usuário com ID {} inativado com sucesso.", id);
-            userRepository.save(user);
+            try {
+                user.setActive(false);
+                user.setDeactivatedAt(LocalDateTime.now());
+                transactionOperations.executeWithoutResult(status -> {
+                    userRepository.save(user);
+                    outboxService.append(OutboxEventType.USER_DEACTIVATED, user);
+                });
+                event.persistDone();
+                auditLog.userDeactivated(id, user.getEmail());
+                log.info("Usuário com ID {} inativado com sucesso.", id);
 
-        } catch (Exception ex) {
-            log.error("Erro ao inativar o usuário com ID {}. Detalhes: {}", id, ex.getMessage());
-            throw new ErrorDeactivateUserException();
+            } catch (Exception ex) {
+                log.error("Erro ao inativar o usuário com ID {}. Detalhes: {}", id, ex.getMessage());
+                throw new ErrorDeactivateUserException();
+            }
         }
     }
 
+    @Timed(value = USER_SERVICE, extraTags = {TAG_OPERATION, "update"})
     @Transactional
     @Override
     public UserResponseDto update(UUID userId, UserRequestDto userRequestDto) {
-        log.info("Atualizando usuário {}", userId);
-        User user = userRepository.findById(userId)
-                .orElseThrow(UserNotFoundException::new);
+        // O flush do UPDATE acontece no commit, depois do método: "persist" aqui é só o INSERT do outbox
+        try (UserOperationEvent event = UserOperationEvent.start("update")) {
+            log.debug("Atualizando usuário {}", userId);
+            User user = userRepository.findById(userId)
+                    .orElseThrow(UserNotFoundException::new);
+
+            if (userRepository.existsByEmailAndIdNot(userRequestDto.getEmail(), userId)) {
+                log.warn("E-mail já cadastrado: {}", LogMask.email(userRequestDto.getEmail()));
+                throw new EmailAlreadyRegisteredException();
+            }
+            event.lookupDone();
+
+            user.setName(userRequestDto.getName());
+            user.setEmail(userRequestDto.getEmail());
 
-        if (userRepository.existsByEmailAndIdNot(userRequestDto.getEmail(), userId)) {
-            log.warn("E-mail já cadastrado: {}", userRequestDto.getEmail());
-            throw new EmailAlreadyRegisteredException();
+            if (userRequestDto.getPassword() != null && !userRequestDto.getPassword().isBlank()) {
+                user.setPassword(passwordEncoder.encode(userRequestDto.getPassword()));
+                event.hashDone();
+            }
+
+            if (!Objects.equals(user.getCpf(), userRequestDto.getCpf())) {
+                throw new CpfCannotBeChangedException();
+            }
+            user.setCellPhone(userRequestDto.getCellPhone());
+            user.setBirthDate(userRequestDto.getBirthDate());
+            outboxService.append(OutboxEventType.USER_UPDATED, user);
+            event.persistDone();
+
+            log.info("Usuário {} atualizado com sucesso.", userId);
+            return UserResponseMapper.today().toResponse(user);
         }
+    }
 
-        user.setName(userRequestDto.getName());
-        user.setEmail(userRequestDto.getEmail());
+    @Timed(value = USER_SERVICE, extraTags = {TAG_OPERATION, "list"})
+    @Override
+    @Transactional(readOnly = true)
+    public Page<UserResponseDto> listUsers(int page, int size, String sort) {
+        try (UserOperationEvent event = UserOperationEvent.start("list")) {
+            // Uma data de referência para a página inteira
+            UserResponseMapper mapper = UserResponseMapper.today();
+            Page<User> users = userRepository.findAllByIsActiveTrue(pageable(page, size, sort));
+            event.lookupDone();
+            return users.map(mapper);
+        }
+    }
 
-        if (userRequestDto.getPassword() != null && !userRequestDto.getPassword().isBlank()) {
-            user.setPassword(passwordEncoder.encode(userRequestDto.getPassword()));
+    // ETag da página sem carregar as linhas: total + (id, updatedAt) de cada item na ordem + data de hoje,
+    // já que a idade na resposta muda com a data. Só max(updatedAt) não veria linhas trocando de página.
+    @Timed(value = USER_SERVICE, extraTags = {TAG_OPERATION, "list-etag"})
+    @Override
+    @Transactional(readOnly = true)
+    public String listUsersETag(int page, int size, String sort) {
+        try (UserOperationEvent event = UserOperationEvent.start("list-etag")) {
+            Page<UserVersion> versions = userRepository.findAllVersionsByIsActiveTrue(pageable(page, size, sort));
+            event.lookupDone();
+            ETags eTag = ETags.builder()
+                    .add(LocalDate.now())
+                    .add(versions.getTotalElements());
+            for (UserVersion version : versions) {
+                eTag.add(version.getId()).add(version.getUpdatedAt());
+            }
+            return eTag.weak();
         }
+    }
 
-        if (!Objects.equals(user.getCpf(), userRequestDto.getCpf())) {
-            throw new CpfCannotBeChangedException();
+    @Timed(value = USER_SERVICE, extraTags = {TAG_OPERATION, "find"})
+    @Override
+    @Transactional(readOnly = true)
+    public UserResponseDto findById(UUID id) {
+        try (UserOperationEvent event = UserOperationEvent.start("find")) {
+            return userRepository.findByIdAndIsActiveTrue(id)
+                    .map(UserResponseMapper.today())
+                    .orElseThrow(UserNotFoundException::new);
         }
-        user.setCellPhone(userRequestDto.getCellPhone());
-        user.setBirthDate(userRequestDto.getBirthDate());
+    }
 
-        log.info("Usuário {} atualizado com sucesso.", userId);
-        return UserResponseDto.from(user);
+    @Timed(value = USER_SERVICE, extraTags = {TAG_OPERATION, "find-etag"})
+    @Override
+    @Transactional(readOnly = true)
+    public String userETag(UUID id) {
+        try (UserOperationEvent event = UserOperationEvent.start("find-etag")) {
+            UserVersion version = userRepository.findVersionByIdAndIsActiveTrue(id)
+                    .orElseThrow(UserNotFoundException::new);
+            return ETags.builder()
+                    .add(LocalDate.now())
+                    .add(version.getId())
+                    .add(version.getUpdatedAt())
+                    .weak();
+        }
     }
 
+    @Timed(value = USER_SERVICE, extraTags = {TAG_OPERATION, "search"})
     @Override
     @Transactional(readOnly = true)
-    public Page<UserResponseDto> listUsers(int page, int size, String sort) {
+    public List<UserSearchResponseDto> searchUsers(String query, int limit) {
+        try (UserOperationEvent event = UserOperationEvent.start("search")) {
+            String term = query == null ? "" : query.strip().toLowerCase(Locale.ROOT);
+            if (term.length() < searchProperties.getMinQueryLength()) {
+                throw new InvalidSearchQueryException();
+            }
+            int maxResults = Math.max(1, Math.min(limit, searchProperties.getMaxResults()));
+            String cpf = CPF_INPUT.matcher(term).matches() ? term.replace(".", "").replace("-", "") : term;
+            String pattern = "%" + escapeLike(term) + "%";
+            String cpfPrefix = escapeLike(cpf) + "%";
+
+            List<UserSearchResult> results = searchProperties.isTrigram()
+                    ? userRepository.searchByTrigram(TenantContext.current(), term, pattern, cpf, cpfPrefix,
+                            searchProperties.getCandidateLimit(), maxResults)
+                    : userRepository.searchByLike(pattern, cpf, cpfPrefix, Limit.of(maxResults));
+            event.lookupDone();
+            log.debug("Busca de usuários retornou {} resultado(s)", results.size());
+            return results.stream().map(UserSearchResponseDto::from).toList();
+        }
+    }
+
+    // Curingas digitados pelo usuário são literais (escape padrão '\' no Postgres e no H2)
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static Pageable pageable(int page, int size, String sort) {
         String[] sortParts = sort.split(",");
         Sort.Direction direction = sortParts.length > 1 && sortParts[1].equalsIgnoreCase("desc")
                 ? Sort.Direction.DESC
                 : Sort.Direction.ASC;
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortParts[0]));
-
-        return userRepository.findAll(pageable)
-                .map(UserResponseDto::from);
+        return PageRequest.of(page, size, Sort.by(direction, sortParts[0]));
     }
 }
@@ -0,0 +1,60 @@
+package com.nachapa.api.tenant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Restaurante (tenant): usuários e demais dados do restaurante levam o tenant_id. O restaurante padrão
+// (DEFAULT_ID) é criado pelo schema-postgresql.sql e recebe os usuários de antes do multi-restaurante.
+@Setter
+@Getter
+@NoArgsConstructor
+@Entity(name = "Restaurant")
+@Table(name = "tb_restaurant")
+public class Restaurant {
+
+    public static final UUID DEFAULT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(unique = true, nullable = false)
+    private String slug;
+
+    @Column(nullable = false)
+    private boolean active;
+
+    // Incrementada a cada edição do cardápio (MenuService); é o que invalida os snapshots e o ETag do cardápio.
+    // Default no banco para o ALTER TABLE em bases que já têm restaurantes
+    @ColumnDefault("0")
+    @Column(name = "menu_version", nullable = false)
+    private long menuVersion;
+
+    // Ponto de partida das entregas: centro da busca de entregadores próximos (CourierTracker)
+    private Double latitude;
+
+    private Double longitude;
+
+    @Column(name = "created_at")
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    public Restaurant(UUID id, String name, String slug) {
+        this.id = id;
+        this.name = name;
+        this.slug = slug;
+        this.active = true;
+    }
+}
@@ -0,0 +1,16 @@
+package com.nachapa.api.tenant;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionOperations;
+
+@Configuration
+public class TenantConfig {
+
+    @Bean
+    public TenantTransactions tenantTransactions(EntityManagerFactory entityManagerFactory,
+                                                 TransactionOperations transactionOperations) {
+        return new TenantTransactions(entityManagerFactory, transactionOperations);
+    }
+}
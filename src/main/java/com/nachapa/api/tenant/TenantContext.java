@@ -0,0 +1,45 @@
+package com.nachapa.api.tenant;
+
+import com.nachapa.api.exceptions.RestaurantNotFoundException;
+
+import java.util.UUID;
+
+/**
+ * Restaurante da requisição atual, vindo do claim {@code tid} do token (ver JwtAuthenticationFilter).
+ * Sem tenant (requisições anônimas, jobs agendados) o Hibernate roda como raiz, sem filtro por restaurante.
+ */
+public final class TenantContext {
+
+    // Cabeçalho opcional: no cadastro escolhe o restaurante; com token, precisa bater com o tid
+    public static final String RESTAURANT_HEADER = "X-Restaurant-Id";
+
+    // Identificador "raiz" do Hibernate: enxerga todos os restaurantes e grava o tenant_id informado na entidade
+    public static final UUID ROOT = new UUID(0L, 0L);
+
+    private static final ThreadLocal<UUID> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static UUID current() {
+        return CURRENT.get();
+    }
+
+    // Serviços que só fazem sentido dentro de um restaurante; o filtro JWT sempre preenche o tenant em
+    // requisições autenticadas
+    public static UUID require() {
+        UUID tenantId = CURRENT.get();
+        if (tenantId == null) {
+            throw new RestaurantNotFoundException();
+        }
+        return tenantId;
+    }
+
+    public static void set(UUID tenantId) {
+        CURRENT.set(tenantId);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,28 @@
+package com.nachapa.api.tenant;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Tenant de cada sessão do Hibernate, lido do {@link TenantContext} na abertura da sessão (com o OSIV,
+ * no início do handler, depois do filtro do JWT). As entidades com {@code @TenantId} ganham o filtro
+ * {@code tenant_id = ?} em toda consulta JPQL/derivada; SQL nativo precisa do predicado explícito.
+ * Registrado por nome de classe em {@code hibernate.tenant_identifier_resolver} (application.yml).
+ */
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<Object> {
+
+    @Override
+    public Object resolveCurrentTenantIdentifier() {
+        Object tenantId = TenantContext.current();
+        return tenantId != null ? tenantId : TenantContext.ROOT;
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    @Override
+    public boolean isRoot(Object tenantId) {
+        return TenantContext.ROOT.equals(tenantId);
+    }
+}
@@ -0,0 +1,68 @@
+package com.nachapa.api.tenant;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Cache LRU em memória particionado por restaurante: cada tenant tem o próprio mapa, a própria trava e a
+ * própria cota de entradas. Uma rede grande enchendo a sua partição só despeja as próprias entradas e não
+ * disputa a trava com os restaurantes pequenos. Requisições sem tenant (anônimas) caem em
+ * {@link TenantContext#ROOT}, que também tem cota.
+ */
+public class TenantScopedCache<K, V> {
+
+    private final ToIntFunction<UUID> quotas;
+    private final ConcurrentMap<UUID, Partition<K, V>> partitions = new ConcurrentHashMap<>();
+
+    // quotas: máximo de entradas por tenant (ex.: padrão com exceções por restaurante)
+    public TenantScopedCache(ToIntFunction<UUID> quotas) {
+        this.quotas = quotas;
+    }
+
+    /**
+     * Executa {@code action} sobre a partição do tenant atual, com a trava dela: leitura e escrita
+     * dentro da mesma ação são atômicas. Entradas acima da cota saem na ordem de acesso.
+     */
+    public <R> R withPartition(Function<Map<K, V>, R> action) {
+        Partition<K, V> partition = partitions.computeIfAbsent(currentTenant(),
+                tenantId -> new Partition<>(Math.max(1, quotas.applyAsInt(tenantId))));
+        synchronized (partition) {
+            return action.apply(partition);
+        }
+    }
+
+    public int size(UUID tenantId) {
+        Partition<K, V> partition = partitions.get(tenantId);
+        if (partition == null) {
+            return 0;
+        }
+        synchronized (partition) {
+            return partition.size();
+        }
+    }
+
+    private static UUID currentTenant() {
+        UUID tenantId = TenantContext.current();
+        return tenantId != null ? tenantId : TenantContext.ROOT;
+    }
+
+    private static final class Partition<K, V> extends LinkedHashMap<K, V> {
+
+        private final int maxEntries;
+
+        Partition(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.nachapa.api.tenant;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Transação em sessão nova do Hibernate aberta para um restaurante escolhido, e não para o da requisição.
+ * Com o OSIV a sessão da requisição já nasce com o restaurante do token; gravar nela uma entidade de outro
+ * restaurante falha com "assigned tenant id differs from current tenant id". A sessão da requisição sai do
+ * thread enquanto a transação roda (como o Spring faz ao suspender uma transação) e volta no fim.
+ */
+public class TenantTransactions {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final TransactionOperations transactionOperations;
+
+    public TenantTransactions(EntityManagerFactory entityManagerFactory, TransactionOperations transactionOperations) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionOperations = transactionOperations;
+    }
+
+    public void executeWithoutResult(UUID tenantId, Consumer<TransactionStatus> action) {
+        // Dentro de outra transação a sessão dela seria trocada no meio do caminho
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("TenantTransactions não pode ser usado dentro de uma transação");
+        }
+        UUID previous = TenantContext.current();
+        Object requestSession = TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+        TenantContext.set(tenantId);
+        try {
+            transactionOperations.executeWithoutResult(action);
+        } finally {
+            if (previous != null) {
+                TenantContext.set(previous);
+            } else {
+                TenantContext.clear();
+            }
+            if (requestSession != null) {
+                TransactionSynchronizationManager.bindResource(entityManagerFactory, requestSession);
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.nachapa.api.util;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Fila limitada com uma thread escritora dedicada. Quem produz só faz o {@code offer}; a thread junta o que
+ * chegou (até {@code batchSize} itens ou {@code maxWait} depois do primeiro) e entrega o lote a {@code write}.
+ * Com a fila cheia o item é recusado na hora e contado em {@code rejected}: quem chama decide entre descartar
+ * e responder erro, mas nunca bloqueia. Usado pela auditoria, pelo group commit de pedidos e pelo histórico
+ * de posições dos entregadores.
+ */
+@Slf4j
+public class BatchWriter<T> implements AutoCloseable {
+
+    private final String name;
+    private final BlockingQueue<T> queue;
+    private final int batchSize;
+    private final long maxWaitNanos;
+    private final long pollTimeoutNanos;
+    private final Counter rejected;
+    private final Consumer<List<T>> write;
+    private final Thread thread;
+    private final AtomicLong lastRejectLogMillis = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    // pollTimeout: espera com a fila vazia, também o tempo para o close ser notado
+    public BatchWriter(String name, int capacity, int batchSize, Duration maxWait, Duration pollTimeout,
+                       Counter rejected, Consumer<List<T>> write) {
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.pollTimeoutNanos = pollTimeout.toNanos();
+        this.rejected = rejected;
+        this.write = write;
+        this.thread = new Thread(this::run, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // false com a fila cheia ou depois do close
+    public boolean offer(T item) {
+        if (running && queue.offer(item)) {
+            return true;
+        }
+        rejected(1);
+        return false;
+    }
+
+    // Quantos itens ficaram de fora
+    public int offerAll(List<T> items) {
+        int refused = 0;
+        for (T item : items) {
+            if (!running || !queue.offer(item)) {
+                refused++;
+            }
+        }
+        if (refused > 0) {
+            rejected(refused);
+        }
+        return refused;
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        // A thread grava o que já está na fila antes de sair
+        running = false;
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void rejected(int count) {
+        rejected.increment(count);
+        // Uma linha por segundo no máximo: com a fila cheia, logar cada recusa pioraria a situação
+        long now = System.currentTimeMillis();
+        long last = lastRejectLogMillis.get();
+        if (now - last >= 1000 && lastRejectLogMillis.compareAndSet(last, now)) {
+            log.error("Fila de {} cheia; {} recusado(s) até agora", name, (long) rejected.count());
+        }
+    }
+
+    private void run() {
+        List<T> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                T first = queue.poll(pollTimeoutNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+                write.accept(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Nunca deixa a thread morrer: o lote se perde, os próximos seguem
+                log.error("Falha inesperada em {}: {}", name, e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Completa o lote com o que já está na fila e, se faltar, espera até maxWait pelos próximos
+    private void fill(List<T> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            T next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.nachapa.api.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Monta ETags fracas ({@code W/"..."}) a partir de valores que mudam junto com a representação
+ * (ids, updatedAt, totais), com um hash FNV-1a de 64 bits: barato e sem serializar a resposta.
+ */
+public final class ETags {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private long hash = FNV_OFFSET;
+
+    private ETags() {
+    }
+
+    public static ETags builder() {
+        return new ETags();
+    }
+
+    public ETags add(long value) {
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            hash = (hash ^ ((value >>> shift) & 0xff)) * FNV_PRIME;
+        }
+        return this;
+    }
+
+    public ETags add(UUID value) {
+        return value == null ? add(0L) : add(value.getMostSignificantBits()).add(value.getLeastSignificantBits());
+    }
+
+    public ETags add(LocalDateTime value) {
+        return value == null ? add(Long.MIN_VALUE) : add(value.toEpochSecond(ZoneOffset.UTC)).add(value.getNano());
+    }
+
+    public ETags add(LocalDate value) {
+        return add(value.toEpochDay());
+    }
+
+    public String weak() {
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+}
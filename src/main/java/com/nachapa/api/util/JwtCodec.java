@@ -0,0 +1,223 @@
+package com.nachapa.api.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.nachapa.api.exceptions.ExpiredTokenException;
+import com.nachapa.api.exceptions.InvalidTokenException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Codec HS256 dedicado aos tokens da aplicação: lê apenas sub, role, tid, iat, exp e jti com o parser
+ * streaming do Jackson (sem Map/reflexão) e ignora o resto. A assinatura é conferida antes de qualquer
+ * parse de JSON e o {@link Mac} é reaproveitado por thread.
+ */
+final class JwtCodec {
+
+    // Tokens da aplicação têm ~250 chars; qualquer coisa muito maior é descartada antes de decodificar
+    static final int MAX_TOKEN_LENGTH = 2048;
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String HS256 = "HS256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final byte[] HEADER = ENCODER.encode("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.US_ASCII));
+
+    private final long allowedClockSkewMillis;
+    private final ThreadLocal<Mac> macs;
+
+    JwtCodec(byte[] secret, long allowedClockSkewMillis) {
+        SecretKeySpec key = new SecretKeySpec(secret, ALGORITHM);
+        this.allowedClockSkewMillis = allowedClockSkewMillis;
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        macs.get(); // falha cedo se o provedor não suportar HmacSHA256
+    }
+
+    String encode(VerifiedToken token) {
+        byte[] payload = ENCODER.encode(writePayload(token));
+        byte[] signingInput = new byte[HEADER.length + 1 + payload.length];
+        System.arraycopy(HEADER, 0, signingInput, 0, HEADER.length);
+        signingInput[HEADER.length] = '.';
+        System.arraycopy(payload, 0, signingInput, HEADER.length + 1, payload.length);
+        byte[] signature = ENCODER.encode(macs.get().doFinal(signingInput));
+
+        byte[] jwt = new byte[signingInput.length + 1 + signature.length];
+        System.arraycopy(signingInput, 0, jwt, 0, signingInput.length);
+        jwt[signingInput.length] = '.';
+        System.arraycopy(signature, 0, jwt, signingInput.length + 1, signature.length);
+        return new String(jwt, StandardCharsets.US_ASCII);
+    }
+
+    VerifiedToken decode(String token, long nowMillis) {
+        if (token == null || token.isEmpty() || token.length() > MAX_TOKEN_LENGTH) {
+            throw new InvalidTokenException();
+        }
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (firstDot <= 0 || secondDot <= firstDot + 1 || token.indexOf('.', secondDot + 1) >= 0) {
+            throw new InvalidTokenException();
+        }
+
+        byte[] signingInput = asciiBytes(token, secondDot);
+        byte[] expected = macs.get().doFinal(signingInput);
+        if (!MessageDigest.isEqual(expected, base64(asciiBytes(token.substring(secondDot + 1))))) {
+            throw new InvalidTokenException();
+        }
+
+        // Assinatura válida: só então o JSON é lido
+        requireHs256(base64(slice(signingInput, 0, firstDot)));
+        VerifiedToken verified = readPayload(base64(slice(signingInput, firstDot + 1, secondDot)));
+        if (verified.isExpiredAt(nowMillis - allowedClockSkewMillis)) {
+            throw new ExpiredTokenException();
+        }
+        return verified;
+    }
+
+    private static byte[] writePayload(VerifiedToken token) {
+        ByteArrayBuilder out = new ByteArrayBuilder(128);
+        try (JsonGenerator json = JSON.createGenerator(out)) {
+            json.writeStartObject();
+            json.writeStringField("sub", token.subject());
+            if (token.role() != null) {
+                json.writeStringField("role", token.role());
+            }
+            if (token.tenantId() != null) {
+                json.writeStringField("tid", token.tenantId().toString());
+            }
+            json.writeNumberField("iat", token.issuedAtMillis() / 1000);
+            json.writeNumberField("exp", token.expiresAtMillis() / 1000);
+            if (token.id() != null) {
+                json.writeStringField("jti", token.id());
+            }
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static VerifiedToken readPayload(byte[] payload) {
+        String subject = null;
+        String role = null;
+        String id = null;
+        UUID tenantId = null;
+        long issuedAt = 0L;
+        long expiresAt = -1L;
+        try (JsonParser json = JSON.createParser(payload)) {
+            if (json.nextToken() != JsonToken.START_OBJECT) {
+                throw new InvalidTokenException();
+            }
+            while (json.nextToken() == JsonToken.FIELD_NAME) {
+                String field = json.currentName();
+                JsonToken value = json.nextToken();
+                switch (field) {
+                    case "sub" -> subject = json.getValueAsString();
+                    case "role" -> role = json.getValueAsString();
+                    case "jti" -> id = json.getValueAsString();
+                    case "tid" -> tenantId = uuid(json.getValueAsString());
+                    case "iat" -> issuedAt = numericDateMillis(json, value);
+                    case "exp" -> expiresAt = numericDateMillis(json, value);
+                    default -> json.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new InvalidTokenException();
+        }
+        // Tokens sem sub ou sem exp nunca são emitidos pela aplicação
+        if (subject == null || expiresAt < 0) {
+            throw new InvalidTokenException();
+        }
+        return new VerifiedToken(id, subject, role, tenantId, issuedAt, expiresAt);
+    }
+
+    private static void requireHs256(byte[] header) {
+        try (JsonParser json = JSON.createParser(header)) {
+            if (json.nextToken() != JsonToken.START_OBJECT) {
+                throw new InvalidTokenException();
+            }
+            while (json.nextToken() == JsonToken.FIELD_NAME) {
+                String field = json.currentName();
+                json.nextToken();
+                if ("alg".equals(field)) {
+                    if (!HS256.equals(json.getValueAsString())) {
+                        throw new InvalidTokenException();
+                    }
+                    return;
+                }
+                json.skipChildren();
+            }
+        } catch (IOException e) {
+            throw new InvalidTokenException();
+        }
+        throw new InvalidTokenException();
+    }
+
+    private static UUID uuid(String value) {
+        try {
+            return value == null ? null : UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTokenException();
+        }
+    }
+
+    // NumericDate do JWT é em segundos
+    private static long numericDateMillis(JsonParser json, JsonToken value) throws IOException {
+        if (value != JsonToken.VALUE_NUMBER_INT) {
+            throw new InvalidTokenException();
+        }
+        long seconds = json.getLongValue();
+        if (seconds < 0 || seconds > Long.MAX_VALUE / 1000L) {
+            throw new InvalidTokenException();
+        }
+        return seconds * 1000L;
+    }
+
+    private static byte[] asciiBytes(String value) {
+        return asciiBytes(value, value.length());
+    }
+
+    private static byte[] asciiBytes(String token, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+            if (c > 0x7F) {
+                throw new InvalidTokenException();
+            }
+            bytes[i] = (byte) c;
+        }
+        return bytes;
+    }
+
+    private static byte[] slice(byte[] source, int from, int to) {
+        byte[] part = new byte[to - from];
+        System.arraycopy(source, from, part, 0, part.length);
+        return part;
+    }
+
+    private static byte[] base64(byte[] value) {
+        try {
+            return DECODER.decode(value);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTokenException();
+        }
+    }
+}
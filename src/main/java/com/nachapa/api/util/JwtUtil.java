@@ -2,20 +2,17 @@ package com.nachapa.api.util;
 
 import com.nachapa.api.dto.jwt.JwtPayloadDto;
 import com.nachapa.api.exceptions.JwtKeyMissingException;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.JwtParser;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.util.Date;
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.nachapa.api.config.constants.MetricsConstants.JWT_VERIFY;
 
 @Component
 public class JwtUtil {
@@ -26,27 +23,36 @@ public class JwtUtil {
     @Value("${jwt.expiration-time}")
     private long expirationTime;
 
-    private SecretKey secretKey;
+    private JwtCodec codec;
 
-    private JwtParser parser;
+    private Clock clock = Clock.systemUTC();
 
     public static final int BEARER_PREFIX_LENGTH = 7;
     public static final String BEARER_PREFIX = "Bearer ";
+    public static final String ROLE_CLAIM = "role";
+    public static final String TENANT_CLAIM = "tid";
+    public static final long ALLOWED_CLOCK_SKEW_MILLIS = 5_000L;
 
     @PostConstruct
     public void init() {
         if (secret == null || secret.length() < 32) {
             throw new JwtKeyMissingException();
         }
-        this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         // tolerância de 5s para evitar flutuação de relógio em testes/ambiente
-        this.parser = Jwts.parserBuilder().setSigningKey(secretKey).setAllowedClockSkewSeconds(5).build();
+        this.codec = new JwtCodec(secret.getBytes(StandardCharsets.UTF_8), ALLOWED_CLOCK_SKEW_MILLIS);
     }
 
     public String generateToken(JwtPayloadDto jwtPayloadDto) {
-        Date now = new Date();
-        Date exp = new Date(now.getTime() + expirationTime);
-        return Jwts.builder().setSubject(jwtPayloadDto.getEmail()).claim("role", jwtPayloadDto.getRole()).setIssuedAt(now).setExpiration(exp).signWith(secretKey, SignatureAlgorithm.HS256).compact();
+        long now = clock.millis();
+        String role = jwtPayloadDto.getRole() != null ? jwtPayloadDto.getRole().name() : null;
+        return codec.encode(new VerifiedToken(newTokenId(), jwtPayloadDto.getEmail(), role,
+                jwtPayloadDto.getTenantId(), now, now + expirationTime));
+    }
+
+    // jti só precisa ser único; ThreadLocalRandom evita a contenção do SecureRandom de UUID.randomUUID()
+    private static String newTokenId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new UUID(random.nextLong(), random.nextLong()).toString();
     }
 
     //     Remove prefixo "Bearer " se presente.
@@ -55,38 +61,21 @@ public class JwtUtil {
         return tokenOrBearer.startsWith(BEARER_PREFIX) ? tokenOrBearer.substring(BEARER_PREFIX_LENGTH) : tokenOrBearer;
     }
 
-    //     Extrai claims; pode lançar ExpiredJwtException/SignatureException se o chamador quiser tratar.
-    public Claims extractClaims(String tokenOrBearer) {
-        String token = rawToken(tokenOrBearer);
-        return parser.parseClaimsJws(token).getBody();
+    //     Único ponto de parse: verifica assinatura/expiração uma vez e devolve o valor imutável que o resto da
+    //     requisição reutiliza. Lança InvalidTokenException (ou ExpiredTokenException) se o token não servir.
+    @Timed(JWT_VERIFY)
+    public VerifiedToken verify(String tokenOrBearer) {
+        return codec.decode(rawToken(tokenOrBearer), clock.millis());
     }
 
-    //     Extrai o subject (email) a partir de um header Authorization: Bearer ...
-    public String extractEmailUser(String bearer) {
-        return extractClaims(bearer).getSubject();
+    //     Checagem barata sobre um token já verificado (ex.: conexões longas); não faz novo parse.
+    //     Mesma tolerância de relógio do verify: o que ele aceitou não aparece aqui como expirado.
+    public boolean isTokenExpired(VerifiedToken token) {
+        return token.isExpiredAt(clock.millis() - ALLOWED_CLOCK_SKEW_MILLIS);
     }
 
-    //     Retorna true se expirado; não propaga ExpiredJwtException.
-    public boolean isTokenExpired(String tokenOrBearer) {
-        try {
-            Date exp = extractClaims(tokenOrBearer).getExpiration();
-            return exp.before(new Date());
-        } catch (ExpiredJwtException e) {
-            return true;
-        } catch (JwtException e) {
-            // token inválido por qualquer outro motivo (assinatura, formato, etc.)
-            return true;
-        }
-    }
-
-    //     Validação booleana: subject bate e não expirou; não propaga exceções.
-    public boolean isTokenValid(String tokenOrBearer, String expectedEmail) {
-        try {
-            Claims claims = extractClaims(tokenOrBearer);
-            String subject = claims.getSubject();
-            return expectedEmail.equals(subject) && !isTokenExpired(tokenOrBearer);
-        } catch (JwtException e) {
-            return false;
-        }
+    //     Validação booleana: subject bate e não expirou.
+    public boolean isTokenValid(VerifiedToken token, String expectedEmail) {
+        return expectedEmail.equals(token.subject()) && !isTokenExpired(token);
     }
-}
\ No newline at end of file
+}
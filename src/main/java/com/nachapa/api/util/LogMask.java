@@ -0,0 +1,63 @@
+package com.nachapa.api.util;
+
+/**
+ * Mascaramento de dados pessoais para argumentos de log. Devolve um objeto cujo {@code toString()} só
+ * mascara quando a mensagem é de fato formatada (evento descartado por nível/amostragem não paga nada),
+ * percorrendo os caracteres uma vez, sem regex.
+ * <p>
+ * Ex.: {@code log.info("Login para {}", LogMask.email(email))} gera {@code j***@gmail.com}.
+ */
+public final class LogMask {
+
+    private static final char MASK = '*';
+    private static final int CPF_VISIBLE_DIGITS = 2;
+
+    private LogMask() {
+    }
+
+    public static Object email(String email) {
+        return email == null ? null : new Masked(email, true);
+    }
+
+    public static Object cpf(String cpf) {
+        return cpf == null ? null : new Masked(cpf, false);
+    }
+
+    // Mantém o primeiro caractere do usuário e o domínio inteiro: "joao.silva@gmail.com" -> "j***@gmail.com"
+    static String maskEmail(String email) {
+        int at = email.indexOf('@');
+        if (at <= 0) {
+            return "***";
+        }
+        StringBuilder masked = new StringBuilder(email.length() - at + 4);
+        masked.append(email.charAt(0)).append(MASK).append(MASK).append(MASK);
+        masked.append(email, at, email.length());
+        return masked.toString();
+    }
+
+    // Mantém a pontuação e só os 2 últimos dígitos: "123.456.789-01" -> "***.***.***-01"
+    static String maskCpf(String cpf) {
+        int digits = 0;
+        for (int i = 0; i < cpf.length(); i++) {
+            if (Character.isDigit(cpf.charAt(i))) {
+                digits++;
+            }
+        }
+        char[] masked = cpf.toCharArray();
+        int seen = 0;
+        for (int i = 0; i < masked.length; i++) {
+            if (Character.isDigit(masked[i]) && ++seen <= digits - CPF_VISIBLE_DIGITS) {
+                masked[i] = MASK;
+            }
+        }
+        return new String(masked);
+    }
+
+    private record Masked(String value, boolean email) {
+
+        @Override
+        public String toString() {
+            return email ? maskEmail(value) : maskCpf(value);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.nachapa.api.util;
+
+import java.util.UUID;
+
+/**
+ * Token JWT já verificado (assinatura + expiração) uma única vez por {@link JwtUtil#verify(String)}.
+ * Imutável e reaproveitado pelo restante da requisição; instantes em epoch millis para checagens sem alocação.
+ * {@code tenantId} é o restaurante do usuário (claim {@code tid}); null em tokens emitidos antes dele existir.
+ */
+public record VerifiedToken(String id, String subject, String role, UUID tenantId, long issuedAtMillis,
+                            long expiresAtMillis) {
+
+    // Sem tolerância de relógio: quem aplica é JwtCodec/JwtUtil
+    public boolean isExpiredAt(long nowMillis) {
+        return expiresAtMillis <= nowMillis;
+    }
+}
@@ -0,0 +1,96 @@
+-- Executado após o ddl-auto do Hibernate (spring.jpa.defer-datasource-initialization) a cada partida.
+-- Tudo com IF NOT EXISTS: em tabelas grandes já em produção, crie os índices antes com
+-- CREATE INDEX CONCURRENTLY (mesmos nomes) para não bloquear escritas no deploy.
+
+-- Exige permissão de CREATE no banco na primeira execução (ou as extensões criadas antes pelo DBA).
+-- btree_gin permite tenant_id (uuid) como primeira coluna dos índices GIN de trigramas
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+-- Restaurante padrão: dono dos usuários de antes do multi-restaurante e dos cadastros sem X-Restaurant-Id
+INSERT INTO tb_restaurant (id, name, slug, active, created_at)
+VALUES ('00000000-0000-0000-0000-000000000001', 'NaChapa', 'nachapa', TRUE, now())
+ON CONFLICT (id) DO NOTHING;
+-- Migração única dos usuários de antes da coluna: só roda enquanto tenant_id ainda aceita NULL, para as partidas
+-- seguintes não fazerem a varredura nem o ALTER TABLE (lock ACCESS EXCLUSIVE). Corpo entre aspas simples e não
+-- $$: o ScriptUtils do Spring divide o script nos ";" e não reconhece dollar quoting
+DO '
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = ''tb_user''
+                 AND column_name = ''tenant_id'' AND is_nullable = ''YES'') THEN
+        UPDATE tb_user SET tenant_id = ''00000000-0000-0000-0000-000000000001'' WHERE tenant_id IS NULL;
+        ALTER TABLE tb_user ALTER COLUMN tenant_id SET NOT NULL;
+    END IF;
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = ''tb_user_archive''
+                 AND column_name = ''tenant_id'' AND is_nullable = ''YES'') THEN
+        UPDATE tb_user_archive SET tenant_id = ''00000000-0000-0000-0000-000000000001'' WHERE tenant_id IS NULL;
+        ALTER TABLE tb_user_archive ALTER COLUMN tenant_id SET NOT NULL;
+    END IF;
+END';
+
+-- Todo acesso de um restaurante começa por tenant_id: a rede grande e o restaurante pequeno percorrem só
+-- as próprias linhas. Busca por parte do nome/e-mail (LIKE '%termo%' sobre lower(...)) nos trigramas,
+-- parciais porque a busca só considera ativos (substituem idx_tb_user_name/email_trgm_active)
+CREATE INDEX IF NOT EXISTS idx_tb_user_tenant_name_trgm ON tb_user
+    USING gin (tenant_id, lower(name) gin_trgm_ops) WHERE is_active;
+CREATE INDEX IF NOT EXISTS idx_tb_user_tenant_email_trgm ON tb_user
+    USING gin (tenant_id, lower(email) gin_trgm_ops) WHERE is_active;
+DROP INDEX IF EXISTS idx_tb_user_name_trgm_active;
+DROP INDEX IF EXISTS idx_tb_user_email_trgm_active;
+DROP INDEX IF EXISTS idx_tb_user_name_trgm;
+DROP INDEX IF EXISTS idx_tb_user_email_trgm;
+
+-- Listagem padrão (ordenada por nome) e a contagem da página só sobre os ativos do restaurante
+CREATE INDEX IF NOT EXISTS idx_tb_user_tenant_active_name ON tb_user (tenant_id, name) WHERE is_active;
+DROP INDEX IF EXISTS idx_tb_user_active_name;
+
+-- CPF por prefixo na busca (LIKE '123%') dentro do restaurante
+CREATE INDEX IF NOT EXISTS idx_tb_user_tenant_cpf_prefix ON tb_user (tenant_id, cpf text_pattern_ops) WHERE is_active;
+
+-- Candidatos do UserArchiver: inativos pela data de inativação. Inativos de antes da coluna existir contam
+-- a partir do último updated_at (o UPDATE só encontra linhas na primeira execução)
+CREATE INDEX IF NOT EXISTS idx_tb_user_inactive_since ON tb_user (deactivated_at) WHERE NOT is_active;
+UPDATE tb_user SET deactivated_at = updated_at WHERE NOT is_active AND deactivated_at IS NULL;
+
+-- CPF exato (findByCpf no cadastro: o CPF é único entre todos os restaurantes), independente da collation
+CREATE INDEX IF NOT EXISTS idx_tb_user_cpf_prefix ON tb_user (cpf text_pattern_ops);
+
+-- Montagem do cardápio (MenuCatalog): categorias e itens do restaurante na ordem de exibição
+CREATE INDEX IF NOT EXISTS idx_tb_menu_category_tenant ON tb_menu_category (tenant_id, position);
+CREATE INDEX IF NOT EXISTS idx_tb_menu_item_tenant ON tb_menu_item (tenant_id, position);
+
+-- Itens de um pedido
+CREATE INDEX IF NOT EXISTS idx_tb_order_item_order ON tb_order_item (order_id);
+-- Comanda do dia ("pedido 42 de hoje") e garantia contra número repetido se o alocador falhar
+CREATE UNIQUE INDEX IF NOT EXISTS ux_tb_order_tenant_day_number ON tb_order (tenant_id, business_date, order_number);
+
+-- Histórico de posições dos entregadores: só cresce em ordem de chegada, então BRIN (poucas páginas) atende a
+-- sincronização entre instâncias (últimos segundos) e a limpeza por retenção
+CREATE INDEX IF NOT EXISTS idx_tb_courier_location_received ON tb_courier_location USING brin (received_at);
+
+-- Os CHECK de enum gerados pelo Hibernate na criação das tabelas listam os perfis daquele momento; em bases
+-- criadas antes do COURIER eles recusariam o novo perfil. Os valores válidos ficam com o RoleEnum.
+-- ALTER TABLE só para os que ainda existem: DROP CONSTRAINT IF EXISTS travaria a tabela a cada partida
+DO '
+DECLARE
+    c record;
+BEGIN
+    FOR c IN SELECT conrelid::regclass AS table_name, conname FROM pg_constraint
+             WHERE connamespace = current_schema()::regnamespace
+               AND conname IN (''tb_user_role_check'', ''tb_user_archive_role_check'',
+                               ''tb_order_event_actor_role_check'')
+    LOOP
+        EXECUTE format(''ALTER TABLE %s DROP CONSTRAINT %I'', c.table_name, c.conname);
+    END LOOP;
+END';
+
+-- Fila do outbox: o relay busca os pendentes mais antigos; índice parcial fica pequeno com a fila em dia
+-- (eventos FAILED saem dele)
+CREATE INDEX IF NOT EXISTS idx_tb_outbox_event_pending_status ON tb_outbox_event (created_at)
+    WHERE status = 'PENDING' AND published_at IS NULL;
+DROP INDEX IF EXISTS idx_tb_outbox_event_pending;
+
+-- Limpeza periódica das chaves de idempotência expiradas
+CREATE INDEX IF NOT EXISTS idx_tb_idempotency_key_expires ON tb_idempotency_key (expires_at);
@@ -0,0 +1,109 @@
+package com.nachapa.api.archive;
+
+import com.nachapa.api.repository.ArchivedUserRepository;
+import com.nachapa.api.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static com.nachapa.api.config.constants.MetricsConstants.ARCHIVE_RUN;
+import static com.nachapa.api.config.constants.MetricsConstants.ARCHIVE_USERS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserArchiverTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-01T03:00:00Z");
+    private static final LocalDateTime NOW_LOCAL = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ArchivedUserRepository archivedUserRepository;
+
+    private final UserArchiveProperties properties = new UserArchiveProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        properties.setChunkSize(2);
+        properties.setMaxChunksPerRun(3);
+        properties.setRetention(Duration.ofDays(30));
+        properties.setPause(Duration.ZERO);
+        archiver = new UserArchiver(userRepository, archivedUserRepository, TransactionOperations.withoutTransaction(),
+                properties, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("archive: move lotes com a data de corte da retenção até o primeiro lote incompleto")
+    void archive_movesChunksUntilShortChunk() {
+        List<UUID> first = List.of(UUID.randomUUID(), UUID.randomUUID());
+        List<UUID> second = List.of(UUID.randomUUID());
+        LocalDateTime cutoff = NOW_LOCAL.minusDays(30);
+        when(userRepository.findArchivableIds(cutoff, Limit.of(2))).thenReturn(first).thenReturn(second);
+
+        archiver.archive();
+
+        verify(archivedUserRepository).copyFromUsers(first, NOW_LOCAL);
+        verify(userRepository).deleteByIds(first);
+        verify(archivedUserRepository).copyFromUsers(second, NOW_LOCAL);
+        verify(userRepository).deleteByIds(second);
+        assertThat(meterRegistry.counter(ARCHIVE_USERS).count()).isEqualTo(3);
+        assertThat(meterRegistry.timer(ARCHIVE_RUN).count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("archive: no máximo max-chunks-per-run lotes por ciclo, mesmo com fila cheia")
+    void archive_stopsAtMaxChunks() {
+        when(userRepository.findArchivableIds(any(), any()))
+                .thenAnswer(invocation -> List.of(UUID.randomUUID(), UUID.randomUUID()));
+
+        archiver.archive();
+
+        verify(userRepository, times(3)).findArchivableIds(any(), any());
+        assertThat(meterRegistry.counter(ARCHIVE_USERS).count()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("archive: nada a arquivar não copia nem apaga")
+    void archive_nothingToDo() {
+        when(userRepository.findArchivableIds(any(), any())).thenReturn(List.of());
+
+        archiver.archive();
+
+        verifyNoInteractions(archivedUserRepository);
+        verify(userRepository, never()).deleteByIds(any());
+    }
+
+    @Test
+    @DisplayName("archive: desligado não consulta o banco")
+    void archive_disabled() {
+        properties.setEnabled(false);
+
+        archiver.archive();
+
+        verifyNoInteractions(userRepository, archivedUserRepository);
+    }
+}
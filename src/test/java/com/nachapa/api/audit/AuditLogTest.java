@@ -0,0 +1,194 @@
+package com.nachapa.api.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuditLogTest {
+
+    private static final UUID USER_ID = UUID.fromString("0b6f8f5e-3c1d-4a57-9a34-6f0d2b1c9e10");
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("grava os eventos em ordem com IP da requisição, autor autenticado e e-mail só como hash")
+    void recordsEvents() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("203.0.113.7");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        AuditLog auditLog = open(64);
+        auditLog.loginFailed(null, "Maria@Email.com ");
+        auditLog.loginSucceeded(USER_ID, "maria@email.com");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin@nachapa.com", null, List.of()));
+        auditLog.userDeactivated(USER_ID, "maria@email.com");
+        auditLog.close();
+
+        List<AuditRecord> records = readAll();
+        assertThat(records).extracting(AuditRecord::sequence).containsExactly(1L, 2L, 3L);
+        assertThat(records).extracting(AuditRecord::type).containsExactly(
+                AuditEventType.LOGIN_FAILED, AuditEventType.LOGIN_SUCCEEDED, AuditEventType.USER_DEACTIVATED);
+        assertThat(records.get(0).userId()).isNull();
+        assertThat(records.get(1).userId()).isEqualTo(USER_ID);
+        // Normalizado: a busca pelo e-mail acha as duas grafias
+        assertThat(records).extracting(AuditRecord::emailHash).containsOnly(AuditRecord.idHash("maria@email.com"));
+        assertThat(records.get(0).address().getHostAddress()).isEqualTo("203.0.113.7");
+        assertThat(records.get(1).actorHash()).isNull();
+        assertThat(records.get(2).actorHash()).isEqualTo(AuditRecord.idHash("admin@nachapa.com"));
+        assertThat(AuditLogReader.verify(directory).intact()).isTrue();
+    }
+
+    @Test
+    @DisplayName("rotaciona segmentos e retoma a sequência e a cadeia depois de reabrir")
+    void rotatesAndResumes() throws Exception {
+        AuditLog auditLog = open(4);
+        for (int i = 0; i < 6; i++) {
+            auditLog.userRegistered(UUID.randomUUID(), "user" + i + "@email.com");
+        }
+        auditLog.close();
+        assertThat(AuditLogReader.segments(directory)).hasSize(2);
+
+        AuditLog reopened = open(4);
+        for (int i = 0; i < 3; i++) {
+            reopened.loginSucceeded(USER_ID, "maria@email.com");
+        }
+        reopened.close();
+
+        assertThat(AuditLogReader.segments(directory)).extracting(path -> path.getFileName().toString())
+                .containsExactly(AuditLogReader.segmentName(1), AuditLogReader.segmentName(5),
+                        AuditLogReader.segmentName(9));
+        AuditLogReader.Verification verification = AuditLogReader.verify(directory);
+        assertThat(verification.intact()).isTrue();
+        assertThat(verification.records()).isEqualTo(9);
+        assertThat(readAll()).extracting(AuditRecord::sequence).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+    }
+
+    @Test
+    @DisplayName("verify aponta o primeiro registro alterado")
+    void detectsTampering() throws Exception {
+        AuditLog auditLog = open(64);
+        for (int i = 0; i < 5; i++) {
+            auditLog.loginFailed(null, "user" + i + "@email.com");
+        }
+        auditLog.close();
+
+        // Troca o tipo do registro 3 (LOGIN_FAILED -> LOGIN_SUCCEEDED)
+        Path segment = AuditLogReader.segments(directory).get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{AuditEventType.LOGIN_SUCCEEDED.getCode()}),
+                    2L * AuditRecord.SIZE + AuditRecord.OFFSET_TYPE);
+        }
+
+        AuditLogReader.Verification verification = AuditLogReader.verify(directory);
+        assertThat(verification.intact()).isFalse();
+        assertThat(verification.brokenAt()).isEqualTo(3);
+        assertThat(verification.records()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("registro incompleto no fim do segmento é descartado ao retomar")
+    void dropsTornTail() throws Exception {
+        AuditLog auditLog = open(64);
+        auditLog.loginSucceeded(USER_ID, "maria@email.com");
+        auditLog.loginSucceeded(USER_ID, "maria@email.com");
+        auditLog.close();
+
+        Path segment = AuditLogReader.segments(directory).get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(AuditRecord.HASH_LENGTH), AuditRecord.SIZE + AuditRecord.OFFSET_HASH);
+        }
+
+        AuditLog reopened = open(64);
+        reopened.userRegistered(USER_ID, "maria@email.com");
+        reopened.close();
+
+        assertThat(AuditLogReader.verify(directory).intact()).isTrue();
+        assertThat(readAll()).extracting(AuditRecord::type)
+                .containsExactly(AuditEventType.LOGIN_SUCCEEDED, AuditEventType.USER_REGISTERED);
+    }
+
+    @Test
+    @DisplayName("segundo processo no mesmo diretório é recusado")
+    void lockedDirectory() throws Exception {
+        AuditSegments segments = new AuditSegments(directory, 4096);
+        try {
+            assertThatThrownBy(() -> new AuditSegments(directory, 4096)).isInstanceOf(IllegalStateException.class);
+        } finally {
+            segments.close();
+        }
+    }
+
+    @Test
+    @DisplayName("AuditLogTool: dump filtra por tipo e e-mail; verify devolve 0 com a cadeia íntegra")
+    void tool() throws Exception {
+        AuditLog auditLog = open(64);
+        auditLog.loginFailed(null, "maria@email.com");
+        auditLog.loginFailed(null, "pedro@email.com");
+        auditLog.loginSucceeded(USER_ID, "maria@email.com");
+        auditLog.close();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int status = AuditLogTool.run(new String[]{"dump", directory.toString(), "--type", "LOGIN_FAILED",
+                "--email", "maria@email.com"}, new PrintStream(out, true, StandardCharsets.UTF_8));
+        assertThat(status).isZero();
+        assertThat(out.toString(StandardCharsets.UTF_8).lines().toList()).singleElement()
+                .satisfies(line -> assertThat(line).startsWith("1\t").contains("\tLOGIN_FAILED\t"));
+
+        out.reset();
+        assertThat(AuditLogTool.run(new String[]{"verify", directory.toString()},
+                new PrintStream(out, true, StandardCharsets.UTF_8))).isZero();
+        assertThat(out.toString(StandardCharsets.UTF_8)).startsWith("OK: 3 registro(s)");
+    }
+
+    @Test
+    @DisplayName("IPv4, IPv6 e nomes de host (não resolvidos) no campo de endereço")
+    void addresses() {
+        assertThat(AuditRecord.address("10.0.0.1")).endsWith(0, 0, (byte) 0xff, (byte) 0xff, 10, 0, 0, 1);
+        assertThat(AuditRecord.address("::1")).endsWith(0, 0, 0, 1);
+        assertThat(AuditRecord.address("300.0.0.1")).containsOnly(0);
+        assertThat(AuditRecord.address("localhost")).containsOnly(0);
+        assertThat(AuditRecord.address(null)).containsOnly(0);
+    }
+
+    private AuditLog open(int recordsPerSegment) throws Exception {
+        AuditProperties properties = new AuditProperties();
+        properties.setDirectory(directory.toString());
+        AuditSegments segments = new AuditSegments(directory, (long) recordsPerSegment * AuditRecord.SIZE);
+        return new AuditLog(segments, properties, new SimpleMeterRegistry());
+    }
+
+    private List<AuditRecord> readAll() throws Exception {
+        List<AuditRecord> records = new ArrayList<>();
+        AuditLogReader.read(directory, record -> true, records::add);
+        return records;
+    }
+}
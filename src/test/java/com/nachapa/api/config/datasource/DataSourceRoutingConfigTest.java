@@ -0,0 +1,43 @@
+package com.nachapa.api.config.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class DataSourceRoutingConfigTest {
+
+    private final DataSourceRoutingConfig config = new DataSourceRoutingConfig();
+    private final DataSourceRoutingProperties routing = new DataSourceRoutingProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Roteamento desligado em runtime: o DataSource é o próprio pool do primário, sem réplicas")
+    void disabledUsesPrimary() throws Exception {
+        routing.getReplicas().add(new DataSourceRoutingProperties.Replica());
+        DataSource primary = mock(DataSource.class);
+
+        try (ReplicaPool replicas = config.replicaPool(routing, new DataSourceProperties(), meterRegistry)) {
+            assertThat(replicas.healthy()).isZero();
+            assertThat(config.dataSource(routing, primary, replicas)).isSameAs(primary);
+        }
+        assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Roteamento ligado em runtime: primário e réplicas atrás do proxy lazy")
+    void enabledRoutes() throws Exception {
+        routing.setEnabled(true);
+
+        try (ReplicaPool replicas = config.replicaPool(routing, new DataSourceProperties(), meterRegistry)) {
+            assertThat(config.dataSource(routing, mock(DataSource.class), replicas))
+                    .isInstanceOf(LazyConnectionDataSourceProxy.class);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.nachapa.api.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PoolSizingPostProcessorTest {
+
+    @Test
+    @DisplayName("poolSize(): núcleos * 2 + 1, limitado pela concorrência esperada e com mínimo de 2")
+    void poolSize() {
+        assertThat(PoolSizingPostProcessor.poolSize(4, 200)).isEqualTo(9);
+        assertThat(PoolSizingPostProcessor.poolSize(16, 20)).isEqualTo(20);
+        assertThat(PoolSizingPostProcessor.poolSize(1, 1)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Aplica o tamanho calculado só quando não há maximum-pool-size explícito")
+    void respectsExplicitSize() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("nachapa.datasource.pool.auto-size", "true")
+                .withProperty("nachapa.datasource.pool.database-cores", "2")
+                .withProperty("nachapa.datasource.pool.expected-concurrency", "50");
+        try (HikariDataSource sized = new HikariDataSource(); HikariDataSource fixed = new HikariDataSource()) {
+            new PoolSizingPostProcessor(environment).postProcessAfterInitialization(sized, "dataSource");
+            assertThat(sized.getMaximumPoolSize()).isEqualTo(5);
+            assertThat(sized.getMinimumIdle()).isEqualTo(5);
+
+            fixed.setMaximumPoolSize(30);
+            environment.setProperty("spring.datasource.hikari.maximum-pool-size", "30");
+            new PoolSizingPostProcessor(environment).postProcessAfterInitialization(fixed, "dataSource");
+            assertThat(fixed.getMaximumPoolSize()).isEqualTo(30);
+        }
+    }
+
+    @Test
+    @DisplayName("Com auto-size=false (ou ausente) não mexe no pool")
+    void disabled() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("nachapa.datasource.pool.auto-size", "false")
+                .withProperty("nachapa.datasource.pool.database-cores", "2");
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            new PoolSizingPostProcessor(environment).postProcessAfterInitialization(dataSource, "dataSource");
+            new PoolSizingPostProcessor(new MockEnvironment()).postProcessAfterInitialization(dataSource, "dataSource");
+            assertThat(dataSource.getMaximumPoolSize()).isEqualTo(10);
+        }
+    }
+}
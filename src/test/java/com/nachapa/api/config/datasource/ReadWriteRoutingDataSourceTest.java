@@ -0,0 +1,136 @@
+package com.nachapa.api.config.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final AtomicLong nanos = new AtomicLong(1_000L);
+
+    @AfterEach
+    void clearReadOnly() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    private static DataSource stub(Connection connection) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+
+    private ReplicaPool pool(DataSource... replicas) {
+        return new ReplicaPool(List.of(replicas), Duration.ofSeconds(30), Duration.ofSeconds(1), nanos::get);
+    }
+
+    @Test
+    @DisplayName("Fora de transação readOnly usa sempre o primário")
+    void writesGoToPrimary() throws Exception {
+        Connection primary = mock(Connection.class);
+        DataSource replica = mock(DataSource.class);
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(stub(primary), pool(replica));
+
+        assertThat(routing.getConnection()).isSameAs(primary);
+        verify(replica, times(0)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Transação readOnly alterna entre as réplicas")
+    void readOnlyRoundRobin() throws Exception {
+        Connection first = mock(Connection.class);
+        Connection second = mock(Connection.class);
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(stub(mock(Connection.class)),
+                pool(stub(first), stub(second)));
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(List.of(routing.getConnection(), routing.getConnection(), routing.getConnection()))
+                .containsExactly(first, second, first);
+    }
+
+    @Test
+    @DisplayName("Réplica com falha é ejetada, volta após o tempo de ejeção e sem réplicas cai no primário")
+    void failingReplicaIsEjected() throws Exception {
+        Connection primary = mock(Connection.class);
+        Connection replicaConnection = mock(Connection.class);
+        DataSource replica = mock(DataSource.class);
+        when(replica.getConnection()).thenThrow(new SQLException("down")).thenReturn(replicaConnection);
+        ReplicaPool pool = pool(replica);
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(stub(primary), pool);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routing.getConnection()).isSameAs(primary);
+        assertThat(pool.healthy()).isZero();
+        assertThat(routing.getConnection()).isSameAs(primary);
+        verify(replica, times(1)).getConnection();
+
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+        assertThat(pool.healthy()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Réplica lenta (entrega a conexão, mas acima do limite) atende esta leitura e é ejetada")
+    void slowReplicaIsEjected() throws Exception {
+        Connection primary = mock(Connection.class);
+        Connection slowConnection = mock(Connection.class);
+        Connection fastConnection = mock(Connection.class);
+        DataSource slow = mock(DataSource.class);
+        when(slow.getConnection()).thenAnswer(invocation -> {
+            nanos.addAndGet(Duration.ofMillis(1500).toNanos());
+            return slowConnection;
+        });
+        ReplicaPool pool = pool(slow, stub(fastConnection));
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(stub(primary), pool);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routing.getConnection()).isSameAs(slowConnection);
+        assertThat(pool.healthy()).isEqualTo(1);
+        assertThat(List.of(routing.getConnection(), routing.getConnection(), routing.getConnection()))
+                .containsOnly(fastConnection);
+        verify(slow, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Com o proxy lazy, @Transactional(readOnly = true) chega à réplica")
+    void lazyProxyRoutesReadOnlyTransactions() throws Exception {
+        Connection primary = mock(Connection.class);
+        Connection replica = mock(Connection.class);
+        when(primary.getAutoCommit()).thenReturn(true);
+        when(replica.getAutoCommit()).thenReturn(true);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(stub(primary), pool(stub(replica))));
+        TransactionTemplate transactions = new TransactionTemplate(new JdbcTransactionManager(dataSource));
+
+        transactions.setReadOnly(true);
+        transactions.executeWithoutResult(status -> {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.createStatement();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        verify(replica).createStatement();
+        verify(primary, times(0)).createStatement();
+    }
+}
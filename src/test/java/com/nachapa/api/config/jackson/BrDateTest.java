@@ -0,0 +1,81 @@
+package com.nachapa.api.config.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.nachapa.api.dto.user.UserRequestDto;
+import com.nachapa.api.dto.user.UserResponseDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BrDateTest {
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).build();
+
+    @Test
+    @DisplayName("serialize: escreve dd/MM/yyyy com zeros à esquerda")
+    void serialize() throws Exception {
+        assertThat(mapper.writeValueAsString(response(LocalDate.of(1998, 1, 5)))).contains("\"data-nascimento\":\"05/01/1998\"");
+        assertThat(mapper.writeValueAsString(response(LocalDate.of(987, 12, 31)))).contains("\"data-nascimento\":\"31/12/0987\"");
+        assertThat(mapper.writeValueAsString(response(null))).contains("\"data-nascimento\":null");
+    }
+
+    @Test
+    @DisplayName("serialize: mesmo resultado do DateTimeFormatter do padrão")
+    void serializeMatchesFormatter() throws Exception {
+        for (LocalDate date = LocalDate.of(1999, 12, 1); date.isBefore(LocalDate.of(2001, 3, 1)); date = date.plusDays(1)) {
+            assertThat(mapper.writeValueAsString(response(date)))
+                    .contains("\"data-nascimento\":\"" + BrDate.FORMATTER.format(date) + "\"");
+        }
+    }
+
+    @Test
+    @DisplayName("deserialize: caminho rápido lê a data canônica e faz round-trip")
+    void deserialize() throws Exception {
+        UserRequestDto request = mapper.readValue("{\"data-nascimento\":\"29/02/2000\"}", UserRequestDto.class);
+        assertThat(request.getBirthDate()).isEqualTo(LocalDate.of(2000, 2, 29));
+
+        UserResponseDto response = mapper.readValue(mapper.writeValueAsString(response(LocalDate.of(1970, 7, 9))), UserResponseDto.class);
+        assertThat(response.getBirthDate()).isEqualTo(LocalDate.of(1970, 7, 9));
+    }
+
+    @Test
+    @DisplayName("deserialize: fora do formato canônico mantém o comportamento do @JsonFormat")
+    void deserializeFallback() throws Exception {
+        // Resolver SMART do DateTimeFormatter ajusta o dia ao fim do mês
+        assertThat(mapper.readValue("{\"data-nascimento\":\"31/02/2001\"}", UserRequestDto.class).getBirthDate())
+                .isEqualTo(LocalDate.of(2001, 2, 28));
+        assertThat(mapper.readValue("{\"data-nascimento\":null}", UserRequestDto.class).getBirthDate()).isNull();
+
+        assertThatThrownBy(() -> mapper.readValue("{\"data-nascimento\":\"1998-10-20\"}", UserRequestDto.class))
+                .isInstanceOf(InvalidFormatException.class);
+        assertThatThrownBy(() -> mapper.readValue("{\"data-nascimento\":\"20/13/1998\"}", UserRequestDto.class))
+                .isInstanceOf(InvalidFormatException.class);
+        assertThatThrownBy(() -> mapper.readValue("{\"data-nascimento\":\"2a/10/1998\"}", UserRequestDto.class))
+                .isInstanceOf(InvalidFormatException.class);
+    }
+
+    @Test
+    @DisplayName("parseCanonical: recusa textos que o caminho rápido não deve decidir")
+    void parseCanonical() {
+        assertThat(BrDate.parseCanonical("20/10/1998")).isEqualTo(LocalDate.of(1998, 10, 20));
+        assertThat(BrDate.parseCanonical("00/10/1998")).isNull();
+        assertThat(BrDate.parseCanonical("31/04/1998")).isNull();
+        assertThat(BrDate.parseCanonical("20/10/0000")).isNull();
+        assertThat(BrDate.parseCanonical("20-10-1998")).isNull();
+        assertThat(BrDate.parseCanonical("2/10/1998")).isNull();
+    }
+
+    private static UserResponseDto response(LocalDate birthDate) {
+        UserResponseDto dto = new UserResponseDto();
+        dto.setName("Maria");
+        dto.setBirthDate(birthDate);
+        return dto;
+    }
+}
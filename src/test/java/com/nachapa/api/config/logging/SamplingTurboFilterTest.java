@@ -0,0 +1,61 @@
+package com.nachapa.api.config.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SamplingTurboFilterTest {
+
+    @Test
+    @DisplayName("Deixa passar até maxPerSecond eventos do logger configurado e descarta o excedente")
+    void limitsConfiguredLoggerOnly() {
+        LoggerContext context = new LoggerContext();
+        Logger slow = context.getLogger("org.hibernate.SQL_SLOW");
+        Logger other = context.getLogger("com.nachapa.api");
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setLoggerName("org.hibernate.SQL_SLOW");
+        filter.setMaxPerSecond(2);
+        AtomicLong now = new AtomicLong(10_000L);
+        filter.setClock(now::get);
+
+        assertThat(filter.decide(null, slow, Level.INFO, "q", null, null)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.decide(null, slow, Level.INFO, "q", null, null)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.decide(null, slow, Level.INFO, "q", null, null)).isEqualTo(FilterReply.DENY);
+        assertThat(filter.decide(null, other, Level.INFO, "x", null, null)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.getDropped()).isEqualTo(1);
+
+        // novo segundo, nova cota
+        now.addAndGet(1_000L);
+        assertThat(filter.decide(null, slow, Level.INFO, "q", null, null)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    @DisplayName("sampleEvery mantém 1 a cada N eventos INFO e nunca descarta WARN/ERROR")
+    void samplesInfoButKeepsWarnings() {
+        LoggerContext context = new LoggerContext();
+        Logger service = context.getLogger("com.nachapa.api.service.impl.UserServiceImpl");
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setLoggerName("com.nachapa.api.service");
+        filter.setSampleEvery(3);
+
+        int kept = 0;
+        for (int i = 0; i < 9; i++) {
+            if (filter.decide(null, service, Level.INFO, "ok", null, null) == FilterReply.NEUTRAL) {
+                kept++;
+            }
+        }
+
+        assertThat(kept).isEqualTo(3);
+        assertThat(filter.decide(null, service, Level.WARN, "falha", null, null)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.decide(null, service, Level.ERROR, "falha", null, null)).isEqualTo(FilterReply.NEUTRAL);
+        // isInfoEnabled() (format nulo) não consome a amostragem
+        assertThat(filter.decide(null, service, Level.INFO, null, null, null)).isEqualTo(FilterReply.NEUTRAL);
+    }
+}
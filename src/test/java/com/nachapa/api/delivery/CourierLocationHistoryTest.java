@@ -0,0 +1,121 @@
+package com.nachapa.api.delivery;
+
+import com.nachapa.api.repository.CourierLocationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static com.nachapa.api.config.constants.MetricsConstants.DELIVERY_LOCATION_BATCH;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Gravação em lote, sincronização e limpeza contra o schema gerado pelas entidades
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CourierLocationHistoryTest {
+
+    private static final UUID RESTAURANT = UUID.fromString("6f1c2d3e-4b5a-4c6d-8e7f-9a0b1c2d3e4f");
+    private static final Instant NOW = Instant.parse("2025-06-06T23:30:00Z");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CourierLocationRepository repository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+    private JdbcTemplate jdbcTemplate;
+    private CourierTracker tracker;
+    private CourierLocationHistory history;
+
+    @BeforeEach
+    void setUp() {
+        DeliveryProperties properties = new DeliveryProperties();
+        properties.setBatchSize(2);
+        properties.setFlushInterval(Duration.ofMillis(50));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        tracker = new CourierTracker(properties, meterRegistry, clock);
+        history = new CourierLocationHistory(jdbcTemplate, new TransactionTemplate(transactionManager), tracker,
+                properties, meterRegistry, clock);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        history.close();
+        repository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("record: posições gravadas em lotes de até batch-size; close esvazia a fila")
+    void record_writesInBatches() throws InterruptedException {
+        history.record(List.of(ping("maria@neoapp.com", NOW.minusSeconds(10)), ping("maria@neoapp.com", NOW.minusSeconds(5)),
+                ping("joao@neoapp.com", NOW)));
+        history.close();
+
+        assertThat(repository.findAll())
+                .extracting(CourierLocation::getCourier)
+                .containsExactlyInAnyOrder("maria@neoapp.com", "maria@neoapp.com", "joao@neoapp.com");
+        assertThat(repository.findAll()).allSatisfy(location -> assertThat(location.getTenantId()).isEqualTo(RESTAURANT));
+        assertThat(meterRegistry.summary(DELIVERY_LOCATION_BATCH).max()).isEqualTo(2);
+        assertThat(meterRegistry.summary(DELIVERY_LOCATION_BATCH).totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("sync: posição gravada por outra instância entra no tracker; a mais antiga não sobrepõe a atual")
+    void sync_appliesOtherInstancesPositions() {
+        tracker.update(RESTAURANT, "maria@neoapp.com", -23.5614, -46.6559, NOW.minusSeconds(1));
+        insert("joao@neoapp.com", NOW.minusSeconds(2), NOW.minusSeconds(1));
+        insert("maria@neoapp.com", NOW.minusSeconds(3), NOW.minusSeconds(1));
+        // Recebida antes da janela de sincronização
+        insert("ana@neoapp.com", NOW.minusSeconds(20), NOW.minusSeconds(20));
+
+        history.sync();
+
+        assertThat(tracker.current(RESTAURANT, "joao@neoapp.com")).isNotNull();
+        assertThat(tracker.current(RESTAURANT, "maria@neoapp.com").recordedAt()).isEqualTo(NOW.minusSeconds(1));
+        assertThat(tracker.current(RESTAURANT, "ana@neoapp.com")).isNull();
+    }
+
+    @Test
+    @DisplayName("cleanup: remove o que passou da retenção")
+    void cleanup_removesExpiredHistory() {
+        insert("maria@neoapp.com", NOW.minus(Duration.ofDays(31)), NOW.minus(Duration.ofDays(31)));
+        insert("maria@neoapp.com", NOW.minus(Duration.ofDays(1)), NOW.minus(Duration.ofDays(1)));
+
+        history.cleanup();
+
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    private static CourierPing ping(String courier, Instant recordedAt) {
+        return new CourierPing(RESTAURANT, courier, -23.5614, -46.6559, recordedAt, NOW);
+    }
+
+    private void insert(String courier, Instant recordedAt, Instant receivedAt) {
+        jdbcTemplate.update(CourierLocationHistory.INSERT_LOCATION, RESTAURANT, courier, -23.56, -46.65,
+                Timestamp.from(recordedAt), Timestamp.from(receivedAt));
+    }
+}
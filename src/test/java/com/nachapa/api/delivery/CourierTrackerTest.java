@@ -0,0 +1,104 @@
+package com.nachapa.api.delivery;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static com.nachapa.api.config.constants.MetricsConstants.DELIVERY_COURIERS_ONLINE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CourierTrackerTest {
+
+    private static final UUID RESTAURANT = UUID.fromString("6f1c2d3e-0000-4000-8000-000000000042");
+    private static final UUID OTHER = UUID.fromString("6f1c2d3e-0000-4000-8000-000000000043");
+    // Avenida Paulista, São Paulo
+    private static final double LAT = -23.5614;
+    private static final double LON = -46.6559;
+    private static final Instant T0 = Instant.parse("2025-06-06T23:30:00Z");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock(T0);
+    private CourierTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new CourierTracker(new DeliveryProperties(), meterRegistry, clock);
+    }
+
+    @Test
+    @DisplayName("nearby: só entregadores do restaurante dentro do raio, do mais próximo ao mais distante")
+    void nearby_filtersAndSortsByDistance() {
+        tracker.update(RESTAURANT, "longe@neoapp.com", LAT + 0.018, LON, T0);      // ~2 km
+        tracker.update(RESTAURANT, "perto@neoapp.com", LAT + 0.002, LON, T0);      // ~220 m
+        tracker.update(RESTAURANT, "fora@neoapp.com", LAT + 0.05, LON, T0);        // ~5,5 km
+        tracker.update(OTHER, "outro@neoapp.com", LAT, LON, T0);
+
+        assertThat(tracker.nearby(RESTAURANT, LAT, LON, 3_000, 10))
+                .extracting(nearby -> nearby.position().courier())
+                .containsExactly("perto@neoapp.com", "longe@neoapp.com");
+        assertThat(tracker.nearby(RESTAURANT, LAT, LON, 3_000, 1)).hasSize(1);
+        assertThat(meterRegistry.get(DELIVERY_COURIERS_ONLINE).gauge().value()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("update: entregador que se move troca de célula; posição mais antiga que a atual é ignorada")
+    void update_movesBetweenCellsAndIgnoresOlderPositions() {
+        tracker.update(RESTAURANT, "maria@neoapp.com", LAT, LON, T0);
+        assertThat(tracker.update(RESTAURANT, "maria@neoapp.com", LAT + 0.03, LON, T0.plusSeconds(10))).isTrue();
+        // Lote atrasado chega depois da posição nova
+        assertThat(tracker.update(RESTAURANT, "maria@neoapp.com", LAT, LON, T0.plusSeconds(5))).isFalse();
+
+        assertThat(tracker.current(RESTAURANT, "maria@neoapp.com").latitude()).isEqualTo(LAT + 0.03);
+        assertThat(tracker.nearby(RESTAURANT, LAT, LON, 1_000, 10)).isEmpty();
+        assertThat(tracker.nearby(RESTAURANT, LAT + 0.03, LON, 1_000, 10)).hasSize(1);
+        // Raio que cobre as duas células: o entregador aparece uma vez só
+        assertThat(tracker.nearby(RESTAURANT, LAT, LON, 5_000, 10)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("evictStale: sem posição nova por position-max-age o entregador some da busca e do mapa")
+    void evictStale_removesSilentCouriers() {
+        tracker.update(RESTAURANT, "maria@neoapp.com", LAT, LON, T0);
+        tracker.update(RESTAURANT, "joao@neoapp.com", LAT, LON, T0.plusSeconds(90));
+        clock.instant = T0.plusSeconds(150);
+
+        assertThat(tracker.nearby(RESTAURANT, LAT, LON, 1_000, 10))
+                .extracting(nearby -> nearby.position().courier())
+                .containsExactly("joao@neoapp.com");
+        tracker.evictStale();
+        assertThat(tracker.online()).isEqualTo(1);
+        // Posição que já chega velha não entra
+        assertThat(tracker.update(RESTAURANT, "maria@neoapp.com", LAT, LON, T0)).isFalse();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
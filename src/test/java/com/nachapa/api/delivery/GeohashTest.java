@@ -0,0 +1,40 @@
+package com.nachapa.api.delivery;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GeohashTest {
+
+    @Test
+    @DisplayName("encode: mesmo resultado da referência e prefixo comum para pontos próximos")
+    void encode_matchesReference() {
+        assertThat(Geohash.encode(57.64911, 10.40744, 11)).isEqualTo("u4pruydqqvj");
+        assertThat(Geohash.encode(-23.5614, -46.6559, 6)).isEqualTo("6gycfq");
+        assertThat(Geohash.encode(-23.5620, -46.6550, 6)).isEqualTo(Geohash.encode(-23.5614, -46.6559, 6));
+    }
+
+    @Test
+    @DisplayName("cover: inclui a célula do centro e as vizinhas que o raio alcança")
+    void cover_includesNeighbours() {
+        double lat = -23.5614, lon = -46.6559;
+        Set<String> cells = Geohash.cover(lat, lon, 1_500, 6);
+
+        assertThat(cells).contains(Geohash.encode(lat, lon, 6));
+        // Pontos a ~1,4 km em cada direção caem em células diferentes e todas estão na cobertura
+        assertThat(cells).contains(Geohash.encode(lat + 0.0125, lon, 6), Geohash.encode(lat - 0.0125, lon, 6),
+                Geohash.encode(lat, lon + 0.0135, 6), Geohash.encode(lat, lon - 0.0135, 6));
+        assertThat(cells).doesNotContain(Geohash.encode(lat + 0.05, lon, 6));
+    }
+
+    @Test
+    @DisplayName("distance: haversine em metros")
+    void distance_inMeters() {
+        assertThat(Geohash.distance(0, 0, 0, 1)).isCloseTo(111_195, within(1.0));
+        assertThat(Geohash.distance(-23.5614, -46.6559, -23.5614, -46.6559)).isZero();
+    }
+}
@@ -0,0 +1,114 @@
+package com.nachapa.api.delivery;
+
+import com.nachapa.api.exceptions.RestaurantNotFoundException;
+import com.nachapa.api.repository.RestaurantLocation;
+import com.nachapa.api.repository.RestaurantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RestaurantLocationsTest {
+
+    private static final UUID RESTAURANT = UUID.fromString("6f1c2d3e-0000-4000-8000-000000000042");
+    private static final UUID OTHER = UUID.fromString("6f1c2d3e-0000-4000-8000-000000000043");
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    private RestaurantLocations locations;
+
+    @BeforeEach
+    void setUp() {
+        locations = new RestaurantLocations(restaurantRepository);
+    }
+
+    @Test
+    @DisplayName("get: só a primeira leitura do restaurante vai ao banco")
+    void get_loadsOnce() {
+        when(restaurantRepository.findLocation(RESTAURANT)).thenReturn(Optional.of(location(RESTAURANT, -23.5614)));
+
+        locations.get(RESTAURANT);
+        RestaurantLocation location = locations.get(RESTAURANT);
+
+        assertThat(location.getLatitude()).isEqualTo(-23.5614);
+        verify(restaurantRepository, times(1)).findLocation(RESTAURANT);
+    }
+
+    @Test
+    @DisplayName("get: restaurante inexistente ou inativo responde 404 e não fica no mapa")
+    void get_unknownRestaurant() {
+        when(restaurantRepository.findLocation(OTHER)).thenReturn(Optional.empty());
+
+        assertThrows(RestaurantNotFoundException.class, () -> locations.get(OTHER));
+        assertThrows(RestaurantNotFoundException.class, () -> locations.get(OTHER));
+        verify(restaurantRepository, times(2)).findLocation(OTHER);
+    }
+
+    @Test
+    @DisplayName("sync: uma consulta para os restaurantes carregados; atualiza as coordenadas e descarta os inativos")
+    void sync_refreshesLoadedRestaurants() {
+        when(restaurantRepository.findLocation(RESTAURANT)).thenReturn(Optional.of(location(RESTAURANT, -23.5614)));
+        when(restaurantRepository.findLocation(OTHER)).thenReturn(Optional.of(location(OTHER, -23.5)));
+        locations.get(RESTAURANT);
+        locations.get(OTHER);
+        when(restaurantRepository.findLocations(Set.of(RESTAURANT, OTHER)))
+                .thenReturn(List.of(location(RESTAURANT, -23.57)));
+
+        locations.sync();
+
+        assertThat(locations.get(RESTAURANT).getLatitude()).isEqualTo(-23.57);
+        when(restaurantRepository.findLocation(OTHER)).thenReturn(Optional.empty());
+        assertThrows(RestaurantNotFoundException.class, () -> locations.get(OTHER));
+    }
+
+    @Test
+    @DisplayName("sync: sem restaurantes carregados não consulta; com falha mantém as coordenadas anteriores")
+    void sync_emptyOrFailing() {
+        locations.sync();
+        verifyNoInteractions(restaurantRepository);
+
+        when(restaurantRepository.findLocation(RESTAURANT)).thenReturn(Optional.of(location(RESTAURANT, -23.5614)));
+        locations.get(RESTAURANT);
+        when(restaurantRepository.findLocations(any())).thenThrow(new IllegalStateException("banco fora"));
+
+        locations.sync();
+
+        assertThat(locations.get(RESTAURANT).getLatitude()).isEqualTo(-23.5614);
+    }
+
+    private static RestaurantLocation location(UUID id, Double latitude) {
+        return new RestaurantLocation() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public Double getLatitude() {
+                return latitude;
+            }
+
+            @Override
+            public Double getLongitude() {
+                return -46.6559;
+            }
+        };
+    }
+}
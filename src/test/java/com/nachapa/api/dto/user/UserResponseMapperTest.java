@@ -0,0 +1,46 @@
+package com.nachapa.api.dto.user;
+
+import com.nachapa.api.auth.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserResponseMapperTest {
+
+    @Test
+    @DisplayName("age(): igual a Period.between(...).getYears() para todas as combinações de dia (inclui 29/02)")
+    void age_matchesPeriod() {
+        LocalDate[] references = {
+                LocalDate.of(2024, 2, 28), LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 1),
+                LocalDate.of(2025, 2, 28), LocalDate.of(2025, 3, 1), LocalDate.of(2025, 12, 31), LocalDate.of(2026, 1, 1)
+        };
+        for (LocalDate reference : references) {
+            UserResponseMapper mapper = UserResponseMapper.at(reference);
+            for (LocalDate birth = LocalDate.of(1999, 12, 25); birth.isBefore(LocalDate.of(2001, 1, 5)); birth = birth.plusDays(1)) {
+                assertThat(mapper.age(birth))
+                        .as("nascimento %s, referência %s", birth, reference)
+                        .isEqualTo(Period.between(birth, reference).getYears());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("toResponse(): copia os campos do UserView e não expõe o CPF")
+    void toResponse_fromEntity() {
+        User user = new User("Maria", "maria@neoapp.com", "$2a$10$hash", "12345678901", "31998765432",
+                LocalDate.of(1990, 6, 15));
+
+        UserResponseDto dto = UserResponseMapper.at(LocalDate.of(2025, 6, 14)).toResponse(user);
+
+        assertThat(dto.getName()).isEqualTo("Maria");
+        assertThat(dto.getEmail()).isEqualTo("maria@neoapp.com");
+        assertThat(dto.getCellPhone()).isEqualTo("31998765432");
+        assertThat(dto.getBirthDate()).isEqualTo(LocalDate.of(1990, 6, 15));
+        assertThat(dto.getAge()).isEqualTo(34);
+        assertThat(dto.getCpf()).isNull();
+    }
+}
@@ -0,0 +1,225 @@
+package com.nachapa.api.filter;
+
+import com.nachapa.api.exceptions.IdempotencyKeyReusedException;
+import com.nachapa.api.exceptions.IdempotentRequestInProgressException;
+import com.nachapa.api.exceptions.InvalidIdempotencyKeyException;
+import com.nachapa.api.idempotency.IdempotencyProperties;
+import com.nachapa.api.idempotency.InMemoryIdempotencyStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"email\":\"maria@email.com\"}";
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    private final IdempotencyProperties properties = new IdempotencyProperties();
+    private final InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(100);
+    private final HandlerExceptionResolver exceptionResolver = mock(HandlerExceptionResolver.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private IdempotencyFilter filter;
+    private int handlerStatus = 201;
+
+    // Handler de teste: lê o corpo (como o conversor do MVC) e devolve o status configurado com o corpo em eco
+    private final FilterChain chain = (request, response) -> {
+        executions.incrementAndGet();
+        String body = StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8);
+        ((HttpServletResponse) response).setStatus(handlerStatus);
+        ((HttpServletResponse) response).setHeader("Location", "/api/users/1");
+        response.setContentType("application/json");
+        response.getWriter().write("{\"echo\":" + body + "}");
+    };
+
+    @BeforeEach
+    void setUp() {
+        filter = filterAt(NOW);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("repetição com a mesma chave e corpo devolve a resposta original sem executar o handler")
+    void replaysOriginalResponse() throws Exception {
+        MockHttpServletResponse first = post("/api/auth/register", "k1", BODY);
+        MockHttpServletResponse second = post("/api/auth/register", "k1", BODY);
+
+        assertThat(executions).hasValue(1);
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(first.getContentAsString()).isEqualTo("{\"echo\":" + BODY + "}");
+        assertThat(first.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isNull();
+
+        assertThat(second.getStatus()).isEqualTo(201);
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(second.getContentType()).isEqualTo("application/json");
+        assertThat(second.getHeader("Location")).isEqualTo("/api/users/1");
+        assertThat(second.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isEqualTo("true");
+        assertThat(meterRegistry.counter("nachapa.idempotency.replayed").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("erros 4xx também são repetidos: o cliente recebe sempre a mesma resposta")
+    void replaysClientErrors() throws Exception {
+        handlerStatus = 400;
+        post("/api/auth/register", "k1", BODY);
+        handlerStatus = 201;
+
+        assertThat(post("/api/auth/register", "k1", BODY).getStatus()).isEqualTo(400);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("resposta 5xx não é guardada: a repetição executa de novo")
+    void serverErrorReleasesKey() throws Exception {
+        handlerStatus = 503;
+        post("/api/auth/register", "k1", BODY);
+        handlerStatus = 201;
+
+        assertThat(post("/api/auth/register", "k1", BODY).getStatus()).isEqualTo(201);
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("mesma chave com outro corpo: 422 via IdempotencyKeyReusedException")
+    void sameKeyDifferentBody() throws Exception {
+        post("/api/auth/register", "k1", BODY);
+        post("/api/auth/register", "k1", "{\"email\":\"outra@email.com\"}");
+
+        assertThat(executions).hasValue(1);
+        verify(exceptionResolver).resolveException(any(), any(), isNull(), isA(IdempotencyKeyReusedException.class));
+    }
+
+    @Test
+    @DisplayName("repetição com a original ainda em andamento: 409 via IdempotentRequestInProgressException")
+    void inProgress() throws Exception {
+        FilterChain slowChain = (request, response) -> {
+            executions.incrementAndGet();
+            // Repetição chega enquanto o handler original ainda executa
+            filter.doFilter(request("/api/auth/register", "k1", BODY), new MockHttpServletResponse(), chain);
+            ((HttpServletResponse) response).setStatus(201);
+        };
+        MockHttpServletRequest request = request("/api/auth/register", "k1", BODY);
+        filter.doFilter(request, new MockHttpServletResponse(), slowChain);
+
+        assertThat(executions).hasValue(1);
+        verify(exceptionResolver).resolveException(any(), any(), isNull(), isA(IdempotentRequestInProgressException.class));
+    }
+
+    @Test
+    @DisplayName("instância morreu com a original em andamento: 409 só até vencer in-progress-ttl, depois executa")
+    void expiredInProgressClaimIsTakenOver() throws Exception {
+        FilterChain dyingChain = (request, response) -> {
+            executions.incrementAndGet();
+            // Erro fora dos capturados pelo filtro: a reserva fica no store como se o processo tivesse morrido
+            throw new OutOfMemoryError();
+        };
+        assertThatThrownBy(() -> filter.doFilter(request("/api/auth/register", "k1", BODY),
+                new MockHttpServletResponse(), dyingChain)).isInstanceOf(OutOfMemoryError.class);
+
+        filter = filterAt(NOW.plus(properties.getInProgressTtl()).minusSeconds(1));
+        post("/api/auth/register", "k1", BODY);
+        verify(exceptionResolver).resolveException(any(), any(), isNull(), isA(IdempotentRequestInProgressException.class));
+
+        filter = filterAt(NOW.plus(properties.getInProgressTtl()));
+        assertThat(post("/api/auth/register", "k1", BODY).getStatus()).isEqualTo(201);
+        assertThat(executions).hasValue(2);
+
+        // Concluída, a chave vale pelo ttl inteiro
+        filter = filterAt(NOW.plus(properties.getTtl()));
+        assertThat(post("/api/auth/register", "k1", BODY).getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isEqualTo("true");
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("chave vazia ou longa demais: 400 via InvalidIdempotencyKeyException")
+    void invalidKey() throws Exception {
+        post("/api/auth/register", " ", BODY);
+        post("/api/auth/register", "x".repeat(256), BODY);
+
+        assertThat(executions).hasValue(0);
+        verify(exceptionResolver, times(2))
+                .resolveException(any(), any(), isNull(), isA(InvalidIdempotencyKeyException.class));
+    }
+
+    @Test
+    @DisplayName("sem cabeçalho, em GET ou no login o filtro não interfere")
+    void bypass() throws Exception {
+        post("/api/auth/register", null, BODY);
+        post("/api/auth/register", null, BODY);
+        post("/api/auth/login", "k1", BODY);
+        post("/api/auth/login", "k1", BODY);
+        MockHttpServletRequest get = request("/api/users", "k1", "");
+        get.setMethod("GET");
+        filter.doFilter(get, new MockHttpServletResponse(), chain);
+        filter.doFilter(get, new MockHttpServletResponse(), chain);
+
+        assertThat(executions).hasValue(6);
+        verifyNoInteractions(exceptionResolver);
+    }
+
+    @Test
+    @DisplayName("a mesma chave de usuários diferentes não se mistura")
+    void scopedByUser() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("maria@email.com", null, List.of()));
+        post("/api/orders", "k1", BODY);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("pedro@email.com", null, List.of()));
+        post("/api/orders", "k1", BODY);
+
+        assertThat(executions).hasValue(2);
+    }
+
+    private IdempotencyFilter filterAt(Instant instant) {
+        return new IdempotencyFilter(store, properties, exceptionResolver, meterRegistry,
+                Clock.fixed(instant, ZoneOffset.UTC));
+    }
+
+    private MockHttpServletResponse post(String path, String key, String body) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(path, key, body), response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path, String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, key);
+        }
+        return request;
+    }
+}
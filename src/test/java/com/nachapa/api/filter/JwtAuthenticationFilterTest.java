@@ -1,8 +1,9 @@
 package com.nachapa.api.filter;
 
+import com.nachapa.api.exceptions.ExpiredTokenException;
+import com.nachapa.api.tenant.TenantContext;
 import com.nachapa.api.util.JwtUtil;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
+import com.nachapa.api.util.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,14 +18,20 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class JwtAuthenticationFilterTest {
 
+    private static final UUID TENANT = UUID.fromString("6f1c2d3e-4b5a-4c6d-8e7f-9a0b1c2d3e4f");
+
     @Mock
     private JwtUtil jwtUtil;
 
@@ -39,6 +46,11 @@ class JwtAuthenticationFilterTest {
         SecurityContextHolder.clearContext();
     }
 
+    private static VerifiedToken verifiedToken(String subject, String role) {
+        long now = System.currentTimeMillis();
+        return new VerifiedToken("jti", subject, role, TENANT, now, now + 60_000);
+    }
+
     @Test
     @DisplayName("Deve autenticar quando Authorization = 'Bearer <token>' e role presente")
     void shouldAuthenticateWithValidBearerTokenAndRole() throws Exception {
@@ -48,11 +60,10 @@ class JwtAuthenticationFilterTest {
         String token = "abc.def.ghi";
         req.addHeader("Authorization", "Bearer " + token);
 
-        // claims simuladas
-        Claims claims = Jwts.claims().setSubject("user@neoapp.com");
-        claims.put("role", "ADMIN");
+        // token verificado simulado
+        VerifiedToken verified = verifiedToken("user@neoapp.com", "ADMIN");
 
-        when(jwtUtil.extractClaims(token)).thenReturn(claims);
+        when(jwtUtil.verify(token)).thenReturn(verified);
 
         // act
         filter.doFilterInternal(req, res, chain);
@@ -62,8 +73,9 @@ class JwtAuthenticationFilterTest {
         assertThat(auth).isInstanceOf(UsernamePasswordAuthenticationToken.class);
         assertThat(auth.getName()).isEqualTo("user@neoapp.com");
         assertThat(auth.getAuthorities()).extracting("authority").contains("ROLE_ADMIN");
+        assertThat(JwtAuthenticationFilter.verifiedToken(req)).isSameAs(verified);
 
-        verify(jwtUtil).extractClaims(token);
+        verify(jwtUtil).verify(token);
         verify(chain).doFilter(req, res);
     }
 
@@ -102,13 +114,12 @@ class JwtAuthenticationFilterTest {
         String token = "abc.def.ghi";
         req.addHeader("Authorization", "Bearer " + token);
 
-        Claims claims = Jwts.claims().setSubject("user@neoapp.com");
-        when(jwtUtil.extractClaims(token)).thenReturn(claims);
+        when(jwtUtil.verify(token)).thenReturn(verifiedToken("user@neoapp.com", null));
 
         filter.doFilterInternal(req, res, chain);
 
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
-        verify(jwtUtil).extractClaims(token);
+        verify(jwtUtil).verify(token);
         verify(chain).doFilter(req, res);
     }
 
@@ -125,9 +136,7 @@ class JwtAuthenticationFilterTest {
         String token = "abc.def.ghi";
         req.addHeader("Authorization", "Bearer " + token);
 
-        Claims claims = Jwts.claims().setSubject("user@neoapp.com");
-        claims.put("role", "USER");
-        when(jwtUtil.extractClaims(token)).thenReturn(claims);
+        when(jwtUtil.verify(token)).thenReturn(verifiedToken("user@neoapp.com", "USER"));
 
         filter.doFilterInternal(req, res, chain);
 
@@ -135,7 +144,81 @@ class JwtAuthenticationFilterTest {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         assertThat(auth.getName()).isEqualTo("preexistente@neoapp.com");
 
-        verify(jwtUtil).extractClaims(token); // ainda é chamado antes do if
+        verify(jwtUtil).verify(token); // ainda é chamado antes do if
+        verify(chain).doFilter(req, res);
+    }
+
+    @Test
+    @DisplayName("Não deve autenticar (nem propagar erro) quando o token for inválido/expirado")
+    void shouldNotAuthenticateWhenTokenIsRejected() throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest();
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        String token = "abc.def.ghi";
+        req.addHeader("Authorization", "Bearer " + token);
+
+        when(jwtUtil.verify(token)).thenThrow(new ExpiredTokenException());
+
+        filter.doFilterInternal(req, res, chain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(JwtAuthenticationFilter.verifiedToken(req)).isNull();
+        verify(chain).doFilter(req, res);
+    }
+
+    @Test
+    @DisplayName("Deve expor o restaurante do token no TenantContext só durante a cadeia")
+    void shouldSetTenantContextDuringChain() throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest();
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        String token = "abc.def.ghi";
+        req.addHeader("Authorization", "Bearer " + token);
+        req.addHeader(TenantContext.RESTAURANT_HEADER, TENANT.toString());
+        AtomicReference<UUID> tenantInChain = new AtomicReference<>();
+        doAnswer(invocation -> {
+            tenantInChain.set(TenantContext.current());
+            return null;
+        }).when(chain).doFilter(req, res);
+
+        when(jwtUtil.verify(token)).thenReturn(verifiedToken("user@neoapp.com", "USER"));
+
+        filter.doFilterInternal(req, res, chain);
+
+        assertThat(tenantInChain).hasValue(TENANT);
+        assertThat(TenantContext.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Não deve autenticar token sem restaurante (emitido antes do claim tid)")
+    void shouldNotAuthenticateWithoutTenantClaim() throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest();
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        String token = "abc.def.ghi";
+        req.addHeader("Authorization", "Bearer " + token);
+        long now = System.currentTimeMillis();
+
+        when(jwtUtil.verify(token)).thenReturn(new VerifiedToken("jti", "user@neoapp.com", "USER", null, now, now + 60_000));
+
+        filter.doFilterInternal(req, res, chain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(JwtAuthenticationFilter.verifiedToken(req)).isNull();
+        verify(chain).doFilter(req, res);
+    }
+
+    @Test
+    @DisplayName("Não deve autenticar quando X-Restaurant-Id for de outro restaurante")
+    void shouldNotAuthenticateWithOtherRestaurantHeader() throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest();
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        String token = "abc.def.ghi";
+        req.addHeader("Authorization", "Bearer " + token);
+        req.addHeader(TenantContext.RESTAURANT_HEADER, UUID.randomUUID().toString());
+
+        when(jwtUtil.verify(token)).thenReturn(verifiedToken("user@neoapp.com", "ADMIN"));
+
+        filter.doFilterInternal(req, res, chain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
         verify(chain).doFilter(req, res);
     }
 }
@@ -1,5 +1,6 @@
 package com.nachapa.api.impl;
 
+import com.nachapa.api.audit.AuditLog;
 import com.nachapa.api.auth.RoleEnum;
 import com.nachapa.api.auth.User;
 import com.nachapa.api.dto.jwt.JwtPayloadDto;
@@ -8,16 +9,20 @@ import com.nachapa.api.exceptions.InvalidCredentialsException;
 import com.nachapa.api.repository.UserRepository;
 import com.nachapa.api.service.impl.AuthServiceImpl;
 import com.nachapa.api.util.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -40,6 +45,12 @@ class AuthServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private AuditLog auditLog;
+
     @InjectMocks
     private AuthServiceImpl authService;
 
@@ -75,6 +86,13 @@ class AuthServiceImplTest {
         verify(userRepository).findByEmail(email);
         verify(passwordEncoder).matches(rawPassword, encodedPassword);
         verifyNoMoreInteractions(userRepository, passwordEncoder, jwtUtil);
+        verify(auditLog).loginSucceeded(null, email);
+        verifyNoMoreInteractions(auditLog);
+
+        // uma medição por fase (lookup, hash, sign)
+        assertThat(meterRegistry.get("nachapa.auth.authenticate.phase").timers())
+                .hasSize(3)
+                .allSatisfy(timer -> assertThat(timer.count()).isEqualTo(1));
     }
 
     @Test
@@ -89,6 +107,7 @@ class AuthServiceImplTest {
 
         verify(userRepository).findByEmail(email);
         verifyNoMoreInteractions(userRepository, passwordEncoder, jwtUtil);
+        verify(auditLog).loginFailed(null, email);
     }
 
     @Test
@@ -98,7 +117,9 @@ class AuthServiceImplTest {
         String rawPassword = "wrong";
         String encodedPassword = "$2a$10$hashFakeSoPraTeste";
 
+        UUID userId = UUID.randomUUID();
         User user = mock(User.class);
+        when(user.getId()).thenReturn(userId);
         when(user.getEmail()).thenReturn(email);
         when(user.getPassword()).thenReturn(encodedPassword);
 
@@ -112,5 +133,7 @@ class AuthServiceImplTest {
         verify(userRepository).findByEmail(email);
         verify(passwordEncoder).matches(rawPassword, encodedPassword);
         verifyNoMoreInteractions(userRepository, passwordEncoder, jwtUtil); // não deve chamar generateToken
+        verify(auditLog).loginFailed(userId, email);
+        verifyNoMoreInteractions(auditLog);
     }
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.nachapa.api.impl;
+
+import com.nachapa.api.delivery.CourierLocationHistory;
+import com.nachapa.api.delivery.CourierPing;
+import com.nachapa.api.delivery.CourierTracker;
+import com.nachapa.api.delivery.DeliveryProperties;
+import com.nachapa.api.delivery.RestaurantLocations;
+import com.nachapa.api.dto.delivery.LocationBatchRequestDto;
+import com.nachapa.api.dto.delivery.LocationPingDto;
+import com.nachapa.api.exceptions.RestaurantLocationNotSetException;
+import com.nachapa.api.repository.RestaurantLocation;
+import com.nachapa.api.service.impl.DeliveryServiceImpl;
+import com.nachapa.api.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DeliveryServiceImplTest {
+
+    private static final UUID RESTAURANT = UUID.fromString("6f1c2d3e-0000-4000-8000-000000000042");
+
+    @Mock
+    private CourierTracker courierTracker;
+
+    @Mock
+    private CourierLocationHistory locationHistory;
+
+    @Mock
+    private RestaurantLocations restaurantLocations;
+
+    private DeliveryServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.set(RESTAURANT);
+        service = new DeliveryServiceImpl(courierTracker, locationHistory, restaurantLocations, new DeliveryProperties());
+    }
+
+    @AfterEach
+    void clearTenant() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("recordLocations: posição atual no tracker e histórico na fila; horário do futuro vira o de chegada")
+    void recordLocations_updatesTrackerAndQueuesHistory() {
+        Instant past = Instant.now().minusSeconds(30);
+        LocationBatchRequestDto request = new LocationBatchRequestDto();
+        request.setPositions(List.of(ping(-23.56, past), ping(-23.57, Instant.now().plusSeconds(3600))));
+
+        service.recordLocations(request, "entregador@neoapp.com");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CourierPing>> queued = ArgumentCaptor.forClass(List.class);
+        verify(locationHistory).record(queued.capture());
+        assertThat(queued.getValue()).hasSize(2).allSatisfy(ping -> {
+            assertThat(ping.tenantId()).isEqualTo(RESTAURANT);
+            assertThat(ping.courier()).isEqualTo("entregador@neoapp.com");
+        });
+        assertThat(queued.getValue().get(0).recordedAt()).isEqualTo(past);
+        assertThat(queued.getValue().get(1).recordedAt()).isEqualTo(queued.getValue().get(1).receivedAt());
+        verify(courierTracker).update(RESTAURANT, "entregador@neoapp.com", -23.56, -46.65, past);
+    }
+
+    @Test
+    @DisplayName("nearbyCouriers: busca em volta do restaurante com raio limitado; sem localização responde 409")
+    void nearbyCouriers_usesRestaurantLocation() {
+        when(restaurantLocations.get(RESTAURANT)).thenReturn(location(-23.5614, -46.6559));
+        when(courierTracker.nearby(eq(RESTAURANT), anyDouble(), anyDouble(), anyDouble(), anyInt())).thenReturn(List.of());
+
+        service.nearbyCouriers(50_000, null);
+        verify(courierTracker).nearby(RESTAURANT, -23.5614, -46.6559, 10_000, 20);
+
+        when(restaurantLocations.get(RESTAURANT)).thenReturn(location(null, null));
+        assertThrows(RestaurantLocationNotSetException.class, () -> service.nearbyCouriers(null, null));
+    }
+
+    private static LocationPingDto ping(double latitude, Instant recordedAt) {
+        LocationPingDto ping = new LocationPingDto();
+        ping.setLatitude(latitude);
+        ping.setLongitude(-46.65);
+        ping.setRecordedAt(recordedAt);
+        return ping;
+    }
+
+    private static RestaurantLocation location(Double latitude, Double longitude) {
+        return new RestaurantLocation() {
+            @Override
+            public UUID getId() {
+                return RESTAURANT;
+            }
+
+            @Override
+            public Double getLatitude() {
+                return latitude;
+            }
+
+            @Override
+            public Double getLongitude() {
+                return longitude;
+            }
+        };
+    }
+}
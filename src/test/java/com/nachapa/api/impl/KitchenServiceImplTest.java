@@ -0,0 +1,134 @@
+package com.nachapa.api.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nachapa.api.exceptions.RestaurantNotFoundException;
+import com.nachapa.api.kitchen.KitchenHub;
+import com.nachapa.api.kitchen.KitchenProperties;
+import com.nachapa.api.menu.MenuSnapshot;
+import com.nachapa.api.order.Order;
+import com.nachapa.api.order.OrderItem;
+import com.nachapa.api.order.OrderState;
+import com.nachapa.api.order.OrderStatus;
+import com.nachapa.api.order.PlacedOrder;
+import com.nachapa.api.service.impl.KitchenServiceImpl;
+import com.nachapa.api.tenant.TenantContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class KitchenServiceImplTest {
+
+    private static final UUID RESTAURANT = UUID.fromString("6f1c2d3e-0000-4000-8000-000000000042");
+    private static final UUID BURGER = UUID.fromString("6f1c2d3e-0000-4000-8000-0000000000e1");
+    private static final UUID FRIES = UUID.fromString("6f1c2d3e-0000-4000-8000-0000000000e2");
+    private static final UUID SODA = UUID.fromString("6f1c2d3e-0000-4000-8000-0000000000e3");
+
+    @Mock
+    private KitchenHub kitchenHub;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private KitchenServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new KitchenServiceImpl(kitchenHub, new KitchenProperties(), objectMapper);
+    }
+
+    @Test
+    @DisplayName("orderPlaced: uma comanda por estação, só com os itens que ela prepara")
+    void orderPlaced_splitsByStation() throws Exception {
+        UUID category = UUID.randomUUID();
+        MenuSnapshot menu = new MenuSnapshot(RESTAURANT, 1, "W/\"1\"", new byte[0], null, Map.of(
+                BURGER, new MenuSnapshot.Item(BURGER, category, "chapa", "X-Salada", new BigDecimal("24.90"), true),
+                FRIES, new MenuSnapshot.Item(FRIES, category, "chapa", "Fritas", new BigDecimal("12.00"), true),
+                SODA, new MenuSnapshot.Item(SODA, category, "bebidas", "Refrigerante", new BigDecimal("6.50"), true)));
+        Order order = new Order();
+        order.setId(UUID.randomUUID());
+        order.setTenantId(RESTAURANT);
+        order.setNumber(42);
+        order.setNote("Sem cebola");
+        order.setCreatedAt(LocalDateTime.of(2025, 6, 6, 20, 30));
+
+        service.orderPlaced(new PlacedOrder(order, List.of(item(order, BURGER, "X-Salada", 2),
+                item(order, SODA, "Refrigerante", 1), item(order, FRIES, "Fritas", 1))), menu);
+
+        ArgumentCaptor<String> grill = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> drinks = ArgumentCaptor.forClass(String.class);
+        verify(kitchenHub).publish(eq(RESTAURANT), eq("chapa"), eq(KitchenServiceImpl.TICKET), grill.capture());
+        verify(kitchenHub).publish(eq(RESTAURANT), eq("bebidas"), eq(KitchenServiceImpl.TICKET), drinks.capture());
+        verify(kitchenHub, times(2)).publish(any(), anyString(), anyString(), anyString());
+        assertThat(objectMapper.readTree(grill.getValue()).get("numero").asInt()).isEqualTo(42);
+        assertThat(objectMapper.readTree(grill.getValue()).get("itens")).hasSize(2);
+        assertThat(objectMapper.readTree(drinks.getValue()).get("itens").get(0).get("nome").asText())
+                .isEqualTo("Refrigerante");
+    }
+
+    @Test
+    @DisplayName("statusChanged: cancelamento vai só para as estações da comanda, com o motivo")
+    void statusChanged_publishesToOrderStations() throws Exception {
+        UUID category = UUID.randomUUID();
+        MenuSnapshot menu = new MenuSnapshot(RESTAURANT, 1, "W/\"1\"", new byte[0], null, Map.of(
+                BURGER, new MenuSnapshot.Item(BURGER, category, "chapa", "X-Salada", new BigDecimal("24.90"), true),
+                SODA, new MenuSnapshot.Item(SODA, category, "bebidas", "Refrigerante", new BigDecimal("6.50"), true)));
+        Order order = new Order();
+        order.setId(UUID.randomUUID());
+        OrderState cancelled = new OrderState(order.getId(), RESTAURANT, "maria@neoapp.com", OrderStatus.CANCELLED, 3, 0);
+
+        service.statusChanged(cancelled, List.of(item(order, BURGER, "X-Salada", 1)), menu, "Cliente desistiu");
+
+        ArgumentCaptor<String> grill = ArgumentCaptor.forClass(String.class);
+        verify(kitchenHub).publish(eq(RESTAURANT), eq("chapa"), eq(KitchenServiceImpl.CANCELLED), grill.capture());
+        verify(kitchenHub, times(1)).publish(any(), anyString(), anyString(), anyString());
+        assertThat(objectMapper.readTree(grill.getValue()).get("pedido-id").asText()).isEqualTo(order.getId().toString());
+        assertThat(objectMapper.readTree(grill.getValue()).get("motivo").asText()).isEqualTo("Cliente desistiu");
+
+        OrderState ready = new OrderState(order.getId(), RESTAURANT, "maria@neoapp.com", OrderStatus.READY, 4, 0);
+        service.statusChanged(ready, List.of(item(order, SODA, "Refrigerante", 1)), menu, null);
+
+        ArgumentCaptor<String> drinks = ArgumentCaptor.forClass(String.class);
+        verify(kitchenHub).publish(eq(RESTAURANT), eq("bebidas"), eq(KitchenServiceImpl.STATUS), drinks.capture());
+        assertThat(objectMapper.readTree(drinks.getValue()).get("status").asText()).isEqualTo("READY");
+        assertThat(objectMapper.readTree(drinks.getValue()).has("motivo")).isFalse();
+    }
+
+    @Test
+    @DisplayName("openStream: sem restaurante na requisição lança RestaurantNotFoundException")
+    void openStream_requiresRestaurant() {
+        TenantContext.clear();
+
+        assertThrows(RestaurantNotFoundException.class, () -> service.openStream("chapa", null));
+        verifyNoInteractions(kitchenHub);
+    }
+
+    private static OrderItem item(Order order, UUID menuItemId, String name, int quantity) {
+        OrderItem item = new OrderItem();
+        item.setId(UUID.randomUUID());
+        item.setTenantId(RESTAURANT);
+        item.setOrderId(order.getId());
+        item.setMenuItemId(menuItemId);
+        item.setName(name);
+        item.setQuantity(quantity);
+        return item;
+    }
+}
@@ -0,0 +1,155 @@
+package com.nachapa.api.impl;
+
+import com.nachapa.api.dto.menu.MenuCategoryRequestDto;
+import com.nachapa.api.dto.menu.MenuCategoryResponseDto;
+import com.nachapa.api.dto.menu.MenuItemRequestDto;
+import com.nachapa.api.dto.menu.MenuItemResponseDto;
+import com.nachapa.api.exceptions.MenuCategoryNotFoundException;
+import com.nachapa.api.exceptions.MenuItemNotFoundException;
+import com.nachapa.api.exceptions.RestaurantNotFoundException;
+import com.nachapa.api.menu.MenuCatalog;
+import com.nachapa.api.menu.MenuCategory;
+import com.nachapa.api.menu.MenuItem;
+import com.nachapa.api.repository.MenuCategoryRepository;
+import com.nachapa.api.repository.MenuItemRepository;
+import com.nachapa.api.repository.RestaurantRepository;
+import com.nachapa.api.service.impl.MenuServiceImpl;
+import com.nachapa.api.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MenuServiceImplTest {
+
+    private static final UUID RESTAURANT = UUID.fromString("6f1c2d3e-0000-4000-8000-000000000042");
+    private static final UUID CATEGORY = UUID.fromString("6f1c2d3e-0000-4000-8000-0000000000d1");
+    private static final UUID ITEM = UUID.fromString("6f1c2d3e-0000-4000-8000-0000000000e1");
+
+    @Mock
+    private MenuCatalog menuCatalog;
+
+    @Mock
+    private MenuCategoryRepository categoryRepository;
+
+    @Mock
+    private MenuItemRepository itemRepository;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Spy
+    private TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
+
+    @InjectMocks
+    private MenuServiceImpl service;
+
+    @BeforeEach
+    void setTenant() {
+        TenantContext.set(RESTAURANT);
+    }
+
+    @AfterEach
+    void clearTenant() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("createCategory: grava no restaurante do token, incrementa a versão e remonta o snapshot depois")
+    void createCategory_bumpsVersionAndRefreshes() {
+        when(categoryRepository.save(any())).thenAnswer(invocation -> {
+            MenuCategory category = invocation.getArgument(0);
+            category.setId(CATEGORY);
+            return category;
+        });
+        MenuCategoryRequestDto request = new MenuCategoryRequestDto();
+        request.setName("  Bebidas ");
+        request.setPosition(2);
+
+        MenuCategoryResponseDto response = service.createCategory(request);
+
+        assertThat(response.getId()).isEqualTo(CATEGORY);
+        assertThat(response.getName()).isEqualTo("Bebidas");
+        assertThat(response.isActive()).isTrue();
+        InOrder order = inOrder(restaurantRepository, categoryRepository, menuCatalog);
+        order.verify(restaurantRepository).bumpMenuVersion(RESTAURANT);
+        order.verify(categoryRepository).save(any());
+        order.verify(menuCatalog).refresh(RESTAURANT);
+    }
+
+    @Test
+    @DisplayName("createItem: categoria de outro restaurante (ou inexistente) lança MenuCategoryNotFoundException")
+    void createItem_unknownCategory() {
+        when(categoryRepository.existsByIdAndTenantId(CATEGORY, RESTAURANT)).thenReturn(false);
+
+        assertThrows(MenuCategoryNotFoundException.class, () -> service.createItem(itemRequest()));
+
+        verify(itemRepository, never()).save(any());
+        verify(menuCatalog, never()).refresh(any());
+    }
+
+    @Test
+    @DisplayName("updateItem: aplica os campos ao item do restaurante")
+    void updateItem_success() {
+        MenuItem item = new MenuItem();
+        item.setId(ITEM);
+        item.setTenantId(RESTAURANT);
+        when(itemRepository.findByIdAndTenantId(ITEM, RESTAURANT)).thenReturn(Optional.of(item));
+        when(categoryRepository.existsByIdAndTenantId(CATEGORY, RESTAURANT)).thenReturn(true);
+
+        MenuItemResponseDto response = service.updateItem(ITEM, itemRequest());
+
+        assertThat(response.getPrice()).isEqualByComparingTo("24.90");
+        assertThat(response.getCategoryId()).isEqualTo(CATEGORY);
+        assertThat(item.getName()).isEqualTo("X-Salada");
+        verify(restaurantRepository).bumpMenuVersion(RESTAURANT);
+        verify(menuCatalog).refresh(RESTAURANT);
+    }
+
+    @Test
+    @DisplayName("setItemAvailability: item inexistente lança MenuItemNotFoundException sem remontar o snapshot")
+    void setItemAvailability_notFound() {
+        when(itemRepository.findByIdAndTenantId(ITEM, RESTAURANT)).thenReturn(Optional.empty());
+
+        assertThrows(MenuItemNotFoundException.class, () -> service.setItemAvailability(ITEM, false));
+        verify(menuCatalog, never()).refresh(any());
+    }
+
+    @Test
+    @DisplayName("currentMenu: sem restaurante na requisição lança RestaurantNotFoundException")
+    void currentMenu_withoutTenant() {
+        TenantContext.clear();
+
+        assertThrows(RestaurantNotFoundException.class, () -> service.currentMenu());
+        verifyNoInteractions(menuCatalog);
+    }
+
+    private static MenuItemRequestDto itemRequest() {
+        MenuItemRequestDto request = new MenuItemRequestDto();
+        request.setCategoryId(CATEGORY);
+        request.setName("X-Salada");
+        request.setPrice(new BigDecimal("24.90"));
+        return request;
+    }
+}
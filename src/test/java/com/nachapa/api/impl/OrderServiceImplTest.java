@@ -0,0 +1,199 @@
+package com.nachapa.api.impl;
+
+import com.nachapa.api.dto.order.OrderRequestDto;
+import com.nachapa.api.dto.order.OrderResponseDto;
+import com.nachapa.api.auth.RoleEnum;
+import com.nachapa.api.dto.order.OrderTransitionRequestDto;
+import com.nachapa.api.exceptions.MenuItemUnavailableException;
+import com.nachapa.api.exceptions.OrderNotFoundException;
+import com.nachapa.api.menu.MenuCatalog;
+import com.nachapa.api.menu.MenuSnapshot;
+import com.nachapa.api.order.OrderActor;
+import com.nachapa.api.order.OrderIntake;
+import com.nachapa.api.order.OrderItem;
+import com.nachapa.api.order.OrderLifecycle;
+import com.nachapa.api.order.OrderNumberAllocator;
+import com.nachapa.api.order.OrderState;
+import com.nachapa.api.order.OrderStatus;
+import com.nachapa.api.order.PlacedOrder;
+import com.nachapa.api.repository.OrderItemRepository;
+import com.nachapa.api.service.KitchenService;
+import com.nachapa.api.service.impl.OrderServiceImpl;
+import com.nachapa.api.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderServiceImplTest {
+
+    private static final UUID RESTAURANT = UUID.fromString("6f1c2d3e-0000-4000-8000-000000000042");
+    private static final UUID BURGER = UUID.fromString("6f1c2d3e-0000-4000-8000-0000000000e1");
+    private static final UUID SODA = UUID.fromString("6f1c2d3e-0000-4000-8000-0000000000e2");
+    private static final UUID SOLD_OUT = UUID.fromString("6f1c2d3e-0000-4000-8000-0000000000e3");
+
+    @Mock
+    private MenuCatalog menuCatalog;
+
+    @Mock
+    private OrderIntake orderIntake;
+
+    @Mock
+    private OrderNumberAllocator orderNumberAllocator;
+
+    @Mock
+    private KitchenService kitchenService;
+
+    @Mock
+    private OrderLifecycle orderLifecycle;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @InjectMocks
+    private OrderServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.set(RESTAURANT);
+        UUID category = UUID.randomUUID();
+        MenuSnapshot menu = new MenuSnapshot(RESTAURANT, 7, "W/\"7\"", new byte[0], null, Map.of(
+                BURGER, new MenuSnapshot.Item(BURGER, category, "chapa", "X-Salada", new BigDecimal("24.90"), true),
+                SODA, new MenuSnapshot.Item(SODA, category, "bebidas", "Refrigerante", new BigDecimal("6.50"), true),
+                SOLD_OUT, new MenuSnapshot.Item(SOLD_OUT, category, "chapa", "Açaí", new BigDecimal("15.00"), false)));
+        lenient().when(menuCatalog.get(RESTAURANT)).thenReturn(menu);
+    }
+
+    @AfterEach
+    void clearTenant() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("placeOrder: preços e nomes vêm do cardápio, total calculado e pedido entregue ao intake")
+    void placeOrder_pricesFromMenu() {
+        when(orderNumberAllocator.next(RESTAURANT))
+                .thenReturn(new OrderNumberAllocator.Ticket(LocalDate.of(2025, 6, 6), 42,
+                        LocalDateTime.of(2025, 6, 6, 20, 30)));
+
+        OrderResponseDto response = service.placeOrder(request(line(BURGER, 2), line(SODA, 1)), "maria@neoapp.com");
+
+        ArgumentCaptor<PlacedOrder> placed = ArgumentCaptor.forClass(PlacedOrder.class);
+        verify(orderIntake).place(placed.capture());
+        verify(kitchenService).orderPlaced(placed.getValue(), menuCatalog.get(RESTAURANT));
+        verify(orderLifecycle).placed(placed.getValue().order());
+        assertThat(placed.getValue().order().getTenantId()).isEqualTo(RESTAURANT);
+        assertThat(placed.getValue().order().getCustomerEmail()).isEqualTo("maria@neoapp.com");
+        assertThat(placed.getValue().items()).allSatisfy(item -> {
+            assertThat(item.getOrderId()).isEqualTo(placed.getValue().order().getId());
+            assertThat(item.getTenantId()).isEqualTo(RESTAURANT);
+        });
+        assertThat(placed.getValue().order().getBusinessDate()).isEqualTo(LocalDate.of(2025, 6, 6));
+        assertThat(placed.getValue().order().getCreatedAt()).isEqualTo(LocalDateTime.of(2025, 6, 6, 20, 30));
+        assertThat(response.getNumber()).isEqualTo(42);
+        assertThat(response.getTotal()).isEqualByComparingTo("56.30");
+        assertThat(response.getStatus()).isEqualTo(OrderStatus.PLACED);
+        assertThat(response.getItems()).extracting(OrderResponseDto.Line::getName)
+                .containsExactly("X-Salada", "Refrigerante");
+    }
+
+    @Test
+    @DisplayName("placeOrder: item esgotado ou fora do cardápio lança MenuItemUnavailableException sem gravar")
+    void placeOrder_rejectsUnavailableItems() {
+        assertThrows(MenuItemUnavailableException.class,
+                () -> service.placeOrder(request(line(BURGER, 1), line(SOLD_OUT, 1)), "maria@neoapp.com"));
+        assertThrows(MenuItemUnavailableException.class,
+                () -> service.placeOrder(request(line(UUID.randomUUID(), 1)), "maria@neoapp.com"));
+        verifyNoInteractions(orderIntake, orderNumberAllocator, kitchenService, orderLifecycle);
+    }
+
+    @Test
+    @DisplayName("status/changeStatus: pedido de outro cliente responde como inexistente; equipe vê qualquer pedido")
+    void status_hidesOtherCustomersOrders() {
+        UUID orderId = UUID.randomUUID();
+        when(orderLifecycle.current(orderId, RESTAURANT))
+                .thenReturn(new OrderState(orderId, RESTAURANT, "maria@neoapp.com", OrderStatus.PLACED, 1, 0));
+        OrderActor stranger = new OrderActor("joao@neoapp.com", RoleEnum.USER);
+        OrderTransitionRequestDto cancel = new OrderTransitionRequestDto();
+        cancel.setStatus(OrderStatus.CANCELLED);
+
+        assertThrows(OrderNotFoundException.class, () -> service.status(orderId, stranger));
+        assertThrows(OrderNotFoundException.class, () -> service.changeStatus(orderId, cancel, stranger));
+        verify(orderLifecycle, never()).transition(any(), any(), any(), any(), any(), any());
+
+        assertThat(service.status(orderId, new OrderActor("Maria@neoapp.com", RoleEnum.USER)).getVersion()).isEqualTo(1);
+        assertThat(service.status(orderId, new OrderActor("cozinha@neoapp.com", RoleEnum.OPERATOR)).getStatus())
+                .isEqualTo(OrderStatus.PLACED);
+    }
+
+    @Test
+    @DisplayName("changeStatus: cancelamento (e qualquer outro status) vai para as telas das estações do pedido")
+    void changeStatus_notifiesKitchen() {
+        UUID orderId = UUID.randomUUID();
+        OrderActor staff = new OrderActor("cozinha@neoapp.com", RoleEnum.OPERATOR);
+        OrderState cancelled = new OrderState(orderId, RESTAURANT, "maria@neoapp.com", OrderStatus.CANCELLED, 3, 0);
+        List<OrderItem> items = List.of(new OrderItem());
+        OrderTransitionRequestDto cancel = new OrderTransitionRequestDto();
+        cancel.setStatus(OrderStatus.CANCELLED);
+        cancel.setVersion(2);
+        cancel.setReason("Cliente desistiu");
+        when(orderLifecycle.transition(orderId, RESTAURANT, OrderStatus.CANCELLED, staff, 2, "Cliente desistiu"))
+                .thenReturn(cancelled);
+        when(orderItemRepository.findAllByOrderId(orderId)).thenReturn(items);
+
+        assertThat(service.changeStatus(orderId, cancel, staff).getStatus()).isEqualTo(OrderStatus.CANCELLED);
+
+        verify(kitchenService).statusChanged(cancelled, items, menuCatalog.get(RESTAURANT), "Cliente desistiu");
+    }
+
+    @Test
+    @DisplayName("changeStatus: falha ao avisar a cozinha não desfaz a transição já gravada")
+    void changeStatus_kitchenFailureDoesNotFail() {
+        UUID orderId = UUID.randomUUID();
+        OrderActor staff = new OrderActor("cozinha@neoapp.com", RoleEnum.OPERATOR);
+        OrderState ready = new OrderState(orderId, RESTAURANT, "maria@neoapp.com", OrderStatus.READY, 4, 0);
+        OrderTransitionRequestDto request = new OrderTransitionRequestDto();
+        request.setStatus(OrderStatus.READY);
+        when(orderLifecycle.transition(orderId, RESTAURANT, OrderStatus.READY, staff, null, null)).thenReturn(ready);
+        when(orderItemRepository.findAllByOrderId(orderId)).thenReturn(List.of());
+        doThrow(new IllegalStateException("hub fora")).when(kitchenService).statusChanged(any(), any(), any(), any());
+
+        assertThat(service.changeStatus(orderId, request, staff).getStatus()).isEqualTo(OrderStatus.READY);
+    }
+
+    private static OrderRequestDto request(OrderRequestDto.Line... lines) {
+        OrderRequestDto request = new OrderRequestDto();
+        request.setItems(List.of(lines));
+        return request;
+    }
+
+    private static OrderRequestDto.Line line(UUID itemId, int quantity) {
+        OrderRequestDto.Line line = new OrderRequestDto.Line();
+        line.setItemId(itemId);
+        line.setQuantity(quantity);
+        return line;
+    }
+}
@@ -0,0 +1,62 @@
+package com.nachapa.api.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.nachapa.api.auth.User;
+import com.nachapa.api.outbox.OutboxEvent;
+import com.nachapa.api.outbox.OutboxEventType;
+import com.nachapa.api.repository.OutboxEventRepository;
+import com.nachapa.api.service.impl.OutboxServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceImplTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    // Como o ObjectMapper do Spring Boot: datas em ISO-8601
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    @DisplayName("append: grava o estado do usuário como JSON, sem senha nem CPF")
+    void append() throws Exception {
+        OutboxServiceImpl service = new OutboxServiceImpl(outboxEventRepository, objectMapper);
+        User user = new User("Maria", "maria@neoapp.com", "$2a$10$hash", "20716166003", "31999998888", LocalDate.of(1998, 10, 20));
+        user.setId(UUID.randomUUID());
+        user.setActive(false);
+
+        service.append(OutboxEventType.USER_DEACTIVATED, user);
+
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(captor.capture());
+        OutboxEvent event = captor.getValue();
+        assertThat(event.getType()).isEqualTo(OutboxEventType.USER_DEACTIVATED);
+        assertThat(event.getAggregateId()).isEqualTo(user.getId());
+        assertThat(event.getCreatedAt()).isNotNull();
+        assertThat(event.getPublishedAt()).isNull();
+
+        JsonNode payload = objectMapper.readTree(event.getPayload());
+        assertThat(payload.get("id").asText()).isEqualTo(user.getId().toString());
+        assertThat(payload.get("nome").asText()).isEqualTo("Maria");
+        assertThat(payload.get("data-nascimento").asText()).isEqualTo("1998-10-20");
+        assertThat(payload.get("ativo").asBoolean()).isFalse();
+        assertThat(payload.has("senha")).isFalse();
+        assertThat(payload.has("cpf")).isFalse();
+    }
+}
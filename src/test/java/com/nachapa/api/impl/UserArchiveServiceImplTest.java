@@ -0,0 +1,110 @@
+package com.nachapa.api.impl;
+
+import com.nachapa.api.audit.AuditLog;
+import com.nachapa.api.auth.ArchivedUser;
+import com.nachapa.api.auth.User;
+import com.nachapa.api.dto.user.UserResponseDto;
+import com.nachapa.api.exceptions.ArchivedUserNotFoundException;
+import com.nachapa.api.exceptions.EmailAlreadyRegisteredException;
+import com.nachapa.api.outbox.OutboxEventType;
+import com.nachapa.api.repository.ArchivedUserRepository;
+import com.nachapa.api.repository.UserRepository;
+import com.nachapa.api.service.OutboxService;
+import com.nachapa.api.service.impl.UserArchiveServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserArchiveServiceImplTest {
+
+    private static final UUID ID = UUID.fromString("0b6f8f5e-3c1d-4a57-9a34-6f0d2b1c9e10");
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ArchivedUserRepository archivedUserRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Spy
+    private TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
+
+    @Mock
+    private AuditLog auditLog;
+
+    @InjectMocks
+    private UserArchiveServiceImpl service;
+
+    @Test
+    @DisplayName("restore: copia de volta para tb_user, apaga do arquivo, publica USER_RESTORED e audita")
+    void restore_success() {
+        ArchivedUser archived = archived();
+        when(archived.getCpf()).thenReturn("20716166003");
+        User restored = new User("Maria", "maria@neoapp.com", "$2a$10$hash", "20716166003", "31999998888",
+                LocalDate.of(1998, 10, 20));
+        restored.setId(ID);
+        when(archivedUserRepository.findForRestore(ID)).thenReturn(Optional.of(archived));
+        when(userRepository.existsEmailInAnyTenant("maria@neoapp.com")).thenReturn(false);
+        when(userRepository.existsCpfInAnyTenant("20716166003")).thenReturn(false);
+        when(userRepository.findById(ID)).thenReturn(Optional.of(restored));
+
+        UserResponseDto response = service.restore(ID);
+
+        assertThat(response.getEmail()).isEqualTo("maria@neoapp.com");
+        verify(userRepository).copyFromArchive(any(), any());
+        verify(archivedUserRepository).deleteArchived(ID);
+        verify(outboxService).append(OutboxEventType.USER_RESTORED, restored);
+        verify(auditLog).userRestored(ID, "maria@neoapp.com");
+    }
+
+    @Test
+    @DisplayName("restore: e-mail cadastrado por outra conta depois do arquivamento bloqueia a restauração")
+    void restore_emailTaken() {
+        ArchivedUser archived = archived();
+        when(archivedUserRepository.findForRestore(ID)).thenReturn(Optional.of(archived));
+        when(userRepository.existsEmailInAnyTenant("maria@neoapp.com")).thenReturn(true);
+
+        assertThrows(EmailAlreadyRegisteredException.class, () -> service.restore(ID));
+
+        verify(userRepository, never()).copyFromArchive(any(), any());
+        verify(archivedUserRepository, never()).deleteArchived(any());
+        verifyNoInteractions(outboxService, auditLog);
+    }
+
+    @Test
+    @DisplayName("restore: id fora do arquivo lança ArchivedUserNotFoundException")
+    void restore_notFound() {
+        when(archivedUserRepository.findForRestore(ID)).thenReturn(Optional.empty());
+
+        assertThrows(ArchivedUserNotFoundException.class, () -> service.restore(ID));
+
+        verifyNoInteractions(userRepository, outboxService, auditLog);
+    }
+
+    private static ArchivedUser archived() {
+        ArchivedUser archived = mock(ArchivedUser.class);
+        when(archived.getEmail()).thenReturn("maria@neoapp.com");
+        return archived;
+    }
+}
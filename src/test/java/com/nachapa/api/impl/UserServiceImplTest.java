@@ -1,15 +1,29 @@
 package com.nachapa.api.impl;
 
+import com.nachapa.api.audit.AuditLog;
 import com.nachapa.api.auth.User;
+import com.nachapa.api.config.search.UserSearchProperties;
 import com.nachapa.api.dto.user.UserRequestDto;
 import com.nachapa.api.dto.user.UserResponseDto;
+import com.nachapa.api.dto.user.UserSearchResponseDto;
 import com.nachapa.api.exceptions.CpfAlreadyRegisteredException;
 import com.nachapa.api.exceptions.CpfCannotBeChangedException;
 import com.nachapa.api.exceptions.EmailAlreadyRegisteredException;
 import com.nachapa.api.exceptions.ErrorDeactivateUserException;
+import com.nachapa.api.exceptions.InvalidSearchQueryException;
+import com.nachapa.api.exceptions.RestaurantNotFoundException;
 import com.nachapa.api.exceptions.UserNotFoundException;
+import com.nachapa.api.outbox.OutboxEventType;
+import com.nachapa.api.repository.RestaurantRepository;
 import com.nachapa.api.repository.UserRepository;
+import com.nachapa.api.repository.UserSearchResult;
+import com.nachapa.api.repository.UserVersion;
+import com.nachapa.api.service.OutboxService;
 import com.nachapa.api.service.impl.UserServiceImpl;
+import com.nachapa.api.tenant.Restaurant;
+import com.nachapa.api.tenant.TenantContext;
+import com.nachapa.api.tenant.TenantTransactions;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,23 +31,30 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -44,9 +65,28 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Spy
+    private UserSearchProperties searchProperties = new UserSearchProperties();
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Spy
+    private TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
+
+    @Mock
+    private AuditLog auditLog;
+
+    @Spy
+    private TenantTransactions tenantTransactions = new TenantTransactions(mock(EntityManagerFactory.class),
+            TransactionOperations.withoutTransaction());
+
     @InjectMocks
     private UserServiceImpl service;
 
@@ -77,45 +117,98 @@ class UserServiceImplTest {
     @Test
     @DisplayName("registerUser: deve salvar quando email e cpf não existem")
     void registerUser_success() {
-        when(userRepository.findByEmail(request.getEmail())).thenReturn(Optional.empty());
-        when(userRepository.findByCpf(request.getCpf())).thenReturn(Optional.empty());
+        when(restaurantRepository.existsByIdAndActiveTrue(Restaurant.DEFAULT_ID)).thenReturn(true);
+        when(userRepository.existsEmailInAnyTenant(request.getEmail())).thenReturn(false);
+        when(userRepository.existsCpfInAnyTenant(request.getCpf())).thenReturn(false);
         when(passwordEncoder.encode("secret123")).thenReturn("$2a$10$newHash");
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         ArgumentCaptor<User> captor = ArgumentCaptor.forClass(User.class);
 
-        service.registerUser(request);
+        service.registerUser(request, null);
 
         verify(userRepository).save(captor.capture());
         User saved = captor.getValue();
+        verify(outboxService).append(OutboxEventType.USER_REGISTERED, saved);
+        verify(auditLog).userRegistered(saved.getId(), "maria@neoapp.com");
         assertThat(saved.getName()).isEqualTo("Maria");
         assertThat(saved.getEmail()).isEqualTo("maria@neoapp.com");
         assertThat(saved.getCpf()).isEqualTo("20716166003");
         assertThat(saved.getCellPhone()).isEqualTo("31999998888");
         assertThat(saved.getBirthDate()).isEqualTo(LocalDate.of(1998, 10, 20));
         assertThat(saved.getPassword()).isEqualTo("$2a$10$newHash");
+        assertThat(saved.getTenantId()).isEqualTo(Restaurant.DEFAULT_ID);
+    }
+
+    @Test
+    @DisplayName("registerUser: restaurante do cabeçalho inexistente/inativo lança RestaurantNotFoundException")
+    void registerUser_restauranteInexistente() {
+        UUID restaurantId = UUID.randomUUID();
+        when(restaurantRepository.existsByIdAndActiveTrue(restaurantId)).thenReturn(false);
+
+        assertThrows(RestaurantNotFoundException.class, () -> service.registerUser(request, restaurantId));
+
+        verify(userRepository, never()).existsEmailInAnyTenant(any());
+        verify(userRepository, never()).save(any());
     }
 
     @Test
     @DisplayName("registerUser: deve lançar EmailAlreadyRegisteredException quando email já existe")
     void registerUser_emailDuplicado() {
-        when(userRepository.findByEmail(request.getEmail())).thenReturn(Optional.of(existing));
+        when(restaurantRepository.existsByIdAndActiveTrue(Restaurant.DEFAULT_ID)).thenReturn(true);
+        when(userRepository.existsEmailInAnyTenant(request.getEmail())).thenReturn(true);
 
-        assertThrows(EmailAlreadyRegisteredException.class, () -> service.registerUser(request));
+        assertThrows(EmailAlreadyRegisteredException.class, () -> service.registerUser(request, null));
 
         verify(userRepository, never()).save(any());
+        verify(outboxService, never()).append(any(), any());
     }
 
     @Test
     @DisplayName("registerUser: deve lançar CpfAlreadyRegisteredException quando cpf já existe")
     void registerUser_cpfDuplicado() {
-        when(userRepository.findByEmail(request.getEmail())).thenReturn(Optional.empty());
-        when(userRepository.findByCpf(request.getCpf())).thenReturn(Optional.of(existing));
+        when(restaurantRepository.existsByIdAndActiveTrue(Restaurant.DEFAULT_ID)).thenReturn(true);
+        when(userRepository.existsEmailInAnyTenant(request.getEmail())).thenReturn(false);
+        when(userRepository.existsCpfInAnyTenant(request.getCpf())).thenReturn(true);
 
-        assertThrows(CpfAlreadyRegisteredException.class, () -> service.registerUser(request));
+        assertThrows(CpfAlreadyRegisteredException.class, () -> service.registerUser(request, null));
 
         verify(userRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("registerUser: com token de outro restaurante, duplicidade vale para todos e a gravação usa o restaurante do cadastro")
+    void registerUser_tokenDeOutroRestaurante() {
+        UUID tokenRestaurant = UUID.randomUUID();
+        TenantContext.set(tokenRestaurant);
+        try {
+            when(restaurantRepository.existsByIdAndActiveTrue(Restaurant.DEFAULT_ID)).thenReturn(true);
+            // CPF cadastrado em outro restaurante: a busca filtrada pelo tenant do token não o encontraria
+            when(userRepository.existsEmailInAnyTenant(request.getEmail())).thenReturn(false);
+            when(userRepository.existsCpfInAnyTenant(request.getCpf())).thenReturn(true);
+
+            assertThrows(CpfAlreadyRegisteredException.class, () -> service.registerUser(request, null));
+            verify(userRepository, never()).save(any());
+
+            when(userRepository.existsCpfInAnyTenant(request.getCpf())).thenReturn(false);
+            when(passwordEncoder.encode("secret123")).thenReturn("$2a$10$newHash");
+            AtomicReference<UUID> sessionTenant = new AtomicReference<>();
+            when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+                sessionTenant.set(TenantContext.current());
+                return invocation.getArgument(0);
+            });
+
+            service.registerUser(request, null);
+
+            assertThat(sessionTenant.get()).isEqualTo(Restaurant.DEFAULT_ID);
+            assertThat(TenantContext.current()).isEqualTo(tokenRestaurant);
+            verify(userRepository, never()).findByEmail(any());
+            verify(userRepository, never()).findByCpf(any());
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
     @Test
     @DisplayName("deactivateUserById: deve inativar quando usuário ativo existe")
     void deactivateUser_success() {
@@ -135,7 +228,10 @@ class UserServiceImplTest {
         service.deactivateUserById(id);
 
         assertThat(activeUser.isActive()).isFalse();
+        assertThat(activeUser.getDeactivatedAt()).isNotNull();
         verify(userRepository).save(activeUser);
+        verify(outboxService).append(OutboxEventType.USER_DEACTIVATED, activeUser);
+        verify(auditLog).userDeactivated(id, "ativo@neoapp.com");
     }
 
     @Test
@@ -166,6 +262,8 @@ class UserServiceImplTest {
         when(userRepository.save(any(User.class))).thenThrow(new RuntimeException("db error"));
 
         assertThrows(ErrorDeactivateUserException.class, () -> service.deactivateUserById(id));
+        verify(outboxService, never()).append(any(), any());
+        verify(auditLog, never()).userDeactivated(any(), any());
     }
 
     @Test
@@ -192,6 +290,7 @@ class UserServiceImplTest {
         assertThat(response.getCellPhone()).isEqualTo("31999998888");
 
         verify(passwordEncoder, never()).encode(anyString());
+        verify(outboxService).append(OutboxEventType.USER_UPDATED, existing);
     }
 
     @Test
@@ -247,7 +346,7 @@ class UserServiceImplTest {
     }
 
     @Test
-    @DisplayName("listUsers: deve retornar página mapeada para UserResponseDto")
+    @DisplayName("listUsers: deve retornar a página de ativos mapeada para UserResponseDto")
     void listUsers_success() {
         int page = 0, size = 2;
         String sort = "name,asc";
@@ -271,13 +370,136 @@ class UserServiceImplTest {
 
         Page<User> users = new PageImpl<>(List.of(u1, u2), pageable, 2);
 
-        when(userRepository.findAll(any(Pageable.class))).thenReturn(users);
+        when(userRepository.findAllByIsActiveTrue(any(Pageable.class))).thenReturn(users);
 
         Page<UserResponseDto> result = service.listUsers(page, size, sort);
 
         assertThat(result.getContent()).hasSize(2);
         assertThat(result.getContent().get(0).getName()).isEqualTo("A");
         assertThat(result.getContent().get(1).getEmail()).isEqualTo("b@neoapp.com");
-        verify(userRepository).findAll(any(Pageable.class));
+        verify(userRepository).findAllByIsActiveTrue(any(Pageable.class));
+    }
+
+    private static UserVersion version(UUID id, LocalDateTime updatedAt) {
+        return new UserVersion() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return updatedAt;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("listUsersETag: ETag fraca estável para a mesma página e diferente quando um item muda ou troca de posição")
+    void listUsersETag_changesWithSliceContent() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        LocalDateTime t1 = LocalDateTime.of(2025, 1, 1, 10, 0);
+        LocalDateTime t2 = LocalDateTime.of(2025, 1, 2, 10, 0);
+        Pageable pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "name"));
+
+        when(userRepository.findAllVersionsByIsActiveTrue(pageable)).thenReturn(
+                new PageImpl<>(List.of(version(a, t1), version(b, t2)), pageable, 5),
+                new PageImpl<>(List.of(version(a, t1), version(b, t2)), pageable, 5),
+                new PageImpl<>(List.of(version(a, t1), version(b, t2.plusNanos(1000))), pageable, 5),
+                new PageImpl<>(List.of(version(b, t2), version(a, t1)), pageable, 5),
+                new PageImpl<>(List.of(version(a, t1), version(b, t2)), pageable, 6));
+
+        String first = service.listUsersETag(0, 2, "name,asc");
+
+        assertThat(first).startsWith("W/\"").endsWith("\"");
+        assertThat(service.listUsersETag(0, 2, "name,asc")).isEqualTo(first);
+        assertThat(service.listUsersETag(0, 2, "name,asc")).isNotEqualTo(first);
+        assertThat(service.listUsersETag(0, 2, "name,asc")).isNotEqualTo(first);
+        assertThat(service.listUsersETag(0, 2, "name,asc")).isNotEqualTo(first);
+    }
+
+    @Test
+    @DisplayName("userETag/findById: usuário inativo ou inexistente lança UserNotFoundException")
+    void userETag_and_findById_notFound() {
+        UUID id = UUID.randomUUID();
+        when(userRepository.findVersionByIdAndIsActiveTrue(id)).thenReturn(Optional.empty());
+        when(userRepository.findByIdAndIsActiveTrue(id)).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> service.userETag(id));
+        assertThrows(UserNotFoundException.class, () -> service.findById(id));
+    }
+
+    @Test
+    @DisplayName("userETag: muda quando updatedAt muda")
+    void userETag_changesWithUpdatedAt() {
+        UUID id = UUID.randomUUID();
+        LocalDateTime t = LocalDateTime.of(2025, 1, 1, 10, 0);
+        when(userRepository.findVersionByIdAndIsActiveTrue(id))
+                .thenReturn(Optional.of(version(id, t)), Optional.of(version(id, t.plusSeconds(1))));
+
+        assertThat(service.userETag(id)).isNotEqualTo(service.userETag(id));
+    }
+
+    @Test
+    @DisplayName("searchUsers: termo curto lança InvalidSearchQueryException sem consultar o banco")
+    void searchUsers_shortQuery() {
+        assertThrows(InvalidSearchQueryException.class, () -> service.searchUsers(" ab ", 10));
+        assertThrows(InvalidSearchQueryException.class, () -> service.searchUsers(null, 10));
+        verify(userRepository, never())
+                .searchByTrigram(any(), anyString(), anyString(), anyString(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("searchUsers: CPF com pontuação vira prefixo só de dígitos na busca por trigramas")
+    void searchUsers_trigramCpfPrefix() {
+        UUID id = UUID.randomUUID();
+        UUID tenantId = UUID.randomUUID();
+        when(userRepository.searchByTrigram(tenantId, "207.161", "%207.161%", "207161", "207161%", 500, 20))
+                .thenReturn(List.of(searchResult(id, "Maria", "maria@neoapp.com")));
+
+        // SQL nativo: o restaurante da requisição vai como parâmetro
+        TenantContext.set(tenantId);
+        List<UserSearchResponseDto> results;
+        try {
+            results = service.searchUsers(" 207.161 ", 20);
+        } finally {
+            TenantContext.clear();
+        }
+
+        assertThat(results).singleElement().satisfies(result -> {
+            assertThat(result.getId()).isEqualTo(id);
+            assertThat(result.getName()).isEqualTo("Maria");
+            assertThat(result.getEmail()).isEqualTo("maria@neoapp.com");
+        });
+    }
+
+    @Test
+    @DisplayName("searchUsers: sem pg_trgm usa a busca LIKE, escapa curingas e limita os resultados")
+    void searchUsers_likeFallback() {
+        searchProperties.setTrigram(false);
+        when(userRepository.searchByLike("%ma\\_ria\\%%", "ma_ria%", "ma\\_ria\\%%", Limit.of(50)))
+                .thenReturn(List.of());
+
+        assertThat(service.searchUsers("MA_RIA%", 1000)).isEmpty();
+    }
+
+    private static UserSearchResult searchResult(UUID id, String name, String email) {
+        return new UserSearchResult() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
     }
-}
\ No newline at end of file
+}
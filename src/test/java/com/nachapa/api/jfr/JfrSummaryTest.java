@@ -0,0 +1,123 @@
+package com.nachapa.api.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrSummaryTest {
+
+    private static final Path SETTINGS = Path.of("src/main/jfr/nachapa.jfc");
+
+    @TempDir
+    Path directory;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    @Test
+    @DisplayName("com nachapa.jfc os eventos são gravados e resumidos por tipo, grupo e fase")
+    void summarizesPhases() throws Exception {
+        Path file = record(Configuration.create(SETTINGS));
+
+        assertThat(run(file)).isZero();
+        String summary = out.toString(StandardCharsets.UTF_8);
+        assertThat(summary).contains("nachapa.Login outcome=success", "nachapa.Login outcome=bad_password",
+                "nachapa.TokenVerification outcome=valid", "nachapa.TokenVerification outcome=expired",
+                "nachapa.UserOperation operation=register", "nachapa.UserOperation operation=find");
+        assertThat(block(summary, "nachapa.Login outcome=success"))
+                .containsPattern("total\\s+3 ").containsPattern("lookup\\s+3 ")
+                .containsPattern("hash\\s+3 ").containsPattern("sign\\s+3 ");
+        // A falha de senha não chega à assinatura: sem linha de sign
+        assertThat(block(summary, "nachapa.Login outcome=bad_password")).contains("hash").doesNotContain("sign");
+        assertThat(block(summary, "nachapa.UserOperation operation=register"))
+                .containsPattern("lookup\\s+1 ").containsPattern("persist\\s+1 ");
+    }
+
+    @Test
+    @DisplayName("desligados por padrão: uma gravação só com as configurações do JDK não tem eventos nachapa.*")
+    void disabledByDefault() throws Exception {
+        Path file = record(Configuration.getConfiguration("default"));
+
+        assertThat(run(file)).isEqualTo(1);
+        assertThat(out.toString(StandardCharsets.UTF_8)).startsWith("nenhum evento nachapa.*");
+    }
+
+    @Test
+    @DisplayName("percentil nearest-rank")
+    void percentile() {
+        long[] sorted = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        assertThat(JfrSummary.percentile(sorted, 50)).isEqualTo(5);
+        assertThat(JfrSummary.percentile(sorted, 90)).isEqualTo(9);
+        assertThat(JfrSummary.percentile(sorted, 99)).isEqualTo(10);
+        assertThat(JfrSummary.percentile(new long[]{7}, 50)).isEqualTo(7);
+    }
+
+    private Path record(Configuration configuration) throws Exception {
+        Path file = directory.resolve("nachapa.jfr");
+        try (Recording recording = new Recording(configuration)) {
+            recording.start();
+            for (int i = 0; i < 3; i++) {
+                login(LoginEvent.SUCCESS, true);
+            }
+            login(LoginEvent.BAD_PASSWORD, false);
+            verification(TokenVerificationEvent.VALID);
+            verification(TokenVerificationEvent.EXPIRED);
+            try (UserOperationEvent event = UserOperationEvent.start("register")) {
+                spin();
+                event.lookupDone();
+                spin();
+                event.persistDone();
+            }
+            try (UserOperationEvent event = UserOperationEvent.start("find")) {
+                spin();
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+        return file;
+    }
+
+    private static void login(String outcome, boolean signed) {
+        LoginEvent event = new LoginEvent();
+        event.begin();
+        event.setLookup(1_000_000);
+        event.setHash(80_000_000);
+        if (signed) {
+            event.setSign(50_000);
+        }
+        event.finish(outcome);
+    }
+
+    private static void verification(String outcome) {
+        TokenVerificationEvent event = new TokenVerificationEvent();
+        event.begin();
+        spin();
+        event.finish(outcome);
+    }
+
+    // Garante uma duração maior que zero entre as marcas
+    private static void spin() {
+        long start = System.nanoTime();
+        while (System.nanoTime() - start < 10_000) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private int run(Path file) throws Exception {
+        return JfrSummary.run(new String[]{file.toString()}, new PrintStream(out, true, StandardCharsets.UTF_8));
+    }
+
+    private static String block(String summary, String header) {
+        int start = summary.indexOf(header);
+        int end = summary.indexOf(System.lineSeparator() + System.lineSeparator(), start);
+        return summary.substring(start, end);
+    }
+}
@@ -0,0 +1,304 @@
+package com.nachapa.api.kitchen;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.nachapa.api.config.constants.MetricsConstants.KITCHEN_DISCONNECTED;
+import static com.nachapa.api.config.constants.MetricsConstants.TAG_REASON;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KitchenHubTest {
+
+    private static final UUID RESTAURANT = UUID.fromString("6f1c2d3e-0000-4000-8000-000000000042");
+    private static final UUID OTHER = UUID.fromString("6f1c2d3e-0000-4000-8000-000000000043");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // Escritas só rodam quando o teste manda: permite simular tela atrasada
+    private final ManualExecutor dispatcher = new ManualExecutor();
+    private KitchenHub hub;
+
+    @BeforeEach
+    void setUp() {
+        KitchenProperties properties = new KitchenProperties();
+        properties.setRingSize(4);
+        hub = new KitchenHub(properties, meterRegistry, dispatcher);
+    }
+
+    @Test
+    @DisplayName("publish: eventos chegam só às telas da mesma estação e restaurante")
+    void publish_routesByStation() {
+        RecordingEmitter grill = subscribe(RESTAURANT, "chapa", null);
+        RecordingEmitter drinks = subscribe(RESTAURANT, "bebidas", null);
+        RecordingEmitter otherRestaurant = subscribe(OTHER, "chapa", null);
+
+        hub.publish(RESTAURANT, "chapa", "ticket", "{\"numero\":1}");
+        hub.publish(RESTAURANT, "bebidas", "ticket", "{\"numero\":1}");
+        hub.publish(RESTAURANT, "chapa", "ticket", "{\"numero\":2}");
+        dispatcher.runAll();
+
+        assertThat(grill.data()).containsExactly("{\"numero\":1}", "{\"numero\":2}");
+        assertThat(drinks.data()).containsExactly("{\"numero\":1}");
+        assertThat(otherRestaurant.data()).isEmpty();
+        assertThat(hub.streams()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("subscribe: tela nova recebe o buffer; reconexão com Last-Event-ID retoma sem repetir")
+    void subscribe_resumesFromLastEventId() {
+        hub.publish(RESTAURANT, "chapa", "ticket", "1");
+        hub.publish(RESTAURANT, "chapa", "ticket", "2");
+        RecordingEmitter first = subscribe(RESTAURANT, "chapa", null);
+        dispatcher.runAll();
+        assertThat(first.data()).containsExactly("1", "2");
+
+        String lastId = first.ids().get(1);
+        first.complete();
+        hub.publish(RESTAURANT, "chapa", "ticket", "3");
+
+        RecordingEmitter resumed = subscribe(RESTAURANT, "chapa", lastId);
+        dispatcher.runAll();
+        assertThat(resumed.names()).containsExactly("ticket");
+        assertThat(resumed.data()).containsExactly("3");
+    }
+
+    @Test
+    @DisplayName("subscribe: id desconhecido ou já fora do buffer manda reset e o buffer inteiro")
+    void subscribe_resetsOnUnknownId() {
+        for (int i = 1; i <= 6; i++) {
+            hub.publish(RESTAURANT, "chapa", "ticket", String.valueOf(i));
+        }
+
+        RecordingEmitter otherInstance = subscribe(RESTAURANT, "chapa", "zzz.1-5");
+        RecordingEmitter fresh = subscribe(RESTAURANT, "chapa", null);
+        dispatcher.runAll();
+        String expired = fresh.ids().get(0).replaceAll("-\\d+$", "-1");
+        RecordingEmitter expiredId = subscribe(RESTAURANT, "chapa", expired);
+        dispatcher.runAll();
+
+        assertThat(otherInstance.names()).first().isEqualTo(KitchenHub.RESET);
+        assertThat(otherInstance.data()).containsExactly("", "3", "4", "5", "6");
+        assertThat(expiredId.names()).first().isEqualTo(KitchenHub.RESET);
+        assertThat(expiredId.data()).containsExactly("", "3", "4", "5", "6");
+    }
+
+    @Test
+    @DisplayName("drain: tela mais atrasada que o buffer é desconectada em vez de acumular eventos")
+    void drain_disconnectsSlowConsumer() {
+        RecordingEmitter fast = subscribe(RESTAURANT, "chapa", null);
+        RecordingEmitter slow = subscribe(RESTAURANT, "chapa", null);
+        // A escrita para a tela lenta trava no primeiro evento; enquanto isso a cozinha segue e a rápida recebe tudo
+        slow.duringSend = () -> {
+            for (int i = 2; i <= 6; i++) {
+                hub.publish(RESTAURANT, "chapa", "ticket", String.valueOf(i));
+                dispatcher.runAll();
+            }
+        };
+
+        hub.publish(RESTAURANT, "chapa", "ticket", "1");
+        dispatcher.runAll();
+
+        assertThat(fast.data()).containsExactly("1", "2", "3", "4", "5", "6");
+        assertThat(slow.data()).containsExactly("1");
+        assertThat(slow.completed).isTrue();
+        assertThat(hub.streams()).isEqualTo(1);
+        assertThat(meterRegistry.counter(KITCHEN_DISCONNECTED, TAG_REASON, "slow_consumer").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("heartbeat: comentário só para telas sem eventos; tela que caiu sai da estação")
+    void heartbeat_keepsAliveAndDropsDeadStreams() {
+        RecordingEmitter idle = subscribe(RESTAURANT, "chapa", null);
+        RecordingEmitter dead = subscribe(RESTAURANT, "bebidas", null);
+        dispatcher.runAll();
+        dead.failOnSend = true;
+
+        hub.heartbeat();
+        dispatcher.runAll();
+
+        assertThat(idle.comments).isEqualTo(1);
+        assertThat(hub.streams()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("expireStalledSends: escrita travada além de send-timeout desliga a tela sem parar as outras estações")
+    void expireStalledSends_replacesBlockedThread() throws InterruptedException {
+        KitchenProperties properties = new KitchenProperties();
+        properties.setSendTimeout(Duration.ofMillis(20));
+        // Uma thread só: enquanto a tela travada a ocupa, nenhuma outra recebe nada
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        KitchenHub blockingHub = new KitchenHub(properties, meterRegistry, pool);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(1);
+        try {
+            // Tela conectada que parou de ler: o send não volta até o socket desistir
+            RecordingEmitter stuck = new RecordingEmitter();
+            stuck.duringSend = () -> {
+                blocked.countDown();
+                awaitUninterruptibly(release);
+            };
+            blockingHub.subscribe(RESTAURANT, "chapa", null, stuck);
+            blockingHub.publish(RESTAURANT, "chapa", "ticket", "1");
+            assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+            RecordingEmitter drinks = new RecordingEmitter();
+            drinks.duringSend = delivered::countDown;
+            blockingHub.subscribe(RESTAURANT, "bebidas", null, drinks);
+            blockingHub.publish(RESTAURANT, "bebidas", "ticket", "1");
+            assertThat(delivered.await(100, TimeUnit.MILLISECONDS)).isFalse();
+
+            Thread.sleep(30);
+            blockingHub.expireStalledSends();
+
+            assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(blockingHub.streams()).isEqualTo(1);
+            assertThat(meterRegistry.counter(KITCHEN_DISCONNECTED, TAG_REASON, "send_timeout").count()).isEqualTo(1);
+
+            // A escrita volta: a conexão é encerrada e o pool volta ao tamanho configurado
+            release.countDown();
+            blockingHub.close();
+            assertThat(stuck.completed).isTrue();
+            assertThat(stuck.data()).containsExactly("1");
+            assertThat(drinks.data()).containsExactly("1");
+            assertThat(pool.getMaximumPoolSize()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private RecordingEmitter subscribe(UUID restaurantId, String station, String lastEventId) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.subscribe(restaurantId, station, lastEventId, emitter);
+        return emitter;
+    }
+
+    // Guarda o texto SSE de cada evento em vez de escrever numa resposta
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new ArrayList<>();
+        private int comments;
+        private boolean completed;
+        private boolean failOnSend;
+        private Runnable duringSend;
+        private Runnable completion = () -> {
+        };
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failOnSend) {
+                throw new IOException("Broken pipe");
+            }
+            String text = builder.build().stream()
+                    .map(part -> part.getData().toString())
+                    .collect(Collectors.joining());
+            if (text.startsWith(":")) {
+                comments++;
+            } else {
+                events.add(text);
+            }
+            if (duringSend != null) {
+                Runnable hook = duringSend;
+                duringSend = null;
+                hook.run();
+            }
+        }
+
+        @Override
+        public synchronized void onCompletion(Runnable callback) {
+            this.completion = callback;
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            completion.run();
+        }
+
+        List<String> ids() {
+            return field("id:");
+        }
+
+        List<String> names() {
+            return field("event:");
+        }
+
+        List<String> data() {
+            return field("data:");
+        }
+
+        private List<String> field(String prefix) {
+            return events.stream()
+                    .map(text -> text.lines().filter(line -> line.startsWith(prefix)).findFirst()
+                            .map(line -> line.substring(prefix.length())).orElse(""))
+                    .toList();
+        }
+    }
+
+    // Escritas na fila até o teste chamar runAll
+    private static final class ManualExecutor extends AbstractExecutorService {
+
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.nachapa.api.menu;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nachapa.api.exceptions.RestaurantNotFoundException;
+import com.nachapa.api.repository.MenuCategoryRepository;
+import com.nachapa.api.repository.MenuItemRepository;
+import com.nachapa.api.repository.RestaurantMenuVersion;
+import com.nachapa.api.repository.RestaurantRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static com.nachapa.api.config.constants.MetricsConstants.MENU_SNAPSHOT_BUILD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MenuCatalogTest {
+
+    private static final UUID RESTAURANT = UUID.fromString("6f1c2d3e-0000-4000-8000-000000000042");
+    private static final UUID DRINKS = UUID.fromString("6f1c2d3e-0000-4000-8000-0000000000d1");
+    private static final UUID HIDDEN = UUID.fromString("6f1c2d3e-0000-4000-8000-0000000000d2");
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private MenuCategoryRepository categoryRepository;
+
+    @Mock
+    private MenuItemRepository itemRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MenuProperties properties = new MenuProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MenuCatalog catalog;
+
+    private final MenuItem soda = item(DRINKS, "Refrigerante", "6.50", true);
+
+    @BeforeEach
+    void setUp() {
+        catalog = new MenuCatalog(restaurantRepository, categoryRepository, itemRepository,
+                TransactionOperations.withoutTransaction(), objectMapper, properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("get: monta uma vez e depois serve o mesmo snapshot sem tocar no banco")
+    void get_buildsOnceThenServesFromMemory() throws Exception {
+        stubMenu(3);
+
+        MenuSnapshot first = catalog.get(RESTAURANT);
+        MenuSnapshot second = catalog.get(RESTAURANT);
+
+        assertThat(second).isSameAs(first);
+        verify(restaurantRepository, times(1)).findMenuVersion(RESTAURANT);
+        verify(categoryRepository, times(1)).findActiveByTenant(RESTAURANT);
+        verify(itemRepository, times(1)).findAllByTenant(RESTAURANT);
+        assertThat(meterRegistry.timer(MENU_SNAPSHOT_BUILD).count()).isEqualTo(1);
+
+        JsonNode json = objectMapper.readTree(first.json());
+        assertThat(json.get("versao").asLong()).isEqualTo(3);
+        assertThat(json.get("categorias")).hasSize(1);
+        assertThat(json.at("/categorias/0/itens/0/nome").asText()).isEqualTo("Refrigerante");
+        assertThat(json.at("/categorias/0/itens/0/preco").decimalValue()).isEqualByComparingTo("6.50");
+    }
+
+    @Test
+    @DisplayName("snapshot: itens de categoria inativa ficam fora do JSON e do índice de itens")
+    void snapshot_skipsItemsOfInactiveCategories() {
+        MenuItem hidden = item(HIDDEN, "Sobremesa", "9.00", true);
+        when(restaurantRepository.findMenuVersion(RESTAURANT)).thenReturn(Optional.of(1L));
+        when(categoryRepository.findActiveByTenant(RESTAURANT)).thenReturn(List.of(category(DRINKS, "Bebidas")));
+        when(itemRepository.findAllByTenant(RESTAURANT)).thenReturn(List.of(soda, hidden));
+
+        MenuSnapshot snapshot = catalog.get(RESTAURANT);
+
+        assertThat(snapshot.item(soda.getId())).isNotNull();
+        assertThat(snapshot.item(soda.getId()).price()).isEqualByComparingTo("6.50");
+        assertThat(snapshot.item(hidden.getId())).isNull();
+        assertThat(new String(snapshot.json())).doesNotContain("Sobremesa");
+    }
+
+    @Test
+    @DisplayName("refresh: versão nova troca o snapshot e o ETag; restaurante fora do cache não é montado")
+    void refresh_replacesWithNewerVersion() {
+        stubMenu(3, 4);
+        MenuSnapshot before = catalog.get(RESTAURANT);
+
+        catalog.refresh(RESTAURANT);
+        MenuSnapshot after = catalog.get(RESTAURANT);
+
+        assertThat(after.version()).isEqualTo(4);
+        assertThat(after.eTag()).isNotEqualTo(before.eTag());
+
+        catalog.refresh(UUID.randomUUID());
+        verify(restaurantRepository, times(2)).findMenuVersion(any());
+    }
+
+    @Test
+    @DisplayName("refresh: montagem com versão menor ou igual não substitui o snapshot atual")
+    void refresh_keepsCurrentWhenNotNewer() {
+        stubMenu(5, 5, 4);
+        MenuSnapshot current = catalog.get(RESTAURANT);
+
+        catalog.refresh(RESTAURANT);
+        catalog.refresh(RESTAURANT);
+
+        assertThat(catalog.get(RESTAURANT)).isSameAs(current);
+    }
+
+    @Test
+    @DisplayName("sync: uma consulta de versões; só remonta quem ficou para trás")
+    void sync_reloadsOnlyStaleRestaurants() {
+        catalog.sync();
+        verifyNoMoreInteractions(restaurantRepository);
+
+        stubMenu(2, 3);
+        catalog.get(RESTAURANT);
+        when(restaurantRepository.findMenuVersions(Set.of(RESTAURANT))).thenReturn(List.of(version(2L)), List.of(version(3L)));
+
+        catalog.sync();
+        verify(restaurantRepository, times(1)).findMenuVersion(RESTAURANT);
+
+        catalog.sync();
+        assertThat(catalog.get(RESTAURANT).version()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("gzip: só acima de gzip-min-size, com o mesmo conteúdo do JSON")
+    void gzip_onlyAboveThreshold() throws Exception {
+        stubMenu(1, 2);
+        assertThat(catalog.get(RESTAURANT).hasGzip()).isFalse();
+
+        properties.setGzipMinSize(DataSize.ofBytes(1));
+        catalog.refresh(RESTAURANT);
+        MenuSnapshot snapshot = catalog.get(RESTAURANT);
+
+        assertThat(snapshot.hasGzip()).isTrue();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()))) {
+            assertThat(in.readAllBytes()).isEqualTo(snapshot.json());
+        }
+    }
+
+    @Test
+    @DisplayName("get: restaurante inexistente lança RestaurantNotFoundException e não fica em cache")
+    void get_unknownRestaurant() {
+        when(restaurantRepository.findMenuVersion(RESTAURANT)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> catalog.get(RESTAURANT)).isInstanceOf(RestaurantNotFoundException.class);
+        assertThatThrownBy(() -> catalog.get(RESTAURANT)).isInstanceOf(RestaurantNotFoundException.class);
+        verify(categoryRepository, never()).findActiveByTenant(any());
+    }
+
+    // Versões devolvidas em sequência, uma por montagem; a última se repete
+    private void stubMenu(long... versions) {
+        Deque<Long> sequence = new ArrayDeque<>();
+        for (long version : versions) {
+            sequence.add(version);
+        }
+        when(restaurantRepository.findMenuVersion(RESTAURANT))
+                .thenAnswer(invocation -> Optional.of(sequence.size() > 1 ? sequence.poll() : sequence.peek()));
+        when(categoryRepository.findActiveByTenant(RESTAURANT)).thenReturn(List.of(category(DRINKS, "Bebidas")));
+        when(itemRepository.findAllByTenant(RESTAURANT)).thenReturn(List.of(soda));
+    }
+
+    private static RestaurantMenuVersion version(long menuVersion) {
+        return new RestaurantMenuVersion() {
+            @Override
+            public UUID getId() {
+                return RESTAURANT;
+            }
+
+            @Override
+            public long getMenuVersion() {
+                return menuVersion;
+            }
+        };
+    }
+
+    private static MenuCategory category(UUID id, String name) {
+        MenuCategory category = new MenuCategory();
+        category.setId(id);
+        category.setTenantId(RESTAURANT);
+        category.setName(name);
+        category.setActive(true);
+        return category;
+    }
+
+    private static MenuItem item(UUID categoryId, String name, String price, boolean available) {
+        MenuItem item = new MenuItem();
+        item.setId(UUID.randomUUID());
+        item.setTenantId(RESTAURANT);
+        item.setCategoryId(categoryId);
+        item.setName(name);
+        item.setPrice(new BigDecimal(price));
+        item.setAvailable(available);
+        return item;
+    }
+}
@@ -0,0 +1,148 @@
+package com.nachapa.api.order;
+
+import com.nachapa.api.exceptions.OrderIntakeUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.nachapa.api.config.constants.MetricsConstants.ORDER_INTAKE_REJECTED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GroupCommitOrderIntakeTest {
+
+    private final OrderIntakeProperties properties = new OrderIntakeProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecordingWriter writer = new RecordingWriter();
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+    private GroupCommitOrderIntake intake;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        callers.shutdownNow();
+        if (intake != null) {
+            intake.close();
+        }
+    }
+
+    @Test
+    @DisplayName("pedidos simultâneos saem em poucos lotes e cada chamada só retorna depois do seu lote")
+    void groupsConcurrentOrders() throws Exception {
+        properties.setMaxWait(Duration.ofMillis(200));
+        properties.setBatchSize(8);
+        intake = new GroupCommitOrderIntake(writer, properties, meterRegistry);
+
+        List<Future<?>> calls = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            calls.add(callers.submit(() -> intake.place(order())));
+        }
+        for (Future<?> call : calls) {
+            call.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(writer.batches.stream().mapToInt(List::size).sum()).isEqualTo(8);
+        assertThat(writer.batches.size()).isLessThan(8);
+    }
+
+    @Test
+    @DisplayName("lote com falha é regravado pedido a pedido: só o problemático recebe erro")
+    void isolatesFailingOrder() throws Exception {
+        properties.setMaxWait(Duration.ofMillis(200));
+        properties.setBatchSize(3);
+        intake = new GroupCommitOrderIntake(writer, properties, meterRegistry);
+        PlacedOrder poison = order();
+        writer.poison = poison;
+
+        Future<?> good1 = callers.submit(() -> intake.place(order()));
+        Future<?> bad = callers.submit(() -> intake.place(poison));
+        Future<?> good2 = callers.submit(() -> intake.place(order()));
+
+        good1.get(5, TimeUnit.SECONDS);
+        good2.get(5, TimeUnit.SECONDS);
+        assertThatThrownBy(() -> bad.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(OrderIntakeUnavailableException.class);
+        assertThat(writer.written).hasSize(2).doesNotContain(poison);
+    }
+
+    @Test
+    @DisplayName("fila cheia responde na hora; quem esgota o tempo antes de entrar num lote não é gravado")
+    void rejectsWhenFullAndAbandonsOnTimeout() throws Exception {
+        properties.setQueueCapacity(1);
+        properties.setBatchSize(1);
+        properties.setMaxWait(Duration.ZERO);
+        properties.setTimeout(Duration.ofMillis(100));
+        writer.gate = new CountDownLatch(1);
+        intake = new GroupCommitOrderIntake(writer, properties, meterRegistry);
+
+        // 1º fica preso gravando, 2º ocupa a fila, 3º encontra a fila cheia
+        Future<?> blocked = callers.submit(() -> intake.place(order()));
+        writer.started.await(5, TimeUnit.SECONDS);
+        PlacedOrder waiting = order();
+        Future<?> queued = callers.submit(() -> intake.place(waiting));
+        Thread.sleep(20);
+        assertThatThrownBy(() -> intake.place(order())).isInstanceOf(OrderIntakeUnavailableException.class);
+
+        assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(OrderIntakeUnavailableException.class);
+        writer.gate.countDown();
+        blocked.get(5, TimeUnit.SECONDS);
+        intake.close();
+
+        assertThat(writer.written).hasSize(1).doesNotContain(waiting);
+        assertThat(meterRegistry.counter(ORDER_INTAKE_REJECTED, "reason", "queue_full").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter(ORDER_INTAKE_REJECTED, "reason", "timeout").count()).isEqualTo(1);
+    }
+
+    private static PlacedOrder order() {
+        Order order = new Order();
+        order.setId(UUID.randomUUID());
+        order.setStatus(OrderStatus.PLACED);
+        order.setTotal(BigDecimal.TEN);
+        order.setCreatedAt(LocalDateTime.now());
+        return new PlacedOrder(order, List.of());
+    }
+
+    // OrderWriter sem banco: registra os lotes, pode falhar num pedido específico ou segurar a gravação
+    private static final class RecordingWriter extends OrderWriter {
+
+        private final List<List<PlacedOrder>> batches = new CopyOnWriteArrayList<>();
+        private final List<PlacedOrder> written = new CopyOnWriteArrayList<>();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private volatile PlacedOrder poison;
+        private volatile CountDownLatch gate;
+
+        private RecordingWriter() {
+            super(null, null, new SimpleMeterRegistry());
+        }
+
+        @Override
+        public void write(List<PlacedOrder> orders) {
+            started.countDown();
+            if (gate != null) {
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (orders.contains(poison)) {
+                throw new DataIntegrityViolationException("pedido inválido");
+            }
+            batches.add(List.copyOf(orders));
+            written.addAll(orders);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.nachapa.api.order;
+
+import com.nachapa.api.auth.RoleEnum;
+import com.nachapa.api.exceptions.InvalidOrderTransitionException;
+import com.nachapa.api.exceptions.OrderTransitionNotAllowedException;
+import com.nachapa.api.exceptions.OrderVersionConflictException;
+import com.nachapa.api.repository.OrderEventRepository;
+import com.nachapa.api.repository.OrderItemRepository;
+import com.nachapa.api.repository.OrderRepository;
+import com.nachapa.api.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.nachapa.api.config.constants.MetricsConstants.ORDER_REPLAYED_EVENTS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Transições contra o schema gerado pelas entidades; duas instâncias do OrderLifecycle fazem o papel de dois pods
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderLifecycleTest {
+
+    private static final UUID RESTAURANT = UUID.fromString("6f1c2d3e-4b5a-4c6d-8e7f-9a0b1c2d3e4f");
+    private static final OrderActor KITCHEN = new OrderActor("cozinha@neoapp.com", RoleEnum.OPERATOR);
+    private static final OrderActor CUSTOMER = new OrderActor("maria@neoapp.com", RoleEnum.USER);
+    private static final OrderActor OTHER_CUSTOMER = new OrderActor("joao@neoapp.com", RoleEnum.USER);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private OrderEventRepository eventRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.set(RESTAURANT);
+        writer = new OrderWriter(new JdbcTemplate(dataSource), new TransactionTemplate(transactionManager), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        eventRepository.deleteAll();
+        orderItemRepository.deleteAll();
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("transition: fluxo completo com histórico, snapshot periódico e no estado final")
+    void transition_fullFlow() {
+        OrderLifecycle lifecycle = lifecycle(Duration.ofMinutes(1));
+        Order order = place(lifecycle);
+
+        lifecycle.transition(order.getId(), RESTAURANT, OrderStatus.ACCEPTED, KITCHEN, 1, null);
+        lifecycle.transition(order.getId(), RESTAURANT, OrderStatus.PREPARING, KITCHEN, null, null);
+        assertThat(orderRepository.findById(order.getId()).orElseThrow().getStatus()).isEqualTo(OrderStatus.PREPARING);
+        lifecycle.transition(order.getId(), RESTAURANT, OrderStatus.READY, KITCHEN, null, null);
+        lifecycle.transition(order.getId(), RESTAURANT, OrderStatus.OUT_FOR_DELIVERY, KITCHEN, null, null);
+        assertThat(orderRepository.findById(order.getId()).orElseThrow().getStatusVersion()).isEqualTo(3);
+
+        // Outra instância, sem cache: snapshot da versão 3 e dois eventos por cima
+        OrderState fromDatabase = lifecycle(Duration.ofMinutes(1)).current(order.getId(), RESTAURANT);
+        assertThat(fromDatabase.status()).isEqualTo(OrderStatus.OUT_FOR_DELIVERY);
+        assertThat(fromDatabase.version()).isEqualTo(5);
+        assertThat(meterRegistry.summary(ORDER_REPLAYED_EVENTS).max()).isEqualTo(2);
+
+        OrderState delivered = lifecycle.transition(order.getId(), RESTAURANT, OrderStatus.DELIVERED, KITCHEN, null, "ok");
+        assertThat(delivered.version()).isEqualTo(6);
+        Order stored = orderRepository.findById(order.getId()).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(OrderStatus.DELIVERED);
+        assertThat(stored.getStatusVersion()).isEqualTo(6);
+
+        List<OrderEvent> history = lifecycle.history(order.getId(), RESTAURANT);
+        assertThat(history).extracting(OrderEvent::getStatus).containsExactly(OrderStatus.PLACED, OrderStatus.ACCEPTED,
+                OrderStatus.PREPARING, OrderStatus.READY, OrderStatus.OUT_FOR_DELIVERY, OrderStatus.DELIVERED);
+        assertThat(history.get(0).getActor()).isEqualTo(CUSTOMER.email());
+        assertThat(history.get(5).getActorRole()).isEqualTo(RoleEnum.OPERATOR);
+        assertThat(history.get(5).getReason()).isEqualTo("ok");
+        assertThatThrownBy(() -> lifecycle.transition(order.getId(), RESTAURANT, OrderStatus.CANCELLED, KITCHEN, null, null))
+                .isInstanceOf(InvalidOrderTransitionException.class);
+    }
+
+    @Test
+    @DisplayName("transition: cliente cancela o próprio pedido só antes do aceite; etapas fora de ordem são recusadas")
+    void transition_rolesAndOrder() {
+        OrderLifecycle lifecycle = lifecycle(Duration.ofMinutes(1));
+        Order early = place(lifecycle);
+        Order accepted = place(lifecycle);
+        lifecycle.transition(accepted.getId(), RESTAURANT, OrderStatus.ACCEPTED, KITCHEN, null, null);
+
+        assertThatThrownBy(() -> lifecycle.transition(early.getId(), RESTAURANT, OrderStatus.CANCELLED, OTHER_CUSTOMER, null, null))
+                .isInstanceOf(OrderTransitionNotAllowedException.class);
+        assertThatThrownBy(() -> lifecycle.transition(early.getId(), RESTAURANT, OrderStatus.ACCEPTED, CUSTOMER, null, null))
+                .isInstanceOf(OrderTransitionNotAllowedException.class);
+        assertThatThrownBy(() -> lifecycle.transition(accepted.getId(), RESTAURANT, OrderStatus.CANCELLED, CUSTOMER, null, null))
+                .isInstanceOf(OrderTransitionNotAllowedException.class);
+        assertThatThrownBy(() -> lifecycle.transition(accepted.getId(), RESTAURANT, OrderStatus.READY, KITCHEN, null, null))
+                .isInstanceOf(InvalidOrderTransitionException.class);
+
+        OrderState cancelled = lifecycle.transition(early.getId(), RESTAURANT, OrderStatus.CANCELLED, CUSTOMER, null, "desisti");
+        assertThat(cancelled.status()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(lifecycle.transition(accepted.getId(), RESTAURANT, OrderStatus.CANCELLED, KITCHEN, null, null).status())
+                .isEqualTo(OrderStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("transition: instância com cache velho perde no INSERT; com versão esperada responde conflito, sem ela refaz")
+    void transition_optimisticConcurrency() {
+        OrderLifecycle first = lifecycle(Duration.ofMinutes(1));
+        OrderLifecycle second = lifecycle(Duration.ofMinutes(1));
+        Order order = place(first);
+        assertThat(second.current(order.getId(), RESTAURANT).version()).isEqualTo(1);
+
+        first.transition(order.getId(), RESTAURANT, OrderStatus.ACCEPTED, KITCHEN, 1, null);
+
+        // second ainda acha que o pedido está na versão 1
+        assertThatThrownBy(() -> second.transition(order.getId(), RESTAURANT, OrderStatus.ACCEPTED, KITCHEN, 1, null))
+                .isInstanceOf(OrderVersionConflictException.class);
+        assertThatThrownBy(() -> second.transition(order.getId(), RESTAURANT, OrderStatus.ACCEPTED, KITCHEN, null, null))
+                .isInstanceOf(InvalidOrderTransitionException.class);
+        OrderState preparing = second.transition(order.getId(), RESTAURANT, OrderStatus.PREPARING, KITCHEN, 2, null);
+
+        assertThat(preparing.version()).isEqualTo(3);
+        assertThat(eventRepository.findAllByOrderIdAndTenantIdOrderByVersion(order.getId(), RESTAURANT))
+                .extracting(OrderEvent::getVersion).containsExactly(1, 2, 3);
+    }
+
+    private OrderLifecycle lifecycle(Duration hotOrderMaxAge) {
+        OrderLifecycleProperties properties = new OrderLifecycleProperties();
+        properties.setSnapshotInterval(3);
+        properties.setHotOrderMaxAge(hotOrderMaxAge);
+        return new OrderLifecycle(orderRepository, eventRepository, new JdbcTemplate(dataSource),
+                new TransactionTemplate(transactionManager), properties, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    private Order place(OrderLifecycle lifecycle) {
+        Order order = new Order();
+        order.setId(UUID.randomUUID());
+        order.setTenantId(RESTAURANT);
+        order.setCustomerEmail(CUSTOMER.email());
+        order.setStatus(OrderStatus.PLACED);
+        order.setTotal(new BigDecimal("24.90"));
+        order.setCreatedAt(LocalDateTime.of(2025, 6, 6, 20, 30));
+        writer.write(List.of(new PlacedOrder(order, List.of())));
+        lifecycle.placed(order);
+        return order;
+    }
+}
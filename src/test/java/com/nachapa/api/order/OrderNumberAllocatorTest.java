@@ -0,0 +1,169 @@
+package com.nachapa.api.order;
+
+import com.nachapa.api.repository.OrderNumberBlockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderNumberAllocatorTest {
+
+    private static final UUID RESTAURANT = UUID.fromString("6f1c2d3e-0000-4000-8000-000000000042");
+    private static final UUID OTHER = UUID.fromString("6f1c2d3e-0000-4000-8000-000000000043");
+    private static final ZoneId ZONE = ZoneId.of("America/Sao_Paulo");
+
+    // Faz o papel da tb_order_number_block: último número reservado por restaurante e dia
+    private final Map<String, Long> counters = new ConcurrentHashMap<>();
+    private final AtomicInteger reservations = new AtomicInteger();
+    private final OrderNumberBlockRepository repository = mock(OrderNumberBlockRepository.class);
+    private final OrderNumberProperties properties = new OrderNumberProperties();
+
+    @BeforeEach
+    void setUp() {
+        properties.setBlockSize(10);
+        properties.setDayStartsAt(LocalTime.of(4, 0));
+        when(repository.reserve(any(), any(), anyInt())).thenAnswer(invocation -> {
+            reservations.incrementAndGet();
+            String key = invocation.getArgument(0) + "/" + invocation.getArgument(1);
+            int size = invocation.getArgument(2);
+            return counters.merge(key, (long) size, Long::sum);
+        });
+    }
+
+    @Test
+    @DisplayName("next: números sequenciais a partir de 1, com uma reserva no banco a cada block-size pedidos")
+    void next_handsOutBlock() {
+        OrderNumberAllocator allocator = allocator("2025-06-06T20:00:00");
+
+        List<Integer> numbers = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            numbers.add(allocator.next(RESTAURANT).number());
+        }
+
+        assertThat(numbers).first().isEqualTo(1);
+        assertThat(numbers).last().isEqualTo(25);
+        assertThat(numbers).isSorted().doesNotHaveDuplicates();
+        assertThat(reservations).hasValue(3);
+        assertThat(allocator.next(OTHER).number()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("next: duas instâncias intercalam blocos sem repetir número; reinício deixa buraco")
+    void next_multipleInstances() {
+        OrderNumberAllocator first = allocator("2025-06-06T20:00:00");
+        OrderNumberAllocator second = allocator("2025-06-06T20:00:00");
+
+        assertThat(first.next(RESTAURANT).number()).isEqualTo(1);
+        assertThat(second.next(RESTAURANT).number()).isEqualTo(11);
+        assertThat(first.next(RESTAURANT).number()).isEqualTo(2);
+
+        // Instância nova (deploy): o resto do bloco da anterior fica sem pedido
+        assertThat(allocator("2025-06-06T20:00:00").next(RESTAURANT).number()).isEqualTo(21);
+    }
+
+    @Test
+    @DisplayName("next: a numeração volta a 1 na virada do dia de operação, e não à meia-noite")
+    void next_resetsOnBusinessDay() {
+        MutableClock clock = new MutableClock(at("2025-06-06T23:50:00"));
+        OrderNumberAllocator allocator = new OrderNumberAllocator(repository, properties, clock);
+
+        assertThat(allocator.next(RESTAURANT)).isEqualTo(ticket(LocalDate.of(2025, 6, 6), 1, "2025-06-06T23:50:00"));
+        clock.instant = at("2025-06-07T01:30:00");
+        assertThat(allocator.next(RESTAURANT)).isEqualTo(ticket(LocalDate.of(2025, 6, 6), 2, "2025-06-07T01:30:00"));
+        clock.instant = at("2025-06-07T04:00:00");
+        assertThat(allocator.next(RESTAURANT)).isEqualTo(ticket(LocalDate.of(2025, 6, 7), 1, "2025-06-07T04:00:00"));
+    }
+
+    @Test
+    @DisplayName("next: threads concorrentes recebem números distintos e contíguos")
+    void next_concurrent() throws Exception {
+        OrderNumberAllocator allocator = allocator("2025-06-06T20:00:00");
+        int threads = 8;
+        int perThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Integer> numbers = ConcurrentHashMap.newKeySet();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        numbers.add(allocator.next(RESTAURANT).number());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(numbers).hasSize(threads * perThread);
+        assertThat(numbers.stream().mapToInt(Integer::intValue).max()).hasValue(threads * perThread);
+        assertThat(reservations).hasValue(threads * perThread / properties.getBlockSize());
+    }
+
+    private OrderNumberAllocator allocator(String localDateTime) {
+        return new OrderNumberAllocator(repository, properties, Clock.fixed(at(localDateTime), ZONE));
+    }
+
+    // issuedAt é o horário local na zona configurada, qualquer que seja a zona da JVM
+    private static OrderNumberAllocator.Ticket ticket(LocalDate businessDate, int number, String localDateTime) {
+        return new OrderNumberAllocator.Ticket(businessDate, number, LocalDateTime.parse(localDateTime));
+    }
+
+    private static Instant at(String localDateTime) {
+        return LocalDateTime.parse(localDateTime).atZone(ZONE).toInstant();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.nachapa.api.order;
+
+import com.nachapa.api.repository.OrderEventRepository;
+import com.nachapa.api.repository.OrderItemRepository;
+import com.nachapa.api.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.nachapa.api.config.constants.MetricsConstants.ORDER_INTAKE_BATCH;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// INSERTs do OrderWriter contra o schema gerado pelas entidades; sem a transação do teste, como em produção
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderWriterTest {
+
+    private static final UUID RESTAURANT = UUID.fromString("6f1c2d3e-4b5a-4c6d-8e7f-9a0b1c2d3e4f");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private OrderEventRepository eventRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new OrderWriter(new JdbcTemplate(dataSource), new TransactionTemplate(transactionManager), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteAll();
+        orderItemRepository.deleteAll();
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("write: pedidos e itens de um lote gravados juntos e legíveis pelas entidades")
+    void write_insertsBatch() {
+        PlacedOrder first = placed(2);
+        PlacedOrder second = placed(1);
+
+        writer.write(List.of(first, second));
+
+        Order stored = orderRepository.findById(first.order().getId()).orElseThrow();
+        assertThat(stored.getTenantId()).isEqualTo(RESTAURANT);
+        assertThat(stored.getNumber()).isEqualTo(7);
+        assertThat(stored.getBusinessDate()).isEqualTo(LocalDate.of(2025, 6, 6));
+        assertThat(stored.getStatus()).isEqualTo(OrderStatus.PLACED);
+        assertThat(stored.getTotal()).isEqualByComparingTo("25.80");
+        assertThat(stored.getCustomerEmail()).isEqualTo("maria@neoapp.com");
+        assertThat(orderItemRepository.findAllByOrderId(first.order().getId())).hasSize(2)
+                .allSatisfy(item -> assertThat(item.getUnitPrice()).isEqualByComparingTo("12.90"));
+        assertThat(eventRepository.findAllByOrderIdAndTenantIdOrderByVersion(first.order().getId(), RESTAURANT))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getVersion()).isEqualTo(1);
+                    assertThat(event.getStatus()).isEqualTo(OrderStatus.PLACED);
+                    assertThat(event.getActor()).isEqualTo("maria@neoapp.com");
+                });
+        assertThat(orderRepository.count()).isEqualTo(2);
+        assertThat(meterRegistry.summary(ORDER_INTAKE_BATCH).totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("write: falha em um pedido desfaz o lote inteiro")
+    void write_isAtomic() {
+        PlacedOrder ok = placed(1);
+        PlacedOrder duplicate = placed(1);
+        duplicate.order().setId(ok.order().getId());
+
+        assertThatThrownBy(() -> writer.write(List.of(ok, duplicate)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(orderRepository.count()).isZero();
+        assertThat(orderItemRepository.count()).isZero();
+        assertThat(eventRepository.count()).isZero();
+    }
+
+    private static PlacedOrder placed(int lines) {
+        Order order = new Order();
+        order.setId(UUID.randomUUID());
+        order.setTenantId(RESTAURANT);
+        order.setNumber(7);
+        order.setBusinessDate(LocalDate.of(2025, 6, 6));
+        order.setCustomerEmail("maria@neoapp.com");
+        order.setStatus(OrderStatus.PLACED);
+        order.setTotal(new BigDecimal("12.90").multiply(BigDecimal.valueOf(lines)));
+        order.setCreatedAt(LocalDateTime.of(2025, 6, 6, 20, 30));
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            OrderItem item = new OrderItem();
+            item.setId(UUID.randomUUID());
+            item.setTenantId(RESTAURANT);
+            item.setOrderId(order.getId());
+            item.setMenuItemId(UUID.randomUUID());
+            item.setName("X-Salada");
+            item.setUnitPrice(new BigDecimal("12.90"));
+            item.setQuantity(1);
+            items.add(item);
+        }
+        return new PlacedOrder(order, items);
+    }
+}
@@ -0,0 +1,201 @@
+package com.nachapa.api.outbox;
+
+import com.nachapa.api.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.nachapa.api.config.constants.MetricsConstants.OUTBOX_DELIVERED;
+import static com.nachapa.api.config.constants.MetricsConstants.OUTBOX_DELIVERY_FAILURES;
+import static com.nachapa.api.config.constants.MetricsConstants.OUTBOX_DELIVERY_LAG;
+import static com.nachapa.api.config.constants.MetricsConstants.OUTBOX_FAILED;
+import static com.nachapa.api.config.constants.MetricsConstants.OUTBOX_PENDING_AGE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    @Mock
+    private OutboxEventRepository repository;
+
+    private final List<List<OutboxEvent>> deliveries = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboxProperties properties = new OutboxProperties();
+    private final Set<UUID> rejectedIds = new HashSet<>();
+    private boolean sinkDown;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        properties.getRelay().setBatchSize(2);
+        properties.getRelay().setMaxBatchesPerRun(3);
+        OutboxSink sink = events -> {
+            if (sinkDown) {
+                throw new IOException("destino fora");
+            }
+            if (events.stream().anyMatch(event -> rejectedIds.contains(event.getId()))) {
+                throw new IOException("HTTP 422");
+            }
+            deliveries.add(events);
+        };
+        relay = new OutboxRelay(repository, sink, TransactionOperations.withoutTransaction(), properties, meterRegistry,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("relay: entrega lotes até esvaziar a fila e marca cada lote como publicado")
+    void relay_drainsInBatches() {
+        List<OutboxEvent> first = List.of(event(10), event(8));
+        List<OutboxEvent> second = List.of(event(5));
+        when(repository.claimPending(2, NOW)).thenReturn(first).thenReturn(second);
+
+        relay.relay();
+
+        assertThat(deliveries).containsExactly(first, second);
+        verify(repository).lease(ids(first), NOW.plus(Duration.ofMinutes(2)));
+        verify(repository).markPublished(ids(first), NOW);
+        verify(repository).markPublished(ids(second), NOW);
+        assertThat(meterRegistry.counter(OUTBOX_DELIVERED).count()).isEqualTo(3);
+        assertThat(meterRegistry.timer(OUTBOX_DELIVERY_LAG).count()).isEqualTo(3);
+        assertThat(meterRegistry.timer(OUTBOX_DELIVERY_LAG).max(TimeUnit.SECONDS)).isEqualTo(10);
+        assertThat(meterRegistry.get(OUTBOX_PENDING_AGE).gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("relay: respeita o máximo de lotes por ciclo")
+    void relay_maxBatchesPerRun() {
+        when(repository.claimPending(2, NOW)).thenAnswer(invocation -> List.of(event(1), event(1)));
+
+        relay.relay();
+
+        verify(repository, times(3)).claimPending(2, NOW);
+    }
+
+    @Test
+    @DisplayName("relay: destino fora conta tentativa só no primeiro evento, com backoff, e devolve o resto à fila")
+    void relay_sinkFailure() {
+        sinkDown = true;
+        OutboxEvent head = event(30);
+        head.setAttempts(2);
+        List<OutboxEvent> batch = List.of(head, event(20));
+        when(repository.claimPending(2, NOW)).thenReturn(batch);
+        when(repository.findOldestPendingCreatedAt()).thenReturn(NOW.minusSeconds(30));
+
+        relay.relay();
+
+        verify(repository, times(1)).claimPending(2, NOW);
+        verify(repository).scheduleRetry(head.getId(), NOW.plusSeconds(4));
+        verify(repository).release(List.of(batch.get(1).getId()));
+        verify(repository, never()).markPublished(any(), any());
+        verify(repository, never()).markFailed(any());
+        assertThat(meterRegistry.counter(OUTBOX_DELIVERY_FAILURES).count()).isEqualTo(2);
+        assertThat(meterRegistry.get(OUTBOX_PENDING_AGE).gauge().value()).isEqualTo(30.0);
+    }
+
+    @Test
+    @DisplayName("relay: evento recusado sempre não trava a fila; esgotadas as tentativas fica FAILED")
+    void relay_poisonedHead() {
+        OutboxEvent poisoned = event(60);
+        poisoned.setAttempts(properties.getRelay().getMaxAttempts() - 1);
+        rejectedIds.add(poisoned.getId());
+        OutboxEvent next = event(50);
+        OutboxEvent after = event(40);
+        when(repository.claimPending(2, NOW)).thenReturn(List.of(poisoned, next)).thenReturn(List.of(after));
+
+        relay.relay();
+        relay.relay();
+
+        verify(repository).markFailed(poisoned.getId());
+        verify(repository, never()).scheduleRetry(any(), any());
+        verify(repository).release(List.of(next.getId()));
+        verify(repository).markPublished(List.of(after.getId()), NOW);
+        assertThat(deliveries).containsExactly(List.of(after));
+        assertThat(meterRegistry.counter(OUTBOX_FAILED).count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("relay: lote recusado é reenviado um a um; só o evento recusado espera o backoff")
+    void relay_rejectedEventInBatch() {
+        properties.getRelay().setBatchSize(3);
+        OutboxEvent first = event(30);
+        OutboxEvent rejected = event(20);
+        OutboxEvent last = event(10);
+        rejectedIds.add(rejected.getId());
+        when(repository.claimPending(3, NOW)).thenReturn(List.of(first, rejected, last));
+
+        relay.relay();
+
+        assertThat(deliveries).containsExactly(List.of(first));
+        verify(repository).markPublished(List.of(first.getId()), NOW);
+        verify(repository).scheduleRetry(rejected.getId(), NOW.plusSeconds(1));
+        verify(repository).release(List.of(last.getId()));
+    }
+
+    @Test
+    @DisplayName("relay: backoff dobra a cada tentativa até max-backoff")
+    void relay_backoffCapped() {
+        sinkDown = true;
+        OutboxEvent event = event(1);
+        event.setAttempts(15);
+        when(repository.claimPending(2, NOW)).thenReturn(List.of(event));
+
+        relay.relay();
+
+        verify(repository).scheduleRetry(event.getId(), NOW.plus(Duration.ofMinutes(10)));
+    }
+
+    @Test
+    @DisplayName("relay/cleanup: desligado não consulta o banco")
+    void disabled() {
+        properties.getRelay().setEnabled(false);
+
+        relay.relay();
+        relay.cleanup();
+
+        verify(repository, never()).claimPending(anyInt(), any());
+        verify(repository, never()).deletePublishedBefore(any());
+    }
+
+    @Test
+    @DisplayName("cleanup: remove publicados antes da retenção")
+    void cleanup() {
+        relay.cleanup();
+
+        verify(repository).deletePublishedBefore(NOW.minus(Duration.ofDays(7)));
+    }
+
+    private static OutboxEvent event(long ageSeconds) {
+        OutboxEvent event = new OutboxEvent(OutboxEventType.USER_UPDATED, UUID.randomUUID(), "{}", NOW.minusSeconds(ageSeconds));
+        event.setId(UUID.randomUUID());
+        return event;
+    }
+
+    private static List<UUID> ids(List<OutboxEvent> events) {
+        return events.stream().map(OutboxEvent::getId).toList();
+    }
+}
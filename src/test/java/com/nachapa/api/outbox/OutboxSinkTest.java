@@ -0,0 +1,99 @@
+package com.nachapa.api.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OutboxSinkTest {
+
+    // Como o ObjectMapper do Spring Boot: datas em ISO-8601
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private HttpServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("FileOutboxSink: anexa um envelope JSON por linha, com o payload embutido como objeto")
+    void fileSink(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("eventos/outbox.jsonl");
+        FileOutboxSink sink = new FileOutboxSink(file, objectMapper, true);
+        OutboxEvent first = event(OutboxEventType.USER_REGISTERED);
+        OutboxEvent second = event(OutboxEventType.USER_DEACTIVATED);
+
+        sink.deliver(List.of(first));
+        sink.deliver(List.of(second));
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(2);
+        JsonNode line = objectMapper.readTree(lines.get(0));
+        assertThat(line.get("id").asText()).isEqualTo(first.getId().toString());
+        assertThat(line.get("type").asText()).isEqualTo("USER_REGISTERED");
+        assertThat(line.get("aggregateId").asText()).isEqualTo(first.getAggregateId().toString());
+        assertThat(line.get("occurredAt").asText()).isEqualTo("2025-01-01T12:00:00Z");
+        assertThat(line.get("payload").get("nome").asText()).isEqualTo("Maria");
+        assertThat(objectMapper.readTree(lines.get(1)).get("type").asText()).isEqualTo("USER_DEACTIVATED");
+    }
+
+    @Test
+    @DisplayName("HttpOutboxSink: envia o lote como array JSON e falha com status fora de 2xx")
+    void httpSink() throws Exception {
+        AtomicReference<String> received = new AtomicReference<>();
+        AtomicInteger status = new AtomicInteger(204);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/eventos", exchange -> {
+            received.set(new String(exchange.getRequestBody().readAllBytes()));
+            exchange.sendResponseHeaders(status.get(), -1);
+            exchange.close();
+        });
+        server.start();
+        HttpOutboxSink sink = new HttpOutboxSink(URI.create("http://localhost:" + server.getAddress().getPort() + "/eventos"),
+                Duration.ofSeconds(2), objectMapper);
+
+        sink.deliver(List.of(event(OutboxEventType.USER_REGISTERED), event(OutboxEventType.USER_UPDATED)));
+
+        JsonNode batch = objectMapper.readTree(received.get());
+        assertThat(batch.isArray()).isTrue();
+        assertThat(batch).hasSize(2);
+        assertThat(batch.get(1).get("type").asText()).isEqualTo("USER_UPDATED");
+
+        status.set(503);
+        assertThatThrownBy(() -> sink.deliver(List.of(event(OutboxEventType.USER_UPDATED))))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("503");
+    }
+
+    private static OutboxEvent event(OutboxEventType type) {
+        OutboxEvent event = new OutboxEvent(type, UUID.randomUUID(), "{\"nome\":\"Maria\"}", Instant.parse("2025-01-01T12:00:00Z"));
+        event.setId(UUID.randomUUID());
+        return event;
+    }
+}
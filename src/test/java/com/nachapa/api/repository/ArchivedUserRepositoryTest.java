@@ -0,0 +1,89 @@
+package com.nachapa.api.repository;
+
+import com.nachapa.api.auth.ArchivedUser;
+import com.nachapa.api.auth.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ArchivedUserRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 3, 0);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArchivedUserRepository archivedUserRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("findArchivableIds: só inativos antes do corte, mais antigos primeiro; a listagem padrão só vê ativos")
+    void archivableAndActiveListing() {
+        User active = userRepository.save(user("Ativa", "ativa@neoapp.com", "20716166003", null));
+        User old = userRepository.save(user("Antiga", "antiga@neoapp.com", "52998224725", NOW.minusDays(400)));
+        User older = userRepository.save(user("Mais Antiga", "maisantiga@neoapp.com", "11144477735", NOW.minusDays(500)));
+        userRepository.save(user("Recente", "recente@neoapp.com", "20716100000", NOW.minusDays(10)));
+        entityManager.flush();
+
+        assertThat(userRepository.findArchivableIds(NOW.minusDays(365), Limit.of(10))).containsExactly(older.getId(), old.getId());
+        assertThat(userRepository.findArchivableIds(NOW.minusDays(365), Limit.of(1))).containsExactly(older.getId());
+        assertThat(userRepository.findAllByIsActiveTrue(PageRequest.of(0, 10)))
+                .extracting(User::getId).containsExactly(active.getId());
+        assertThat(userRepository.findAllVersionsByIsActiveTrue(PageRequest.of(0, 10)).getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("arquivar e restaurar: mesmas colunas e id; restaurado volta ativo e sem data de inativação")
+    void archiveAndRestore() {
+        User old = userRepository.save(user("Antiga", "antiga@neoapp.com", "52998224725", NOW.minusDays(400)));
+        entityManager.flush();
+        List<UUID> ids = List.of(old.getId());
+
+        assertThat(archivedUserRepository.copyFromUsers(ids, NOW)).isEqualTo(1);
+        assertThat(userRepository.deleteByIds(ids)).isEqualTo(1);
+
+        assertThat(userRepository.findById(old.getId())).isEmpty();
+        ArchivedUser archived = archivedUserRepository.findForRestore(old.getId()).orElseThrow();
+        assertThat(archived.getEmail()).isEqualTo("antiga@neoapp.com");
+        assertThat(archived.getPassword()).isEqualTo("$2a$10$hash");
+        assertThat(archived.getBirthDate()).isEqualTo(LocalDate.of(1990, 5, 20));
+        assertThat(archived.getDeactivatedAt()).isEqualTo(NOW.minusDays(400));
+        assertThat(archived.getArchivedAt()).isEqualTo(NOW);
+
+        assertThat(userRepository.copyFromArchive(old.getId(), NOW.plusDays(1))).isEqualTo(1);
+        assertThat(archivedUserRepository.deleteArchived(old.getId())).isEqualTo(1);
+
+        User restored = userRepository.findById(old.getId()).orElseThrow();
+        assertThat(restored.isActive()).isTrue();
+        assertThat(restored.getDeactivatedAt()).isNull();
+        assertThat(restored.getUpdatedAt()).isEqualTo(NOW.plusDays(1));
+        assertThat(restored.getCpf()).isEqualTo("52998224725");
+        assertThat(archivedUserRepository.count()).isZero();
+    }
+
+    private static User user(String name, String email, String cpf, LocalDateTime deactivatedAt) {
+        User user = new User(name, email, "$2a$10$hash", cpf, "31999998888", LocalDate.of(1990, 5, 20));
+        if (deactivatedAt != null) {
+            user.setActive(false);
+            user.setDeactivatedAt(deactivatedAt);
+        }
+        return user;
+    }
+}
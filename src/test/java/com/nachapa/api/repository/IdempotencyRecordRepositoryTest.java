@@ -0,0 +1,88 @@
+package com.nachapa.api.repository;
+
+import com.nachapa.api.idempotency.DatabaseIdempotencyStore;
+import com.nachapa.api.idempotency.IdempotencyStore;
+import com.nachapa.api.idempotency.StoredResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Banco do profile test (H2 em modo PostgreSQL, que aceita o ON CONFLICT DO NOTHING) em vez do embarcado padrão
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class IdempotencyRecordRepositoryTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T12:00:00Z");
+    private static final String KEY = "a".repeat(64);
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    private DatabaseIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new DatabaseIdempotencyStore(repository, TransactionOperations.withoutTransaction(),
+                Clock.fixed(T0.plusSeconds(120), ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("claim: primeira reserva vence; as seguintes veem a chave em andamento e depois a resposta")
+    void claimAndComplete() {
+        assertThat(store.claim(KEY, "fp1", T0, T0.plusSeconds(60))).isNull();
+        assertThat(store.claim(KEY, "fp1", T0.plusSeconds(1), T0.plusSeconds(61)))
+                .isEqualTo(new IdempotencyStore.Entry("fp1", null));
+
+        byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        store.complete(KEY, new StoredResponse(201, "application/json", "/api/users/1", body), T0.plusSeconds(60));
+
+        IdempotencyStore.Entry entry = store.claim(KEY, "fp2", T0.plusSeconds(2), T0.plusSeconds(62));
+        assertThat(entry.fingerprint()).isEqualTo("fp1");
+        assertThat(entry.response().status()).isEqualTo(201);
+        assertThat(entry.response().contentType()).isEqualTo("application/json");
+        assertThat(entry.response().location()).isEqualTo("/api/users/1");
+        assertThat(entry.response().body()).isEqualTo(body);
+    }
+
+    @Test
+    @DisplayName("claim: chave expirada ou liberada pode ser reservada de novo; purge apaga as expiradas")
+    void expireReleaseAndPurge() {
+        assertThat(store.claim(KEY, "fp1", T0, T0.plusSeconds(60))).isNull();
+        assertThat(store.claim(KEY, "fp2", T0.plusSeconds(60), T0.plusSeconds(120))).isNull();
+
+        store.release(KEY);
+        assertThat(store.claim(KEY, "fp3", T0.plusSeconds(61), T0.plusSeconds(90))).isNull();
+        assertThat(store.claim("b".repeat(64), "fp", T0, T0.plusSeconds(600))).isNull();
+
+        // Relógio do store em T0+120s: só a chave que vence em T0+90s sai
+        store.purgeExpired();
+        assertThat(repository.findAll()).extracting(record -> record.getKeyHash()).containsExactly("b".repeat(64));
+    }
+
+    @Test
+    @DisplayName("claim: reserva em andamento vencida (requisição que nunca concluiu) é tomada; complete estende a validade")
+    void takeOverExpiredInProgressClaim() {
+        assertThat(store.claim(KEY, "fp1", T0, T0.plusSeconds(60))).isNull();
+        assertThat(store.claim(KEY, "fp1", T0.plusSeconds(59), T0.plusSeconds(119)))
+                .isEqualTo(new IdempotencyStore.Entry("fp1", null));
+
+        assertThat(store.claim(KEY, "fp1", T0.plusSeconds(60), T0.plusSeconds(120))).isNull();
+        store.complete(KEY, new StoredResponse(201, null, null, new byte[0]), T0.plusSeconds(3600));
+
+        assertThat(store.claim(KEY, "fp1", T0.plusSeconds(600), T0.plusSeconds(660)).response().status())
+                .isEqualTo(201);
+    }
+}
@@ -0,0 +1,84 @@
+package com.nachapa.api.repository;
+
+import com.nachapa.api.outbox.OutboxEvent;
+import com.nachapa.api.outbox.OutboxEventStatus;
+import com.nachapa.api.outbox.OutboxEventType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class OutboxEventRepositoryTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T12:00:00Z");
+
+    @Autowired
+    private OutboxEventRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("claimPending/markPublished: pendentes em ordem de criação; publicados saem da fila")
+    void claimAndMarkPublished() {
+        OutboxEvent second = repository.save(event(T0.plusSeconds(2)));
+        OutboxEvent first = repository.save(event(T0.plusSeconds(1)));
+        OutboxEvent third = repository.save(event(T0.plusSeconds(3)));
+        entityManager.flush();
+
+        List<OutboxEvent> batch = repository.claimPending(2, T0);
+        assertThat(batch).extracting(OutboxEvent::getId).containsExactly(first.getId(), second.getId());
+        assertThat(repository.findOldestPendingCreatedAt()).isEqualTo(T0.plusSeconds(1));
+
+        repository.markPublished(List.of(first.getId(), second.getId()), T0.plusSeconds(10));
+        repository.scheduleRetry(third.getId(), T0.plusSeconds(20));
+        entityManager.clear();
+
+        assertThat(repository.claimPending(10, T0.plusSeconds(19))).isEmpty();
+        assertThat(repository.claimPending(10, T0.plusSeconds(20))).singleElement().satisfies(event -> {
+            assertThat(event.getId()).isEqualTo(third.getId());
+            assertThat(event.getAttempts()).isEqualTo(1);
+        });
+        assertThat(repository.findOldestPendingCreatedAt()).isEqualTo(T0.plusSeconds(3));
+        assertThat(repository.deletePublishedBefore(T0.plusSeconds(11))).isEqualTo(2);
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("lease/release/markFailed: reservado fica fora da fila até devolvido; FAILED sai de vez")
+    void leaseReleaseAndFail() {
+        OutboxEvent poisoned = repository.save(event(T0.plusSeconds(1)));
+        OutboxEvent next = repository.save(event(T0.plusSeconds(2)));
+        entityManager.flush();
+
+        repository.lease(List.of(poisoned.getId(), next.getId()), T0.plusSeconds(60));
+        assertThat(repository.claimPending(10, T0)).isEmpty();
+
+        repository.release(List.of(next.getId()));
+        repository.markFailed(poisoned.getId());
+        entityManager.clear();
+
+        assertThat(repository.claimPending(10, T0)).extracting(OutboxEvent::getId).containsExactly(next.getId());
+        assertThat(repository.claimPending(10, T0.plusSeconds(120))).extracting(OutboxEvent::getId)
+                .containsExactly(next.getId());
+        assertThat(repository.findById(poisoned.getId())).get().satisfies(event -> {
+            assertThat(event.getStatus()).isEqualTo(OutboxEventStatus.FAILED);
+            assertThat(event.getAttempts()).isEqualTo(1);
+        });
+        assertThat(repository.findOldestPendingCreatedAt()).isEqualTo(T0.plusSeconds(2));
+    }
+
+    private static OutboxEvent event(Instant createdAt) {
+        return new OutboxEvent(OutboxEventType.USER_REGISTERED, UUID.randomUUID(), "{}", createdAt);
+    }
+}
@@ -0,0 +1,92 @@
+package com.nachapa.api.repository;
+
+import com.nachapa.api.auth.User;
+import com.nachapa.api.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Sem a transação do teste: cada chamada abre a própria sessão, que lê o TenantContext do momento
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserRepositoryTenantTest {
+
+    private static final UUID RESTAURANT_A = UUID.fromString("6f1c2d3e-4b5a-4c6d-8e7f-9a0b1c2d3e4f");
+    private static final UUID RESTAURANT_B = UUID.fromString("0b6f8f5e-3c1d-4a57-9a34-6f0d2b1c9e10");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User maria;
+    private User mariana;
+
+    @BeforeEach
+    void setUp() {
+        // Sem tenant (raiz): grava o tenant_id informado em cada usuário
+        maria = userRepository.save(user("Maria Silva", "maria@neoapp.com", "20716166003", RESTAURANT_A));
+        mariana = userRepository.save(user("Mariana Souza", "mariana@neoapp.com", "52998224725", RESTAURANT_B));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("com tenant na sessão, consultas JPQL e derivadas só enxergam o próprio restaurante")
+    void filtersByTenant() {
+        TenantContext.set(RESTAURANT_A);
+
+        assertThat(userRepository.findAllByIsActiveTrue(PageRequest.of(0, 10, Sort.by("name"))))
+                .extracting(User::getEmail).containsExactly("maria@neoapp.com");
+        assertThat(userRepository.findByIdAndIsActiveTrue(mariana.getId())).isEmpty();
+        assertThat(userRepository.findByIdAndIsActiveTrue(maria.getId())).isPresent();
+        assertThat(userRepository.searchByLike("%maria%", "maria", "maria%", Limit.of(10)))
+                .extracting(UserSearchResult::getName).containsExactly("Maria Silva");
+    }
+
+    @Test
+    @DisplayName("unicidade de e-mail e CPF é checada em todos os restaurantes (SQL nativo)")
+    void uniquenessChecksIgnoreTenant() {
+        TenantContext.set(RESTAURANT_A);
+
+        assertThat(userRepository.existsEmailInAnyTenant("mariana@neoapp.com")).isTrue();
+        assertThat(userRepository.existsCpfInAnyTenant("52998224725")).isTrue();
+        assertThat(userRepository.existsByEmailAndIdNot("mariana@neoapp.com", maria.getId())).isTrue();
+        assertThat(userRepository.existsByEmailAndIdNot("maria@neoapp.com", maria.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("usuário salvo sem tenant_id recebe o restaurante da sessão; a raiz enxerga todos")
+    void savesWithSessionTenant() {
+        TenantContext.set(RESTAURANT_B);
+        User pedro = userRepository.save(user("Pedro Lima", "pedro@neoapp.com", "11144477735", null));
+        TenantContext.clear();
+
+        assertThat(userRepository.findById(pedro.getId())).get()
+                .extracting(User::getTenantId).isEqualTo(RESTAURANT_B);
+        assertThat(userRepository.count()).isEqualTo(3);
+    }
+
+    private static User user(String name, String email, String cpf, UUID tenantId) {
+        User user = new User(name, email, "$2a$10$hash", cpf, "31998765432", LocalDate.of(1990, 5, 10));
+        user.setTenantId(tenantId);
+        return user;
+    }
+}
@@ -0,0 +1,72 @@
+package com.nachapa.api.repository;
+
+import com.nachapa.api.auth.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(user("Maria Silva", "maria.silva@neoapp.com", "20716166003"));
+        userRepository.save(user("Mariana Souza", "mariana@neoapp.com", "20716100000"));
+        userRepository.save(user("Pedro 100%", "pedro@neoapp.com", "52998224725"));
+        User inactive = user("Maria Inativa", "inativa@neoapp.com", "11144477735");
+        inactive.setActive(false);
+        userRepository.save(inactive);
+    }
+
+    @Test
+    @DisplayName("searchByLike: parte do nome ou e-mail, só usuários ativos, ordenado por nome")
+    void searchByLike_nameOrEmail() {
+        assertThat(names(userRepository.searchByLike("%maria%", "maria", "maria%", Limit.of(10))))
+                .containsExactly("Maria Silva", "Mariana Souza");
+        assertThat(names(userRepository.searchByLike("%silva@%", "silva@", "silva@%", Limit.of(10))))
+                .containsExactly("Maria Silva");
+        assertThat(names(userRepository.searchByLike("%maria%", "maria", "maria%", Limit.of(1))))
+                .containsExactly("Maria Silva");
+    }
+
+    @Test
+    @DisplayName("searchByLike: CPF exato vem antes dos demais prefixos")
+    void searchByLike_cpfPrefixRanking() {
+        assertThat(names(userRepository.searchByLike("%20716100000%", "20716100000", "20716100000%", Limit.of(10))))
+                .containsExactly("Mariana Souza");
+        assertThat(names(userRepository.searchByLike("%207161%", "207161", "207161%", Limit.of(10))))
+                .containsExactly("Maria Silva", "Mariana Souza");
+        assertThat(names(userRepository.searchByLike("%20716166003%", "20716166003", "20716166003%", Limit.of(10))))
+                .containsExactly("Maria Silva");
+    }
+
+    @Test
+    @DisplayName("searchByLike: curinga escapado é literal")
+    void searchByLike_escapedWildcard() {
+        assertThat(names(userRepository.searchByLike("%100\\%%", "100%", "100\\%%", Limit.of(10))))
+                .containsExactly("Pedro 100%");
+        assertThat(names(userRepository.searchByLike("%m\\_ria%", "m_ria", "m\\_ria%", Limit.of(10))))
+                .isEmpty();
+    }
+
+    private static List<String> names(List<UserSearchResult> results) {
+        return results.stream().map(UserSearchResult::getName).toList();
+    }
+
+    private static User user(String name, String email, String cpf) {
+        return new User(name, email, "$2a$10$hash", cpf, "31998765432", LocalDate.of(1990, 5, 10));
+    }
+}
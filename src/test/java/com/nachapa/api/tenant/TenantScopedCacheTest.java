@@ -0,0 +1,80 @@
+package com.nachapa.api.tenant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TenantScopedCacheTest {
+
+    private static final UUID CHAIN = UUID.fromString("6f1c2d3e-4b5a-4c6d-8e7f-9a0b1c2d3e4f");
+    private static final UUID SMALL = UUID.fromString("0b6f8f5e-3c1d-4a57-9a34-6f0d2b1c9e10");
+
+    // Cota padrão 2; a rede tem exceção de 5
+    private final TenantScopedCache<String, String> cache =
+            new TenantScopedCache<>(tenantId -> CHAIN.equals(tenantId) ? 5 : 2);
+
+    @AfterEach
+    void clearContext() {
+        TenantContext.clear();
+    }
+
+    @Test
+    @DisplayName("a rede enchendo a própria partição não despeja as entradas do restaurante pequeno")
+    void chainDoesNotEvictSmallRestaurant() {
+        TenantContext.set(SMALL);
+        put("cardapio", "pequeno");
+
+        TenantContext.set(CHAIN);
+        for (int i = 0; i < 100; i++) {
+            put("k" + i, "rede");
+        }
+
+        assertThat(cache.size(CHAIN)).isEqualTo(5);
+        assertThat(get("k99")).isEqualTo("rede");
+        assertThat(get("k0")).isNull();
+        TenantContext.set(SMALL);
+        assertThat(get("cardapio")).isEqualTo("pequeno");
+        assertThat(cache.size(SMALL)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("mesma chave em restaurantes diferentes não se mistura; sem tenant usa a partição raiz")
+    void partitionsAreIsolated() {
+        TenantContext.set(SMALL);
+        put("k", "pequeno");
+        TenantContext.clear();
+        put("k", "anonimo");
+        put("k2", "anonimo");
+        put("k3", "anonimo");
+
+        assertThat(get("k")).isNull();
+        assertThat(cache.size(TenantContext.ROOT)).isEqualTo(2);
+        TenantContext.set(SMALL);
+        assertThat(get("k")).isEqualTo("pequeno");
+    }
+
+    @Test
+    @DisplayName("LRU dentro da partição: a entrada lida por último sobrevive ao despejo")
+    void lruWithinPartition() {
+        TenantContext.set(SMALL);
+        put("a", "1");
+        put("b", "2");
+        get("a");
+        put("c", "3");
+
+        assertThat(get("a")).isEqualTo("1");
+        assertThat(get("b")).isNull();
+    }
+
+    private void put(String key, String value) {
+        cache.withPartition(partition -> partition.put(key, value));
+    }
+
+    private String get(String key) {
+        return cache.withPartition(partition -> partition.get(key));
+    }
+}
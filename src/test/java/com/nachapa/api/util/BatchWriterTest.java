@@ -0,0 +1,97 @@
+package com.nachapa.api.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchWriterTest {
+
+    private final Counter rejected = new SimpleMeterRegistry().counter("rejected");
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+    private BatchWriter<Integer> writer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    @Test
+    @DisplayName("junta os itens em lotes de até batchSize; close grava o que ainda está na fila")
+    void writesInBatchesAndDrainsOnClose() throws InterruptedException {
+        writer = start(2, 1_000, Duration.ofMillis(50), batch -> batches.add(new ArrayList<>(batch)));
+
+        assertThat(writer.offerAll(List.of(1, 2, 3, 4, 5))).isZero();
+        writer.close();
+
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(2));
+        assertThat(batches.stream().flatMap(List::stream)).containsExactly(1, 2, 3, 4, 5);
+        assertThat(writer.offer(6)).isFalse();
+    }
+
+    @Test
+    @DisplayName("fila cheia recusa na hora e conta, sem bloquear quem oferece")
+    void rejectsWhenFull() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        writer = start(1, 1, Duration.ZERO, batch -> {
+            writing.countDown();
+            awaitUninterruptibly(release);
+            batches.add(new ArrayList<>(batch));
+        });
+
+        assertThat(writer.offer(1)).isTrue();
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        // 1 está sendo gravado, 2 ocupa a fila
+        assertThat(writer.offer(2)).isTrue();
+        assertThat(writer.offer(3)).isFalse();
+        assertThat(writer.offerAll(List.of(4, 5))).isEqualTo(2);
+        assertThat(rejected.count()).isEqualTo(3);
+
+        release.countDown();
+        writer.close();
+        assertThat(batches.stream().flatMap(List::stream)).containsExactly(1, 2);
+    }
+
+    @Test
+    @DisplayName("exceção no lote não derruba a thread: os próximos lotes seguem")
+    void survivesWriteFailure() throws InterruptedException {
+        writer = start(1, 100, Duration.ZERO, batch -> {
+            if (batch.contains(1)) {
+                throw new IllegalStateException("banco fora");
+            }
+            batches.add(new ArrayList<>(batch));
+        });
+
+        writer.offer(1);
+        writer.offer(2);
+        writer.close();
+
+        assertThat(batches.stream().flatMap(List::stream)).containsExactly(2);
+    }
+
+    private BatchWriter<Integer> start(int batchSize, int capacity, Duration maxWait, Consumer<List<Integer>> write) {
+        return new BatchWriter<>("test-writer", capacity, batchSize, maxWait, Duration.ofMillis(10), rejected, write);
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.nachapa.api.util;
+
+import com.nachapa.api.exceptions.ExpiredTokenException;
+import com.nachapa.api.exceptions.InvalidTokenException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtCodecTest {
+
+    private static final byte[] SECRET = "0123456789ABCDEF0123456789ABCDEF".getBytes(StandardCharsets.UTF_8);
+    private static final long NOW = 1_700_000_000_000L;
+    private static final UUID TENANT = UUID.fromString("6f1c2d3e-4b5a-4c6d-8e7f-9a0b1c2d3e4f");
+
+    private final JwtCodec codec = new JwtCodec(SECRET, 5_000);
+
+    private static String b64(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Monta um token assinado com a mesma chave, para testar headers/payloads fora do padrão da aplicação
+    private static String sign(String headerJson, String payloadJson) throws Exception {
+        String signingInput = b64(headerJson) + "." + b64(payloadJson);
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET, "HmacSHA256"));
+        byte[] signature = mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        return signingInput + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+
+    @Test
+    @DisplayName("encode + decode: preserva jti, sub, role, tid e instantes (precisão de segundos)")
+    void roundTrip() {
+        VerifiedToken original = new VerifiedToken("id-1", "user@neoapp.com", "ADMIN", TENANT, NOW, NOW + 60_000);
+
+        VerifiedToken decoded = codec.decode(codec.encode(original), NOW);
+
+        assertThat(decoded).isEqualTo(original);
+    }
+
+    @Test
+    @DisplayName("decode: aceita claims desconhecidos e ordem diferente")
+    void decode_ignoresUnknownClaims() throws Exception {
+        String token = sign("{\"typ\":\"JWT\",\"alg\":\"HS256\"}",
+                "{\"exp\":1700000060,\"aud\":[\"a\",\"b\"],\"extra\":{\"x\":1},\"sub\":\"user@neoapp.com\",\"role\":\"USER\"}");
+
+        VerifiedToken decoded = codec.decode(token, NOW);
+
+        assertThat(decoded.subject()).isEqualTo("user@neoapp.com");
+        assertThat(decoded.role()).isEqualTo("USER");
+        assertThat(decoded.id()).isNull();
+        assertThat(decoded.expiresAtMillis()).isEqualTo(1_700_000_060_000L);
+    }
+
+    @Test
+    @DisplayName("decode: tid ausente vira null (o filtro recusa); tid que não é UUID invalida o token")
+    void decode_tenantClaim() throws Exception {
+        String withoutTenant = sign("{\"alg\":\"HS256\"}", "{\"sub\":\"user@neoapp.com\",\"exp\":1700000060}");
+        String badTenant = sign("{\"alg\":\"HS256\"}",
+                "{\"sub\":\"user@neoapp.com\",\"tid\":\"restaurante-1\",\"exp\":1700000060}");
+
+        assertThat(codec.decode(withoutTenant, NOW).tenantId()).isNull();
+        assertThatThrownBy(() -> codec.decode(badTenant, NOW)).isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    @DisplayName("decode: rejeita assinatura adulterada")
+    void decode_rejectsTamperedSignature() {
+        String token = codec.encode(new VerifiedToken("id", "user@neoapp.com", "USER", TENANT, NOW, NOW + 60_000));
+        char last = token.charAt(token.length() - 1);
+        String tampered = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+
+        assertThatThrownBy(() -> codec.decode(tampered, NOW)).isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    @DisplayName("decode: rejeita payload trocado mantendo a assinatura original")
+    void decode_rejectsSwappedPayload() {
+        String token = codec.encode(new VerifiedToken("id", "user@neoapp.com", "USER", TENANT, NOW, NOW + 60_000));
+        String[] parts = token.split("\\.");
+        String forged = parts[0] + "." + b64("{\"sub\":\"admin@neoapp.com\",\"role\":\"ADMIN\",\"exp\":1700000060}") + "." + parts[2];
+
+        assertThatThrownBy(() -> codec.decode(forged, NOW)).isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    @DisplayName("decode: rejeita alg diferente de HS256 mesmo com assinatura válida")
+    void decode_rejectsOtherAlgorithms() throws Exception {
+        String token = sign("{\"alg\":\"none\"}", "{\"sub\":\"user@neoapp.com\",\"exp\":1700000060}");
+
+        assertThatThrownBy(() -> codec.decode(token, NOW)).isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    @DisplayName("decode: rejeita token sem exp ou sem sub")
+    void decode_rejectsMissingRequiredClaims() throws Exception {
+        String noExp = sign("{\"alg\":\"HS256\"}", "{\"sub\":\"user@neoapp.com\"}");
+        String noSub = sign("{\"alg\":\"HS256\"}", "{\"exp\":1700000060}");
+
+        assertThatThrownBy(() -> codec.decode(noExp, NOW)).isInstanceOf(InvalidTokenException.class);
+        assertThatThrownBy(() -> codec.decode(noSub, NOW)).isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    @DisplayName("decode: rejeita formatos inválidos e tokens grandes demais sem decodificar")
+    void decode_rejectsMalformed() {
+        assertThatThrownBy(() -> codec.decode("", NOW)).isInstanceOf(InvalidTokenException.class);
+        assertThatThrownBy(() -> codec.decode("abc", NOW)).isInstanceOf(InvalidTokenException.class);
+        assertThatThrownBy(() -> codec.decode("a.b.c.d", NOW)).isInstanceOf(InvalidTokenException.class);
+        assertThatThrownBy(() -> codec.decode("a..c", NOW)).isInstanceOf(InvalidTokenException.class);
+        assertThatThrownBy(() -> codec.decode("a.b.!!", NOW)).isInstanceOf(InvalidTokenException.class);
+        assertThatThrownBy(() -> codec.decode("ã.b.c", NOW)).isInstanceOf(InvalidTokenException.class);
+        String oversized = "a".repeat(JwtCodec.MAX_TOKEN_LENGTH) + ".b.c";
+        assertThatThrownBy(() -> codec.decode(oversized, NOW)).isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    @DisplayName("decode: expiração respeita a tolerância de relógio")
+    void decode_expirationWithClockSkew() {
+        String token = codec.encode(new VerifiedToken("id", "user@neoapp.com", "USER", TENANT, NOW - 60_000, NOW));
+
+        assertThat(codec.decode(token, NOW + 4_000).subject()).isEqualTo("user@neoapp.com");
+        assertThatThrownBy(() -> codec.decode(token, NOW + 5_000)).isInstanceOf(ExpiredTokenException.class);
+    }
+}
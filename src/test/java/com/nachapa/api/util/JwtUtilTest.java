@@ -2,13 +2,14 @@ package com.nachapa.api.util;
 
 
 import com.nachapa.api.dto.jwt.JwtPayloadDto;
+import com.nachapa.api.exceptions.ExpiredTokenException;
 import com.nachapa.api.exceptions.JwtKeyMissingException;
-import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
 import java.time.Duration;
+import java.util.UUID;
 
 import static com.nachapa.api.auth.RoleEnum.ADMIN;
 import static com.nachapa.api.auth.RoleEnum.USER;
@@ -17,6 +18,8 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class JwtUtilTest {
 
+    private static final UUID TENANT = UUID.fromString("6f1c2d3e-4b5a-4c6d-8e7f-9a0b1c2d3e4f");
+
     private static void setField(Object target, String fieldName, Object value) {
         try {
             Field f = target.getClass().getDeclaredField(fieldName);
@@ -46,33 +49,35 @@ class JwtUtilTest {
     }
 
     @Test
-    @DisplayName("generateToken + extractClaims: subject e role corretos")
-    void generate_and_extractClaims_success() {
+    @DisplayName("generateToken + verify: subject, role, restaurante e instantes corretos")
+    void generate_and_verify_success() {
         String secret = "0123456789ABCDEF0123456789ABCDEF"; // 32 chars
         JwtUtil util = buildJwtUtil(secret, Duration.ofHours(1).toMillis());
 
         String email = "user@neoapp.com";
         String role = "USER";
-        String token = util.generateToken(new JwtPayloadDto(email, USER));
+        String token = util.generateToken(new JwtPayloadDto(email, USER, TENANT));
 
         assertThat(token).isNotBlank();
 
-        Claims claims = util.extractClaims(token);
-        assertThat(claims.getSubject()).isEqualTo(email);
-        assertThat(claims.get("role", String.class)).isEqualTo(role);
+        VerifiedToken verified = util.verify(token);
+        assertThat(verified.subject()).isEqualTo(email);
+        assertThat(verified.role()).isEqualTo(role);
+        assertThat(verified.tenantId()).isEqualTo(TENANT);
+        assertThat(verified.expiresAtMillis() - verified.issuedAtMillis()).isEqualTo(Duration.ofHours(1).toMillis());
     }
 
     @Test
-    @DisplayName("extractEmailUser(): aceita Bearer e devolve subject")
-    void extractEmailUser_success() {
+    @DisplayName("verify(): aceita Bearer e devolve subject")
+    void verify_acceptsBearer() {
         String secret = "0123456789ABCDEF0123456789ABCDEF";
         JwtUtil util = buildJwtUtil(secret, Duration.ofMinutes(5).toMillis());
 
         String email = "maria@neoapp.com";
-        String token = util.generateToken(new JwtPayloadDto(email, ADMIN));
+        String token = util.generateToken(new JwtPayloadDto(email, ADMIN, TENANT));
 
         String bearer = "Bearer " + token;
-        assertThat(util.extractEmailUser(bearer)).isEqualTo(email);
+        assertThat(util.verify(bearer).subject()).isEqualTo(email);
     }
 
     @Test
@@ -82,10 +87,11 @@ class JwtUtilTest {
         JwtUtil util = buildJwtUtil(secret, Duration.ofMinutes(5).toMillis());
 
         String email = "valid@neoapp.com";
-        String token = util.generateToken(new JwtPayloadDto(email, USER));
+        String token = util.generateToken(new JwtPayloadDto(email, USER, TENANT));
 
-        assertThat(util.isTokenValid(token, email)).isTrue();
-        assertThat(util.isTokenExpired(token)).isFalse();
+        VerifiedToken verified = util.verify(token);
+        assertThat(util.isTokenValid(verified, email)).isTrue();
+        assertThat(util.isTokenExpired(verified)).isFalse();
     }
 
     @Test
@@ -94,20 +100,44 @@ class JwtUtilTest {
         String secret = "0123456789ABCDEF0123456789ABCDEF";
         JwtUtil util = buildJwtUtil(secret, Duration.ofMinutes(5).toMillis());
 
-        String token = util.generateToken(new JwtPayloadDto("owner@neoapp.com", USER));
+        String token = util.generateToken(new JwtPayloadDto("owner@neoapp.com", USER, TENANT));
 
-        assertThat(util.isTokenValid(token, "other@neoapp.com")).isFalse();
+        assertThat(util.isTokenValid(util.verify(token), "other@neoapp.com")).isFalse();
     }
 
     @Test
-    @DisplayName("isTokenExpired(): true quando já nasce expirado (expTime negativo) e não propaga exception")
-    void isTokenExpired_true_forPastExpiration() {
+    @DisplayName("verify(): rejeita token já expirado (além da tolerância de 5s)")
+    void verify_throwsForPastExpiration() {
         String secret = "0123456789ABCDEF0123456789ABCDEF";
-        JwtUtil util = buildJwtUtil(secret, -1L);
+        JwtUtil util = buildJwtUtil(secret, -Duration.ofMinutes(1).toMillis());
+
+        String token = util.generateToken(new JwtPayloadDto("x@neoapp.com", USER, TENANT));
+
+        assertThatThrownBy(() -> util.verify(token)).isInstanceOf(ExpiredTokenException.class);
+    }
+
+    @Test
+    @DisplayName("isTokenExpired(): reavalia um token já verificado sem novo parse (ex.: conexão longa)")
+    void isTokenExpired_onVerifiedToken() {
+        JwtUtil util = buildJwtUtil("0123456789ABCDEF0123456789ABCDEF", Duration.ofMinutes(5).toMillis());
+        long now = System.currentTimeMillis();
+
+        VerifiedToken expired = new VerifiedToken("jti", "x@neoapp.com", "USER", TENANT, now - 20_000, now - 10_000);
+
+        assertThat(util.isTokenExpired(expired)).isTrue();
+        assertThat(util.isTokenValid(expired, "x@neoapp.com")).isFalse();
+        assertThat(expired.isExpiredAt(now - 10_001)).isFalse();
+    }
+
+    @Test
+    @DisplayName("isTokenExpired(): mesma tolerância de 5s do verify (token aceito não aparece como expirado)")
+    void isTokenExpired_sameSkewAsVerify() {
+        JwtUtil util = buildJwtUtil("0123456789ABCDEF0123456789ABCDEF", -Duration.ofSeconds(2).toMillis());
 
-        String token = util.generateToken(new JwtPayloadDto("x@neoapp.com", USER));
+        String token = util.generateToken(new JwtPayloadDto("x@neoapp.com", USER, TENANT));
 
-        assertThat(util.isTokenExpired(token)).isTrue();           // não lança mais ExpiredJwtException
-        assertThat(util.isTokenValid(token, "x@neoapp.com")).isFalse();
+        VerifiedToken verified = util.verify(token);
+        assertThat(util.isTokenExpired(verified)).isFalse();
+        assertThat(util.isTokenValid(verified, "x@neoapp.com")).isTrue();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,28 @@
+package com.nachapa.api.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogMaskTest {
+
+    @Test
+    @DisplayName("email(): mantém só a primeira letra do usuário e o domínio")
+    void email() {
+        assertThat(LogMask.email("joao.silva@gmail.com")).hasToString("j***@gmail.com");
+        assertThat(LogMask.email("a@neoapp.com")).hasToString("a***@neoapp.com");
+        assertThat(LogMask.email("sem-arroba")).hasToString("***");
+        assertThat(LogMask.email("@dominio.com")).hasToString("***");
+        assertThat(LogMask.email(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("cpf(): mascara todos os dígitos menos os 2 últimos, preservando a pontuação")
+    void cpf() {
+        assertThat(LogMask.cpf("123.456.789-01")).hasToString("***.***.***-01");
+        assertThat(LogMask.cpf("12345678901")).hasToString("*********01");
+        assertThat(LogMask.cpf("1")).hasToString("1");
+        assertThat(LogMask.cpf(null)).isNull();
+    }
+}